@@ -1,13 +1,28 @@
 package com.taskify;
 
 import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.AutoConfigurationExcludeFilter;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.TypeExcludeFilter;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
 import org.springframework.scheduling.annotation.EnableAsync;
 
+// The reactive profile compiles a second application into com.taskify.reactive and puts R2DBC on
+// the classpath, neither of which this one uses.
 @EnableAsync
 @EnableCaching
-@SpringBootApplication
+@SpringBootApplication(
+    excludeName = "org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration")
+@ComponentScan(
+    excludeFilters = {
+      @ComponentScan.Filter(type = FilterType.CUSTOM, classes = TypeExcludeFilter.class),
+      @ComponentScan.Filter(
+          type = FilterType.CUSTOM,
+          classes = AutoConfigurationExcludeFilter.class),
+      @ComponentScan.Filter(type = FilterType.REGEX, pattern = "com\\.taskify\\.reactive\\..*")
+    })
 public class Application {
 
   public static void main(String[] args) {
@@ -0,0 +1,35 @@
+package com.taskify.cache;
+
+import java.util.UUID;
+
+/** A change that makes cached entries stale, as exchanged between application nodes. */
+public record CacheInvalidation(Type type, UUID taskListId, UUID taskId) {
+
+  public enum Type {
+    TASK_CHANGED,
+    TASKS_CREATED,
+    TASKS_CHANGED,
+    TASK_LIST_CHANGED,
+    TASK_LIST_DELETED
+  }
+
+  public static CacheInvalidation taskChanged(UUID taskListId, UUID taskId) {
+    return new CacheInvalidation(Type.TASK_CHANGED, taskListId, taskId);
+  }
+
+  public static CacheInvalidation tasksCreated(UUID taskListId) {
+    return new CacheInvalidation(Type.TASKS_CREATED, taskListId, null);
+  }
+
+  public static CacheInvalidation tasksChanged(UUID taskListId) {
+    return new CacheInvalidation(Type.TASKS_CHANGED, taskListId, null);
+  }
+
+  public static CacheInvalidation taskListChanged(UUID taskListId) {
+    return new CacheInvalidation(Type.TASK_LIST_CHANGED, taskListId, null);
+  }
+
+  public static CacheInvalidation taskListDeleted(UUID taskListId) {
+    return new CacheInvalidation(Type.TASK_LIST_DELETED, taskListId, null);
+  }
+}
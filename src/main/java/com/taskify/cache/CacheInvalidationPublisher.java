@@ -0,0 +1,10 @@
+package com.taskify.cache;
+
+/**
+ * Forwards invalidations to other application nodes. Called from within the writing transaction so
+ * that implementations can enlist in it and only deliver messages for committed changes.
+ */
+public interface CacheInvalidationPublisher {
+
+  void publish(CacheInvalidation invalidation);
+}
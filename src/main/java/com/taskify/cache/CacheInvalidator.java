@@ -0,0 +1,200 @@
+package com.taskify.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.taskify.configs.DataSourceReplicaProperties;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Predicate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Knows which cache entries depend on a task or task list and evicts exactly those once the
+ * surrounding transaction has committed. Outside of a transaction the changes are applied
+ * immediately. Every change is also handed to the registered {@link CacheInvalidationPublisher}s
+ * so that other nodes can drop their copies.
+ *
+ * <p>Saved values are evicted rather than put: a DTO built before its commit can reach the cache
+ * after the one of a later write, and would then be served until it expires. The next read loads
+ * whatever committed last instead.
+ *
+ * <p>With read replicas, only the writing client reads from the primary after a write, and everyone
+ * else may read, and cache, what a replica returns until it has replayed the write. Every change is
+ * therefore applied a second time once replicas may have lagged behind it for as long as they are
+ * allowed to: {@code max-replica-lag} plus the {@code lag-check-interval} it is measured at.
+ */
+@Component
+public class CacheInvalidator {
+
+  private final CacheManager cacheManager;
+  private final ObjectProvider<CacheInvalidationPublisher> publishers;
+  private final TaskScheduler scheduler;
+  private final Duration replicaLag;
+
+  @Autowired
+  public CacheInvalidator(
+      CacheManager cacheManager,
+      ObjectProvider<CacheInvalidationPublisher> publishers,
+      ObjectProvider<DataSourceReplicaProperties> replicaProperties,
+      ObjectProvider<TaskScheduler> scheduler) {
+    this(cacheManager, publishers, scheduler.getIfUnique(), replicaLag(replicaProperties));
+  }
+
+  CacheInvalidator(
+      CacheManager cacheManager,
+      ObjectProvider<CacheInvalidationPublisher> publishers,
+      TaskScheduler scheduler,
+      Duration replicaLag) {
+    this.cacheManager = cacheManager;
+    this.publishers = publishers;
+    this.scheduler = scheduler;
+    this.replicaLag = replicaLag;
+  }
+
+  public void taskSaved(UUID taskListId, UUID taskId) {
+    CacheInvalidation invalidation = CacheInvalidation.taskChanged(taskListId, taskId);
+    publish(invalidation);
+    afterCommit(() -> apply(invalidation));
+  }
+
+  /**
+   * Evicts the aggregates of a task list that new tasks were added to in bulk. The tasks themselves
+   * cannot be cached yet, so a single invalidation covers the whole batch.
+   */
+  public void tasksCreated(UUID taskListId) {
+    CacheInvalidation invalidation = CacheInvalidation.tasksCreated(taskListId);
+    publish(invalidation);
+    afterCommit(() -> apply(invalidation));
+  }
+
+  /** Evicts every cached task of a task list and its aggregates after a bulk update. */
+  public void tasksChanged(UUID taskListId) {
+    CacheInvalidation invalidation = CacheInvalidation.tasksChanged(taskListId);
+    publish(invalidation);
+    afterCommit(() -> apply(invalidation));
+  }
+
+  public void taskDeleted(UUID taskListId, UUID taskId) {
+    CacheInvalidation invalidation = CacheInvalidation.taskChanged(taskListId, taskId);
+    publish(invalidation);
+    afterCommit(() -> apply(invalidation));
+  }
+
+  public void taskListSaved(UUID taskListId) {
+    CacheInvalidation invalidation = CacheInvalidation.taskListChanged(taskListId);
+    publish(invalidation);
+    afterCommit(() -> apply(invalidation));
+  }
+
+  public void taskListDeleted(UUID taskListId) {
+    CacheInvalidation invalidation = CacheInvalidation.taskListDeleted(taskListId);
+    publish(invalidation);
+    afterCommit(() -> apply(invalidation));
+  }
+
+  /** Evicts the entries made stale by a change, typically one reported by another node. */
+  public void apply(CacheInvalidation invalidation) {
+    applyNow(invalidation);
+    applyAgainLater(invalidation);
+  }
+
+  /** Drops every cached entry, used when invalidations may have been missed. */
+  public void clearAll() {
+    cacheManager.getCacheNames().forEach(this::clear);
+  }
+
+  private void applyNow(CacheInvalidation invalidation) {
+    switch (invalidation.type()) {
+      case TASK_CHANGED -> {
+        evict(CacheNames.TASK, CacheKeys.task(invalidation.taskListId(), invalidation.taskId()));
+        evictTaskListAggregates(invalidation.taskListId());
+      }
+      case TASKS_CREATED -> evictTaskListAggregates(invalidation.taskListId());
+      case TASKS_CHANGED, TASK_LIST_DELETED -> {
+        evictScopedTo(CacheNames.TASK, invalidation.taskListId());
+        evictTaskListAggregates(invalidation.taskListId());
+      }
+      case TASK_LIST_CHANGED -> {
+        evictScopedTo(CacheNames.TASK_LIST, invalidation.taskListId());
+        clear(CacheNames.TASK_LISTS);
+      }
+    }
+  }
+
+  private void applyAgainLater(CacheInvalidation invalidation) {
+    if (scheduler != null && replicaLag.isPositive()) {
+      scheduler.schedule(() -> applyNow(invalidation), Instant.now().plus(replicaLag));
+    }
+  }
+
+  private static Duration replicaLag(ObjectProvider<DataSourceReplicaProperties> properties) {
+    DataSourceReplicaProperties replicas = properties.getIfAvailable();
+    if (replicas == null || replicas.replicas().isEmpty()) {
+      return Duration.ZERO;
+    }
+    return replicas.maxReplicaLag().plus(replicas.lagCheckInterval());
+  }
+
+  private void evictTaskListAggregates(UUID taskListId) {
+    evictScopedTo(CacheNames.TASKS, taskListId);
+    evictScopedTo(CacheNames.TASK_LIST, taskListId);
+    clear(CacheNames.TASK_LISTS);
+  }
+
+  private void publish(CacheInvalidation invalidation) {
+    publishers.orderedStream().forEach(publisher -> publisher.publish(invalidation));
+  }
+
+  private void afterCommit(Runnable action) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            action.run();
+          }
+        });
+  }
+
+  private void evict(String cacheName, Object key) {
+    org.springframework.cache.Cache cache = cacheManager.getCache(cacheName);
+    if (cache != null) {
+      cache.evict(key);
+    }
+  }
+
+  private void clear(String cacheName) {
+    org.springframework.cache.Cache cache = cacheManager.getCache(cacheName);
+    if (cache != null) {
+      cache.clear();
+    }
+  }
+
+  private void evictScopedTo(String cacheName, UUID taskListId) {
+    org.springframework.cache.Cache cache = cacheManager.getCache(cacheName);
+    if (cache == null) {
+      return;
+    }
+    Predicate<Object> scoped =
+        key ->
+            key instanceof CacheKeys.TaskListScopedKey scopedKey
+                && taskListId.equals(scopedKey.taskListId());
+    if (cache.getNativeCache() instanceof Cache<?, ?> caffeineCache) {
+      caffeineCache.asMap().keySet().removeIf(scoped);
+    } else if (cache.getNativeCache() instanceof Map<?, ?> map) {
+      map.keySet().removeIf(scoped);
+    } else {
+      cache.clear();
+    }
+  }
+}
@@ -0,0 +1,74 @@
+package com.taskify.cache;
+
+import com.taskify.dtos.TaskFields;
+import com.taskify.dtos.TaskFilter;
+import com.taskify.pagination.TaskSort;
+import java.util.UUID;
+
+/**
+ * Typed keys for the application caches. Factory methods are referenced from the {@code key}
+ * expressions of the caching annotations, e.g. {@code T(com.taskify.cache.CacheKeys).task(...)}.
+ */
+public final class CacheKeys {
+
+  private CacheKeys() {}
+
+  public static TaskKey task(UUID taskListId, UUID taskId) {
+    return new TaskKey(taskListId, taskId);
+  }
+
+  public static TaskListKey taskList(UUID taskListId) {
+    return new TaskListKey(taskListId);
+  }
+
+  public static TaskListFieldsKey taskList(UUID taskListId, TaskFields fields) {
+    return new TaskListFieldsKey(taskListId, fields);
+  }
+
+  public static TaskListSummaryKey taskListSummary(UUID taskListId) {
+    return new TaskListSummaryKey(taskListId);
+  }
+
+  public static TasksPageKey tasksPage(
+      UUID taskListId,
+      TaskFilter filter,
+      TaskSort sort,
+      TaskFields fields,
+      boolean includeArchived,
+      String cursor,
+      Integer limit) {
+    return new TasksPageKey(taskListId, filter, sort, fields, includeArchived, cursor, limit);
+  }
+
+  public static TaskListsPageKey taskListsPage(
+      String cursor, Integer limit, boolean includeTasks, TaskFields fields) {
+    return new TaskListsPageKey(cursor, limit, includeTasks, fields);
+  }
+
+  /** A key whose entry only depends on the state of a single task list and its tasks. */
+  public interface TaskListScopedKey {
+    UUID taskListId();
+  }
+
+  public record TaskKey(UUID taskListId, UUID taskId) implements TaskListScopedKey {}
+
+  public record TaskListKey(UUID taskListId) implements TaskListScopedKey {}
+
+  public record TaskListFieldsKey(UUID taskListId, TaskFields fields)
+      implements TaskListScopedKey {}
+
+  public record TaskListSummaryKey(UUID taskListId) implements TaskListScopedKey {}
+
+  public record TasksPageKey(
+      UUID taskListId,
+      TaskFilter filter,
+      TaskSort sort,
+      TaskFields fields,
+      boolean includeArchived,
+      String cursor,
+      Integer limit)
+      implements TaskListScopedKey {}
+
+  public record TaskListsPageKey(
+      String cursor, Integer limit, boolean includeTasks, TaskFields fields) {}
+}
@@ -0,0 +1,25 @@
+package com.taskify.cache;
+
+public final class CacheNames {
+
+  /** Single {@code TaskDto} entries keyed by {@link CacheKeys.TaskKey}. */
+  public static final String TASK = "task";
+
+  /** {@code CursorPage<TaskDto>} pages of a task list keyed by {@link CacheKeys.TasksPageKey}. */
+  public static final String TASKS = "tasks";
+
+  /**
+   * Single {@code TaskListDto} entries: with all tasks keyed by {@link CacheKeys.TaskListKey}, with
+   * sparse tasks by {@link CacheKeys.TaskListFieldsKey} and without tasks by {@link
+   * CacheKeys.TaskListSummaryKey}.
+   */
+  public static final String TASK_LIST = "taskList";
+
+  /**
+   * {@code CursorPage<TaskListDto>} pages of task lists keyed by {@link
+   * CacheKeys.TaskListsPageKey}; every entry depends on every task list.
+   */
+  public static final String TASK_LISTS = "taskLists";
+
+  private CacheNames() {}
+}
@@ -0,0 +1,53 @@
+package com.taskify.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+/**
+ * A {@link CaffeineCache} that loads misses on the calling thread without holding a lock. A
+ * synchronous Caffeine cache runs the loader inside {@code ConcurrentHashMap.compute}, holding a
+ * monitor for as long as the load takes. On Java 21 a virtual thread that blocks on the database in
+ * there pins its carrier, as does every virtual thread waiting for the same monitor, and a handful
+ * of concurrent misses can take every carrier while the connections they wait for are held by
+ * virtual threads that no longer get to run.
+ *
+ * <p>Backed by an {@link AsyncCache} instead, the first caller puts an incomplete future into the
+ * cache and loads the value outside of any lock, while concurrent callers for the same key wait for
+ * that future, which unmounts a virtual thread like any other blocking call. A key is still loaded
+ * once at a time, and a key evicted during its load is loaded afresh by the next caller.
+ */
+public class CallerLoadingCaffeineCache extends CaffeineCache {
+
+  public CallerLoadingCaffeineCache(
+      String name, AsyncCache<Object, Object> cache, boolean allowNullValues) {
+    super(name, cache, allowNullValues);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T get(Object key, Callable<T> valueLoader) {
+    CompletableFuture<Object> loading = new CompletableFuture<>();
+    CompletableFuture<Object> future = getAsyncCache().get(key, (k, executor) -> loading);
+    if (future != loading) {
+      try {
+        return (T) fromStoreValue(future.join());
+      } catch (CompletionException ex) {
+        throw new ValueRetrievalException(key, valueLoader, ex.getCause());
+      }
+    }
+    try {
+      Object value = toStoreValue(valueLoader.call());
+      loading.complete(value);
+      return (T) fromStoreValue(value);
+    } catch (Exception ex) {
+      loading.completeExceptionally(ex);
+      throw new ValueRetrievalException(key, valueLoader, ex);
+    } catch (Error error) {
+      loading.completeExceptionally(error);
+      throw error;
+    }
+  }
+}
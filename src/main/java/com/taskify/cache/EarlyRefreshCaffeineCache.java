@@ -0,0 +1,101 @@
+package com.taskify.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.github.benmanes.caffeine.cache.Ticker;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoubleSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link CallerLoadingCaffeineCache} that reloads hot entries shortly before they expire, using
+ * probabilistic early expiration: a read refreshes the entry when {@code age + loadTime * beta *
+ * -ln(random)} reaches the expire-after-write duration. Entries that are read often are therefore
+ * reloaded by a single caller ahead of time instead of expiring under load, while rarely read
+ * entries simply expire. A failed early refresh serves the entry it was meant to replace. Misses
+ * are loaded once per key while concurrent callers wait for the result.
+ */
+public class EarlyRefreshCaffeineCache extends CallerLoadingCaffeineCache {
+
+  private static final Logger log = LoggerFactory.getLogger(EarlyRefreshCaffeineCache.class);
+
+  private final double beta;
+  private final Ticker ticker;
+  private final DoubleSupplier random;
+  private final Set<Object> refreshing = ConcurrentHashMap.newKeySet();
+  private volatile long averageLoadNanos;
+
+  public EarlyRefreshCaffeineCache(
+      String name, AsyncCache<Object, Object> cache, boolean allowNullValues, double beta) {
+    this(
+        name,
+        cache,
+        allowNullValues,
+        beta,
+        Ticker.systemTicker(),
+        () -> ThreadLocalRandom.current().nextDouble());
+  }
+
+  EarlyRefreshCaffeineCache(
+      String name,
+      AsyncCache<Object, Object> cache,
+      boolean allowNullValues,
+      double beta,
+      Ticker ticker,
+      DoubleSupplier random) {
+    super(name, cache, allowNullValues);
+    if (cache.synchronous().policy().expireAfterWrite().isEmpty()) {
+      throw new IllegalStateException(
+          "Early refresh of cache '" + name + "' requires an expire-after-write policy");
+    }
+    this.beta = beta;
+    this.ticker = ticker;
+    this.random = random;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T get(Object key, Callable<T> valueLoader) {
+    Object stored = getNativeCache().policy().getIfPresentQuietly(key);
+    if (stored != null && shouldRefreshEarly(key) && refreshing.add(key)) {
+      try {
+        Object refreshed = toStoreValue(load(valueLoader));
+        getNativeCache().asMap().replace(key, stored, refreshed);
+        return (T) fromStoreValue(refreshed);
+      } catch (Exception ex) {
+        // The entry has not expired yet, so it is still good to serve until it does.
+        log.warn("Early refresh of key '{}' in cache '{}' failed", key, getName(), ex);
+        return (T) fromStoreValue(stored);
+      } finally {
+        refreshing.remove(key);
+      }
+    }
+    return super.get(key, () -> load(valueLoader));
+  }
+
+  private boolean shouldRefreshEarly(Object key) {
+    Optional<Policy.FixedExpiration<Object, Object>> expiration =
+        getNativeCache().policy().expireAfterWrite();
+    Optional<Duration> age = expiration.flatMap(policy -> policy.ageOf(key));
+    if (age.isEmpty()) {
+      return false;
+    }
+    double headStart = averageLoadNanos * beta * -Math.log(random.getAsDouble());
+    return age.get().toNanos() + headStart >= expiration.get().getExpiresAfter().toNanos();
+  }
+
+  private <T> T load(Callable<T> valueLoader) throws Exception {
+    long start = ticker.read();
+    T value = valueLoader.call();
+    long elapsed = ticker.read() - start;
+    long average = averageLoadNanos;
+    averageLoadNanos = average == 0 ? elapsed : (average * 7 + elapsed) / 8;
+    return value;
+  }
+}
@@ -0,0 +1,192 @@
+package com.taskify.cache;
+
+import com.taskify.configs.CacheCoherenceProperties;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Properties;
+import java.util.UUID;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the local caches of several application nodes coherent through Postgres {@code
+ * LISTEN}/{@code NOTIFY}.
+ *
+ * <p>Invalidations are sent with {@code pg_notify} on the connection of the writing transaction, so
+ * Postgres only delivers them once that transaction commits. Each node listens on a dedicated
+ * connection outside of the pool and evicts the affected entries when a message from another node
+ * arrives. Whenever the listening connection is (re)established, all local caches are cleared,
+ * since messages sent while the node was not listening are lost.
+ */
+@Component
+@ConditionalOnProperty(prefix = "taskify.cache.coherence", name = "enabled", havingValue = "true")
+public class PostgresCacheInvalidationBus implements CacheInvalidationPublisher, SmartLifecycle {
+
+  static final String APPLICATION_NAME = "taskify-cache-coherence";
+
+  private static final Logger log = LoggerFactory.getLogger(PostgresCacheInvalidationBus.class);
+  private static final String SEPARATOR = ";";
+
+  private final String nodeId = UUID.randomUUID().toString();
+  private final JdbcTemplate jdbcTemplate;
+  private final JdbcConnectionDetails connectionDetails;
+  private final CacheInvalidator cacheInvalidator;
+  private final CacheCoherenceProperties properties;
+
+  private volatile boolean running;
+  private volatile boolean listening;
+  private Thread listener;
+
+  public PostgresCacheInvalidationBus(
+      JdbcTemplate jdbcTemplate,
+      JdbcConnectionDetails connectionDetails,
+      CacheInvalidator cacheInvalidator,
+      CacheCoherenceProperties properties) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.connectionDetails = connectionDetails;
+    this.cacheInvalidator = cacheInvalidator;
+    this.properties = properties;
+  }
+
+  @Override
+  public void publish(CacheInvalidation invalidation) {
+    jdbcTemplate.query(
+        "SELECT pg_notify(?, ?)", rs -> {}, properties.channel(), encode(invalidation));
+  }
+
+  @Override
+  public void start() {
+    running = true;
+    listener = Thread.ofPlatform().name(APPLICATION_NAME).daemon().start(this::listen);
+  }
+
+  @Override
+  public void stop() {
+    running = false;
+    if (listener != null) {
+      listener.interrupt();
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  /** Whether the listening connection is currently established. */
+  public boolean isListening() {
+    return listening;
+  }
+
+  private void listen() {
+    Duration backoff = properties.reconnectBackoff();
+    while (running) {
+      try (Connection connection = connect()) {
+        try (Statement statement = connection.createStatement()) {
+          statement.execute("LISTEN " + properties.channel());
+        }
+        listening = true;
+        cacheInvalidator.clearAll();
+        backoff = properties.reconnectBackoff();
+        log.info("Listening for cache invalidations on channel '{}'", properties.channel());
+        receive(connection);
+      } catch (SQLException e) {
+        if (!running) {
+          return;
+        }
+        log.warn("Cache invalidation listener disconnected, retrying in {}", backoff, e);
+      } finally {
+        listening = false;
+      }
+      if (!sleep(backoff)) {
+        return;
+      }
+      backoff = min(backoff.multipliedBy(2), properties.maxReconnectBackoff());
+    }
+  }
+
+  private void receive(Connection connection) throws SQLException {
+    PGConnection pgConnection = connection.unwrap(PGConnection.class);
+    int pollTimeout = (int) properties.pollTimeout().toMillis();
+    while (running) {
+      PGNotification[] notifications = pgConnection.getNotifications(pollTimeout);
+      if (notifications == null || notifications.length == 0) {
+        if (!connection.isValid((int) Math.max(1, properties.pollTimeout().toSeconds()))) {
+          throw new SQLException("Listening connection is no longer valid");
+        }
+        continue;
+      }
+      for (PGNotification notification : notifications) {
+        handle(notification.getParameter());
+      }
+    }
+  }
+
+  private void handle(String payload) {
+    try {
+      String[] parts = payload.split(SEPARATOR, -1);
+      if (nodeId.equals(parts[0])) {
+        return;
+      }
+      cacheInvalidator.apply(
+          new CacheInvalidation(
+              CacheInvalidation.Type.valueOf(parts[1]),
+              UUID.fromString(parts[2]),
+              parts[3].isEmpty() ? null : UUID.fromString(parts[3])));
+    } catch (RuntimeException e) {
+      log.warn("Ignoring malformed cache invalidation '{}'", payload, e);
+    }
+  }
+
+  private String encode(CacheInvalidation invalidation) {
+    return payload(nodeId, invalidation);
+  }
+
+  /**
+   * The notification payload announcing {@code invalidation} on behalf of {@code nodeId}, for
+   * writers that share the channel without running a bus of their own.
+   */
+  public static String payload(String nodeId, CacheInvalidation invalidation) {
+    return String.join(
+        SEPARATOR,
+        nodeId,
+        invalidation.type().name(),
+        invalidation.taskListId().toString(),
+        invalidation.taskId() != null ? invalidation.taskId().toString() : "");
+  }
+
+  private Connection connect() throws SQLException {
+    Properties info = new Properties();
+    info.setProperty("user", connectionDetails.getUsername());
+    if (connectionDetails.getPassword() != null) {
+      info.setProperty("password", connectionDetails.getPassword());
+    }
+    info.setProperty("ApplicationName", APPLICATION_NAME);
+    info.setProperty("tcpKeepAlive", "true");
+    return DriverManager.getConnection(connectionDetails.getJdbcUrl(), info);
+  }
+
+  private boolean sleep(Duration duration) {
+    try {
+      Thread.sleep(duration);
+      return running;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  private static Duration min(Duration a, Duration b) {
+    return a.compareTo(b) <= 0 ? a : b;
+  }
+}
@@ -0,0 +1,24 @@
+package com.taskify.configs;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Cross-node cache coherence over Postgres {@code LISTEN}/{@code NOTIFY}, bound from {@code
+ * taskify.cache.coherence}.
+ */
+@ConfigurationProperties(prefix = "taskify.cache.coherence")
+public record CacheCoherenceProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("taskify_cache") String channel,
+    @DefaultValue("10s") Duration pollTimeout,
+    @DefaultValue("1s") Duration reconnectBackoff,
+    @DefaultValue("30s") Duration maxReconnectBackoff) {
+
+  public CacheCoherenceProperties {
+    if (!channel.matches("[a-z_][a-z0-9_]*")) {
+      throw new IllegalArgumentException("Invalid notification channel name: " + channel);
+    }
+  }
+}
@@ -1,17 +1,69 @@
 package com.taskify.configs;
 
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.taskify.cache.CallerLoadingCaffeineCache;
+import com.taskify.cache.EarlyRefreshCaffeineCache;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
 @EnableCaching
+@EnableConfigurationProperties({CacheProperties.class, CacheCoherenceProperties.class})
 public class CacheConfig {
 
+  /**
+   * Caches are backed by Caffeine's {@link AsyncCache}, so that {@code @Cacheable(sync = true)}
+   * misses are loaded outside of any lock by a {@link CallerLoadingCaffeineCache}, which keeps
+   * virtual threads from pinning their carrier while they load.
+   */
   @Bean
-  public CacheManager cacheManager() {
-    return new ConcurrentMapCacheManager("tasks", "taskLists");
+  public CacheManager cacheManager(CacheProperties cacheProperties) {
+    CaffeineCacheManager cacheManager =
+        new CaffeineCacheManager() {
+          @Override
+          protected Cache adaptCaffeineCache(String name, AsyncCache<Object, Object> cache) {
+            CacheProperties.Policy policy = cacheProperties.caches().get(name);
+            if (policy != null && policy.earlyRefreshBeta() != null) {
+              return new EarlyRefreshCaffeineCache(
+                  name, cache, isAllowNullValues(), policy.earlyRefreshBeta());
+            }
+            return new CallerLoadingCaffeineCache(name, cache, isAllowNullValues());
+          }
+        };
+    cacheManager.setAsyncCacheMode(true);
+    cacheManager.setCaffeine(caffeine(cacheProperties.defaults()));
+    cacheProperties
+        .caches()
+        .forEach(
+            (name, policy) ->
+                cacheManager.registerCustomCache(name, caffeine(policy).buildAsync()));
+    return cacheManager;
+  }
+
+  static Caffeine<Object, Object> caffeine(CacheProperties.Policy policy) {
+    Caffeine<Object, Object> caffeine = Caffeine.newBuilder().recordStats();
+    if (policy.maximumSize() != null && policy.maximumWeight() != null) {
+      throw new IllegalStateException(
+          "maximum-size and maximum-weight cannot be combined in the same cache policy");
+    }
+    if (policy.maximumSize() != null) {
+      caffeine.maximumSize(policy.maximumSize());
+    }
+    if (policy.maximumWeight() != null) {
+      caffeine.maximumWeight(policy.maximumWeight()).weigher(new CacheWeigher());
+    }
+    if (policy.expireAfterWrite() != null) {
+      caffeine.expireAfterWrite(policy.expireAfterWrite());
+    }
+    if (policy.expireAfterAccess() != null) {
+      caffeine.expireAfterAccess(policy.expireAfterAccess());
+    }
+    return caffeine;
   }
 }
@@ -0,0 +1,57 @@
+package com.taskify.configs;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.List;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.util.ServletRequestPathUtils;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+/**
+ * Applies the configured {@link HttpCacheProperties} rules to GET and HEAD responses, and marks
+ * them as varying by {@code Accept}, since the JSON, CBOR and Smile representations of a resource
+ * are different bytes, each with an ETag of its own.
+ */
+class CacheControlInterceptor implements HandlerInterceptor {
+
+  private final List<Rule> rules;
+
+  CacheControlInterceptor(HttpCacheProperties properties) {
+    this.rules =
+        properties.cacheControl().stream()
+            .flatMap(
+                rule -> {
+                  String header = rule.toCacheControl().getHeaderValue();
+                  return rule.paths().stream()
+                      .map(path -> new Rule(PathPatternParser.defaultInstance.parse(path), header));
+                })
+            .toList();
+  }
+
+  @Override
+  public boolean preHandle(
+      HttpServletRequest request, HttpServletResponse response, Object handler) {
+    if (!HttpMethod.GET.matches(request.getMethod())
+        && !HttpMethod.HEAD.matches(request.getMethod())) {
+      return true;
+    }
+    response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+    PathContainer path =
+        (ServletRequestPathUtils.hasParsedRequestPath(request)
+                ? ServletRequestPathUtils.getParsedRequestPath(request)
+                : ServletRequestPathUtils.parseAndCache(request))
+            .pathWithinApplication();
+    rules.stream()
+        .filter(rule -> rule.pattern().matches(path))
+        .findFirst()
+        .filter(rule -> rule.header() != null)
+        .ifPresent(rule -> response.setHeader(HttpHeaders.CACHE_CONTROL, rule.header()));
+    return true;
+  }
+
+  private record Rule(PathPattern pattern, String header) {}
+}
@@ -0,0 +1,30 @@
+package com.taskify.configs;
+
+import java.time.Duration;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Eviction policies for the application caches, bound from {@code taskify.cache}. Caches that are
+ * not listed under {@code caches} are created on demand with the {@code defaults} policy.
+ */
+@ConfigurationProperties(prefix = "taskify.cache")
+public record CacheProperties(Policy defaults, Map<String, Policy> caches) {
+
+  public CacheProperties {
+    defaults = defaults != null ? defaults : new Policy(null, null, null, null, null);
+    caches = caches != null ? caches : Map.of();
+  }
+
+  /**
+   * A single cache policy. {@code maximumSize} and {@code maximumWeight} are mutually exclusive;
+   * weights are computed by {@link CacheWeigher}. Setting {@code earlyRefreshBeta} reloads hot
+   * entries before they reach {@code expireAfterWrite}; larger values refresh earlier.
+   */
+  public record Policy(
+      Long maximumSize,
+      Long maximumWeight,
+      Duration expireAfterWrite,
+      Duration expireAfterAccess,
+      Double earlyRefreshBeta) {}
+}
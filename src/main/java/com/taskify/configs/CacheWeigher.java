@@ -0,0 +1,35 @@
+package com.taskify.configs;
+
+import com.github.benmanes.caffeine.cache.Weigher;
+import com.taskify.dtos.CursorPage;
+import com.taskify.dtos.TaskListDto;
+import java.util.Collection;
+
+/**
+ * Weighs cached values by the number of DTOs they hold, so that a task list embedding thousands of
+ * tasks counts for more than a single task.
+ */
+public class CacheWeigher implements Weigher<Object, Object> {
+
+  @Override
+  public int weigh(Object key, Object value) {
+    return (int) Math.min(Integer.MAX_VALUE, weightOf(value));
+  }
+
+  private long weightOf(Object value) {
+    if (value instanceof TaskListDto taskList) {
+      return 1L + (taskList.tasks() != null ? taskList.tasks().size() : 0);
+    }
+    if (value instanceof CursorPage<?> page) {
+      return weightOf(page.items());
+    }
+    if (value instanceof Collection<?> values) {
+      long weight = 1L;
+      for (Object element : values) {
+        weight += weightOf(element);
+      }
+      return weight;
+    }
+    return 1L;
+  }
+}
@@ -0,0 +1,28 @@
+package com.taskify.configs;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Concurrency gate in front of every connection pool, bound from {@code
+ * taskify.datasource.bulkhead}. At most as many callers as the pool has connections hold one at a
+ * time, up to {@code maxWaiting} more wait for one in arrival order, each for at most {@code
+ * maxWait}, and all others are turned away right away.
+ */
+@ConfigurationProperties(prefix = "taskify.datasource.bulkhead")
+public record DataSourceBulkheadProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("5s") Duration maxWait,
+    @DefaultValue("1000") int maxWaiting) {
+
+  public DataSourceBulkheadProperties {
+    if (maxWait.isNegative()) {
+      throw new IllegalArgumentException("Bulkhead max wait must not be negative: " + maxWait);
+    }
+    if (maxWaiting < 0) {
+      throw new IllegalArgumentException(
+          "Bulkhead max waiting must not be negative: " + maxWaiting);
+    }
+  }
+}
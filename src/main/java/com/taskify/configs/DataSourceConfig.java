@@ -0,0 +1,57 @@
+package com.taskify.configs;
+
+import com.taskify.datasource.BulkheadDataSource;
+import com.taskify.datasource.ReadReplicaDataSource;
+import com.taskify.datasource.ReadYourWritesFilter;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties({
+  DataSourceReplicaProperties.class,
+  DataSourceBulkheadProperties.class
+})
+public class DataSourceConfig {
+
+  /**
+   * Puts a {@link BulkheadDataSource} in front of the auto-configured pool, and wraps it in a
+   * {@link ReadReplicaDataSource} once replicas are configured, so that everything else about it,
+   * from its connection details to Flyway, stays as it is.
+   */
+  @Bean
+  static BeanPostProcessor readReplicaPostProcessor(
+      ObjectProvider<DataSourceReplicaProperties> replicaProperties,
+      ObjectProvider<DataSourceBulkheadProperties> bulkheadProperties,
+      ObjectProvider<MeterRegistry> meterRegistry) {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof HikariDataSource primary)) {
+          return bean;
+        }
+        if (replicaProperties.getObject().replicas().isEmpty()) {
+          return BulkheadDataSource.around(
+              primary, bulkheadProperties.getObject(), meterRegistry.getIfAvailable());
+        }
+        return new ReadReplicaDataSource(
+            primary,
+            replicaProperties.getObject(),
+            bulkheadProperties.getObject(),
+            meterRegistry.getIfAvailable());
+      }
+    };
+  }
+
+  /** Keeps the reads of clients that just wrote on the primary, once replicas are configured. */
+  @Bean
+  ReadYourWritesFilter readYourWritesFilter(DataSourceReplicaProperties properties) {
+    return new ReadYourWritesFilter(
+        properties.replicas().isEmpty() ? Duration.ZERO : properties.readYourWrites());
+  }
+}
@@ -0,0 +1,40 @@
+package com.taskify.configs;
+
+import java.time.Duration;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Read replicas for read-only transactions, bound from {@code taskify.datasource}. Replicas more
+ * than {@code maxReplicaLag} behind the primary, as measured every {@code lagCheckInterval}, are
+ * skipped, and for {@code readYourWrites} after one of its requests committed a write a client
+ * keeps reading from the primary. Replica pools copy the settings of the primary pool, including
+ * its credentials unless a replica names its own.
+ */
+@ConfigurationProperties(prefix = "taskify.datasource")
+public record DataSourceReplicaProperties(
+    @DefaultValue List<Replica> replicas,
+    @DefaultValue("1s") Duration maxReplicaLag,
+    @DefaultValue("1s") Duration lagCheckInterval,
+    @DefaultValue("1s") Duration readYourWrites) {
+
+  public DataSourceReplicaProperties {
+    if (!lagCheckInterval.isPositive()) {
+      throw new IllegalArgumentException(
+          "Replica lag check interval must be positive: " + lagCheckInterval);
+    }
+    if (maxReplicaLag.isNegative() || readYourWrites.isNegative()) {
+      throw new IllegalArgumentException("Replica lag and read-your-writes must not be negative");
+    }
+  }
+
+  public record Replica(String url, String username, String password) {
+
+    public Replica {
+      if (url == null || url.isBlank()) {
+        throw new IllegalArgumentException("Replica url must not be empty");
+      }
+    }
+  }
+}
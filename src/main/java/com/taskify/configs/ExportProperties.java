@@ -0,0 +1,20 @@
+package com.taskify.configs;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Streaming exports, bound from {@code taskify.export}. Rows are fetched from the database {@code
+ * fetchSize} at a time, and an export may run for up to {@code timeout}.
+ */
+@ConfigurationProperties(prefix = "taskify.export")
+public record ExportProperties(
+    @DefaultValue("1000") int fetchSize, @DefaultValue("1h") Duration timeout) {
+
+  public ExportProperties {
+    if (fetchSize < 1) {
+      throw new IllegalArgumentException("Export fetch size must be positive: " + fetchSize);
+    }
+  }
+}
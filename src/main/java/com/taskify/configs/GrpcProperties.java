@@ -0,0 +1,23 @@
+package com.taskify.configs;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * The gRPC server running next to the REST API, bound from {@code taskify.grpc}. When {@code
+ * enabled}, it listens on {@code port}, where 0 picks a free one, and gives calls in flight up to
+ * {@code shutdownTimeout} to finish on shutdown.
+ */
+@ConfigurationProperties(prefix = "taskify.grpc")
+public record GrpcProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("9090") int port,
+    @DefaultValue("30s") Duration shutdownTimeout) {
+
+  public GrpcProperties {
+    if (port < 0 || port > 65535) {
+      throw new IllegalArgumentException("Invalid gRPC port: " + port);
+    }
+  }
+}
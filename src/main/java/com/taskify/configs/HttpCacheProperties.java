@@ -0,0 +1,47 @@
+package com.taskify.configs;
+
+import java.time.Duration;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.http.CacheControl;
+
+/**
+ * {@code Cache-Control} rules for GET responses, keyed by path pattern. Rules are evaluated in
+ * order and the first one matching the request path wins.
+ */
+@ConfigurationProperties(prefix = "taskify.http")
+public record HttpCacheProperties(List<CacheControlRule> cacheControl) {
+
+  public HttpCacheProperties {
+    cacheControl = cacheControl != null ? cacheControl : List.of();
+  }
+
+  public record CacheControlRule(
+      List<String> paths,
+      Duration maxAge,
+      boolean noCache,
+      boolean noStore,
+      boolean cachePrivate,
+      boolean mustRevalidate) {
+
+    public CacheControl toCacheControl() {
+      CacheControl cacheControl;
+      if (noStore) {
+        cacheControl = CacheControl.noStore();
+      } else if (noCache) {
+        cacheControl = CacheControl.noCache();
+      } else if (maxAge != null) {
+        cacheControl = CacheControl.maxAge(maxAge);
+      } else {
+        cacheControl = CacheControl.empty();
+      }
+      if (cachePrivate) {
+        cacheControl = cacheControl.cachePrivate();
+      }
+      if (mustRevalidate) {
+        cacheControl = cacheControl.mustRevalidate();
+      }
+      return cacheControl;
+    }
+  }
+}
@@ -0,0 +1,15 @@
+package com.taskify.configs;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties({
+  TaskArchivalProperties.class,
+  TaskListCounterProperties.class,
+  TaskListDeletionProperties.class,
+  TaskPartitionBackfillProperties.class
+})
+public class JobsConfig {}
@@ -0,0 +1,27 @@
+package com.taskify.configs;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Archival of closed tasks, bound from {@code taskify.archival}. Tasks that are closed and have not
+ * been updated for {@code closedFor} are moved to {@code tasks_archive}, {@code batchSize} per
+ * transaction. The schedule itself is read by {@code TaskArchivalJob} from {@code
+ * taskify.archival.cron}; {@code -} disables it.
+ */
+@ConfigurationProperties(prefix = "taskify.archival")
+public record TaskArchivalProperties(
+    @DefaultValue("-") String cron,
+    @DefaultValue("90d") Duration closedFor,
+    @DefaultValue("1000") int batchSize) {
+
+  public TaskArchivalProperties {
+    if (closedFor.isNegative()) {
+      throw new IllegalArgumentException("Archival age must not be negative: " + closedFor);
+    }
+    if (batchSize < 1) {
+      throw new IllegalArgumentException("Archival batch size must be positive: " + batchSize);
+    }
+  }
+}
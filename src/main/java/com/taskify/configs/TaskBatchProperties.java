@@ -0,0 +1,18 @@
+package com.taskify.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Batch endpoints, bound from {@code taskify.batch}. A single batch request may carry at most
+ * {@code maxSize} items.
+ */
+@ConfigurationProperties(prefix = "taskify.batch")
+public record TaskBatchProperties(@DefaultValue("5000") int maxSize) {
+
+  public TaskBatchProperties {
+    if (maxSize < 1) {
+      throw new IllegalArgumentException("Batch max size must be positive: " + maxSize);
+    }
+  }
+}
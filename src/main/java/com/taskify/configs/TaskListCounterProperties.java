@@ -0,0 +1,20 @@
+package com.taskify.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Repair of the denormalized task counters on {@code task_lists}, bound from {@code
+ * taskify.counters}. The schedule itself is read by {@code TaskListCounterRepairJob} from {@code
+ * taskify.counters.repair-cron}; {@code -} disables it.
+ */
+@ConfigurationProperties(prefix = "taskify.counters")
+public record TaskListCounterProperties(
+    @DefaultValue("-") String repairCron, @DefaultValue("500") int repairBatchSize) {
+
+  public TaskListCounterProperties {
+    if (repairBatchSize < 1) {
+      throw new IllegalArgumentException("Repair batch size must be positive: " + repairBatchSize);
+    }
+  }
+}
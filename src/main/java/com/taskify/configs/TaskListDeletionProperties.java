@@ -0,0 +1,21 @@
+package com.taskify.configs;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Asynchronous task list deletions, bound from {@code taskify.deletion}. Tasks are deleted {@code
+ * chunkSize} at a time, one transaction per chunk, and the status of a deletion stays available for
+ * {@code retention} after it last changed.
+ */
+@ConfigurationProperties(prefix = "taskify.deletion")
+public record TaskListDeletionProperties(
+    @DefaultValue("1000") int chunkSize, @DefaultValue("1h") Duration retention) {
+
+  public TaskListDeletionProperties {
+    if (chunkSize < 1) {
+      throw new IllegalArgumentException("Deletion chunk size must be positive: " + chunkSize);
+    }
+  }
+}
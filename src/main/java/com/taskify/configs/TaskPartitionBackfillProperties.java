@@ -0,0 +1,27 @@
+package com.taskify.configs;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Backfill of the partitioned tasks table ahead of the swap, bound from {@code
+ * taskify.partitioning.backfill}. When {@code enabled}, the backfill starts once the application is
+ * ready and copies {@code batchSize} tasks per statement, sleeping {@code pause} in between to
+ * leave room for regular traffic.
+ */
+@ConfigurationProperties(prefix = "taskify.partitioning.backfill")
+public record TaskPartitionBackfillProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("5000") int batchSize,
+    @DefaultValue("0s") Duration pause) {
+
+  public TaskPartitionBackfillProperties {
+    if (batchSize < 1) {
+      throw new IllegalArgumentException("Backfill batch size must be positive: " + batchSize);
+    }
+    if (pause.isNegative()) {
+      throw new IllegalArgumentException("Backfill pause must not be negative: " + pause);
+    }
+  }
+}
@@ -1,16 +1,91 @@
 package com.taskify.configs;
 
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.taskify.datasource.ReadYourWritesFilter;
+import com.taskify.dtos.TaskFields;
+import java.util.List;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @EnableWebMvc
 @Configuration
+@EnableConfigurationProperties({
+  HttpCacheProperties.class,
+  ExportProperties.class,
+  TaskBatchProperties.class,
+  GrpcProperties.class
+})
 public class WebConfig implements WebMvcConfigurer {
 
+  private final HttpCacheProperties httpCacheProperties;
+  private final ExportProperties exportProperties;
+
+  public WebConfig(HttpCacheProperties httpCacheProperties, ExportProperties exportProperties) {
+    this.httpCacheProperties = httpCacheProperties;
+    this.exportProperties = exportProperties;
+  }
+
+  /**
+   * Exposes {@code ETag} and {@value ReadYourWritesFilter#HEADER}, which are not safelisted, so
+   * that web clients can send them back. Credentials are not allowed with any origin, so browsers
+   * on other origins neither send nor store the cookie of the {@link ReadYourWritesFilter} and
+   * have to send its header instead.
+   */
   @Override
   public void addCorsMappings(
       org.springframework.web.servlet.config.annotation.CorsRegistry registry) {
-    registry.addMapping("/**").allowedOrigins("*").allowedMethods("*");
+    registry
+        .addMapping("/**")
+        .allowedOrigins("*")
+        .allowedMethods("*")
+        .exposedHeaders(HttpHeaders.ETAG, ReadYourWritesFilter.HEADER);
+  }
+
+  @Override
+  public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+    // Only streamed exports are asynchronous, and those may take a while.
+    configurer.setDefaultTimeout(exportProperties.timeout().toMillis());
+  }
+
+  @Override
+  public void addInterceptors(InterceptorRegistry registry) {
+    registry.addInterceptor(new CacheControlInterceptor(httpCacheProperties));
+  }
+
+  /**
+   * Next to JSON, requests and responses may be CBOR ({@code application/cbor}) or Smile ({@code
+   * application/x-jackson-smile}), which @EnableWebMvc adds converters for after the JSON one since
+   * their Jackson data formats are on the classpath. Both write UUIDs as 16 raw bytes and Smile
+   * refers back to repeated property names, and here also to repeated short values such as statuses
+   * and due dates. CBOR is left as is, since not every CBOR client knows string references.
+   */
+  @Override
+  public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+    converters.replaceAll(
+        converter ->
+            converter instanceof MappingJackson2SmileHttpMessageConverter
+                ? new MappingJackson2SmileHttpMessageConverter(
+                    Jackson2ObjectMapperBuilder.smile()
+                        .factory(
+                            SmileFactory.builder()
+                                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                                .build())
+                        .build())
+                : converter);
+    // Responses serialize every task property unless a request narrows them down with fields.
+    converters.stream()
+        .filter(AbstractJackson2HttpMessageConverter.class::isInstance)
+        .map(converter -> ((AbstractJackson2HttpMessageConverter) converter).getObjectMapper())
+        .forEach(TaskFields::filtering);
   }
 }
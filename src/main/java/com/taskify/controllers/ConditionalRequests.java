@@ -0,0 +1,63 @@
+package com.taskify.controllers;
+
+import com.taskify.dtos.BodyFormat;
+import com.taskify.dtos.ResourceVersion;
+import com.taskify.exceptions.PreconditionFailedException;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Evaluates {@code If-None-Match} / {@code If-Modified-Since} against a {@link ResourceVersion}
+ * read from stored rows before the resource itself is loaded, and sets the {@code ETag} and {@code
+ * Last-Modified} response headers. Writes pass the row version named by {@code If-Match} on to the
+ * services.
+ */
+final class ConditionalRequests {
+
+  private ConditionalRequests() {}
+
+  /** A resource without validator data, which does not exist, is never answered with 304. */
+  static boolean notModified(WebRequest webRequest, Optional<ResourceVersion> version) {
+    return version.map(v -> notModified(webRequest, v)).orElse(false);
+  }
+
+  static boolean notModified(WebRequest webRequest, ResourceVersion version) {
+    return webRequest.checkNotModified(
+        version.eTag(bodyFormat(webRequest)), version.lastModifiedMillis());
+  }
+
+  private static BodyFormat bodyFormat(WebRequest webRequest) {
+    String[] accept = webRequest.getHeaderValues(HttpHeaders.ACCEPT);
+    return BodyFormat.negotiate(accept != null ? List.of(accept) : null);
+  }
+
+  /**
+   * Returns the row version a write expects from its {@code If-Match} header, or {@code null} when
+   * it expects none, as with {@code *}, see {@link #requireExists}. Anything but a single ETag of
+   * ours expects a version no row has.
+   */
+  static Long expectedVersion(String ifMatch) {
+    if (ifMatch == null || ifMatch.isBlank() || matchesAny(ifMatch)) {
+      return null;
+    }
+    return ResourceVersion.versionOf(ifMatch);
+  }
+
+  /**
+   * Fails a write with {@code If-Match: *}, which any version matches, when the resource does not
+   * exist. Other writes check their version in the service.
+   */
+  static void requireExists(
+      String ifMatch, Supplier<Optional<ResourceVersion>> version, String resource) {
+    if (matchesAny(ifMatch) && version.get().isEmpty()) {
+      throw new PreconditionFailedException(resource + " does not exist");
+    }
+  }
+
+  private static boolean matchesAny(String ifMatch) {
+    return ifMatch != null && ifMatch.strip().equals("*");
+  }
+}
@@ -0,0 +1,44 @@
+package com.taskify.controllers;
+
+import com.taskify.dtos.TaskFields;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+/**
+ * Leaves the task properties a handler did not {@link #select} out of its JSON response, so that
+ * sparse fieldsets stay sparse on the wire without a DTO per combination of fields.
+ */
+@RestControllerAdvice
+public class SparseFieldsAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+  private static final String FIELDS_ATTRIBUTE = SparseFieldsAdvice.class.getName() + ".fields";
+
+  /** Restricts the tasks in the response to the current request to {@code fields}. */
+  public static void select(WebRequest webRequest, TaskFields fields) {
+    if (!fields.isAll()) {
+      webRequest.setAttribute(FIELDS_ATTRIBUTE, fields, RequestAttributes.SCOPE_REQUEST);
+    }
+  }
+
+  @Override
+  protected void beforeBodyWriteInternal(
+      MappingJacksonValue bodyContainer,
+      MediaType contentType,
+      MethodParameter returnType,
+      ServerHttpRequest request,
+      ServerHttpResponse response) {
+    if (request instanceof ServletServerHttpRequest servletRequest
+        && servletRequest.getServletRequest().getAttribute(FIELDS_ATTRIBUTE)
+            instanceof TaskFields fields) {
+      bodyContainer.setFilters(fields.filters());
+    }
+  }
+}
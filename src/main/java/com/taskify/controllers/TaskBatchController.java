@@ -0,0 +1,66 @@
+package com.taskify.controllers;
+
+import com.taskify.dtos.CreateTasksRequest;
+import com.taskify.dtos.CreateTasksResult;
+import com.taskify.dtos.UpdateTasksRequest;
+import com.taskify.dtos.UpdateTasksResult;
+import com.taskify.services.TaskBatchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import java.util.UUID;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@Tag(name = "Tasks")
+@RestController
+@RequestMapping(path = "/api/v1/task-lists/{task_list_id}")
+public class TaskBatchController {
+  private final TaskBatchService taskBatchService;
+
+  public TaskBatchController(TaskBatchService taskBatchService) {
+    this.taskBatchService = taskBatchService;
+  }
+
+  @Operation(
+      summary = "Create many tasks within a task list at once",
+      description =
+          "Valid tasks are created together in one transaction; invalid ones are reported per"
+              + " item and do not prevent the others from being created.")
+  @ApiResponses(
+      value = {
+        @ApiResponse(responseCode = "200", description = "Per-item results of the batch"),
+        @ApiResponse(responseCode = "400", description = "Empty or oversized batch"),
+        @ApiResponse(responseCode = "404", description = "Task list not found")
+      })
+  @PostMapping(path = "/tasks:batch")
+  public ResponseEntity<CreateTasksResult> createTasks(
+      @PathVariable("task_list_id") UUID taskListId,
+      @Valid @RequestBody CreateTasksRequest request) {
+    return ResponseEntity.status(HttpStatus.OK)
+        .body(taskBatchService.createTasks(taskListId, request.tasks()));
+  }
+
+  @Operation(
+      summary = "Set the status or priority of every task matching a filter",
+      description =
+          "Applies the change to all matching tasks of the task list with a single statement and"
+              + " returns how many tasks matched.")
+  @ApiResponses(
+      value = {
+        @ApiResponse(responseCode = "200", description = "Tasks updated successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid filter or nothing to set"),
+        @ApiResponse(responseCode = "404", description = "Task list not found")
+      })
+  @PostMapping(path = "/tasks:update")
+  public ResponseEntity<UpdateTasksResult> updateTasks(
+      @PathVariable("task_list_id") UUID taskListId, @RequestBody UpdateTasksRequest request) {
+    return ResponseEntity.status(HttpStatus.OK)
+        .body(
+            taskBatchService.updateTasks(
+                taskListId, request.filter(), request.status(), request.priority()));
+  }
+}
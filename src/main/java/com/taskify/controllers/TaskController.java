@@ -1,38 +1,93 @@
 package com.taskify.controllers;
 
 import com.taskify.dtos.CreateTaskRequest;
+import com.taskify.dtos.CursorPage;
 import com.taskify.dtos.TaskDto;
+import com.taskify.dtos.TaskFields;
+import com.taskify.dtos.TaskFilter;
+import com.taskify.dtos.TaskPatch;
 import com.taskify.dtos.UpdateTaskRequest;
+import com.taskify.entities.TaskPriority;
+import com.taskify.entities.TaskStatus;
+import com.taskify.pagination.Pages;
+import com.taskify.pagination.TaskSort;
 import com.taskify.services.TaskService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
-import java.util.List;
+import java.time.LocalDateTime;
 import java.util.UUID;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @Tag(name = "Tasks")
 @RestController
 @RequestMapping(path = "/api/v1/task-lists/{task_list_id}/tasks")
 public class TaskController {
+  static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+
   private final TaskService taskService;
 
   public TaskController(TaskService taskService) {
     this.taskService = taskService;
   }
 
-  @Operation(summary = "List all tasks for a given task list")
+  @Operation(summary = "List tasks for a given task list, one page at a time")
   @ApiResponses(
       value = {
-        @ApiResponse(responseCode = "200", description = "Successfully retrieved list of tasks")
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved a page of tasks"),
+        @ApiResponse(responseCode = "304", description = "Tasks not modified"),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid filter, sort, fields, cursor or limit")
       })
   @GetMapping
-  public ResponseEntity<List<TaskDto>> listTasks(@PathVariable("task_list_id") UUID taskListId) {
-    return ResponseEntity.status(HttpStatus.OK).body(taskService.listTasks(taskListId));
+  public ResponseEntity<CursorPage<TaskDto>> listTasks(
+      @PathVariable("task_list_id") UUID taskListId,
+      @RequestParam(required = false) TaskStatus status,
+      @RequestParam(required = false) TaskPriority priority,
+      @Parameter(description = "Only tasks due at or after this time")
+          @RequestParam(name = "due_after", required = false)
+          @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          LocalDateTime dueAfter,
+      @Parameter(description = "Only tasks due before this time")
+          @RequestParam(name = "due_before", required = false)
+          @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          LocalDateTime dueBefore,
+      @Parameter(description = "due_date, priority or created (default), prefix with - to reverse")
+          @RequestParam(required = false)
+          String sort,
+      @Parameter(description = "Task properties to return, e.g. id,title,status,dueDate")
+          @RequestParam(required = false)
+          String fields,
+      @Parameter(description = "Also return closed tasks that have been archived")
+          @RequestParam(name = "include_archived", defaultValue = "false")
+          boolean includeArchived,
+      @Parameter(description = "The `next` cursor of the previous page")
+          @RequestParam(required = false)
+          String cursor,
+      @Parameter(description = "Page size, capped at " + Pages.MAX_LIMIT)
+          @RequestParam(required = false)
+          Integer limit,
+      WebRequest webRequest) {
+    TaskFilter filter = new TaskFilter(status, priority, dueAfter, dueBefore);
+    TaskSort taskSort = TaskSort.parse(sort);
+    TaskFields taskFields = TaskFields.parse(fields);
+    if (ConditionalRequests.notModified(webRequest, taskService.getTasksVersion(taskListId))) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+    }
+    SparseFieldsAdvice.select(webRequest, taskFields);
+    return ResponseEntity.status(HttpStatus.OK)
+        .body(
+            taskService.listTasks(
+                taskListId, filter, taskSort, taskFields, includeArchived, cursor, limit));
   }
 
   @Operation(summary = "Create a new task within a task list")
@@ -54,12 +109,30 @@ public class TaskController {
   @ApiResponses(
       value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved task"),
+        @ApiResponse(responseCode = "304", description = "Task not modified"),
         @ApiResponse(responseCode = "404", description = "Task not found")
       })
   @GetMapping("/{task_id}")
   public ResponseEntity<TaskDto> getTask(
-      @PathVariable("task_list_id") UUID taskListId, @PathVariable("task_id") UUID taskId) {
-    return ResponseEntity.status(HttpStatus.OK).body(taskService.getTask(taskListId, taskId));
+      @PathVariable("task_list_id") UUID taskListId,
+      @PathVariable("task_id") UUID taskId,
+      @Parameter(description = "Also find the task once it has been archived")
+          @RequestParam(name = "include_archived", defaultValue = "false")
+          boolean includeArchived,
+      WebRequest webRequest) {
+    // Read first, so that a write in between cannot pair its validators with an older body.
+    if (ConditionalRequests.notModified(
+        webRequest,
+        includeArchived
+            ? taskService.getTaskVersionIncludingArchived(taskListId, taskId)
+            : taskService.getTaskVersion(taskListId, taskId))) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+    }
+    return ResponseEntity.status(HttpStatus.OK)
+        .body(
+            includeArchived
+                ? taskService.getTaskIncludingArchived(taskListId, taskId)
+                : taskService.getTask(taskListId, taskId));
   }
 
   @Operation(summary = "Update an existing task")
@@ -67,25 +140,60 @@ public class TaskController {
       value = {
         @ApiResponse(responseCode = "200", description = "Task updated successfully"),
         @ApiResponse(responseCode = "400", description = "Invalid input"),
-        @ApiResponse(responseCode = "404", description = "Task or Task list not found")
+        @ApiResponse(responseCode = "404", description = "Task or Task list not found"),
+        @ApiResponse(responseCode = "412", description = "Task does not match If-Match")
       })
   @PutMapping(path = "/{task_id}")
   public ResponseEntity<TaskDto> updateTask(
       @PathVariable("task_list_id") UUID taskListId,
       @PathVariable("task_id") UUID id,
-      @Valid @RequestBody UpdateTaskRequest request) {
+      @Valid @RequestBody UpdateTaskRequest request,
+      @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+    ConditionalRequests.requireExists(
+        ifMatch, () -> taskService.getTaskVersion(taskListId, id), "Task " + id);
     return ResponseEntity.status(HttpStatus.OK)
-        .body(taskService.updateTask(taskListId, id, request));
+        .body(
+            taskService.updateTask(
+                taskListId, id, request, ConditionalRequests.expectedVersion(ifMatch)));
+  }
+
+  @Operation(summary = "Partially update a task with a JSON Merge Patch")
+  @ApiResponses(
+      value = {
+        @ApiResponse(responseCode = "200", description = "Task updated successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid patch"),
+        @ApiResponse(responseCode = "404", description = "Task or Task list not found"),
+        @ApiResponse(responseCode = "412", description = "Task does not match If-Match")
+      })
+  @PatchMapping(path = "/{task_id}", consumes = MERGE_PATCH_JSON)
+  public ResponseEntity<TaskDto> patchTask(
+      @PathVariable("task_list_id") UUID taskListId,
+      @PathVariable("task_id") UUID id,
+      @Valid @RequestBody TaskPatch patch,
+      @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+    ConditionalRequests.requireExists(
+        ifMatch, () -> taskService.getTaskVersion(taskListId, id), "Task " + id);
+    return ResponseEntity.status(HttpStatus.OK)
+        .body(
+            taskService.patchTask(
+                taskListId, id, patch, ConditionalRequests.expectedVersion(ifMatch)));
   }
 
   @Operation(summary = "Delete a task by ID")
   @ApiResponses(
-      value = {@ApiResponse(responseCode = "204", description = "Task deleted successfully")})
+      value = {
+        @ApiResponse(responseCode = "204", description = "Task deleted successfully"),
+        @ApiResponse(responseCode = "412", description = "Task does not match If-Match")
+      })
   @DeleteMapping(path = "/{task_id}")
   @ResponseStatus(HttpStatus.NO_CONTENT)
   public ResponseEntity<Void> deleteTask(
-      @PathVariable("task_list_id") UUID taskListId, @PathVariable("task_id") UUID taskId) {
-    taskService.deleteTask(taskListId, taskId);
+      @PathVariable("task_list_id") UUID taskListId,
+      @PathVariable("task_id") UUID taskId,
+      @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+    ConditionalRequests.requireExists(
+        ifMatch, () -> taskService.getTaskVersion(taskListId, taskId), "Task " + taskId);
+    taskService.deleteTask(taskListId, taskId, ConditionalRequests.expectedVersion(ifMatch));
     return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
   }
 }
@@ -0,0 +1,117 @@
+package com.taskify.controllers;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.taskify.dtos.TaskExportDto;
+import com.taskify.dtos.TaskExportFilter;
+import com.taskify.entities.TaskStatus;
+import com.taskify.services.TaskExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@Tag(name = "Export")
+@RestController
+@RequestMapping(path = "/api/v1/export")
+public class TaskExportController {
+  private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+  private final TaskExportService taskExportService;
+  private final ObjectWriter writer;
+
+  public TaskExportController(TaskExportService taskExportService, ObjectMapper objectMapper) {
+    this.taskExportService = taskExportService;
+    this.writer =
+        objectMapper
+            .writerFor(TaskExportDto.class)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+  }
+
+  @Operation(summary = "Stream all tasks as newline-delimited JSON, one task per line")
+  @ApiResponses(
+      value = {
+        @ApiResponse(responseCode = "200", description = "Tasks are being streamed"),
+        @ApiResponse(responseCode = "400", description = "Invalid filter")
+      })
+  @GetMapping(path = "/tasks", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> exportTasks(
+      @Parameter(description = "Only export the tasks of this task list")
+          @RequestParam(name = "task_list_id", required = false)
+          UUID taskListId,
+      @RequestParam(required = false) TaskStatus status,
+      @Parameter(description = "Only export tasks updated at or after this time")
+          @RequestParam(name = "updated_since", required = false)
+          @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          LocalDateTime updatedSince,
+      @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+    TaskExportFilter filter = new TaskExportFilter(taskListId, status, updatedSince);
+    boolean gzip = acceptsGzip(acceptEncoding);
+
+    ResponseEntity.BodyBuilder response =
+        ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .varyBy(HttpHeaders.ACCEPT_ENCODING);
+    if (gzip) {
+      response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+    }
+    return response.body(
+        out -> {
+          if (gzip) {
+            GZIPOutputStream compressed = new GZIPOutputStream(out, GZIP_BUFFER_SIZE);
+            write(filter, compressed);
+            compressed.finish();
+          } else {
+            write(filter, out);
+          }
+        });
+  }
+
+  private void write(TaskExportFilter filter, OutputStream out) throws IOException {
+    try (JsonGenerator generator = writer.createGenerator(out)) {
+      generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+      generator.setRootValueSeparator(null);
+      taskExportService.exportTasks(
+          filter,
+          task -> {
+            try {
+              writer.writeValue(generator, task);
+              generator.writeRaw('\n');
+            } catch (IOException ex) {
+              throw new UncheckedIOException(ex);
+            }
+          });
+    }
+  }
+
+  /** Whether an {@code Accept-Encoding} header lists gzip without ruling it out with q=0. */
+  static boolean acceptsGzip(String acceptEncoding) {
+    if (acceptEncoding == null) {
+      return false;
+    }
+    return Arrays.stream(acceptEncoding.split(","))
+        .map(coding -> coding.trim().split("\\s*;\\s*"))
+        .anyMatch(
+            coding ->
+                coding[0].equalsIgnoreCase("gzip")
+                    && Arrays.stream(coding)
+                        .skip(1)
+                        .noneMatch(parameter -> parameter.matches("(?i)q=0(\\.0*)?")));
+  }
+}
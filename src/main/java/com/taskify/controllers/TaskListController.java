@@ -1,40 +1,73 @@
 package com.taskify.controllers;
 
 import com.taskify.dtos.CreateTaskListRequest;
+import com.taskify.dtos.CursorPage;
+import com.taskify.dtos.TaskFields;
+import com.taskify.dtos.TaskListDeletionDto;
 import com.taskify.dtos.TaskListDto;
 import com.taskify.dtos.UpdateTaskListRequest;
+import com.taskify.pagination.Pages;
+import com.taskify.services.TaskListDeletionService;
 import com.taskify.services.TaskListService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
-import java.util.List;
+import java.net.URI;
 import java.util.UUID;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @Tag(name = "Task Lists")
 @RestController
 @RequestMapping(path = "/api/v1/task-lists")
 public class TaskListController {
   private final TaskListService taskListService;
+  private final TaskListDeletionService taskListDeletionService;
 
-  public TaskListController(TaskListService taskListService) {
+  public TaskListController(
+      TaskListService taskListService, TaskListDeletionService taskListDeletionService) {
     this.taskListService = taskListService;
+    this.taskListDeletionService = taskListDeletionService;
   }
 
-  @Operation(summary = "List all task lists")
+  @Operation(summary = "List task lists, oldest first, one page at a time")
   @ApiResponses(
       value = {
         @ApiResponse(
             responseCode = "200",
-            description = "Successfully retrieved list of task lists")
+            description = "Successfully retrieved a page of task lists"),
+        @ApiResponse(responseCode = "304", description = "Task lists not modified"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor, limit or fields")
       })
   @GetMapping
-  public ResponseEntity<List<TaskListDto>> listTaskLists() {
-    return ResponseEntity.status(HttpStatus.OK).body(taskListService.listTaskLists());
+  public ResponseEntity<CursorPage<TaskListDto>> listTaskLists(
+      @Parameter(description = "The `next` cursor of the previous page")
+          @RequestParam(required = false)
+          String cursor,
+      @Parameter(description = "Page size, capped at " + Pages.MAX_LIMIT)
+          @RequestParam(required = false)
+          Integer limit,
+      @Parameter(description = "Embed the tasks of each task list")
+          @RequestParam(name = "include_tasks", defaultValue = "false")
+          boolean includeTasks,
+      @Parameter(description = "Properties of the embedded tasks, e.g. id,title,status,dueDate")
+          @RequestParam(required = false)
+          String fields,
+      WebRequest webRequest) {
+    TaskFields taskFields = TaskFields.parse(fields);
+    if (ConditionalRequests.notModified(
+        webRequest, taskListService.getTaskListsVersion(cursor, limit))) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+    }
+    SparseFieldsAdvice.select(webRequest, taskFields);
+    return ResponseEntity.status(HttpStatus.OK)
+        .body(taskListService.listTaskLists(cursor, limit, includeTasks, taskFields));
   }
 
   @Operation(summary = "Create a new task list")
@@ -53,11 +86,36 @@ public class TaskListController {
   @ApiResponses(
       value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved task list"),
+        @ApiResponse(responseCode = "304", description = "Task list not modified"),
+        @ApiResponse(responseCode = "400", description = "Invalid fields"),
         @ApiResponse(responseCode = "404", description = "Task list not found")
       })
   @GetMapping(path = "/{task_list_id}")
-  public ResponseEntity<TaskListDto> getTaskList(@PathVariable("task_list_id") UUID taskListId) {
-    return ResponseEntity.status(HttpStatus.OK).body(taskListService.getTaskList(taskListId));
+  public ResponseEntity<TaskListDto> getTaskList(
+      @PathVariable("task_list_id") UUID taskListId,
+      @Parameter(description = "Embed the tasks of the task list")
+          @RequestParam(name = "include_tasks", defaultValue = "true")
+          boolean includeTasks,
+      @Parameter(description = "Properties of the embedded tasks, e.g. id,title,status,dueDate")
+          @RequestParam(required = false)
+          String fields,
+      WebRequest webRequest) {
+    TaskFields taskFields = TaskFields.parse(fields);
+    // Read first, so that a write in between cannot pair its validators with an older body.
+    if (ConditionalRequests.notModified(
+        webRequest, taskListService.getTaskListVersion(taskListId))) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+    }
+    if (!includeTasks) {
+      return ResponseEntity.status(HttpStatus.OK)
+          .body(taskListService.getTaskListSummary(taskListId));
+    }
+    SparseFieldsAdvice.select(webRequest, taskFields);
+    return ResponseEntity.status(HttpStatus.OK)
+        .body(
+            taskFields.isAll()
+                ? taskListService.getTaskList(taskListId)
+                : taskListService.getTaskList(taskListId, taskFields));
   }
 
   @Operation(summary = "Update an existing task list")
@@ -65,23 +123,49 @@ public class TaskListController {
       value = {
         @ApiResponse(responseCode = "200", description = "Task list updated successfully"),
         @ApiResponse(responseCode = "400", description = "Invalid input"),
-        @ApiResponse(responseCode = "404", description = "Task list not found")
+        @ApiResponse(responseCode = "404", description = "Task list not found"),
+        @ApiResponse(responseCode = "409", description = "Concurrent modification"),
+        @ApiResponse(responseCode = "412", description = "Task list does not match If-Match")
       })
   @PutMapping(path = "/{task_list_id}")
   public ResponseEntity<TaskListDto> updateTaskList(
       @PathVariable("task_list_id") UUID taskListId,
-      @Valid @RequestBody UpdateTaskListRequest request) {
+      @Valid @RequestBody UpdateTaskListRequest request,
+      @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+    ConditionalRequests.requireExists(
+        ifMatch, () -> taskListService.getTaskListVersion(taskListId), "Task List " + taskListId);
     return ResponseEntity.status(HttpStatus.OK)
-        .body(taskListService.updateTaskList(taskListId, request));
+        .body(
+            taskListService.updateTaskList(
+                taskListId, request, ConditionalRequests.expectedVersion(ifMatch)));
   }
 
-  @Operation(summary = "Delete a task list by ID")
+  @Operation(summary = "Delete a task list by ID, together with its tasks")
   @ApiResponses(
-      value = {@ApiResponse(responseCode = "204", description = "Task list deleted successfully")})
+      value = {
+        @ApiResponse(responseCode = "202", description = "Task list deletion started"),
+        @ApiResponse(responseCode = "204", description = "Task list deleted successfully"),
+        @ApiResponse(responseCode = "404", description = "Task list not found (async only)"),
+        @ApiResponse(responseCode = "412", description = "Task list does not match If-Match")
+      })
   @DeleteMapping(path = "/{task_list_id}")
-  @ResponseStatus(HttpStatus.NO_CONTENT)
-  public ResponseEntity<Void> deleteTaskList(@PathVariable("task_list_id") UUID taskListId) {
-    taskListService.deleteTaskList(taskListId);
+  public ResponseEntity<TaskListDeletionDto> deleteTaskList(
+      @PathVariable("task_list_id") UUID taskListId,
+      @Parameter(description = "Delete in the background and return a status resource")
+          @RequestParam(defaultValue = "false")
+          boolean async,
+      @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+    ConditionalRequests.requireExists(
+        ifMatch, () -> taskListService.getTaskListVersion(taskListId), "Task List " + taskListId);
+    Long expectedVersion = ConditionalRequests.expectedVersion(ifMatch);
+    if (async) {
+      TaskListDeletionDto deletion =
+          taskListDeletionService.startDeletion(taskListId, expectedVersion);
+      return ResponseEntity.accepted()
+          .location(URI.create("/api/v1/task-list-deletions/" + deletion.id()))
+          .body(deletion);
+    }
+    taskListService.deleteTaskList(taskListId, expectedVersion);
     return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
   }
 }
@@ -0,0 +1,36 @@
+package com.taskify.controllers;
+
+import com.taskify.dtos.TaskListDeletionDto;
+import com.taskify.services.TaskListDeletionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.UUID;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@Tag(name = "Task Lists")
+@RestController
+@RequestMapping(path = "/api/v1/task-list-deletions")
+public class TaskListDeletionController {
+  private final TaskListDeletionService taskListDeletionService;
+
+  public TaskListDeletionController(TaskListDeletionService taskListDeletionService) {
+    this.taskListDeletionService = taskListDeletionService;
+  }
+
+  @Operation(summary = "Get the progress of an asynchronous task list deletion")
+  @ApiResponses(
+      value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved the deletion"),
+        @ApiResponse(responseCode = "404", description = "Deletion not found or expired")
+      })
+  @GetMapping("/{deletion_id}")
+  public ResponseEntity<TaskListDeletionDto> getDeletion(
+      @PathVariable("deletion_id") UUID deletionId) {
+    return ResponseEntity.status(HttpStatus.OK)
+        .body(taskListDeletionService.getDeletion(deletionId));
+  }
+}
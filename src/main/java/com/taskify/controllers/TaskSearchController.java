@@ -0,0 +1,52 @@
+package com.taskify.controllers;
+
+import com.taskify.dtos.CursorPage;
+import com.taskify.dtos.TaskSearchResultDto;
+import com.taskify.pagination.Pages;
+import com.taskify.services.TaskService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.UUID;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@Tag(name = "Tasks")
+@RestController
+@RequestMapping(path = "/api/v1/tasks")
+public class TaskSearchController {
+  private final TaskService taskService;
+
+  public TaskSearchController(TaskService taskService) {
+    this.taskService = taskService;
+  }
+
+  @Operation(summary = "Search task titles and descriptions, best match first")
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Successfully retrieved a page of matches"),
+        @ApiResponse(responseCode = "400", description = "Blank query, invalid cursor or limit")
+      })
+  @GetMapping(path = "/search")
+  public ResponseEntity<CursorPage<TaskSearchResultDto>> searchTasks(
+      @Parameter(description = "Search terms; supports \"quoted phrases\", OR and -exclusions")
+          @RequestParam
+          String q,
+      @Parameter(description = "Only search the tasks of this task list")
+          @RequestParam(name = "task_list_id", required = false)
+          UUID taskListId,
+      @Parameter(description = "The `next` cursor of the previous page of the same search")
+          @RequestParam(required = false)
+          String cursor,
+      @Parameter(description = "Page size, capped at " + Pages.MAX_LIMIT)
+          @RequestParam(required = false)
+          Integer limit) {
+    return ResponseEntity.status(HttpStatus.OK)
+        .body(taskService.searchTasks(q, taskListId, cursor, limit));
+  }
+}
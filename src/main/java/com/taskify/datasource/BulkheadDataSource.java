@@ -0,0 +1,200 @@
+package com.taskify.datasource;
+
+import com.taskify.configs.DataSourceBulkheadProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Lets at most {@code maxConcurrent} callers hold a connection of the target pool at a time. Up to
+ * {@code maxWaiting} more queue for one in arrival order, each for at most {@code maxWait}, and
+ * everyone else fails right away with a {@link SQLTransientConnectionException}, which the API
+ * answers with 503. With a thread per request the servlet container bounds how many callers there
+ * are; with virtual threads nothing else does, and thousands of them would otherwise wait inside
+ * the pool for its full connection timeout.
+ *
+ * <p>A permit is held from {@link #getConnection} until the connection is closed.
+ */
+public class BulkheadDataSource extends DelegatingDataSource implements AutoCloseable {
+
+  static final String WAITING_METRIC = "taskify.datasource.bulkhead.waiting";
+  static final String REJECTED_METRIC = "taskify.datasource.bulkhead.rejected";
+
+  private final String name;
+  private final Semaphore permits;
+  private final Duration maxWait;
+  private final int maxWaiting;
+  private final AtomicInteger waiting = new AtomicInteger();
+  private volatile Counter rejected;
+
+  public BulkheadDataSource(
+      String name, DataSource target, int maxConcurrent, Duration maxWait, int maxWaiting) {
+    super(target);
+    this.name = name;
+    this.permits = new Semaphore(maxConcurrent, true);
+    this.maxWait = maxWait;
+    this.maxWaiting = maxWaiting;
+  }
+
+  /**
+   * Puts a bulkhead sized to the pool in front of it, unless bulkheads are disabled, and reports
+   * its metrics tagged with the name of the pool.
+   */
+  public static DataSource around(
+      HikariDataSource pool, DataSourceBulkheadProperties properties, MeterRegistry meterRegistry) {
+    if (!properties.enabled()) {
+      return pool;
+    }
+    BulkheadDataSource bulkhead =
+        new BulkheadDataSource(
+            pool.getPoolName(),
+            pool,
+            pool.getMaximumPoolSize(),
+            properties.maxWait(),
+            properties.maxWaiting());
+    if (meterRegistry != null) {
+      bulkhead.bindTo(meterRegistry);
+    }
+    return bulkhead;
+  }
+
+  /**
+   * Reports the callers waiting for a connection as {@value #WAITING_METRIC} and those turned away
+   * as {@value #REJECTED_METRIC}.
+   */
+  void bindTo(MeterRegistry registry) {
+    Gauge.builder(WAITING_METRIC, waiting, AtomicInteger::get)
+        .tag("pool", name)
+        .description("Callers waiting for the bulkhead to let them get a connection")
+        .register(registry);
+    rejected =
+        Counter.builder(REJECTED_METRIC)
+            .tag("pool", name)
+            .description("Callers that could not get a connection through the bulkhead")
+            .register(registry);
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    acquire();
+    try {
+      return gated(obtainTargetDataSource().getConnection());
+    } catch (SQLException | RuntimeException ex) {
+      permits.release();
+      throw ex;
+    }
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    acquire();
+    try {
+      return gated(obtainTargetDataSource().getConnection(username, password));
+    } catch (SQLException | RuntimeException ex) {
+      permits.release();
+      throw ex;
+    }
+  }
+
+  @Override
+  public void close() throws Exception {
+    if (obtainTargetDataSource() instanceof AutoCloseable closeable) {
+      closeable.close();
+    }
+  }
+
+  private void acquire() throws SQLException {
+    // A timed tryAcquire, unlike the untimed one, does not jump the queue of a fair semaphore.
+    try {
+      if (permits.tryAcquire(0, TimeUnit.NANOSECONDS)) {
+        return;
+      }
+      if (waiting.incrementAndGet() > maxWaiting) {
+        waiting.decrementAndGet();
+        throw reject(maxWaiting + " callers are already waiting");
+      }
+      try {
+        if (!permits.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS)) {
+          throw reject("none was free within " + maxWait.toMillis() + "ms");
+        }
+      } finally {
+        waiting.decrementAndGet();
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new SQLTransientConnectionException(
+          "Interrupted while waiting for a connection from pool '" + name + "'", ex);
+    }
+  }
+
+  private SQLTransientConnectionException reject(String reason) {
+    Counter counter = rejected;
+    if (counter != null) {
+      counter.increment();
+    }
+    return new SQLTransientConnectionException(
+        "Could not get a connection from pool '" + name + "': " + reason);
+  }
+
+  private Connection gated(Connection connection) {
+    return (Connection)
+        Proxy.newProxyInstance(
+            ConnectionProxy.class.getClassLoader(),
+            new Class<?>[] {ConnectionProxy.class},
+            new ReleasingInvocationHandler(connection));
+  }
+
+  /** Hands back the permit of a connection the first time it is closed. */
+  private final class ReleasingInvocationHandler implements InvocationHandler {
+
+    private final Connection target;
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    ReleasingInvocationHandler(Connection target) {
+      this.target = target;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      switch (method.getName()) {
+        case "equals":
+          return proxy == args[0];
+        case "hashCode":
+          return System.identityHashCode(proxy);
+        case "getTargetConnection":
+          return target;
+        case "close":
+          try {
+            target.close();
+          } finally {
+            if (released.compareAndSet(false, true)) {
+              permits.release();
+            }
+          }
+          return null;
+        default:
+          try {
+            return method.invoke(target, args);
+          } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+          }
+      }
+    }
+  }
+}
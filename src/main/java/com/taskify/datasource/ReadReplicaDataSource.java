@@ -0,0 +1,96 @@
+package com.taskify.datasource;
+
+import com.taskify.configs.DataSourceBulkheadProperties;
+import com.taskify.configs.DataSourceReplicaProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * The application's data source once read replicas are configured. Connections are only fetched
+ * when a transaction first runs a statement, by which time it is known whether the transaction is
+ * read-only: read-only transactions go to a {@link ReplicaRoutingDataSource}, all others to the
+ * primary pool.
+ *
+ * <p>Every replica gets a Hikari pool of its own, named {@code replica-1} and so on, with the
+ * settings of the primary pool, so the usual {@code hikaricp} metrics are reported per target, and
+ * each pool gets a {@link BulkheadDataSource} of its own.
+ */
+public class ReadReplicaDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+  private final HikariDataSource primary;
+  private final Map<String, HikariDataSource> replicas = new LinkedHashMap<>();
+  private final ReplicaRoutingDataSource routing;
+  private final ScheduledExecutorService lagChecks;
+
+  public ReadReplicaDataSource(
+      HikariDataSource primary,
+      DataSourceReplicaProperties properties,
+      DataSourceBulkheadProperties bulkhead,
+      MeterRegistry meterRegistry) {
+    this.primary = primary;
+    Map<String, DataSource> gatedReplicas = new LinkedHashMap<>();
+    for (DataSourceReplicaProperties.Replica replica : properties.replicas()) {
+      String name = "replica-" + (replicas.size() + 1);
+      HikariDataSource pool = pool(name, replica, meterRegistry);
+      replicas.put(name, pool);
+      gatedReplicas.put(name, BulkheadDataSource.around(pool, bulkhead, meterRegistry));
+    }
+    DataSource gatedPrimary = BulkheadDataSource.around(primary, bulkhead, meterRegistry);
+    routing = new ReplicaRoutingDataSource(gatedPrimary, gatedReplicas, properties.maxReplicaLag());
+    if (meterRegistry != null) {
+      routing.bindTo(meterRegistry);
+    }
+    setTargetDataSource(
+        new DelegatingDataSource(gatedPrimary) {
+          @Override
+          public Connection getConnection() throws SQLException {
+            ReadYourWritesFilter.trackWrite();
+            return super.getConnection();
+          }
+        });
+    setReadOnlyDataSource(routing);
+    afterPropertiesSet();
+
+    lagChecks =
+        Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("replica-lag-check").daemon().factory());
+    lagChecks.scheduleWithFixedDelay(
+        routing::checkLag, 0, properties.lagCheckInterval().toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public void close() {
+    lagChecks.shutdownNow();
+    replicas.values().forEach(HikariDataSource::close);
+    primary.close();
+  }
+
+  private HikariDataSource pool(
+      String name, DataSourceReplicaProperties.Replica replica, MeterRegistry meterRegistry) {
+    HikariDataSource pool = new HikariDataSource();
+    primary.copyStateTo(pool);
+    pool.setPoolName(name);
+    pool.setJdbcUrl(replica.url());
+    if (replica.username() != null) {
+      pool.setUsername(replica.username());
+      pool.setPassword(replica.password());
+    }
+    if (meterRegistry != null
+        && pool.getMetricsTrackerFactory() == null
+        && pool.getMetricRegistry() == null) {
+      pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+    }
+    return pool;
+  }
+}
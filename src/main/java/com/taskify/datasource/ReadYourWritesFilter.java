@@ -0,0 +1,131 @@
+package com.taskify.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+/**
+ * Keeps the reads of a client on the primary for {@code readYourWrites} after one of its requests
+ * had a write committed, so that it reads what it just wrote while everyone else keeps reading from
+ * the replicas. The response to the write says until when, in epoch milliseconds, with a {@value
+ * #COOKIE} cookie and a {@value #HEADER} header, and whichever node a later request lands on
+ * honours either. Browsers only send the cookie back to their own origin, so clients served from
+ * another one send the header back instead. Claims reaching further than {@code readYourWrites}
+ * are ignored, so that clients cannot pin their reads to the primary.
+ *
+ * <p>Only requests passing through this filter are tracked, on the thread serving them.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+  public static final String HEADER = "Taskify-Primary-Until";
+  static final String COOKIE = "taskify-primary-until";
+
+  private static final ThreadLocal<Client> CURRENT = new ThreadLocal<>();
+
+  private final Duration readYourWrites;
+
+  public ReadYourWritesFilter(Duration readYourWrites) {
+    this.readYourWrites = readYourWrites;
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    if (readYourWrites.isZero()) {
+      filterChain.doFilter(request, response);
+      return;
+    }
+    Client previous = CURRENT.get();
+    CURRENT.set(new Client(response, claimedUntil(request)));
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      if (previous != null) {
+        CURRENT.set(previous);
+      } else {
+        CURRENT.remove();
+      }
+    }
+  }
+
+  /**
+   * Whether the request being served comes from a client whose write committed less than {@code
+   * readYourWrites} ago, in this request or an earlier one.
+   */
+  static boolean readsOwnWrites() {
+    Client client = CURRENT.get();
+    return client != null && System.currentTimeMillis() < client.primaryUntil;
+  }
+
+  /**
+   * Keeps the reads of the client of the request being served on the primary once the write
+   * transaction that is about to run has committed.
+   */
+  static void trackWrite() {
+    Client client = CURRENT.get();
+    if (client == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            client.written();
+          }
+        });
+  }
+
+  private long claimedUntil(HttpServletRequest request) {
+    Cookie cookie = WebUtils.getCookie(request, COOKIE);
+    String claim = cookie != null ? cookie.getValue() : request.getHeader(HEADER);
+    if (claim == null) {
+      return 0;
+    }
+    try {
+      long until = Long.parseLong(claim);
+      return until <= System.currentTimeMillis() + readYourWrites.toMillis() ? until : 0;
+    } catch (NumberFormatException ex) {
+      return 0;
+    }
+  }
+
+  private final class Client {
+
+    private final HttpServletResponse response;
+    private volatile long primaryUntil;
+
+    private Client(HttpServletResponse response, long primaryUntil) {
+      this.response = response;
+      this.primaryUntil = primaryUntil;
+    }
+
+    private void written() {
+      long until = System.currentTimeMillis() + readYourWrites.toMillis();
+      primaryUntil = until;
+      if (response.isCommitted()) {
+        return;
+      }
+      response.setHeader(HEADER, Long.toString(until));
+      response.addHeader(
+          HttpHeaders.SET_COOKIE,
+          ResponseCookie.from(COOKIE, Long.toString(until))
+              .path("/")
+              .maxAge(Duration.ofSeconds((readYourWrites.toMillis() + 999) / 1000))
+              .httpOnly(true)
+              .sameSite("Lax")
+              .build()
+              .toString());
+    }
+  }
+}
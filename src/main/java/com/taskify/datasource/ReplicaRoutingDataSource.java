@@ -0,0 +1,131 @@
+package com.taskify.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * Hands out connections for read-only transactions, spread round-robin over the replicas that are
+ * at most {@code maxLag} behind the primary. Falls back to the primary while none is.
+ *
+ * <p>Reads of a client that just had a write committed go to the primary as well, as the {@link
+ * ReadYourWritesFilter} serving its request tells.
+ *
+ * <p>The lag of a replica is what it reports to {@link #checkLag}: zero while it has replayed
+ * everything it received from a connected primary, and the age of the last transaction it replayed
+ * otherwise. Replicas that cannot be reached count as lagging until they answer again.
+ */
+class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+  static final String LAG_METRIC = "taskify.datasource.replica.lag";
+
+  private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+  private static final String LAG_QUERY =
+      "select case when not pg_is_in_recovery() then 0"
+          + " when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn()"
+          + " and exists (select from pg_stat_wal_receiver) then 0"
+          + " else extract(epoch from now() - pg_last_xact_replay_timestamp()) end";
+
+  private final Map<String, DataSource> replicas;
+  private final Map<String, Double> lags = new ConcurrentHashMap<>();
+  private final double maxLagSeconds;
+  private final AtomicInteger next = new AtomicInteger();
+
+  private volatile List<String> usable = List.of();
+  private boolean checked;
+
+  ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, Duration maxLag) {
+    this.replicas = replicas;
+    this.maxLagSeconds = maxLag.toNanos() / 1e9;
+    replicas.keySet().forEach(name -> lags.put(name, Double.NaN));
+    setDefaultTargetDataSource(primary);
+    setTargetDataSources(new LinkedHashMap<>(replicas));
+    afterPropertiesSet();
+  }
+
+  /**
+   * Reports the lag of every replica as {@value #LAG_METRIC}, in seconds, or NaN while it cannot be
+   * reached.
+   */
+  void bindTo(MeterRegistry registry) {
+    for (String name : replicas.keySet()) {
+      Gauge.builder(LAG_METRIC, lags, byReplica -> byReplica.get(name))
+          .tag("replica", name)
+          .baseUnit("seconds")
+          .description("Replication lag last measured on a read replica")
+          .register(registry);
+    }
+  }
+
+  /** Measures the lag of every replica, deciding which of them reads may go to. */
+  synchronized void checkLag() {
+    List<String> nowUsable = new ArrayList<>();
+    for (String name : replicas.keySet()) {
+      double lag = measureLag(name);
+      lags.put(name, lag);
+      boolean wasUsable = usable.contains(name);
+      if (lag <= maxLagSeconds) {
+        nowUsable.add(name);
+        if (!wasUsable) {
+          log.info("Reading from replica '{}' again", name);
+        }
+      } else if (wasUsable || !checked) {
+        log.warn(
+            "Replica '{}' is {}, reading from the primary instead",
+            name,
+            Double.isNaN(lag)
+                ? "unavailable"
+                : Double.isInfinite(lag)
+                    ? "not replaying yet"
+                    : String.format("%.1fs behind", lag));
+      }
+    }
+    usable = List.copyOf(nowUsable);
+    checked = true;
+  }
+
+  @Override
+  protected Object determineCurrentLookupKey() {
+    List<String> candidates = usable;
+    if (candidates.isEmpty() || ReadYourWritesFilter.readsOwnWrites()) {
+      return null;
+    }
+    return candidates.get(Math.floorMod(next.getAndIncrement(), candidates.size()));
+  }
+
+  /**
+   * Returns the lag of a replica in seconds, infinite if it has not replayed a transaction since it
+   * started, or NaN if it cannot be reached.
+   */
+  private double measureLag(String name) {
+    DataSource replica = replicas.get(name);
+    // Lag checks must not queue behind the reads whose routing they decide.
+    if (replica instanceof BulkheadDataSource bulkhead) {
+      replica = bulkhead.getTargetDataSource();
+    }
+    try (Connection connection = replica.getConnection();
+        Statement statement = connection.createStatement();
+        ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+      resultSet.next();
+      double lag = resultSet.getDouble(1);
+      return resultSet.wasNull() ? Double.POSITIVE_INFINITY : Math.max(0, lag);
+    } catch (SQLException e) {
+      log.debug("Could not measure the lag of replica '{}'", name, e);
+      return Double.NaN;
+    }
+  }
+}
@@ -0,0 +1,58 @@
+package com.taskify.dtos;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+
+/**
+ * The formats response bodies are written in, in the order their message converters are tried, so
+ * that the one a request gets is known before its body is loaded. Each gets ETags of its own, see
+ * {@link ResourceVersion#eTag(BodyFormat)}.
+ */
+public enum BodyFormat {
+  JSON(MediaType.APPLICATION_JSON, ""),
+  SMILE(new MediaType("application", "x-jackson-smile"), "+smile"),
+  CBOR(MediaType.APPLICATION_CBOR, "+cbor");
+
+  private final MediaType mediaType;
+  private final String suffix;
+
+  BodyFormat(MediaType mediaType, String suffix) {
+    this.mediaType = mediaType;
+    this.suffix = suffix;
+  }
+
+  String suffix() {
+    return suffix;
+  }
+
+  /**
+   * Returns the format negotiated for the given {@code Accept} header values, or JSON when they
+   * name none of the formats, which fails the request in the converters anyway.
+   */
+  public static BodyFormat negotiate(List<String> accept) {
+    if (accept == null || accept.isEmpty()) {
+      return JSON;
+    }
+    List<MediaType> accepted;
+    try {
+      accepted = new ArrayList<>(MediaType.parseMediaTypes(accept));
+    } catch (InvalidMediaTypeException ex) {
+      return JSON;
+    }
+    MimeTypeUtils.sortBySpecificity(accepted);
+    for (MediaType type : accepted) {
+      if (type.getQualityValue() == 0) {
+        continue;
+      }
+      for (BodyFormat format : values()) {
+        if (type.isCompatibleWith(format.mediaType)) {
+          return format;
+        }
+      }
+    }
+    return JSON;
+  }
+}
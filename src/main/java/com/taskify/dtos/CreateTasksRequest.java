@@ -0,0 +1,7 @@
+package com.taskify.dtos;
+
+import jakarta.validation.constraints.NotEmpty;
+import java.util.List;
+
+/** The tasks to create in one batch; each item is validated on its own. */
+public record CreateTasksRequest(@NotEmpty List<CreateTaskRequest> tasks) {}
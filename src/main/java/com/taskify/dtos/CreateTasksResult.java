@@ -0,0 +1,26 @@
+package com.taskify.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.List;
+
+/** The outcome of a batch create, with one item per requested task in request order. */
+public record CreateTasksResult(int created, int failed, List<Item> items) {
+
+  public static CreateTasksResult of(List<Item> items) {
+    int created = (int) items.stream().filter(item -> item.task() != null).count();
+    return new CreateTasksResult(created, items.size() - created, items);
+  }
+
+  /** Either the created task or the reasons the request at {@code index} was rejected. */
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  public record Item(int index, int status, TaskDto task, List<String> errors) {
+
+    public static Item created(int index, TaskDto task) {
+      return new Item(index, 201, task, null);
+    }
+
+    public static Item rejected(int index, List<String> errors) {
+      return new Item(index, 400, null, errors);
+    }
+  }
+}
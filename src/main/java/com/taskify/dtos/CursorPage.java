@@ -0,0 +1,6 @@
+package com.taskify.dtos;
+
+import java.util.List;
+
+/** A page of results; {@code next} is the cursor for the following page, or null on the last. */
+public record CursorPage<T>(List<T> items, String next) {}
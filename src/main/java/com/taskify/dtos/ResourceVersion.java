@@ -0,0 +1,93 @@
+package com.taskify.dtos;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import org.springframework.util.DigestUtils;
+
+/**
+ * Cheap validator data for a resource, read from stored rows before the resource itself is loaded:
+ * the number of rows it is built from, when it was last modified and, where the row's own {@code
+ * updated} timestamp cannot tell every change apart, a stamp of its content.
+ *
+ * <p>Resources backed by a row of their own also carry that row's {@code version}, which leads
+ * their ETag. {@code If-Match} is checked against it alone, see {@link #versionOf}.
+ *
+ * <p>A task list's tasks change without touching its row's version or timestamp, so task lists
+ * carry a stamp of their counters and of the row versions of their tasks, see {@link
+ * TaskListStamps}.
+ *
+ * <p>The bytes of a resource differ between the {@link BodyFormat body formats}, so each gets ETags
+ * of its own, which only differ in a {@code +cbor} or {@code +smile} suffix.
+ */
+public record ResourceVersion(
+    long count, LocalDateTime lastModified, Long version, String content) {
+
+  public ResourceVersion(long count, LocalDateTime lastModified) {
+    this(count, lastModified, null);
+  }
+
+  public ResourceVersion(long count, LocalDateTime lastModified, Long version) {
+    this(count, lastModified, version, (String) null);
+  }
+
+  public ResourceVersion(long count, LocalDateTime lastModified, Long version, long content) {
+    this(count, lastModified, version, Long.toHexString(content));
+  }
+
+  /**
+   * Returns validator data whose content stamp is a digest of {@code content}, for resources built
+   * from several rows, such as a page of task lists, see {@link TaskListStamps#pageVersion}.
+   */
+  public static ResourceVersion ofDigest(long count, LocalDateTime lastModified, String content) {
+    return new ResourceVersion(
+        count,
+        lastModified,
+        null,
+        DigestUtils.md5DigestAsHex(content.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  public String eTag() {
+    return eTag(BodyFormat.JSON);
+  }
+
+  public String eTag(BodyFormat format) {
+    String tag = Long.toHexString(count) + "-" + (content != null ? content : micros());
+    return "\""
+        + (version != null ? Long.toHexString(version) + "-" + tag : tag)
+        + format.suffix()
+        + "\"";
+  }
+
+  private String micros() {
+    long micros =
+        lastModified != null
+            ? lastModified.toEpochSecond(ZoneOffset.UTC) * 1_000_000
+                + lastModified.getNano() / 1_000
+            : 0;
+    return Long.toHexString(micros);
+  }
+
+  public long lastModifiedMillis() {
+    return lastModified != null
+        ? lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+        : -1;
+  }
+
+  /**
+   * Returns the row version an ETag of this format was issued for, in any body format, or -1, which
+   * matches no row, for weak and foreign tags.
+   */
+  public static long versionOf(String eTag) {
+    String[] parts = eTag.strip().split("-");
+    if (parts.length != 3 || !parts[0].startsWith("\"") || !parts[2].endsWith("\"")) {
+      return -1;
+    }
+    try {
+      return Long.parseLong(parts[0].substring(1), 16);
+    } catch (NumberFormatException ex) {
+      return -1;
+    }
+  }
+}
@@ -0,0 +1,17 @@
+package com.taskify.dtos;
+
+import com.taskify.entities.TaskPriority;
+import com.taskify.entities.TaskStatus;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record TaskExportDto(
+    UUID id,
+    UUID taskListId,
+    String title,
+    String description,
+    LocalDateTime dueDate,
+    TaskPriority priority,
+    TaskStatus status,
+    LocalDateTime created,
+    LocalDateTime updated) {}
@@ -0,0 +1,11 @@
+package com.taskify.dtos;
+
+import com.taskify.entities.TaskStatus;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/** Optional criteria for exporting tasks; {@code null} components do not filter. */
+public record TaskExportFilter(UUID taskListId, TaskStatus status, LocalDateTime updatedSince) {
+
+  public static final TaskExportFilter NONE = new TaskExportFilter(null, null, null);
+}
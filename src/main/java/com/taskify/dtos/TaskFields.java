@@ -0,0 +1,93 @@
+package com.taskify.dtos;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * A sparse fieldset of task properties, written as a comma separated list of {@link TaskDto}
+ * property names such as {@code id,title,status,dueDate}. The ID is always included.
+ */
+public record TaskFields(Set<Field> fields) {
+
+  /** The id of the Jackson filter that leaves out the properties of a {@link TaskDto}. */
+  static final String FILTER = "taskFields";
+
+  public static final TaskFields ALL = new TaskFields(EnumSet.allOf(Field.class));
+
+  public TaskFields {
+    EnumSet<Field> withId = EnumSet.of(Field.ID);
+    withId.addAll(fields);
+    fields = Collections.unmodifiableSet(withId);
+  }
+
+  public static TaskFields parse(String value) {
+    if (value == null || value.isBlank()) {
+      return ALL;
+    }
+    return new TaskFields(
+        Arrays.stream(value.split(","))
+            .map(String::trim)
+            .filter(name -> !name.isEmpty())
+            .map(
+                name ->
+                    Arrays.stream(Field.values())
+                        .filter(field -> field.property.equals(name))
+                        .findFirst()
+                        .orElseThrow(
+                            () -> new IllegalArgumentException("Unsupported field: " + name)))
+            .collect(Collectors.toCollection(() -> EnumSet.noneOf(Field.class))));
+  }
+
+  public boolean isAll() {
+    return fields.size() == Field.values().length;
+  }
+
+  /** The {@link com.taskify.entities.Task} attributes to select, which share the property names. */
+  public Set<String> attributes() {
+    // In declaration order, so that equal fieldsets always produce the same query.
+    return fields.stream()
+        .map(Field::property)
+        .collect(Collectors.toCollection(LinkedHashSet::new));
+  }
+
+  /** Jackson filters that serialize only these properties of a {@link TaskDto}. */
+  public FilterProvider filters() {
+    return new SimpleFilterProvider()
+        .addFilter(
+            FILTER,
+            isAll()
+                ? SimpleBeanPropertyFilter.serializeAll()
+                : SimpleBeanPropertyFilter.filterOutAllExcept(attributes()));
+  }
+
+  @JsonFilter(FILTER)
+  private interface Filtered {}
+
+  public enum Field {
+    ID("id"),
+    TITLE("title"),
+    DESCRIPTION("description"),
+    DUE_DATE("dueDate"),
+    PRIORITY("priority"),
+    STATUS("status");
+
+    private final String property;
+
+    Field(String property) {
+      this.property = property;
+    }
+
+    public String property() {
+      return property;
+    }
+  }
+}
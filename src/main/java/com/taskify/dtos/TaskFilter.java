@@ -0,0 +1,18 @@
+package com.taskify.dtos;
+
+import com.taskify.entities.TaskPriority;
+import com.taskify.entities.TaskStatus;
+import java.time.LocalDateTime;
+
+/** Optional criteria for listing tasks; {@code null} components do not filter. */
+public record TaskFilter(
+    TaskStatus status, TaskPriority priority, LocalDateTime dueAfter, LocalDateTime dueBefore) {
+
+  public static final TaskFilter NONE = new TaskFilter(null, null, null, null);
+
+  public TaskFilter {
+    if (dueAfter != null && dueBefore != null && !dueAfter.isBefore(dueBefore)) {
+      throw new IllegalArgumentException("due_after must be before due_before");
+    }
+  }
+}
@@ -0,0 +1,27 @@
+package com.taskify.dtos;
+
+import java.util.UUID;
+
+/** The progress of an asynchronous task list deletion. */
+public record TaskListDeletionDto(
+    UUID id, UUID taskListId, Status status, int deletedTasks, String error) {
+
+  public enum Status {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+  }
+
+  public TaskListDeletionDto progressed(int deleted) {
+    return new TaskListDeletionDto(id, taskListId, Status.RUNNING, deletedTasks + deleted, null);
+  }
+
+  public TaskListDeletionDto completed() {
+    return new TaskListDeletionDto(id, taskListId, Status.COMPLETED, deletedTasks, null);
+  }
+
+  public TaskListDeletionDto failed(String error) {
+    return new TaskListDeletionDto(id, taskListId, Status.FAILED, deletedTasks, error);
+  }
+}
@@ -1,5 +1,6 @@
 package com.taskify.dtos;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import java.util.List;
 import java.util.UUID;
 
@@ -9,4 +10,4 @@ public record TaskListDto(
     String description,
     Integer count,
     Double progress,
-    List<TaskDto> tasks) {}
+    @JsonInclude(JsonInclude.Include.NON_NULL) List<TaskDto> tasks) {}
@@ -0,0 +1,59 @@
+package com.taskify.dtos;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The counters, versions and timestamps that the validators of a task list, its tasks and pages of
+ * task lists are read from. {@code contentVersion} and {@code contentUpdated} move with the
+ * counters of the task list row, in the same statement that adjusts them. Writes that leave the
+ * counters alone only show in {@code tasksUpdated} and {@code taskVersions}, the latest update and
+ * the sum of the row versions of its tasks, which are read through an index on {@code
+ * (task_list_id, updated)}. Any committed write raises that sum, whatever order concurrent writers
+ * commit in, which a latest timestamp alone cannot promise.
+ */
+public record TaskListStamps(
+    UUID id,
+    int taskCount,
+    LocalDateTime updated,
+    long version,
+    LocalDateTime contentUpdated,
+    long contentVersion,
+    LocalDateTime tasksUpdated,
+    long taskVersions) {
+
+  /** The validator data of the task list, covering its own columns as well as its tasks. */
+  public ResourceVersion taskListVersion() {
+    return new ResourceVersion(
+        taskCount, latest(latest(updated, contentUpdated), tasksUpdated), version, content());
+  }
+
+  /** The validator data of the tasks of the task list alone. */
+  public ResourceVersion tasksVersion() {
+    return new ResourceVersion(taskCount, latest(contentUpdated, tasksUpdated), null, content());
+  }
+
+  private String content() {
+    return Long.toHexString(contentVersion) + "." + Long.toHexString(taskVersions);
+  }
+
+  private static LocalDateTime latest(LocalDateTime first, LocalDateTime second) {
+    return first == null || (second != null && second.isAfter(first)) ? second : first;
+  }
+
+  /**
+   * The validator data of a page of task lists, from the stamps of its rows in page order and its
+   * {@code next} cursor, so that a task list changing, leaving or joining the page changes it.
+   */
+  public static ResourceVersion pageVersion(List<TaskListStamps> page, String next) {
+    StringBuilder content = new StringBuilder();
+    LocalDateTime lastModified = null;
+    for (TaskListStamps stamps : page) {
+      ResourceVersion version = stamps.taskListVersion();
+      content.append(stamps.id()).append(version.eTag()).append(';');
+      lastModified = latest(lastModified, version.lastModified());
+    }
+    return ResourceVersion.ofDigest(page.size(), lastModified, content.append(next).toString());
+  }
+}
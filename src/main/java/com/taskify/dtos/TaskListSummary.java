@@ -0,0 +1,7 @@
+package com.taskify.dtos;
+
+import java.util.UUID;
+
+/** A task list with its task counts aggregated by the database instead of loaded as entities. */
+public record TaskListSummary(
+    UUID id, String title, String description, long count, long closedCount) {}
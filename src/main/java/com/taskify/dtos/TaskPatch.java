@@ -0,0 +1,94 @@
+package com.taskify.dtos;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.taskify.entities.TaskPriority;
+import com.taskify.entities.TaskStatus;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A JSON Merge Patch (RFC 7396) of a task. A property missing from the document is {@code null} and
+ * left unchanged, while one set to {@code null} is {@link Optional#empty()} and removed. Only the
+ * description can be removed.
+ *
+ * <p>Not a record, as Jackson passes empty optionals for missing creator properties, which would
+ * make them indistinguishable from removed ones.
+ */
+public final class TaskPatch {
+
+  @JsonProperty private Optional<@NotBlank @Size(min = 1, max = 255) String> title;
+  @JsonProperty private Optional<String> description;
+  @JsonProperty private Optional<LocalDateTime> dueDate;
+  @JsonProperty private Optional<TaskPriority> priority;
+  @JsonProperty private Optional<TaskStatus> status;
+
+  private TaskPatch() {}
+
+  public static TaskPatch of(
+      Optional<String> title,
+      Optional<String> description,
+      Optional<LocalDateTime> dueDate,
+      Optional<TaskPriority> priority,
+      Optional<TaskStatus> status) {
+    TaskPatch patch = new TaskPatch();
+    patch.title = title;
+    patch.description = description;
+    patch.dueDate = dueDate;
+    patch.priority = priority;
+    patch.status = status;
+    return patch;
+  }
+
+  public Optional<String> title() {
+    return title;
+  }
+
+  public Optional<String> description() {
+    return description;
+  }
+
+  public Optional<LocalDateTime> dueDate() {
+    return dueDate;
+  }
+
+  public Optional<TaskPriority> priority() {
+    return priority;
+  }
+
+  public Optional<TaskStatus> status() {
+    return status;
+  }
+
+  /** Whether the patch changes nothing. */
+  public boolean isEmpty() {
+    return title == null
+        && description == null
+        && dueDate == null
+        && priority == null
+        && status == null;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    return o instanceof TaskPatch other
+        && Objects.equals(title, other.title)
+        && Objects.equals(description, other.description)
+        && Objects.equals(dueDate, other.dueDate)
+        && Objects.equals(priority, other.priority)
+        && Objects.equals(status, other.status);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(title, description, dueDate, priority, status);
+  }
+
+  @Override
+  public String toString() {
+    return "TaskPatch[title=%s, description=%s, dueDate=%s, priority=%s, status=%s]"
+        .formatted(title, description, dueDate, priority, status);
+  }
+}
@@ -0,0 +1,16 @@
+package com.taskify.dtos;
+
+import com.taskify.entities.TaskPriority;
+import com.taskify.entities.TaskStatus;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record TaskSearchResultDto(
+    UUID id,
+    UUID taskListId,
+    String title,
+    String description,
+    LocalDateTime dueDate,
+    TaskPriority priority,
+    TaskStatus status,
+    float rank) {}
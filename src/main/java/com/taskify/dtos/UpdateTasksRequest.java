@@ -0,0 +1,10 @@
+package com.taskify.dtos;
+
+import com.taskify.entities.TaskPriority;
+import com.taskify.entities.TaskStatus;
+
+/**
+ * Sets {@code status} and/or {@code priority} on every task matching {@code filter}; a missing
+ * filter matches all tasks of the task list.
+ */
+public record UpdateTasksRequest(TaskFilter filter, TaskStatus status, TaskPriority priority) {}
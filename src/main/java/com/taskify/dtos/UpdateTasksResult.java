@@ -0,0 +1,4 @@
+package com.taskify.dtos;
+
+/** The number of tasks a bulk update matched. */
+public record UpdateTasksResult(int updated) {}
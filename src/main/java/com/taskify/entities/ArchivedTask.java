@@ -0,0 +1,73 @@
+package com.taskify.entities;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * A closed task moved to {@code tasks_archive} by the archival job. Rows are written by the job's
+ * SQL and only ever read through queries, so the entity has no setters.
+ */
+@Entity
+@Immutable
+@Table(name = "tasks_archive")
+public class ArchivedTask {
+
+  @Id private UUID id;
+
+  private String title;
+  private String description;
+  private LocalDateTime dueDate;
+  private TaskPriority priority;
+  private TaskStatus status;
+  private LocalDateTime created;
+  private LocalDateTime updated;
+  private LocalDateTime archived;
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "task_list_id")
+  private TaskList taskList;
+
+  protected ArchivedTask() {}
+
+  public UUID getId() {
+    return id;
+  }
+
+  public String getTitle() {
+    return title;
+  }
+
+  public String getDescription() {
+    return description;
+  }
+
+  public LocalDateTime getDueDate() {
+    return dueDate;
+  }
+
+  public TaskPriority getPriority() {
+    return priority;
+  }
+
+  public TaskStatus getStatus() {
+    return status;
+  }
+
+  public LocalDateTime getCreated() {
+    return created;
+  }
+
+  public LocalDateTime getUpdated() {
+    return updated;
+  }
+
+  public LocalDateTime getArchived() {
+    return archived;
+  }
+
+  public TaskList getTaskList() {
+    return taskList;
+  }
+}
@@ -4,14 +4,18 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 import java.util.UUID;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+import org.hibernate.annotations.PartitionKey;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.annotations.UuidGenerator;
 
 @Entity
 @Table(name = "tasks")
 public class Task {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.UUID)
+  @UuidGenerator(algorithm = UuidV7Generator.class)
   @Column(updatable = false, nullable = false)
   private UUID id;
 
@@ -33,8 +37,15 @@ public class Task {
 
   @UpdateTimestamp private LocalDateTime updated;
 
+  @Version
+  @Column(nullable = false)
+  private long version;
+
+  // Lets updates and deletes of a single task prune to one partition of a partitioned table.
+  @PartitionKey
   @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "task_list_id")
+  @OnDelete(action = OnDeleteAction.CASCADE)
   private TaskList taskList;
 
   public Task() {}
@@ -124,6 +135,14 @@ public class Task {
     this.updated = updated;
   }
 
+  public long getVersion() {
+    return version;
+  }
+
+  public void setVersion(long version) {
+    this.version = version;
+  }
+
   public TaskList getTaskList() {
     return taskList;
   }
@@ -6,13 +6,14 @@ import java.util.List;
 import java.util.UUID;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.annotations.UuidGenerator;
 
 @Entity
 @Table(name = "task_lists")
 public class TaskList {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.UUID)
+  @UuidGenerator(algorithm = UuidV7Generator.class)
   @Column(updatable = false, nullable = false)
   private UUID id;
 
@@ -27,9 +28,28 @@ public class TaskList {
 
   @UpdateTimestamp private LocalDateTime updated;
 
-  @OneToMany(
-      mappedBy = "taskList",
-      cascade = {CascadeType.REMOVE, CascadeType.PERSIST})
+  @Version
+  @Column(nullable = false)
+  private long version;
+
+  // Maintained by atomic updates in TaskListRepository, never written through the entity.
+  @Column(insertable = false, updatable = false)
+  private int taskCount;
+
+  @Column(insertable = false, updatable = false)
+  private int closedCount;
+
+  // Bumped with the counters by every write of the tasks, see TaskListStamps.
+  @Column(insertable = false, updatable = false)
+  private long contentVersion;
+
+  @Column(insertable = false, updatable = false)
+  private LocalDateTime contentUpdated;
+
+  // Tasks are removed by the database through ON DELETE CASCADE, not one by one by Hibernate.
+  // Ordered like the sparse fieldsets read by TaskRepository, so both list tasks the same way.
+  @OneToMany(mappedBy = "taskList", cascade = CascadeType.PERSIST)
+  @OrderBy("created, id")
   private List<Task> tasks;
 
   public TaskList() {}
@@ -89,6 +109,30 @@ public class TaskList {
     this.updated = updated;
   }
 
+  public long getVersion() {
+    return version;
+  }
+
+  public void setVersion(long version) {
+    this.version = version;
+  }
+
+  public int getTaskCount() {
+    return taskCount;
+  }
+
+  public int getClosedCount() {
+    return closedCount;
+  }
+
+  public long getContentVersion() {
+    return contentVersion;
+  }
+
+  public LocalDateTime getContentUpdated() {
+    return contentUpdated;
+  }
+
   public List<Task> getTasks() {
     return tasks;
   }
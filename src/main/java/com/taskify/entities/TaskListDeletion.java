@@ -0,0 +1,64 @@
+package com.taskify.entities;
+
+import com.taskify.dtos.TaskListDeletionDto;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * The state of a background task list deletion as of {@code updated}, written by the node running
+ * it after every chunk so that any node can report on it.
+ */
+@Entity
+@Table(name = "task_list_deletions")
+public class TaskListDeletion {
+
+  @Id private UUID id;
+
+  @Column(nullable = false)
+  private UUID taskListId;
+
+  @Column(nullable = false)
+  private TaskListDeletionDto.Status status;
+
+  private int deletedTasks;
+  private String error;
+
+  @Column(nullable = false)
+  private LocalDateTime updated;
+
+  protected TaskListDeletion() {}
+
+  public TaskListDeletion(TaskListDeletionDto deletion, LocalDateTime updated) {
+    this.id = deletion.id();
+    this.taskListId = deletion.taskListId();
+    this.status = deletion.status();
+    this.deletedTasks = deletion.deletedTasks();
+    this.error = deletion.error();
+    this.updated = updated;
+  }
+
+  public UUID getId() {
+    return id;
+  }
+
+  public UUID getTaskListId() {
+    return taskListId;
+  }
+
+  public TaskListDeletionDto.Status getStatus() {
+    return status;
+  }
+
+  public int getDeletedTasks() {
+    return deletedTasks;
+  }
+
+  public String getError() {
+    return error;
+  }
+
+  public LocalDateTime getUpdated() {
+    return updated;
+  }
+}
@@ -0,0 +1,68 @@
+package com.taskify.entities;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.uuid.UuidValueGenerator;
+
+/**
+ * Generates time-ordered version 7 UUIDs as specified by RFC 9562: a 48-bit Unix timestamp in
+ * milliseconds, a 12-bit counter and 62 random bits. Newer ids sort after older ones, so inserts
+ * append to the right edge of the primary key index instead of landing on random pages, while the
+ * ids remain ordinary UUIDs on the wire and in the database.
+ *
+ * <p>Ids generated by one generator are strictly increasing. Hibernate creates one per entity, and
+ * {@link #generate()} uses one shared by everything else. The counter starts at a random value in
+ * its lower half every millisecond and borrows the next millisecond when it overflows, which also
+ * keeps the order when the clock steps back. Timestamp and counter live in a single {@link
+ * AtomicLong} updated with compare-and-set rather than under a monitor, which on Java 21 would pin
+ * virtual threads to their carrier while they wait for it.
+ */
+public final class UuidV7Generator implements UuidValueGenerator {
+
+  private static final SecureRandom RANDOM = new SecureRandom();
+  private static final int COUNTER_BITS = 12;
+  private static final int MAX_COUNTER = (1 << COUNTER_BITS) - 1;
+  private static final UuidV7Generator SHARED = new UuidV7Generator();
+
+  /** The last timestamp shifted left by {@value #COUNTER_BITS} bits, or'ed with the counter. */
+  private final AtomicLong last = new AtomicLong();
+
+  @Override
+  public UUID generateUuid(SharedSessionContractImplementor session) {
+    return generate(System.currentTimeMillis());
+  }
+
+  public static UUID generate() {
+    return SHARED.generate(System.currentTimeMillis());
+  }
+
+  UUID generate(long now) {
+    long previous;
+    long next;
+    do {
+      previous = last.get();
+      long lastTimestamp = previous >>> COUNTER_BITS;
+      if (now > lastTimestamp) {
+        next = (now << COUNTER_BITS) | RANDOM.nextInt(MAX_COUNTER / 2);
+      } else if ((previous & MAX_COUNTER) < MAX_COUNTER) {
+        next = previous + 1;
+      } else {
+        next = ((lastTimestamp + 1) << COUNTER_BITS) | RANDOM.nextInt(MAX_COUNTER / 2);
+      }
+    } while (!last.compareAndSet(previous, next));
+    long timestamp = next >>> COUNTER_BITS;
+    long mostSignificantBits = (timestamp << 16) | 0x7000L | (next & MAX_COUNTER);
+    long leastSignificantBits = (RANDOM.nextLong() >>> 2) | 0x8000000000000000L;
+    return new UUID(mostSignificantBits, leastSignificantBits);
+  }
+
+  /** The creation time in milliseconds since the epoch encoded in a version 7 UUID. */
+  public static long timestamp(UUID uuid) {
+    if (uuid.version() != 7) {
+      throw new IllegalArgumentException("Not a version 7 UUID: " + uuid);
+    }
+    return uuid.getMostSignificantBits() >>> 16;
+  }
+}
@@ -1,5 +1,8 @@
 package com.taskify.exceptions;
 
+import java.sql.SQLTransientConnectionException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
@@ -25,4 +28,59 @@ public class GlobalExceptionHandler {
     problemDetail.setDetail(ex.getMessage());
     return ResponseEntity.status(HttpStatus.NOT_FOUND).body(problemDetail);
   }
+
+  @ExceptionHandler(TaskListDeletionNotFoundException.class)
+  public ResponseEntity<ProblemDetail> handleTaskListDeletionNotFoundException(
+      TaskListDeletionNotFoundException ex) {
+    ProblemDetail problemDetail = ProblemDetail.forStatus(HttpStatus.NOT_FOUND);
+    problemDetail.setTitle("Task list deletion not found");
+    problemDetail.setDetail(ex.getMessage());
+    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(problemDetail);
+  }
+
+  @ExceptionHandler(InvalidCursorException.class)
+  public ResponseEntity<ProblemDetail> handleInvalidCursorException(InvalidCursorException ex) {
+    ProblemDetail problemDetail = ProblemDetail.forStatus(HttpStatus.BAD_REQUEST);
+    problemDetail.setTitle("Invalid cursor");
+    problemDetail.setDetail(ex.getMessage());
+    return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(problemDetail);
+  }
+
+  @ExceptionHandler(PreconditionFailedException.class)
+  public ResponseEntity<ProblemDetail> handlePreconditionFailedException(
+      PreconditionFailedException ex) {
+    ProblemDetail problemDetail = ProblemDetail.forStatus(HttpStatus.PRECONDITION_FAILED);
+    problemDetail.setTitle("Precondition failed");
+    problemDetail.setDetail(ex.getMessage());
+    return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(problemDetail);
+  }
+
+  @ExceptionHandler(OptimisticLockingFailureException.class)
+  public ResponseEntity<ProblemDetail> handleOptimisticLockingFailureException(
+      OptimisticLockingFailureException ex) {
+    ProblemDetail problemDetail = ProblemDetail.forStatus(HttpStatus.CONFLICT);
+    problemDetail.setTitle("Concurrent modification");
+    problemDetail.setDetail("The resource kept changing while it was being written, try again");
+    return ResponseEntity.status(HttpStatus.CONFLICT).body(problemDetail);
+  }
+
+  /** The connection pool is saturated, whether the bulkhead or the pool itself gave up waiting. */
+  @ExceptionHandler(SQLTransientConnectionException.class)
+  public ResponseEntity<ProblemDetail> handleSQLTransientConnectionException(
+      SQLTransientConnectionException ex) {
+    ProblemDetail problemDetail = ProblemDetail.forStatus(HttpStatus.SERVICE_UNAVAILABLE);
+    problemDetail.setTitle("Service unavailable");
+    problemDetail.setDetail("Too many requests are waiting for the database, try again shortly");
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+        .header(HttpHeaders.RETRY_AFTER, "1")
+        .body(problemDetail);
+  }
+
+  @ExceptionHandler(IllegalArgumentException.class)
+  public ResponseEntity<ProblemDetail> handleIllegalArgumentException(IllegalArgumentException ex) {
+    ProblemDetail problemDetail = ProblemDetail.forStatus(HttpStatus.BAD_REQUEST);
+    problemDetail.setTitle("Invalid request");
+    problemDetail.setDetail(ex.getMessage());
+    return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(problemDetail);
+  }
 }
@@ -0,0 +1,9 @@
+package com.taskify.exceptions;
+
+import jakarta.persistence.EntityNotFoundException;
+
+public class TaskListDeletionNotFoundException extends EntityNotFoundException {
+  public TaskListDeletionNotFoundException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,90 @@
+package com.taskify.grpc;
+
+import io.grpc.Context;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * The responses of a server streaming call, sent no faster than the client reads them so that a
+ * long stream is not buffered in memory.
+ *
+ * <p>gRPC only reports that a call is ready for more once its handler has returned, so handlers
+ * {@link #start} the stream and return, leaving the messages to be produced on another thread,
+ * which waits for the call's onReady callback whenever the transport is full.
+ */
+final class FlowControlledStream<T> {
+
+  private final ServerCallStreamObserver<T> observer;
+  private final Lock lock = new ReentrantLock();
+  private final Condition changed = lock.newCondition();
+
+  private FlowControlledStream(ServerCallStreamObserver<T> observer) {
+    this.observer = observer;
+    observer.setOnReadyHandler(this::signal);
+    observer.setOnCancelHandler(this::signal);
+  }
+
+  /**
+   * Runs {@code producer} on {@code executor} within the context of the call, completing the call
+   * once it returns or failing it with the status of what it throws. Must be called by the handler.
+   */
+  static <T> void start(
+      StreamObserver<T> observer,
+      GrpcExecutor executor,
+      Consumer<FlowControlledStream<T>> producer) {
+    FlowControlledStream<T> stream =
+        new FlowControlledStream<>((ServerCallStreamObserver<T>) observer);
+    executor.get().execute(Context.current().wrap(() -> stream.run(producer)));
+  }
+
+  /** Sends {@code message} once the transport takes it, failing once the client has gone away. */
+  void send(T message) {
+    lock.lock();
+    try {
+      while (!observer.isReady()) {
+        if (observer.isCancelled()) {
+          throw cancelled();
+        }
+        changed.await();
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw cancelled();
+    } finally {
+      lock.unlock();
+    }
+    if (observer.isCancelled()) {
+      throw cancelled();
+    }
+    observer.onNext(message);
+  }
+
+  private void run(Consumer<FlowControlledStream<T>> producer) {
+    try {
+      producer.accept(this);
+      observer.onCompleted();
+    } catch (RuntimeException ex) {
+      if (!observer.isCancelled()) {
+        observer.onError(StatusInterceptor.toStatus(ex).asRuntimeException());
+      }
+    }
+  }
+
+  private void signal() {
+    lock.lock();
+    try {
+      changed.signalAll();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private static RuntimeException cancelled() {
+    return Status.CANCELLED.withDescription("Client cancelled the call").asRuntimeException();
+  }
+}
@@ -0,0 +1,33 @@
+package com.taskify.grpc;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs gRPC calls and the streams they answer with, each on a virtual thread of its own. What
+ * bounds them is the connection bulkhead they queue on for the database, which turns calls away
+ * once too many wait, rather than a pool that would grow a platform thread per waiting call. Not
+ * an {@code Executor} bean, which would take the place of Spring's {@code applicationTaskExecutor}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "taskify.grpc", name = "enabled", havingValue = "true")
+class GrpcExecutor implements DisposableBean {
+
+  private final ExecutorService executor;
+
+  GrpcExecutor() {
+    executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("grpc-", 0).factory());
+  }
+
+  ExecutorService get() {
+    return executor;
+  }
+
+  @Override
+  public void destroy() {
+    executor.shutdown();
+  }
+}
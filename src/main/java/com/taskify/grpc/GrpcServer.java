@@ -0,0 +1,89 @@
+package com.taskify.grpc;
+
+import com.taskify.configs.GrpcProperties;
+import io.grpc.BindableService;
+import io.grpc.Server;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+/**
+ * Serves every gRPC service of the application on its own port, next to the REST API.
+ *
+ * <p>Calls run on the {@link GrpcExecutor}, where they block on the database behind the same
+ * connection bulkhead as HTTP requests.
+ */
+@Component
+@ConditionalOnProperty(prefix = "taskify.grpc", name = "enabled", havingValue = "true")
+public class GrpcServer implements SmartLifecycle {
+
+  private static final Logger log = LoggerFactory.getLogger(GrpcServer.class);
+
+  private final List<BindableService> services;
+  private final GrpcProperties properties;
+  private final GrpcExecutor executor;
+
+  private volatile Server server;
+
+  public GrpcServer(
+      List<BindableService> services, GrpcProperties properties, GrpcExecutor executor) {
+    this.services = services;
+    this.properties = properties;
+    this.executor = executor;
+  }
+
+  @Override
+  public void start() {
+    NettyServerBuilder builder =
+        NettyServerBuilder.forPort(properties.port())
+            .executor(executor.get())
+            .intercept(new StatusInterceptor());
+    services.forEach(builder::addService);
+    try {
+      server = builder.build().start();
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Could not start the gRPC server", ex);
+    }
+    log.info("gRPC server started on port {}", server.getPort());
+  }
+
+  @Override
+  public void stop() {
+    Server running = server;
+    if (running == null) {
+      return;
+    }
+    server = null;
+    running.shutdown();
+    try {
+      if (!running.awaitTermination(
+          properties.shutdownTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+        running.shutdownNow();
+      }
+    } catch (InterruptedException ex) {
+      running.shutdownNow();
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return server != null;
+  }
+
+  /** The port the server listens on, which is only known once it runs when configured as 0. */
+  public int getPort() {
+    Server running = server;
+    if (running == null) {
+      throw new IllegalStateException("The gRPC server is not running");
+    }
+    return running.getPort();
+  }
+}
@@ -0,0 +1,133 @@
+package com.taskify.grpc;
+
+import com.google.protobuf.Timestamp;
+import com.taskify.dtos.TaskDto;
+import com.taskify.dtos.TaskExportDto;
+import com.taskify.dtos.TaskListDto;
+import com.taskify.entities.TaskPriority;
+import com.taskify.entities.TaskStatus;
+import com.taskify.grpc.v1.Priority;
+import com.taskify.grpc.v1.Status;
+import com.taskify.grpc.v1.Task;
+import com.taskify.grpc.v1.TaskExport;
+import com.taskify.grpc.v1.TaskList;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+/**
+ * Converts between the DTOs of the services and the Protobuf messages of the gRPC API. Properties
+ * that are {@code null}, such as those left out by a sparse fieldset, stay unset.
+ */
+final class ProtoMapper {
+
+  private ProtoMapper() {}
+
+  static Task toProto(TaskDto task) {
+    Task.Builder builder = Task.newBuilder().setId(task.id().toString());
+    if (task.title() != null) {
+      builder.setTitle(task.title());
+    }
+    if (task.description() != null) {
+      builder.setDescription(task.description());
+    }
+    if (task.dueDate() != null) {
+      builder.setDueDate(toTimestamp(task.dueDate()));
+    }
+    if (task.priority() != null) {
+      builder.setPriority(toProto(task.priority()));
+    }
+    if (task.status() != null) {
+      builder.setStatus(toProto(task.status()));
+    }
+    return builder.build();
+  }
+
+  static TaskList toProto(TaskListDto taskList) {
+    TaskList.Builder builder =
+        TaskList.newBuilder().setId(taskList.id().toString()).setTitle(taskList.title());
+    if (taskList.description() != null) {
+      builder.setDescription(taskList.description());
+    }
+    if (taskList.count() != null) {
+      builder.setCount(taskList.count());
+    }
+    if (taskList.progress() != null) {
+      builder.setProgress(taskList.progress());
+    }
+    if (taskList.tasks() != null) {
+      taskList.tasks().forEach(task -> builder.addTasks(toProto(task)));
+    }
+    return builder.build();
+  }
+
+  static TaskExport toProto(TaskExportDto task) {
+    TaskExport.Builder builder =
+        TaskExport.newBuilder()
+            .setId(task.id().toString())
+            .setTaskListId(task.taskListId().toString())
+            .setTitle(task.title())
+            .setDueDate(toTimestamp(task.dueDate()))
+            .setPriority(toProto(task.priority()))
+            .setStatus(toProto(task.status()))
+            .setCreated(toTimestamp(task.created()))
+            .setUpdated(toTimestamp(task.updated()));
+    if (task.description() != null) {
+      builder.setDescription(task.description());
+    }
+    return builder.build();
+  }
+
+  static Priority toProto(TaskPriority priority) {
+    return switch (priority) {
+      case LOW -> Priority.PRIORITY_LOW;
+      case MEDIUM -> Priority.PRIORITY_MEDIUM;
+      case HIGH -> Priority.PRIORITY_HIGH;
+    };
+  }
+
+  static Status toProto(TaskStatus status) {
+    return switch (status) {
+      case OPEN -> Status.STATUS_OPEN;
+      case CLOSED -> Status.STATUS_CLOSED;
+    };
+  }
+
+  /** Returns {@code null} for an unspecified priority. */
+  static TaskPriority fromProto(Priority priority) {
+    return switch (priority) {
+      case PRIORITY_UNSPECIFIED -> null;
+      case PRIORITY_LOW -> TaskPriority.LOW;
+      case PRIORITY_MEDIUM -> TaskPriority.MEDIUM;
+      case PRIORITY_HIGH -> TaskPriority.HIGH;
+      case UNRECOGNIZED -> throw new IllegalArgumentException("Unsupported priority");
+    };
+  }
+
+  /** Returns {@code null} for an unspecified status. */
+  static TaskStatus fromProto(Status status) {
+    return switch (status) {
+      case STATUS_UNSPECIFIED -> null;
+      case STATUS_OPEN -> TaskStatus.OPEN;
+      case STATUS_CLOSED -> TaskStatus.CLOSED;
+      case UNRECOGNIZED -> throw new IllegalArgumentException("Unsupported status");
+    };
+  }
+
+  /** Local date-times are carried as if they were in UTC, like the validators of the REST API. */
+  static Timestamp toTimestamp(LocalDateTime dateTime) {
+    return Timestamp.newBuilder()
+        .setSeconds(dateTime.toEpochSecond(ZoneOffset.UTC))
+        .setNanos(dateTime.getNano())
+        .build();
+  }
+
+  static LocalDateTime fromTimestamp(Timestamp timestamp) {
+    return LocalDateTime.ofEpochSecond(
+        timestamp.getSeconds(), timestamp.getNanos(), ZoneOffset.UTC);
+  }
+
+  static UUID toUuid(String id) {
+    return UUID.fromString(id);
+  }
+}
@@ -0,0 +1,79 @@
+package com.taskify.grpc;
+
+import com.taskify.exceptions.InvalidCursorException;
+import com.taskify.exceptions.PreconditionFailedException;
+import com.taskify.exceptions.TaskListDeletionNotFoundException;
+import com.taskify.exceptions.TaskListNotFoundException;
+import com.taskify.exceptions.TaskNotFoundException;
+import io.grpc.ForwardingServerCallListener.SimpleForwardingServerCallListener;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import jakarta.validation.ConstraintViolationException;
+import java.sql.SQLTransientConnectionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+/**
+ * Closes calls that fail with an exception with the gRPC status matching the HTTP status the {@code
+ * GlobalExceptionHandler} answers the same exception with.
+ */
+final class StatusInterceptor implements ServerInterceptor {
+
+  private static final Logger log = LoggerFactory.getLogger(StatusInterceptor.class);
+
+  @Override
+  public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(
+      ServerCall<ReqT, RespT> call, Metadata headers, ServerCallHandler<ReqT, RespT> next) {
+    return new SimpleForwardingServerCallListener<>(next.startCall(call, headers)) {
+      // Unary and server streaming handlers run once the client has sent its request.
+      @Override
+      public void onHalfClose() {
+        try {
+          super.onHalfClose();
+        } catch (RuntimeException ex) {
+          if (!call.isCancelled()) {
+            call.close(toStatus(ex), new Metadata());
+          }
+        }
+      }
+    };
+  }
+
+  static Status toStatus(Throwable ex) {
+    for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+      Status status =
+          switch (cause) {
+            case StatusRuntimeException e -> e.getStatus();
+            case TaskListNotFoundException e -> Status.NOT_FOUND.withDescription(e.getMessage());
+            case TaskNotFoundException e -> Status.NOT_FOUND.withDescription(e.getMessage());
+            case TaskListDeletionNotFoundException e ->
+                Status.NOT_FOUND.withDescription(e.getMessage());
+            case InvalidCursorException e ->
+                Status.INVALID_ARGUMENT.withDescription(e.getMessage());
+            case ConstraintViolationException e ->
+                Status.INVALID_ARGUMENT.withDescription(e.getMessage());
+            case IllegalArgumentException e ->
+                Status.INVALID_ARGUMENT.withDescription(e.getMessage());
+            case PreconditionFailedException e ->
+                Status.FAILED_PRECONDITION.withDescription(e.getMessage());
+            case OptimisticLockingFailureException e ->
+                Status.ABORTED.withDescription(
+                    "The resource kept changing while it was being written, try again");
+            case SQLTransientConnectionException e ->
+                Status.UNAVAILABLE.withDescription(
+                    "Too many requests are waiting for the database, try again shortly");
+            default -> null;
+          };
+      if (status != null) {
+        return status;
+      }
+    }
+    log.error("Unexpected error in gRPC call", ex);
+    return Status.INTERNAL;
+  }
+}
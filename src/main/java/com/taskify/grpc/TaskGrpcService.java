@@ -0,0 +1,169 @@
+package com.taskify.grpc;
+
+import static com.taskify.grpc.ProtoMapper.fromProto;
+import static com.taskify.grpc.ProtoMapper.fromTimestamp;
+import static com.taskify.grpc.ProtoMapper.toProto;
+import static com.taskify.grpc.ProtoMapper.toUuid;
+
+import com.google.protobuf.Empty;
+import com.taskify.dtos.CursorPage;
+import com.taskify.dtos.TaskDto;
+import com.taskify.dtos.TaskExportFilter;
+import com.taskify.dtos.TaskFields;
+import com.taskify.dtos.TaskFilter;
+import com.taskify.grpc.v1.CreateTaskRequest;
+import com.taskify.grpc.v1.DeleteTaskRequest;
+import com.taskify.grpc.v1.ExportTasksRequest;
+import com.taskify.grpc.v1.GetTaskRequest;
+import com.taskify.grpc.v1.ListTasksRequest;
+import com.taskify.grpc.v1.Task;
+import com.taskify.grpc.v1.TaskExport;
+import com.taskify.grpc.v1.TasksGrpc;
+import com.taskify.grpc.v1.UpdateTaskRequest;
+import com.taskify.pagination.Pages;
+import com.taskify.pagination.TaskSort;
+import com.taskify.services.TaskExportService;
+import com.taskify.services.TaskService;
+import io.grpc.stub.StreamObserver;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import java.util.Set;
+import java.util.UUID;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(prefix = "taskify.grpc", name = "enabled", havingValue = "true")
+public class TaskGrpcService extends TasksGrpc.TasksImplBase {
+
+  private final TaskService taskService;
+  private final TaskExportService taskExportService;
+  private final Validator validator;
+  private final GrpcExecutor executor;
+
+  public TaskGrpcService(
+      TaskService taskService,
+      TaskExportService taskExportService,
+      Validator validator,
+      GrpcExecutor executor) {
+    this.taskService = taskService;
+    this.taskExportService = taskExportService;
+    this.validator = validator;
+    this.executor = executor;
+  }
+
+  /**
+   * Streams the tasks a page at a time, each page read like a page of the REST API but bypassing
+   * the cache, which would otherwise keep every page of the stream.
+   */
+  @Override
+  public void listTasks(ListTasksRequest request, StreamObserver<Task> responseObserver) {
+    UUID taskListId = toUuid(request.getTaskListId());
+    TaskFilter filter =
+        new TaskFilter(
+            fromProto(request.getStatus()),
+            fromProto(request.getPriority()),
+            request.hasDueAfter() ? fromTimestamp(request.getDueAfter()) : null,
+            request.hasDueBefore() ? fromTimestamp(request.getDueBefore()) : null);
+    TaskSort sort = TaskSort.parse(request.getSort());
+    TaskFields fields = TaskFields.parse(request.getFields());
+    FlowControlledStream.start(
+        responseObserver,
+        executor,
+        stream -> {
+          String cursor = null;
+          do {
+            CursorPage<TaskDto> page =
+                taskService.readTasks(
+                    taskListId,
+                    filter,
+                    sort,
+                    fields,
+                    request.getIncludeArchived(),
+                    cursor,
+                    Pages.MAX_LIMIT);
+            page.items().forEach(task -> stream.send(toProto(task)));
+            cursor = page.next();
+          } while (cursor != null);
+        });
+  }
+
+  @Override
+  public void getTask(GetTaskRequest request, StreamObserver<Task> responseObserver) {
+    UUID taskListId = toUuid(request.getTaskListId());
+    UUID taskId = toUuid(request.getId());
+    TaskDto task =
+        request.getIncludeArchived()
+            ? taskService.getTaskIncludingArchived(taskListId, taskId)
+            : taskService.getTask(taskListId, taskId);
+    responseObserver.onNext(toProto(task));
+    responseObserver.onCompleted();
+  }
+
+  @Override
+  public void createTask(CreateTaskRequest request, StreamObserver<Task> responseObserver) {
+    com.taskify.dtos.CreateTaskRequest createRequest =
+        validate(
+            new com.taskify.dtos.CreateTaskRequest(
+                request.getTitle(),
+                request.hasDescription() ? request.getDescription() : null,
+                request.hasDueDate() ? fromTimestamp(request.getDueDate()) : null,
+                fromProto(request.getPriority())));
+    TaskDto task = taskService.createTask(toUuid(request.getTaskListId()), createRequest);
+    responseObserver.onNext(toProto(task));
+    responseObserver.onCompleted();
+  }
+
+  @Override
+  public void updateTask(UpdateTaskRequest request, StreamObserver<Task> responseObserver) {
+    com.taskify.dtos.UpdateTaskRequest updateRequest =
+        validate(
+            new com.taskify.dtos.UpdateTaskRequest(
+                request.getTitle(),
+                request.hasDescription() ? request.getDescription() : null,
+                request.hasDueDate() ? fromTimestamp(request.getDueDate()) : null,
+                fromProto(request.getPriority()),
+                fromProto(request.getStatus())));
+    TaskDto task =
+        taskService.updateTask(
+            toUuid(request.getTaskListId()),
+            toUuid(request.getId()),
+            updateRequest,
+            request.hasExpectedVersion() ? request.getExpectedVersion() : null);
+    responseObserver.onNext(toProto(task));
+    responseObserver.onCompleted();
+  }
+
+  @Override
+  public void deleteTask(DeleteTaskRequest request, StreamObserver<Empty> responseObserver) {
+    taskService.deleteTask(
+        toUuid(request.getTaskListId()),
+        toUuid(request.getId()),
+        request.hasExpectedVersion() ? request.getExpectedVersion() : null);
+    responseObserver.onNext(Empty.getDefaultInstance());
+    responseObserver.onCompleted();
+  }
+
+  /** Streams the tasks as they are read, within one read-only transaction like the REST export. */
+  @Override
+  public void exportTasks(ExportTasksRequest request, StreamObserver<TaskExport> responseObserver) {
+    TaskExportFilter filter =
+        new TaskExportFilter(
+            request.getTaskListId().isEmpty() ? null : toUuid(request.getTaskListId()),
+            fromProto(request.getStatus()),
+            request.hasUpdatedSince() ? fromTimestamp(request.getUpdatedSince()) : null);
+    FlowControlledStream.start(
+        responseObserver,
+        executor,
+        stream -> taskExportService.exportTasks(filter, task -> stream.send(toProto(task))));
+  }
+
+  private <T> T validate(T request) {
+    Set<ConstraintViolation<T>> violations = validator.validate(request);
+    if (!violations.isEmpty()) {
+      throw new ConstraintViolationException(violations);
+    }
+    return request;
+  }
+}
@@ -0,0 +1,130 @@
+package com.taskify.grpc;
+
+import static com.taskify.grpc.ProtoMapper.toProto;
+import static com.taskify.grpc.ProtoMapper.toUuid;
+
+import com.google.protobuf.Empty;
+import com.taskify.dtos.CursorPage;
+import com.taskify.dtos.TaskFields;
+import com.taskify.dtos.TaskListDto;
+import com.taskify.grpc.v1.CreateTaskListRequest;
+import com.taskify.grpc.v1.DeleteTaskListRequest;
+import com.taskify.grpc.v1.GetTaskListRequest;
+import com.taskify.grpc.v1.ListTaskListsRequest;
+import com.taskify.grpc.v1.TaskList;
+import com.taskify.grpc.v1.TaskListsGrpc;
+import com.taskify.grpc.v1.UpdateTaskListRequest;
+import com.taskify.pagination.Pages;
+import com.taskify.services.TaskListService;
+import io.grpc.stub.StreamObserver;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import java.util.Set;
+import java.util.UUID;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(prefix = "taskify.grpc", name = "enabled", havingValue = "true")
+public class TaskListGrpcService extends TaskListsGrpc.TaskListsImplBase {
+
+  private final TaskListService taskListService;
+  private final Validator validator;
+  private final GrpcExecutor executor;
+
+  public TaskListGrpcService(
+      TaskListService taskListService,
+      Validator validator,
+      GrpcExecutor executor) {
+    this.taskListService = taskListService;
+    this.validator = validator;
+    this.executor = executor;
+  }
+
+  /**
+   * Streams the task lists a page at a time, each page read like a page of the REST API but
+   * bypassing the cache, which would otherwise keep every page of the stream.
+   */
+  @Override
+  public void listTaskLists(
+      ListTaskListsRequest request, StreamObserver<TaskList> responseObserver) {
+    TaskFields fields = TaskFields.parse(request.getFields());
+    FlowControlledStream.start(
+        responseObserver,
+        executor,
+        stream -> {
+          String cursor = null;
+          do {
+            CursorPage<TaskListDto> page =
+                taskListService.readTaskLists(
+                    cursor, Pages.MAX_LIMIT, request.getIncludeTasks(), fields);
+            page.items().forEach(taskList -> stream.send(toProto(taskList)));
+            cursor = page.next();
+          } while (cursor != null);
+        });
+  }
+
+  @Override
+  public void getTaskList(GetTaskListRequest request, StreamObserver<TaskList> responseObserver) {
+    UUID id = toUuid(request.getId());
+    TaskFields fields = TaskFields.parse(request.getFields());
+    TaskListDto taskList;
+    if (request.getSummary()) {
+      taskList = taskListService.getTaskListSummary(id);
+    } else if (fields.isAll()) {
+      taskList = taskListService.getTaskList(id);
+    } else {
+      taskList = taskListService.getTaskList(id, fields);
+    }
+    responseObserver.onNext(toProto(taskList));
+    responseObserver.onCompleted();
+  }
+
+  @Override
+  public void createTaskList(
+      CreateTaskListRequest request, StreamObserver<TaskList> responseObserver) {
+    TaskListDto taskList =
+        taskListService.createTaskList(
+            validate(
+                new com.taskify.dtos.CreateTaskListRequest(
+                    request.getTitle(),
+                    request.hasDescription() ? request.getDescription() : null)));
+    responseObserver.onNext(toProto(taskList));
+    responseObserver.onCompleted();
+  }
+
+  @Override
+  public void updateTaskList(
+      UpdateTaskListRequest request, StreamObserver<TaskList> responseObserver) {
+    com.taskify.dtos.UpdateTaskListRequest updateRequest =
+        validate(
+            new com.taskify.dtos.UpdateTaskListRequest(
+                request.getTitle(), request.hasDescription() ? request.getDescription() : null));
+    TaskListDto taskList =
+        taskListService.updateTaskList(
+            toUuid(request.getId()),
+            updateRequest,
+            request.hasExpectedVersion() ? request.getExpectedVersion() : null);
+    responseObserver.onNext(toProto(taskList));
+    responseObserver.onCompleted();
+  }
+
+  @Override
+  public void deleteTaskList(
+      DeleteTaskListRequest request, StreamObserver<Empty> responseObserver) {
+    taskListService.deleteTaskList(
+        toUuid(request.getId()),
+        request.hasExpectedVersion() ? request.getExpectedVersion() : null);
+    responseObserver.onNext(Empty.getDefaultInstance());
+    responseObserver.onCompleted();
+  }
+
+  private <T> T validate(T request) {
+    Set<ConstraintViolation<T>> violations = validator.validate(request);
+    if (!violations.isEmpty()) {
+      throw new ConstraintViolationException(violations);
+    }
+    return request;
+  }
+}
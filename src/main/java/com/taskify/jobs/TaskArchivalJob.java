@@ -0,0 +1,81 @@
+package com.taskify.jobs;
+
+import com.taskify.cache.CacheInvalidator;
+import com.taskify.configs.TaskArchivalProperties;
+import com.taskify.repositories.TaskListRepository;
+import com.taskify.repositories.TaskRepository;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moves closed tasks that have not been updated for {@code taskify.archival.closed-for} to {@code
+ * tasks_archive}, one batch per transaction, until a batch comes back short.
+ *
+ * <p>Each batch skips tasks locked by concurrent writers, which are picked up by a later run, so
+ * several nodes can run the job at once. Task list counters are left alone, as archived tasks still
+ * count towards their task list, but their content stamps are bumped once all batches are in. That
+ * happens in a transaction of its own, so that the job never waits for a task list's row while it
+ * holds locks on tasks.
+ */
+@Component
+public class TaskArchivalJob {
+
+  private static final Logger log = LoggerFactory.getLogger(TaskArchivalJob.class);
+
+  private final TaskRepository taskRepository;
+  private final TaskListRepository taskListRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final CacheInvalidator cacheInvalidator;
+  private final TaskArchivalProperties properties;
+
+  public TaskArchivalJob(
+      TaskRepository taskRepository,
+      TaskListRepository taskListRepository,
+      PlatformTransactionManager transactionManager,
+      CacheInvalidator cacheInvalidator,
+      TaskArchivalProperties properties) {
+    this.taskRepository = taskRepository;
+    this.taskListRepository = taskListRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.cacheInvalidator = cacheInvalidator;
+    this.properties = properties;
+  }
+
+  /** Returns the number of tasks archived. */
+  @Scheduled(cron = "${taskify.archival.cron:-}")
+  public int archive() {
+    LocalDateTime now = LocalDateTime.now();
+    LocalDateTime cutoff = now.minus(properties.closedFor());
+    int archived = 0;
+    Set<UUID> taskListIds = new HashSet<>();
+    while (true) {
+      List<UUID> batch =
+          transactionTemplate.execute(
+              status -> taskRepository.archiveClosedBefore(cutoff, properties.batchSize(), now));
+      archived += batch.size();
+      taskListIds.addAll(batch);
+      if (batch.size() < properties.batchSize()) {
+        break;
+      }
+    }
+
+    if (!taskListIds.isEmpty()) {
+      transactionTemplate.executeWithoutResult(
+          status -> taskListRepository.touchContent(taskListIds));
+    }
+    taskListIds.forEach(cacheInvalidator::tasksChanged);
+    if (archived > 0) {
+      log.info("Archived {} closed tasks of {} task lists", archived, taskListIds.size());
+    }
+    return archived;
+  }
+}
@@ -0,0 +1,73 @@
+package com.taskify.jobs;
+
+import com.taskify.cache.CacheInvalidator;
+import com.taskify.configs.TaskListCounterProperties;
+import com.taskify.repositories.TaskListRepository;
+import java.util.List;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Recomputes the {@code task_count} and {@code closed_count} of every task list from its tasks, one
+ * batch of task lists per transaction, and fixes those that have drifted.
+ *
+ * <p>Each batch locks its task list rows before counting. Task writes update the same rows in their
+ * own transaction, so they either commit before the count and are included in it, or apply their
+ * increments on top of the repaired value afterwards.
+ */
+@Component
+public class TaskListCounterRepairJob {
+
+  private static final Logger log = LoggerFactory.getLogger(TaskListCounterRepairJob.class);
+  private static final UUID FIRST = new UUID(0L, 0L);
+
+  private final TaskListRepository taskListRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final CacheInvalidator cacheInvalidator;
+  private final TaskListCounterProperties properties;
+
+  public TaskListCounterRepairJob(
+      TaskListRepository taskListRepository,
+      PlatformTransactionManager transactionManager,
+      CacheInvalidator cacheInvalidator,
+      TaskListCounterProperties properties) {
+    this.taskListRepository = taskListRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.cacheInvalidator = cacheInvalidator;
+    this.properties = properties;
+  }
+
+  /** Returns the number of task lists whose counters had drifted. */
+  @Scheduled(cron = "${taskify.counters.repair-cron:-}")
+  public int repair() {
+    int repaired = 0;
+    UUID after = FIRST;
+    while (true) {
+      UUID from = after;
+      Batch batch = transactionTemplate.execute(status -> repairBatchAfter(from));
+      repaired += batch.repaired();
+      if (batch.ids().size() < properties.repairBatchSize()) {
+        break;
+      }
+      after = batch.ids().getLast();
+    }
+
+    if (repaired > 0) {
+      log.warn("Repaired drifted task counters of {} task lists", repaired);
+      cacheInvalidator.clearAll();
+    }
+    return repaired;
+  }
+
+  private Batch repairBatchAfter(UUID after) {
+    List<UUID> ids = taskListRepository.lockIdsAfter(after, properties.repairBatchSize());
+    return new Batch(ids, ids.isEmpty() ? 0 : taskListRepository.repairCounters(ids));
+  }
+
+  private record Batch(List<UUID> ids, int repaired) {}
+}
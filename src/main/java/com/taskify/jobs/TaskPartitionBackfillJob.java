@@ -0,0 +1,122 @@
+package com.taskify.jobs;
+
+import com.taskify.configs.TaskPartitionBackfillProperties;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Copies tasks into {@code tasks_partitioned}, created by the optional {@code V1.6.1} migration,
+ * while the application keeps serving from {@code tasks}. Tasks are walked in primary key order,
+ * one auto-committed batch per statement, row versions included. The trigger of {@code V1.6.1}
+ * mirrors every write since, so only tasks that are missing are copied, and they are read {@code
+ * FOR SHARE} so that a task deleted meanwhile cannot be copied after its copy was removed. Whatever
+ * the backfill copies, the {@code V1.6.2} swap no longer has to.
+ */
+@Component
+public class TaskPartitionBackfillJob {
+
+  private static final Logger log = LoggerFactory.getLogger(TaskPartitionBackfillJob.class);
+  private static final UUID FIRST = new UUID(0L, 0L);
+  private static final String COLUMNS =
+      "id, title, description, due_date, priority, status, created, updated, task_list_id,"
+          + " version";
+  private static final String COPY_BATCH =
+      "with batch as (select "
+          + COLUMNS
+          + " from tasks where id > ? order by id limit ? for share),"
+          + " copied as (insert into tasks_partitioned ("
+          + COLUMNS
+          + ") select "
+          + COLUMNS
+          + " from batch on conflict (id, task_list_id) do nothing returning 1)"
+          + " select (select id from batch order by id desc limit 1),"
+          + " (select count(*) from batch), (select count(*) from copied)";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TaskExecutor taskExecutor;
+  private final TaskPartitionBackfillProperties properties;
+
+  public TaskPartitionBackfillJob(
+      JdbcTemplate jdbcTemplate,
+      @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+          TaskExecutor taskExecutor,
+      TaskPartitionBackfillProperties properties) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.taskExecutor = taskExecutor;
+    this.properties = properties;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void startIfEnabled() {
+    if (properties.enabled()) {
+      taskExecutor.execute(this::backfill);
+    }
+  }
+
+  /** Returns the number of tasks copied, or -1 if there is nothing to backfill. */
+  public long backfill() {
+    if (jdbcTemplate.queryForObject("select to_regclass('tasks_partitioned')", String.class)
+        == null) {
+      log.warn("Nothing to backfill: tasks_partitioned does not exist");
+      return -1;
+    }
+
+    log.info("Backfilling tasks_partitioned, {} tasks per batch", properties.batchSize());
+    long scanned = 0;
+    long copied = 0;
+    UUID after = FIRST;
+    while (true) {
+      Batch batch;
+      try {
+        batch = copyBatchAfter(after);
+      } catch (PessimisticLockingFailureException ex) {
+        // Writers changing several tasks at once may lock them in another order than the batch.
+        log.debug("Backfill batch after {} deadlocked, copying it again", after, ex);
+        continue;
+      }
+      scanned += batch.scanned();
+      copied += batch.copied();
+      if (batch.scanned() < properties.batchSize()) {
+        break;
+      }
+      after = batch.last();
+      if (scanned % (100L * properties.batchSize()) == 0) {
+        log.info("Backfilled {} of {} tasks scanned so far", copied, scanned);
+      }
+      pause();
+    }
+    log.info("Backfilled {} of {} tasks into tasks_partitioned", copied, scanned);
+    return copied;
+  }
+
+  private Batch copyBatchAfter(UUID after) {
+    return jdbcTemplate.queryForObject(
+        COPY_BATCH,
+        (row, rowNum) -> new Batch(row.getObject(1, UUID.class), row.getInt(2), row.getInt(3)),
+        after,
+        properties.batchSize());
+  }
+
+  private void pause() {
+    if (properties.pause().isZero()) {
+      return;
+    }
+    try {
+      Thread.sleep(properties.pause());
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Backfill interrupted", ex);
+    }
+  }
+
+  private record Batch(UUID last, int scanned, int copied) {}
+}
@@ -2,8 +2,11 @@ package com.taskify.mappers;
 
 import com.taskify.dtos.CreateTaskListRequest;
 import com.taskify.dtos.TaskListDto;
+import com.taskify.dtos.TaskListSummary;
 import com.taskify.dtos.UpdateTaskListRequest;
+import com.taskify.entities.Task;
 import com.taskify.entities.TaskList;
+import java.util.List;
 
 public interface TaskListMapper {
 
@@ -12,4 +15,8 @@ public interface TaskListMapper {
   TaskList fromUpdateRequest(UpdateTaskListRequest request);
 
   TaskListDto toDto(TaskList taskList);
+
+  TaskListDto toSummaryDto(TaskListSummary summary);
+
+  TaskListDto toDto(TaskListSummary summary, List<Task> tasks);
 }
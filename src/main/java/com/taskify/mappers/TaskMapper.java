@@ -2,6 +2,8 @@ package com.taskify.mappers;
 
 import com.taskify.dtos.CreateTaskRequest;
 import com.taskify.dtos.TaskDto;
+import com.taskify.dtos.TaskExportDto;
+import com.taskify.dtos.TaskSearchResultDto;
 import com.taskify.dtos.UpdateTaskRequest;
 import com.taskify.entities.Task;
 
@@ -12,4 +14,8 @@ public interface TaskMapper {
   Task fromUpdateRequest(UpdateTaskRequest request);
 
   TaskDto toDto(Task task);
+
+  TaskSearchResultDto toSearchResultDto(Task task, float rank);
+
+  TaskExportDto toExportDto(Task task);
 }
@@ -2,9 +2,10 @@ package com.taskify.mappers.impl;
 
 import com.taskify.dtos.CreateTaskListRequest;
 import com.taskify.dtos.TaskListDto;
+import com.taskify.dtos.TaskListSummary;
 import com.taskify.dtos.UpdateTaskListRequest;
+import com.taskify.entities.Task;
 import com.taskify.entities.TaskList;
-import com.taskify.entities.TaskStatus;
 import com.taskify.mappers.TaskListMapper;
 import com.taskify.mappers.TaskMapper;
 import java.util.List;
@@ -50,24 +51,48 @@ public class TaskListMapperImpl implements TaskListMapper {
       return null;
     }
 
-    if (taskList.getTasks() == null) {
-      return new TaskListDto(
-          taskList.getId(), taskList.getTitle(), taskList.getDescription(), 0, 0.0, List.of());
+    // The stored counters include archived tasks, which are not among the loaded ones.
+    List<Task> tasks = taskList.getTasks() == null ? List.of() : taskList.getTasks();
+    return new TaskListDto(
+        taskList.getId(),
+        taskList.getTitle(),
+        taskList.getDescription(),
+        taskList.getTaskCount(),
+        progress(taskList.getClosedCount(), taskList.getTaskCount()),
+        tasks.stream().map(taskMapper::toDto).toList());
+  }
+
+  @Override
+  public TaskListDto toSummaryDto(TaskListSummary summary) {
+    if (summary == null) {
+      return null;
     }
 
-    int count = taskList.getTasks().size();
+    return new TaskListDto(
+        summary.id(),
+        summary.title(),
+        summary.description(),
+        Math.toIntExact(summary.count()),
+        progress(summary.closedCount(), summary.count()),
+        null);
+  }
 
-    double progress =
-        taskList.getTasks().stream().filter(task -> task.getStatus() == TaskStatus.CLOSED).count()
-            * 100.0
-            / Math.max(count, 1);
+  @Override
+  public TaskListDto toDto(TaskListSummary summary, List<Task> tasks) {
+    if (summary == null) {
+      return null;
+    }
 
     return new TaskListDto(
-        taskList.getId(),
-        taskList.getTitle(),
-        taskList.getDescription(),
-        count,
-        progress,
-        taskList.getTasks().stream().map(taskMapper::toDto).toList());
+        summary.id(),
+        summary.title(),
+        summary.description(),
+        Math.toIntExact(summary.count()),
+        progress(summary.closedCount(), summary.count()),
+        tasks.stream().map(taskMapper::toDto).toList());
+  }
+
+  private static double progress(long closedCount, long count) {
+    return closedCount * 100.0 / Math.max(count, 1);
   }
 }
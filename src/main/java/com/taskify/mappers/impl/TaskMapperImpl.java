@@ -2,6 +2,8 @@ package com.taskify.mappers.impl;
 
 import com.taskify.dtos.CreateTaskRequest;
 import com.taskify.dtos.TaskDto;
+import com.taskify.dtos.TaskExportDto;
+import com.taskify.dtos.TaskSearchResultDto;
 import com.taskify.dtos.UpdateTaskRequest;
 import com.taskify.entities.Task;
 import com.taskify.mappers.TaskMapper;
@@ -55,4 +57,39 @@ public class TaskMapperImpl implements TaskMapper {
         task.getPriority(),
         task.getStatus());
   }
+
+  @Override
+  public TaskSearchResultDto toSearchResultDto(Task task, float rank) {
+    if (task == null) {
+      return null;
+    }
+
+    return new TaskSearchResultDto(
+        task.getId(),
+        task.getTaskList().getId(),
+        task.getTitle(),
+        task.getDescription(),
+        task.getDueDate(),
+        task.getPriority(),
+        task.getStatus(),
+        rank);
+  }
+
+  @Override
+  public TaskExportDto toExportDto(Task task) {
+    if (task == null) {
+      return null;
+    }
+
+    return new TaskExportDto(
+        task.getId(),
+        task.getTaskList().getId(),
+        task.getTitle(),
+        task.getDescription(),
+        task.getDueDate(),
+        task.getPriority(),
+        task.getStatus(),
+        task.getCreated(),
+        task.getUpdated());
+  }
 }
@@ -0,0 +1,69 @@
+package com.taskify.pagination;
+
+import com.taskify.exceptions.InvalidCursorException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Opaque keyset cursor: the sort key values of the last row of a page, encoded as URL-safe Base64
+ * so clients treat it as a token rather than something to construct.
+ */
+public record Cursor(List<String> values) {
+
+  private static final String SEPARATOR = "\n";
+
+  public static Cursor of(Object... values) {
+    return new Cursor(Arrays.stream(values).map(String::valueOf).toList());
+  }
+
+  public static Cursor decode(String token) {
+    try {
+      String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+      return new Cursor(List.of(decoded.split(SEPARATOR, -1)));
+    } catch (IllegalArgumentException ex) {
+      throw new InvalidCursorException("Malformed cursor: " + token);
+    }
+  }
+
+  public String encode() {
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(String.join(SEPARATOR, values).getBytes(StandardCharsets.UTF_8));
+  }
+
+  public String string(int index) {
+    if (index >= values.size()) {
+      throw new InvalidCursorException("Cursor is missing sort key #" + index);
+    }
+    return values.get(index);
+  }
+
+  public LocalDateTime localDateTime(int index) {
+    try {
+      return LocalDateTime.parse(string(index));
+    } catch (DateTimeParseException ex) {
+      throw new InvalidCursorException("Cursor sort key #" + index + " is not a timestamp");
+    }
+  }
+
+  public float floatValue(int index) {
+    try {
+      return Float.parseFloat(string(index));
+    } catch (NumberFormatException ex) {
+      throw new InvalidCursorException("Cursor sort key #" + index + " is not a number");
+    }
+  }
+
+  public UUID uuid(int index) {
+    try {
+      return UUID.fromString(string(index));
+    } catch (IllegalArgumentException ex) {
+      throw new InvalidCursorException("Cursor sort key #" + index + " is not an id");
+    }
+  }
+}
@@ -0,0 +1,21 @@
+package com.taskify.pagination;
+
+/** Page size limits shared by the paginated endpoints. */
+public final class Pages {
+
+  public static final int DEFAULT_LIMIT = 20;
+  public static final int MAX_LIMIT = 100;
+
+  private Pages() {}
+
+  /** Validates a requested page size, defaulting it when absent and capping it at the maximum. */
+  public static int limit(Integer requested) {
+    if (requested == null) {
+      return DEFAULT_LIMIT;
+    }
+    if (requested < 1) {
+      throw new IllegalArgumentException("limit must be at least 1");
+    }
+    return Math.min(requested, MAX_LIMIT);
+  }
+}
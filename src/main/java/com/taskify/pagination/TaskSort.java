@@ -0,0 +1,81 @@
+package com.taskify.pagination;
+
+import com.taskify.entities.Task;
+import com.taskify.entities.TaskPriority;
+import com.taskify.exceptions.InvalidCursorException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.function.Function;
+
+/**
+ * Sort order for task listings, written as {@code due_date}, {@code priority} or {@code created},
+ * optionally prefixed with {@code -} for descending order. Ties are broken by task ID.
+ */
+public record TaskSort(Field field, boolean descending) {
+
+  public static final TaskSort DEFAULT = new TaskSort(Field.CREATED, false);
+
+  public static TaskSort parse(String value) {
+    if (value == null || value.isBlank()) {
+      return DEFAULT;
+    }
+    boolean descending = value.startsWith("-");
+    String name = descending ? value.substring(1) : value;
+    return Arrays.stream(Field.values())
+        .filter(field -> field.parameter.equals(name))
+        .findFirst()
+        .map(field -> new TaskSort(field, descending))
+        .orElseThrow(() -> new IllegalArgumentException("Unsupported sort: " + value));
+  }
+
+  /** Orders tasks like the database does for this sort, to merge pages read separately. */
+  @SuppressWarnings("unchecked")
+  public Comparator<Task> comparator() {
+    // Postgres compares UUIDs byte by byte, which is the order of their canonical string form.
+    Comparator<Task> ascending =
+        Comparator.comparing((Task task) -> (Comparable<Object>) field.keyOf(task))
+            .thenComparing(task -> task.getId().toString());
+    return descending ? ascending.reversed() : ascending;
+  }
+
+  @Override
+  public String toString() {
+    return (descending ? "-" : "") + field.parameter;
+  }
+
+  public enum Field {
+    DUE_DATE("due_date", "dueDate", Task::getDueDate),
+    PRIORITY("priority", "priority", Task::getPriority),
+    CREATED("created", "created", Task::getCreated);
+
+    private final String parameter;
+    private final String attribute;
+    private final Function<Task, Object> accessor;
+
+    Field(String parameter, String attribute, Function<Task, Object> accessor) {
+      this.parameter = parameter;
+      this.attribute = attribute;
+      this.accessor = accessor;
+    }
+
+    /** The {@link Task} attribute this field sorts on. */
+    public String attribute() {
+      return attribute;
+    }
+
+    public Object keyOf(Task task) {
+      return accessor.apply(task);
+    }
+
+    public Object keyOf(Cursor cursor, int index) {
+      if (this != PRIORITY) {
+        return cursor.localDateTime(index);
+      }
+      try {
+        return TaskPriority.valueOf(cursor.string(index));
+      } catch (IllegalArgumentException ex) {
+        throw new InvalidCursorException("Cursor sort key #" + index + " is not a priority");
+      }
+    }
+  }
+}
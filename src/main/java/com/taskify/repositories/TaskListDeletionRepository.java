@@ -0,0 +1,21 @@
+package com.taskify.repositories;
+
+import com.taskify.entities.TaskListDeletion;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TaskListDeletionRepository extends JpaRepository<TaskListDeletion, UUID> {
+
+  Optional<TaskListDeletion> findByIdAndUpdatedAfter(UUID id, LocalDateTime after);
+
+  /** Deletes, with a single statement, the deletions that last changed before {@code before}. */
+  @Modifying
+  @Query("delete from TaskListDeletion d where d.updated < :before")
+  int deleteAllUpdatedBefore(LocalDateTime before);
+}
@@ -1,11 +1,18 @@
 package com.taskify.repositories;
 
+import com.taskify.dtos.TaskListStamps;
+import com.taskify.dtos.TaskListSummary;
 import com.taskify.entities.TaskList;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -18,4 +25,122 @@ public interface TaskListRepository extends JpaRepository<TaskList, UUID> {
   @Override
   @EntityGraph(attributePaths = "tasks")
   List<TaskList> findAll();
+
+  @Query("select tl from TaskList tl order by tl.created, tl.id")
+  List<TaskList> findFirstPage(Limit limit);
+
+  @Query(
+      "select tl from TaskList tl where (tl.created, tl.id) > (:created, :id)"
+          + " order by tl.created, tl.id")
+  List<TaskList> findPageAfter(LocalDateTime created, UUID id, Limit limit);
+
+  @EntityGraph(attributePaths = "tasks")
+  List<TaskList> findAllWithTasksByIdIn(Collection<UUID> ids);
+
+  @Query(
+      "select new com.taskify.dtos.TaskListSummary(tl.id, tl.title, tl.description, tl.taskCount,"
+          + " tl.closedCount) from TaskList tl where tl.id = :id")
+  Optional<TaskListSummary> findSummaryById(UUID id);
+
+  @Query(
+      "select new com.taskify.dtos.TaskListSummary(tl.id, tl.title, tl.description, tl.taskCount,"
+          + " tl.closedCount) from TaskList tl where tl.id in :ids")
+  List<TaskListSummary> findSummariesByIdIn(Collection<UUID> ids);
+
+  /**
+   * Atomically shifts the task counters of a task list and bumps the content stamps its validators
+   * are read from, locking its row until the surrounding transaction ends. Only writes of its tasks
+   * that change the counters call it, so that the others do not queue up on the task list's row.
+   * Returns 0 if the task list does not exist.
+   */
+  @Modifying
+  @Query(
+      "update TaskList tl set tl.taskCount = tl.taskCount + :tasks,"
+          + " tl.closedCount = tl.closedCount + :closed,"
+          + " tl.contentVersion = tl.contentVersion + 1, tl.contentUpdated = local datetime"
+          + " where tl.id = :id")
+  int adjustCounters(UUID id, int tasks, int closed);
+
+  /** Bumps the content stamps of task lists whose tasks changed without changing their counters. */
+  @Modifying
+  @Query(
+      "update TaskList tl set tl.contentVersion = tl.contentVersion + 1,"
+          + " tl.contentUpdated = local datetime where tl.id in :ids")
+  int touchContent(Collection<UUID> ids);
+
+  /**
+   * Deletes a task list with a single statement, the database removing its tasks through {@code ON
+   * DELETE CASCADE}. Returns 0 if the task list does not exist. That locks its row before its
+   * tasks, the other way round from task writes, so callers delete the tasks first, see {@link
+   * TaskRepository#deleteAllByTaskListId}, leaving the cascade only those created in between.
+   */
+  @Modifying
+  @Query("delete from TaskList tl where tl.id = :id")
+  int deleteWithTasksById(UUID id);
+
+  /** Like {@link #deleteWithTasksById}, but only while the task list is at {@code version}. */
+  @Modifying
+  @Query("delete from TaskList tl where tl.id = :id and tl.version = :version")
+  int deleteWithTasksByIdAndVersion(UUID id, long version);
+
+  @Query(
+      value = "select id from task_lists where id > :after order by id limit :limit for update",
+      nativeQuery = true)
+  List<UUID> lockIdsAfter(UUID after, int limit);
+
+  /**
+   * Recomputes the counters of the given task lists from their tasks, archived ones included, and
+   * returns how many had drifted. The rows should be locked first, so that concurrent task writes
+   * either are counted here or apply their increments afterwards.
+   */
+  @Modifying
+  @Query(
+      value =
+          """
+          update task_lists tl
+          set task_count = c.task_count, closed_count = c.closed_count,
+              content_version = tl.content_version + 1, content_updated = localtimestamp
+          from (
+              select l.id, count(t.id) as task_count,
+                     count(t.id) filter (where t.status = 1) as closed_count
+              from task_lists l
+              left join (
+                  select id, task_list_id, status from tasks
+                  union all
+                  select id, task_list_id, status from tasks_archive
+              ) t on t.task_list_id = l.id
+              where l.id in :ids
+              group by l.id
+          ) c
+          where tl.id = c.id
+            and (tl.task_count, tl.closed_count) <> (c.task_count, c.closed_count)
+          """,
+      nativeQuery = true)
+  int repairCounters(Collection<UUID> ids);
+
+  /**
+   * Returns the counters and stamps of a task list's row that its validators are read from, along
+   * with the latest update and the sum of the row versions of its tasks, which the index on {@code
+   * (task_list_id, updated)} answers without reading the tasks themselves.
+   */
+  @Query(
+      "select new com.taskify.dtos.TaskListStamps(tl.id, tl.taskCount, tl.updated, tl.version,"
+          + " tl.contentUpdated, tl.contentVersion,"
+          + " (select max(t.updated) from Task t where t.taskList.id = tl.id),"
+          + " (select coalesce(sum(t.version), 0L) from Task t where t.taskList.id = tl.id))"
+          + " from TaskList tl where tl.id = :id")
+  Optional<TaskListStamps> findStampsById(UUID id);
+
+  /** Like {@link #findStampsById}, for a page of task lists, in no particular order. */
+  @Query(
+      "select new com.taskify.dtos.TaskListStamps(tl.id, tl.taskCount, tl.updated, tl.version,"
+          + " tl.contentUpdated, tl.contentVersion,"
+          + " (select max(t.updated) from Task t where t.taskList.id = tl.id),"
+          + " (select coalesce(sum(t.version), 0L) from Task t where t.taskList.id = tl.id))"
+          + " from TaskList tl where tl.id in :ids")
+  List<TaskListStamps> findStampsByIdIn(Collection<UUID> ids);
+
+  /** Returns the row version of a task list alone, without looking at its tasks. */
+  @Query("select tl.version from TaskList tl where tl.id = :id")
+  Optional<Long> findRowVersionById(UUID id);
 }
@@ -1,17 +1,40 @@
 package com.taskify.repositories;
 
+import com.taskify.dtos.ResourceVersion;
 import com.taskify.entities.Task;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, UUID> {
+public interface TaskRepository extends JpaRepository<Task, UUID>, TaskRepositoryCustom {
   List<Task> findByTaskListId(UUID taskListId);
 
   Optional<Task> findByTaskListIdAndId(UUID taskListId, UUID id);
 
   void deleteByTaskListIdAndId(UUID taskListId, UUID taskId);
+
+  /**
+   * Deletes all tasks of a task list with a single statement and returns how many there were. Run
+   * before deleting the task list itself, so that its tasks are locked before its row, in the order
+   * task writes lock them.
+   */
+  @Modifying
+  @Query("delete from Task t where t.taskList.id = :taskListId")
+  int deleteAllByTaskListId(UUID taskListId);
+
+  @Query(
+      "select new com.taskify.dtos.ResourceVersion(1L, t.updated, t.version) from Task t"
+          + " where t.taskList.id = :taskListId and t.id = :id")
+  Optional<ResourceVersion> findVersionByTaskListIdAndId(UUID taskListId, UUID id);
+
+  /** Archived tasks have no version, as they can no longer be written. */
+  @Query(
+      "select new com.taskify.dtos.ResourceVersion(1L, t.updated) from ArchivedTask t"
+          + " where t.taskList.id = :taskListId and t.id = :id")
+  Optional<ResourceVersion> findArchivedVersionByTaskListIdAndId(UUID taskListId, UUID id);
 }
@@ -0,0 +1,130 @@
+package com.taskify.repositories;
+
+import com.taskify.dtos.TaskExportFilter;
+import com.taskify.dtos.TaskFields;
+import com.taskify.dtos.TaskFilter;
+import com.taskify.dtos.TaskPatch;
+import com.taskify.entities.Task;
+import com.taskify.entities.TaskPriority;
+import com.taskify.entities.TaskStatus;
+import com.taskify.pagination.TaskSort;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+public interface TaskRepositoryCustom {
+
+  /**
+   * Returns up to {@code limit} tasks of a task list matching {@code filter}, in {@code sort}
+   * order, starting after the row identified by {@code afterKey} and {@code afterId} when given.
+   * Unless all {@code fields} are asked for, the tasks are unmanaged and only hold those fields and
+   * the sort key.
+   */
+  List<Task> findPage(
+      UUID taskListId,
+      TaskFilter filter,
+      TaskSort sort,
+      TaskFields fields,
+      Object afterKey,
+      UUID afterId,
+      int limit);
+
+  /**
+   * Returns a page of a task list's archived tasks, like {@link #findPage}. The tasks are always
+   * unmanaged.
+   */
+  List<Task> findArchivedPage(
+      UUID taskListId,
+      TaskFilter filter,
+      TaskSort sort,
+      TaskFields fields,
+      Object afterKey,
+      UUID afterId,
+      int limit);
+
+  /** Returns an archived task of a task list as an unmanaged task. */
+  Optional<Task> findArchivedByTaskListIdAndId(UUID taskListId, UUID id);
+
+  /**
+   * Moves up to {@code limit} tasks that were closed and last updated before {@code cutoff} to the
+   * archive in one statement, stamping them as archived at {@code now}. Tasks locked by other
+   * transactions are skipped, as are those of task lists being deleted. Returns the task list ID of
+   * every archived task.
+   */
+  List<UUID> archiveClosedBefore(LocalDateTime cutoff, int limit, LocalDateTime now);
+
+  /**
+   * Returns the tasks of the given task lists, oldest first, as unmanaged tasks that only hold
+   * {@code fields} and a task list reference carrying its ID.
+   */
+  List<Task> findAllByTaskListIdIn(Collection<UUID> taskListIds, TaskFields fields);
+
+  /**
+   * Hands every task matching {@code filter} to {@code action}, grouped by task list and oldest
+   * first, reading {@code fetchSize} rows at a time through a forward-only cursor. Tasks are
+   * detached once a batch has been handled, so memory use does not grow with the number of rows.
+   * Must run inside a transaction, without which the driver reads the whole result up front.
+   * Returns the number of tasks handled.
+   */
+  long scroll(TaskExportFilter filter, int fetchSize, Consumer<Task> action);
+
+  /**
+   * Inserts new {@code tasks} in JDBC batches of {@code hibernate.jdbc.batch_size} statements,
+   * flushing and clearing the persistence context after every batch so that it stays small. The
+   * tasks are detached afterwards.
+   */
+  void insertAll(List<Task> tasks);
+
+  /**
+   * Sets the non-null {@code status} and {@code priority} on every task of a task list matching
+   * {@code filter} with a single {@code UPDATE}, stamping them as updated at {@code now}. Reports
+   * how many tasks matched and how the number of closed tasks changed, so that the task list
+   * counters can follow.
+   */
+  BulkUpdate updateAll(
+      UUID taskListId,
+      TaskFilter filter,
+      TaskStatus status,
+      TaskPriority priority,
+      LocalDateTime now);
+
+  /**
+   * Applies the properties present in {@code patch} to a task that is still at {@code version}
+   * with a single {@code UPDATE ... RETURNING}, stamping it as updated at {@code now}, without
+   * loading or locking it first. Returns the updated task along with its status from before, or
+   * empty if the task does not exist, is no longer at {@code version} or already holds every value
+   * of the patch.
+   */
+  Optional<PatchedTask> patch(
+      UUID taskListId, UUID id, TaskPatch patch, long version, LocalDateTime now);
+
+  /**
+   * Deletes a task with a single {@code DELETE ... RETURNING}, only while it is at {@code
+   * expectedVersion} when given, and returns the status it had, or empty if nothing was deleted.
+   */
+  Optional<TaskStatus> delete(UUID taskListId, UUID id, Long expectedVersion);
+
+  /**
+   * Returns up to {@code limit} tasks matching the web-search style {@code query}, optionally
+   * within one task list, best match first and starting after the hit identified by {@code
+   * afterRank} and {@code afterId} when given.
+   */
+  List<SearchHit> search(String query, UUID taskListId, Float afterRank, UUID afterId, int limit);
+
+  /**
+   * Deletes up to {@code limit} tasks of a task list in one statement and reports how many were
+   * deleted and how many of those were closed.
+   */
+  BulkDelete deleteChunk(UUID taskListId, int limit);
+
+  record SearchHit(Task task, float rank) {}
+
+  record BulkUpdate(int updated, int closedDelta) {}
+
+  record BulkDelete(int deleted, int closed) {}
+
+  record PatchedTask(Task task, TaskStatus previousStatus) {}
+}
@@ -0,0 +1,408 @@
+package com.taskify.repositories;
+
+import com.taskify.dtos.TaskExportFilter;
+import com.taskify.dtos.TaskFields;
+import com.taskify.dtos.TaskFilter;
+import com.taskify.dtos.TaskPatch;
+import com.taskify.entities.ArchivedTask;
+import com.taskify.entities.Task;
+import com.taskify.entities.TaskList;
+import com.taskify.entities.TaskPriority;
+import com.taskify.entities.TaskStatus;
+import com.taskify.pagination.TaskSort;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TupleElement;
+import jakarta.persistence.TypedQuery;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+
+class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
+
+  private final EntityManager entityManager;
+
+  TaskRepositoryCustomImpl(EntityManager entityManager) {
+    this.entityManager = entityManager;
+  }
+
+  @Override
+  public List<Task> findPage(
+      UUID taskListId,
+      TaskFilter filter,
+      TaskSort sort,
+      TaskFields fields,
+      Object afterKey,
+      UUID afterId,
+      int limit) {
+    return findPage(Task.class, taskListId, filter, sort, fields, afterKey, afterId, limit);
+  }
+
+  @Override
+  public List<Task> findArchivedPage(
+      UUID taskListId,
+      TaskFilter filter,
+      TaskSort sort,
+      TaskFields fields,
+      Object afterKey,
+      UUID afterId,
+      int limit) {
+    return findPage(ArchivedTask.class, taskListId, filter, sort, fields, afterKey, afterId, limit);
+  }
+
+  private List<Task> findPage(
+      Class<?> entity,
+      UUID taskListId,
+      TaskFilter filter,
+      TaskSort sort,
+      TaskFields fields,
+      Object afterKey,
+      UUID afterId,
+      int limit) {
+    StringBuilder jpql =
+        new StringBuilder(" from ")
+            .append(entity.getSimpleName())
+            .append(" t where t.taskList.id = :taskListId");
+    Map<String, Object> parameters = new HashMap<>();
+    parameters.put("taskListId", taskListId);
+
+    if (filter.status() != null) {
+      jpql.append(" and t.status = :status");
+      parameters.put("status", filter.status());
+    }
+    if (filter.priority() != null) {
+      jpql.append(" and t.priority = :priority");
+      parameters.put("priority", filter.priority());
+    }
+    if (filter.dueAfter() != null) {
+      jpql.append(" and t.dueDate >= :dueAfter");
+      parameters.put("dueAfter", filter.dueAfter());
+    }
+    if (filter.dueBefore() != null) {
+      jpql.append(" and t.dueDate < :dueBefore");
+      parameters.put("dueBefore", filter.dueBefore());
+    }
+
+    String key = "t." + sort.field().attribute();
+    String direction = sort.descending() ? " desc" : " asc";
+    if (afterId != null) {
+      jpql.append(" and (")
+          .append(key)
+          .append(", t.id) ")
+          .append(sort.descending() ? "<" : ">")
+          .append(" (:afterKey, :afterId)");
+      parameters.put("afterKey", afterKey);
+      parameters.put("afterId", afterId);
+    }
+    jpql.append(" order by ").append(key).append(direction).append(", t.id").append(direction);
+
+    // Archived tasks are not Tasks, so they are always read as tuples.
+    if (fields.isAll() && entity == Task.class) {
+      TypedQuery<Task> query = entityManager.createQuery("select t" + jpql, Task.class);
+      parameters.forEach(query::setParameter);
+      return query.setMaxResults(limit).getResultList();
+    }
+
+    // The sort key is needed for the cursor even when the client did not ask for it.
+    Set<String> attributes = new LinkedHashSet<>(fields.attributes());
+    attributes.add(sort.field().attribute());
+    TypedQuery<Tuple> query =
+        entityManager.createQuery("select " + select(attributes) + jpql, Tuple.class);
+    parameters.forEach(query::setParameter);
+    return query
+        .setMaxResults(limit)
+        .getResultStream()
+        .map(TaskRepositoryCustomImpl::toTask)
+        .toList();
+  }
+
+  @Override
+  public Optional<Task> findArchivedByTaskListIdAndId(UUID taskListId, UUID id) {
+    return entityManager
+        .createQuery(
+            "select "
+                + select(TaskFields.ALL.attributes())
+                + " from ArchivedTask t where t.taskList.id = :taskListId and t.id = :id",
+            Tuple.class)
+        .setParameter("taskListId", taskListId)
+        .setParameter("id", id)
+        .getResultStream()
+        .findFirst()
+        .map(TaskRepositoryCustomImpl::toTask);
+  }
+
+  @Override
+  public List<UUID> archiveClosedBefore(LocalDateTime cutoff, int limit, LocalDateTime now) {
+    String columns =
+        "id, title, description, due_date, priority, status, created, updated, task_list_id";
+    // The task lists are share-locked along with their tasks, before the insert's foreign key
+    // check would, so that tasks of a task list that is being deleted are skipped rather than
+    // waited for while its deletion waits for them.
+    return entityManager
+        .createNativeQuery(
+            "with archived as (delete from tasks where (id, task_list_id) in"
+                + " (select t.id, t.task_list_id from tasks t"
+                + " join task_lists tl on tl.id = t.task_list_id"
+                + " where t.status = :closed and t.updated < :cutoff limit :limit"
+                + " for update of t skip locked for key share of tl skip locked)"
+                + " returning "
+                + columns
+                + ") insert into tasks_archive ("
+                + columns
+                + ", archived) select "
+                + columns
+                + ", :now from archived returning task_list_id",
+            UUID.class)
+        .setParameter("closed", TaskStatus.CLOSED.ordinal())
+        .setParameter("cutoff", cutoff)
+        .setParameter("limit", limit)
+        .setParameter("now", now)
+        .getResultList();
+  }
+
+  @Override
+  public List<Task> findAllByTaskListIdIn(Collection<UUID> taskListIds, TaskFields fields) {
+    return entityManager
+        .createQuery(
+            "select t.taskList.id as taskListId, "
+                + select(fields.attributes())
+                + " from Task t where t.taskList.id in :taskListIds order by t.created, t.id",
+            Tuple.class)
+        .setParameter("taskListIds", taskListIds)
+        .getResultStream()
+        .map(TaskRepositoryCustomImpl::toTask)
+        .toList();
+  }
+
+  @Override
+  public long scroll(TaskExportFilter filter, int fetchSize, Consumer<Task> action) {
+    StringBuilder jpql = new StringBuilder("select t from Task t where 1 = 1");
+    Map<String, Object> parameters = new HashMap<>();
+    if (filter.taskListId() != null) {
+      jpql.append(" and t.taskList.id = :taskListId");
+      parameters.put("taskListId", filter.taskListId());
+    }
+    if (filter.status() != null) {
+      jpql.append(" and t.status = :status");
+      parameters.put("status", filter.status());
+    }
+    if (filter.updatedSince() != null) {
+      jpql.append(" and t.updated >= :updatedSince");
+      parameters.put("updatedSince", filter.updatedSince());
+    }
+    // Follows the (task_list_id, created, id) index, so rows stream without a sort.
+    jpql.append(" order by t.taskList.id, t.created, t.id");
+
+    TypedQuery<Task> query =
+        entityManager
+            .createQuery(jpql.toString(), Task.class)
+            .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+            .setHint(HibernateHints.HINT_READ_ONLY, true);
+    parameters.forEach(query::setParameter);
+    try (Stream<Task> tasks = query.getResultStream()) {
+      Iterator<Task> iterator = tasks.iterator();
+      long handled = 0;
+      while (iterator.hasNext()) {
+        action.accept(iterator.next());
+        if (++handled % fetchSize == 0) {
+          entityManager.clear();
+        }
+      }
+      entityManager.clear();
+      return handled;
+    }
+  }
+
+  @Override
+  public void insertAll(List<Task> tasks) {
+    int batchSize =
+        Math.max(
+            1,
+            entityManager
+                .getEntityManagerFactory()
+                .unwrap(SessionFactoryImplementor.class)
+                .getSessionFactoryOptions()
+                .getJdbcBatchSize());
+    for (int i = 0; i < tasks.size(); i++) {
+      entityManager.persist(tasks.get(i));
+      if ((i + 1) % batchSize == 0 || i == tasks.size() - 1) {
+        entityManager.flush();
+        entityManager.clear();
+      }
+    }
+  }
+
+  @Override
+  public BulkUpdate updateAll(
+      UUID taskListId,
+      TaskFilter filter,
+      TaskStatus status,
+      TaskPriority priority,
+      LocalDateTime now) {
+    // The matching rows are locked before they are read, so each row's status from before the
+    // update is the one a concurrent writer committed, which is what the change in the closed
+    // count depends on. The same way patch() does it.
+    StringBuilder sql =
+        new StringBuilder(
+            "with old as (select id, status from tasks where task_list_id = :taskListId");
+    Map<String, Object> parameters = new HashMap<>();
+    parameters.put("now", now);
+    parameters.put("taskListId", taskListId);
+    TaskSql.appendFilter(sql, parameters, filter);
+    sql.append(" for update), changed as (update tasks t set updated = :now")
+        .append(", version = t.version + 1");
+    if (status != null) {
+      sql.append(", status = :newStatus");
+      parameters.put("newStatus", status.ordinal());
+    }
+    if (priority != null) {
+      sql.append(", priority = :newPriority");
+      parameters.put("newPriority", priority.ordinal());
+    }
+    sql.append(" from old where t.id = old.id and t.task_list_id = :taskListId")
+        .append(" returning old.status as old_status, t.status as new_status)")
+        .append(" select count(*) as updated,")
+        .append(" count(*) filter (where new_status = :closed and old_status <> :closed)")
+        .append(" - count(*) filter (where old_status = :closed and new_status <> :closed)")
+        .append(" as closed_delta from changed");
+    parameters.put("closed", TaskStatus.CLOSED.ordinal());
+
+    Query query = entityManager.createNativeQuery(sql.toString());
+    parameters.forEach(query::setParameter);
+    Object[] row = (Object[]) query.getSingleResult();
+    return new BulkUpdate(((Number) row[0]).intValue(), ((Number) row[1]).intValue());
+  }
+
+  @Override
+  public Optional<PatchedTask> patch(
+      UUID taskListId, UUID id, TaskPatch patch, long version, LocalDateTime now) {
+    TaskSql.Statement statement = TaskSql.patch(taskListId, id, patch, version, now);
+    NativeQuery<?> query =
+        entityManager
+            .createNativeQuery(statement.sql())
+            .unwrap(NativeQuery.class)
+            .addEntity("t", Task.class)
+            .addScalar("old_status", StandardBasicTypes.INTEGER);
+    statement.parameters().forEach(query::setParameter);
+    return query.getResultList().stream()
+        .map(row -> (Object[]) row)
+        .map(row -> new PatchedTask((Task) row[0], TaskStatus.values()[(Integer) row[1]]))
+        .findFirst();
+  }
+
+  @Override
+  public Optional<TaskStatus> delete(UUID taskListId, UUID id, Long expectedVersion) {
+    TaskSql.Statement statement = TaskSql.delete(taskListId, id, expectedVersion);
+    Query query = entityManager.createNativeQuery(statement.sql(), Integer.class);
+    statement.parameters().forEach(query::setParameter);
+    return query.getResultList().stream()
+        .map(status -> TaskStatus.values()[(Integer) status])
+        .findFirst();
+  }
+
+  @Override
+  public BulkDelete deleteChunk(UUID taskListId, int limit) {
+    Object[] row =
+        (Object[])
+            entityManager
+                .createNativeQuery(
+                    "with deleted as (delete from tasks where task_list_id = :taskListId and id in"
+                        + " (select id from tasks where task_list_id = :taskListId limit :limit)"
+                        + " returning status)"
+                        + " select count(*), count(*) filter (where status = :closed)"
+                        + " from deleted")
+                .setParameter("taskListId", taskListId)
+                .setParameter("limit", limit)
+                .setParameter("closed", TaskStatus.CLOSED.ordinal())
+                .getSingleResult();
+    return new BulkDelete(((Number) row[0]).intValue(), ((Number) row[1]).intValue());
+  }
+
+  @Override
+  public List<SearchHit> search(
+      String query, UUID taskListId, Float afterRank, UUID afterId, int limit) {
+    String tsQuery = "websearch_to_tsquery('english', :query)";
+    String rank = "ts_rank(t.search_vector, " + tsQuery + ")";
+    StringBuilder sql =
+        new StringBuilder("select t.*, ")
+            .append(rank)
+            .append(" as rank from tasks t where t.search_vector @@ ")
+            .append(tsQuery);
+    Map<String, Object> parameters = new HashMap<>();
+    parameters.put("query", query);
+
+    if (taskListId != null) {
+      sql.append(" and t.task_list_id = :taskListId");
+      parameters.put("taskListId", taskListId);
+    }
+    if (afterId != null) {
+      sql.append(" and (")
+          .append(rank)
+          .append(" < :afterRank or (")
+          .append(rank)
+          .append(" = :afterRank and t.id > :afterId))");
+      parameters.put("afterRank", afterRank);
+      parameters.put("afterId", afterId);
+    }
+    sql.append(" order by rank desc, t.id limit :limit");
+    parameters.put("limit", limit);
+
+    NativeQuery<?> nativeQuery =
+        entityManager
+            .createNativeQuery(sql.toString())
+            .unwrap(NativeQuery.class)
+            .addEntity("t", Task.class)
+            .addScalar("rank", StandardBasicTypes.FLOAT);
+    parameters.forEach(nativeQuery::setParameter);
+    return nativeQuery.getResultList().stream()
+        .map(row -> (Object[]) row)
+        .map(row -> new SearchHit((Task) row[0], (Float) row[1]))
+        .toList();
+  }
+
+  /** Selects each of {@code attributes} of a task as a tuple element of the same name. */
+  private static String select(Collection<String> attributes) {
+    return attributes.stream()
+        .map(attribute -> "t." + attribute + " as " + attribute)
+        .collect(Collectors.joining(", "));
+  }
+
+  private static Task toTask(Tuple row) {
+    Task task = new Task();
+    for (TupleElement<?> element : row.getElements()) {
+      Object value = row.get(element);
+      switch (element.getAlias()) {
+        case "id" -> task.setId((UUID) value);
+        case "title" -> task.setTitle((String) value);
+        case "description" -> task.setDescription((String) value);
+        case "dueDate" -> task.setDueDate((LocalDateTime) value);
+        case "priority" -> task.setPriority((TaskPriority) value);
+        case "status" -> task.setStatus((TaskStatus) value);
+        case "created" -> task.setCreated((LocalDateTime) value);
+        case "taskListId" -> {
+          TaskList taskList = new TaskList();
+          taskList.setId((UUID) value);
+          task.setTaskList(taskList);
+        }
+        default ->
+            throw new IllegalStateException("Unexpected task attribute " + element.getAlias());
+      }
+    }
+    return task;
+  }
+}
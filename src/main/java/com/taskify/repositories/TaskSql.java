@@ -0,0 +1,123 @@
+package com.taskify.repositories;
+
+import com.taskify.dtos.TaskFilter;
+import com.taskify.dtos.TaskPatch;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Native statements on {@code tasks} that the JPA repositories and the R2DBC ones of the reactive
+ * application both run, built with named parameters either of them can bind. Enums are bound as the
+ * ordinals they are stored as.
+ */
+public final class TaskSql {
+
+  private TaskSql() {}
+
+  /** A statement and the values of its named parameters. */
+  public record Statement(String sql, Map<String, Object> parameters) {}
+
+  /** Appends the conditions of {@code filter} on the plain columns of {@code tasks}. */
+  public static void appendFilter(
+      StringBuilder sql, Map<String, Object> parameters, TaskFilter filter) {
+    if (filter.status() != null) {
+      sql.append(" and status = :status");
+      parameters.put("status", filter.status().ordinal());
+    }
+    if (filter.priority() != null) {
+      sql.append(" and priority = :priority");
+      parameters.put("priority", filter.priority().ordinal());
+    }
+    if (filter.dueAfter() != null) {
+      sql.append(" and due_date >= :dueAfter");
+      parameters.put("dueAfter", filter.dueAfter());
+    }
+    if (filter.dueBefore() != null) {
+      sql.append(" and due_date < :dueBefore");
+      parameters.put("dueBefore", filter.dueBefore());
+    }
+  }
+
+  /**
+   * Applies the properties present in {@code patch} to a task that is still at {@code version},
+   * with a single {@code UPDATE ... RETURNING} of the updated row and, as {@code old_status}, its
+   * status from before. Returns no row if the task has moved on to another version, no longer
+   * exists or already holds every value of the patch, in which case it is left alone.
+   */
+  public static Statement patch(
+      UUID taskListId, UUID id, TaskPatch patch, long version, LocalDateTime now) {
+    // Nothing is locked ahead of the update, which only applies while the row is still at the
+    // version read, so the status read alongside it is the one being replaced.
+    StringBuilder sql =
+        new StringBuilder(
+            "with old as (select id, status, version from tasks where id = :id"
+                + " and task_list_id = :taskListId and version = :version)"
+                + " update tasks t set updated = :now, version = t.version + 1");
+    List<String> changes = new ArrayList<>();
+    Map<String, Object> parameters = new LinkedHashMap<>();
+    parameters.put("id", id);
+    parameters.put("taskListId", taskListId);
+    parameters.put("version", version);
+    parameters.put("now", now);
+    if (patch.title() != null) {
+      sql.append(", title = :title");
+      changes.add("t.title <> :title");
+      parameters.put("title", patch.title().orElseThrow());
+    }
+    if (patch.description() != null) {
+      // A bare null parameter has no type Postgres could infer, so removal is spelled out.
+      if (patch.description().isPresent()) {
+        sql.append(", description = :description");
+        changes.add("t.description is distinct from :description");
+        parameters.put("description", patch.description().get());
+      } else {
+        sql.append(", description = null");
+        changes.add("t.description is not null");
+      }
+    }
+    if (patch.dueDate() != null) {
+      sql.append(", due_date = :dueDate");
+      changes.add("t.due_date <> :dueDate");
+      parameters.put("dueDate", patch.dueDate().orElseThrow());
+    }
+    if (patch.priority() != null) {
+      sql.append(", priority = :priority");
+      changes.add("t.priority <> :priority");
+      parameters.put("priority", patch.priority().orElseThrow().ordinal());
+    }
+    if (patch.status() != null) {
+      sql.append(", status = :status");
+      changes.add("t.status <> :status");
+      parameters.put("status", patch.status().orElseThrow().ordinal());
+    }
+    sql.append(" from old where t.id = old.id and t.task_list_id = :taskListId")
+        .append(" and t.version = old.version");
+    if (!changes.isEmpty()) {
+      sql.append(" and (").append(String.join(" or ", changes)).append(")");
+    }
+    sql.append(" returning t.*, old.status as old_status");
+    return new Statement(sql.toString(), parameters);
+  }
+
+  /**
+   * Deletes a task, only while it is at {@code expectedVersion} when given, with a single {@code
+   * DELETE ... RETURNING} of the status it had.
+   */
+  public static Statement delete(UUID taskListId, UUID id, Long expectedVersion) {
+    Map<String, Object> parameters = new LinkedHashMap<>();
+    parameters.put("id", id);
+    parameters.put("taskListId", taskListId);
+    if (expectedVersion != null) {
+      parameters.put("version", expectedVersion);
+    }
+    return new Statement(
+        "delete from tasks where id = :id and task_list_id = :taskListId"
+            + (expectedVersion != null ? " and version = :version" : "")
+            + " returning status",
+        parameters);
+  }
+}
@@ -0,0 +1,17 @@
+package com.taskify.services;
+
+import com.taskify.dtos.CreateTaskRequest;
+import com.taskify.dtos.CreateTasksResult;
+import com.taskify.dtos.TaskFilter;
+import com.taskify.dtos.UpdateTasksResult;
+import com.taskify.entities.TaskPriority;
+import com.taskify.entities.TaskStatus;
+import java.util.List;
+import java.util.UUID;
+
+public interface TaskBatchService {
+  CreateTasksResult createTasks(UUID taskListId, List<CreateTaskRequest> requests);
+
+  UpdateTasksResult updateTasks(
+      UUID taskListId, TaskFilter filter, TaskStatus status, TaskPriority priority);
+}
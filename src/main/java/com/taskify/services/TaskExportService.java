@@ -0,0 +1,14 @@
+package com.taskify.services;
+
+import com.taskify.dtos.TaskExportDto;
+import com.taskify.dtos.TaskExportFilter;
+import java.util.function.Consumer;
+
+public interface TaskExportService {
+
+  /**
+   * Hands every task matching {@code filter} to {@code consumer} as it is read from the database,
+   * within a single read-only transaction, and returns how many there were.
+   */
+  long exportTasks(TaskExportFilter filter, Consumer<TaskExportDto> consumer);
+}
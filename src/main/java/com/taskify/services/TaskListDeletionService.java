@@ -0,0 +1,14 @@
+package com.taskify.services;
+
+import com.taskify.dtos.TaskListDeletionDto;
+import java.util.UUID;
+
+public interface TaskListDeletionService {
+  /**
+   * Starts deleting a task list in the background. {@code expectedVersion}, when given, is checked
+   * once up front, after which the deletion runs to completion whatever happens to the task list.
+   */
+  TaskListDeletionDto startDeletion(UUID taskListId, Long expectedVersion);
+
+  TaskListDeletionDto getDeletion(UUID deletionId);
+}
@@ -1,19 +1,52 @@
 package com.taskify.services;
 
 import com.taskify.dtos.CreateTaskListRequest;
+import com.taskify.dtos.CursorPage;
+import com.taskify.dtos.ResourceVersion;
+import com.taskify.dtos.TaskFields;
 import com.taskify.dtos.TaskListDto;
 import com.taskify.dtos.UpdateTaskListRequest;
-import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface TaskListService {
-  List<TaskListDto> listTaskLists();
+  CursorPage<TaskListDto> listTaskLists(
+      String cursor, Integer limit, boolean includeTasks, TaskFields fields);
+
+  /**
+   * Like {@link #listTaskLists}, but reads the page without caching it, for callers that walk
+   * through every page once.
+   */
+  CursorPage<TaskListDto> readTaskLists(
+      String cursor, Integer limit, boolean includeTasks, TaskFields fields);
 
   TaskListDto createTaskList(CreateTaskListRequest request);
 
   TaskListDto getTaskList(UUID id);
 
-  TaskListDto updateTaskList(UUID taskListId, UpdateTaskListRequest request);
+  TaskListDto getTaskList(UUID id, TaskFields fields);
+
+  TaskListDto getTaskListSummary(UUID id);
+
+  /**
+   * Updates the title and description of a task list, failing with a {@code
+   * PreconditionFailedException} unless it is still at {@code expectedVersion}. Changes to its
+   * tasks do not move the version of the task list.
+   */
+  TaskListDto updateTaskList(UUID taskListId, UpdateTaskListRequest request, Long expectedVersion);
+
+  void deleteTaskList(UUID taskListId, Long expectedVersion);
+
+  /**
+   * Returns the validator data of a task list, read from its row alone. Its version is the one
+   * {@code If-Match} is checked against, which changes to its tasks do not move, while its content
+   * stamp covers them.
+   */
+  Optional<ResourceVersion> getTaskListVersion(UUID id);
 
-  void deleteTaskList(UUID taskListId);
+  /**
+   * Returns the validator data of the page of task lists {@link #listTaskLists} would return, read
+   * from the task list rows of the page without loading their tasks.
+   */
+  ResourceVersion getTaskListsVersion(String cursor, Integer limit);
 }
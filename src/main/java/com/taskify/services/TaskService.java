@@ -1,19 +1,70 @@
 package com.taskify.services;
 
 import com.taskify.dtos.CreateTaskRequest;
+import com.taskify.dtos.CursorPage;
+import com.taskify.dtos.ResourceVersion;
 import com.taskify.dtos.TaskDto;
+import com.taskify.dtos.TaskFields;
+import com.taskify.dtos.TaskFilter;
+import com.taskify.dtos.TaskPatch;
+import com.taskify.dtos.TaskSearchResultDto;
 import com.taskify.dtos.UpdateTaskRequest;
-import java.util.List;
+import com.taskify.pagination.TaskSort;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface TaskService {
-  List<TaskDto> listTasks(UUID taskListId);
+  CursorPage<TaskDto> listTasks(
+      UUID taskListId,
+      TaskFilter filter,
+      TaskSort sort,
+      TaskFields fields,
+      boolean includeArchived,
+      String cursor,
+      Integer limit);
+
+  /**
+   * Like {@link #listTasks}, but reads the page without caching it, for callers that walk through
+   * every page once.
+   */
+  CursorPage<TaskDto> readTasks(
+      UUID taskListId,
+      TaskFilter filter,
+      TaskSort sort,
+      TaskFields fields,
+      boolean includeArchived,
+      String cursor,
+      Integer limit);
+
+  CursorPage<TaskSearchResultDto> searchTasks(
+      String query, UUID taskListId, String cursor, Integer limit);
 
   TaskDto createTask(UUID taskListId, CreateTaskRequest request);
 
   TaskDto getTask(UUID taskListId, UUID taskId);
 
-  TaskDto updateTask(UUID taskListId, UUID taskId, UpdateTaskRequest request);
+  /** Like {@link #getTask}, but also finds the task once it has been archived. Not cached. */
+  TaskDto getTaskIncludingArchived(UUID taskListId, UUID taskId);
+
+  /**
+   * Updates a task, failing with a {@code PreconditionFailedException} unless it is still at {@code
+   * expectedVersion}. Without an expected version concurrent updates wait for each other instead.
+   */
+  TaskDto updateTask(UUID taskListId, UUID taskId, UpdateTaskRequest request, Long expectedVersion);
+
+  /** Applies a JSON Merge Patch to a task in one statement, without loading it first. */
+  TaskDto patchTask(UUID taskListId, UUID taskId, TaskPatch patch, Long expectedVersion);
+
+  void deleteTask(UUID taskListId, UUID taskId, Long expectedVersion);
+
+  Optional<ResourceVersion> getTaskVersion(UUID taskListId, UUID taskId);
+
+  /** Like {@link #getTaskVersion}, but also finds the task once it has been archived. */
+  Optional<ResourceVersion> getTaskVersionIncludingArchived(UUID taskListId, UUID taskId);
 
-  void deleteTask(UUID taskListId, UUID taskId);
+  /**
+   * Returns the validator data of the tasks of a task list, read from the content stamp of the task
+   * list's row that every write of its tasks bumps. Empty if the task list does not exist.
+   */
+  Optional<ResourceVersion> getTasksVersion(UUID taskListId);
 }
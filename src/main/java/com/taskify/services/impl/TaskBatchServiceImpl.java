@@ -0,0 +1,130 @@
+package com.taskify.services.impl;
+
+import com.taskify.cache.CacheInvalidator;
+import com.taskify.configs.TaskBatchProperties;
+import com.taskify.dtos.CreateTaskRequest;
+import com.taskify.dtos.CreateTasksResult;
+import com.taskify.dtos.TaskFilter;
+import com.taskify.dtos.UpdateTasksResult;
+import com.taskify.entities.Task;
+import com.taskify.entities.TaskList;
+import com.taskify.entities.TaskPriority;
+import com.taskify.entities.TaskStatus;
+import com.taskify.exceptions.TaskListNotFoundException;
+import com.taskify.mappers.TaskMapper;
+import com.taskify.repositories.TaskListRepository;
+import com.taskify.repositories.TaskRepository;
+import com.taskify.repositories.TaskRepositoryCustom.BulkUpdate;
+import com.taskify.services.TaskBatchService;
+import jakarta.validation.Validator;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@Transactional
+public class TaskBatchServiceImpl implements TaskBatchService {
+  private final TaskListRepository taskListRepository;
+  private final TaskRepository taskRepository;
+  private final TaskMapper taskMapper;
+  private final CacheInvalidator cacheInvalidator;
+  private final Validator validator;
+  private final TaskBatchProperties taskBatchProperties;
+
+  public TaskBatchServiceImpl(
+      TaskListRepository taskListRepository,
+      TaskRepository taskRepository,
+      TaskMapper taskMapper,
+      CacheInvalidator cacheInvalidator,
+      Validator validator,
+      TaskBatchProperties taskBatchProperties) {
+    this.taskListRepository = taskListRepository;
+    this.taskRepository = taskRepository;
+    this.taskMapper = taskMapper;
+    this.cacheInvalidator = cacheInvalidator;
+    this.validator = validator;
+    this.taskBatchProperties = taskBatchProperties;
+  }
+
+  @Override
+  public CreateTasksResult createTasks(UUID taskListId, List<CreateTaskRequest> requests) {
+    if (requests.size() > taskBatchProperties.maxSize()) {
+      throw new IllegalArgumentException(
+          "A batch may contain at most " + taskBatchProperties.maxSize() + " tasks");
+    }
+
+    List<Task> tasks = new ArrayList<>(requests.size());
+    List<List<String>> errors = new ArrayList<>(requests.size());
+    for (CreateTaskRequest request : requests) {
+      List<String> violations = validate(request);
+      errors.add(violations);
+      if (violations.isEmpty()) {
+        tasks.add(taskMapper.fromCreateRequest(request));
+      }
+    }
+
+    // Bumps the counters once for the whole batch and fails the same way as a single create.
+    if (taskListRepository.adjustCounters(taskListId, tasks.size(), 0) == 0) {
+      throw new TaskListNotFoundException("Task List not found with ID: " + taskListId);
+    }
+    TaskList taskList = taskListRepository.getReferenceById(taskListId);
+    for (Task task : tasks) {
+      task.setStatus(TaskStatus.OPEN);
+      task.setTaskList(taskList);
+    }
+    taskRepository.insertAll(tasks);
+
+    List<CreateTasksResult.Item> items = new ArrayList<>(requests.size());
+    int created = 0;
+    for (int index = 0; index < requests.size(); index++) {
+      items.add(
+          errors.get(index).isEmpty()
+              ? CreateTasksResult.Item.created(index, taskMapper.toDto(tasks.get(created++)))
+              : CreateTasksResult.Item.rejected(index, errors.get(index)));
+    }
+    if (!tasks.isEmpty()) {
+      cacheInvalidator.tasksCreated(taskListId);
+    }
+    return CreateTasksResult.of(items);
+  }
+
+  @Override
+  public UpdateTasksResult updateTasks(
+      UUID taskListId, TaskFilter filter, TaskStatus status, TaskPriority priority) {
+    if (status == null && priority == null) {
+      throw new IllegalArgumentException("A bulk update must set a status or a priority");
+    }
+
+    // The tasks go first and the task list after them, as in every other write of its tasks.
+    BulkUpdate update =
+        taskRepository.updateAll(
+            taskListId,
+            filter == null ? TaskFilter.NONE : filter,
+            status,
+            priority,
+            LocalDateTime.now());
+    if (update.updated() == 0 && !taskListRepository.existsById(taskListId)) {
+      throw new TaskListNotFoundException("Task List not found with ID: " + taskListId);
+    }
+    if (update.closedDelta() != 0) {
+      taskListRepository.adjustCounters(taskListId, 0, update.closedDelta());
+    }
+    if (update.updated() > 0) {
+      cacheInvalidator.tasksChanged(taskListId);
+    }
+    return new UpdateTasksResult(update.updated());
+  }
+
+  private List<String> validate(CreateTaskRequest request) {
+    if (request == null) {
+      return List.of("task must not be null");
+    }
+    return validator.validate(request).stream()
+        .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+        .sorted()
+        .toList();
+  }
+}
@@ -0,0 +1,40 @@
+package com.taskify.services.impl;
+
+import com.taskify.dtos.TaskPatch;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Validates task writes beyond what bean validation covers on the request bodies. Shared with the
+ * reactive services, so that both applications reject the same writes.
+ */
+public final class TaskChecks {
+
+  private TaskChecks() {}
+
+  /** Fails if a due date is given and already past at {@code now}. */
+  public static void requireDueDateAhead(LocalDateTime dueDate, LocalDateTime now) {
+    if (dueDate != null && dueDate.isBefore(now)) {
+      throw new IllegalArgumentException("Due date cannot be in the past");
+    }
+  }
+
+  /**
+   * Fails if a patch removes a required property or sets a due date already past at {@code now}.
+   */
+  public static void requireValid(TaskPatch patch, LocalDateTime now) {
+    requireNotRemoved(patch.title(), "title");
+    requireNotRemoved(patch.dueDate(), "dueDate");
+    requireNotRemoved(patch.priority(), "priority");
+    requireNotRemoved(patch.status(), "status");
+    if (patch.dueDate() != null) {
+      requireDueDateAhead(patch.dueDate().get(), now);
+    }
+  }
+
+  private static void requireNotRemoved(Optional<?> value, String property) {
+    if (value != null && value.isEmpty()) {
+      throw new IllegalArgumentException(property + " cannot be removed");
+    }
+  }
+}
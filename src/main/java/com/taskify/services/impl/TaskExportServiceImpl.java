@@ -0,0 +1,34 @@
+package com.taskify.services.impl;
+
+import com.taskify.configs.ExportProperties;
+import com.taskify.dtos.TaskExportDto;
+import com.taskify.dtos.TaskExportFilter;
+import com.taskify.mappers.TaskMapper;
+import com.taskify.repositories.TaskRepository;
+import com.taskify.services.TaskExportService;
+import java.util.function.Consumer;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@Transactional(readOnly = true)
+public class TaskExportServiceImpl implements TaskExportService {
+  private final TaskRepository taskRepository;
+  private final TaskMapper taskMapper;
+  private final ExportProperties exportProperties;
+
+  public TaskExportServiceImpl(
+      TaskRepository taskRepository, TaskMapper taskMapper, ExportProperties exportProperties) {
+    this.taskRepository = taskRepository;
+    this.taskMapper = taskMapper;
+    this.exportProperties = exportProperties;
+  }
+
+  @Override
+  public long exportTasks(TaskExportFilter filter, Consumer<TaskExportDto> consumer) {
+    return taskRepository.scroll(
+        filter,
+        exportProperties.fetchSize(),
+        task -> consumer.accept(taskMapper.toExportDto(task)));
+  }
+}
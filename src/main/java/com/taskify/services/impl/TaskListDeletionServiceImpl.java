@@ -0,0 +1,143 @@
+package com.taskify.services.impl;
+
+import com.taskify.cache.CacheInvalidator;
+import com.taskify.configs.TaskListDeletionProperties;
+import com.taskify.dtos.TaskListDeletionDto;
+import com.taskify.entities.TaskListDeletion;
+import com.taskify.exceptions.TaskListDeletionNotFoundException;
+import com.taskify.exceptions.TaskListNotFoundException;
+import com.taskify.repositories.TaskListDeletionRepository;
+import com.taskify.repositories.TaskListRepository;
+import com.taskify.repositories.TaskRepository;
+import com.taskify.repositories.TaskRepositoryCustom.BulkDelete;
+import com.taskify.services.TaskListDeletionService;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Deletes large task lists in the background, {@code chunkSize} tasks per transaction, so that no
+ * single transaction holds locks on a whole task list's tasks. The task list row goes last. The
+ * status of each deletion is stored along with every chunk, so that any node can report it. A
+ * deletion whose node stops while it runs stays {@code RUNNING} until it expires, and is finished
+ * by deleting the task list again.
+ */
+@Service
+public class TaskListDeletionServiceImpl implements TaskListDeletionService {
+
+  private static final Logger log = LoggerFactory.getLogger(TaskListDeletionServiceImpl.class);
+
+  private final TaskListRepository taskListRepository;
+  private final TaskRepository taskRepository;
+  private final TaskListDeletionRepository taskListDeletionRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final TaskExecutor taskExecutor;
+  private final CacheInvalidator cacheInvalidator;
+  private final TaskListDeletionProperties properties;
+
+  public TaskListDeletionServiceImpl(
+      TaskListRepository taskListRepository,
+      TaskRepository taskRepository,
+      TaskListDeletionRepository taskListDeletionRepository,
+      PlatformTransactionManager transactionManager,
+      @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+          TaskExecutor taskExecutor,
+      CacheInvalidator cacheInvalidator,
+      TaskListDeletionProperties properties) {
+    this.taskListRepository = taskListRepository;
+    this.taskRepository = taskRepository;
+    this.taskListDeletionRepository = taskListDeletionRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.taskExecutor = taskExecutor;
+    this.cacheInvalidator = cacheInvalidator;
+    this.properties = properties;
+  }
+
+  @Override
+  public TaskListDeletionDto startDeletion(UUID taskListId, Long expectedVersion) {
+    long version =
+        taskListRepository
+            .findRowVersionById(taskListId)
+            .orElseThrow(
+                () -> new TaskListNotFoundException("Task List not found with ID: " + taskListId));
+    VersionChecks.requireVersion(expectedVersion, version, "Task List " + taskListId);
+    TaskListDeletionDto deletion =
+        new TaskListDeletionDto(
+            UUID.randomUUID(), taskListId, TaskListDeletionDto.Status.PENDING, 0, null);
+    transactionTemplate.executeWithoutResult(
+        status -> {
+          taskListDeletionRepository.deleteAllUpdatedBefore(
+              LocalDateTime.now().minus(properties.retention()));
+          save(deletion);
+        });
+    taskExecutor.execute(() -> run(deletion));
+    return deletion;
+  }
+
+  @Override
+  public TaskListDeletionDto getDeletion(UUID deletionId) {
+    return taskListDeletionRepository
+        .findByIdAndUpdatedAfter(deletionId, LocalDateTime.now().minus(properties.retention()))
+        .map(
+            deletion ->
+                new TaskListDeletionDto(
+                    deletion.getId(),
+                    deletion.getTaskListId(),
+                    deletion.getStatus(),
+                    deletion.getDeletedTasks(),
+                    deletion.getError()))
+        .orElseThrow(
+            () ->
+                new TaskListDeletionNotFoundException(
+                    "Task list deletion not found with ID: " + deletionId));
+  }
+
+  private void run(TaskListDeletionDto deletion) {
+    UUID taskListId = deletion.taskListId();
+    try {
+      BulkDelete chunk;
+      do {
+        TaskListDeletionDto progress = deletion;
+        chunk = transactionTemplate.execute(status -> deleteChunk(progress));
+        deletion = deletion.progressed(chunk.deleted());
+      } while (chunk.deleted() == properties.chunkSize());
+
+      // Also removes any task created while the chunks were being deleted.
+      TaskListDeletionDto completed = deletion.completed();
+      transactionTemplate.executeWithoutResult(
+          status -> {
+            taskRepository.deleteAllByTaskListId(taskListId);
+            taskListRepository.deleteWithTasksById(taskListId);
+            save(completed);
+            cacheInvalidator.taskListDeleted(taskListId);
+          });
+    } catch (RuntimeException ex) {
+      log.error("Failed to delete task list {}", taskListId, ex);
+      TaskListDeletionDto failed = deletion.failed(ex.getMessage());
+      transactionTemplate.executeWithoutResult(status -> save(failed));
+    }
+  }
+
+  /** Deletes the next chunk of tasks, recording it as progress of {@code deletion}. */
+  private BulkDelete deleteChunk(TaskListDeletionDto deletion) {
+    UUID taskListId = deletion.taskListId();
+    BulkDelete chunk = taskRepository.deleteChunk(taskListId, properties.chunkSize());
+    if (chunk.deleted() > 0) {
+      taskListRepository.adjustCounters(taskListId, -chunk.deleted(), -chunk.closed());
+      cacheInvalidator.tasksChanged(taskListId);
+    }
+    save(deletion.progressed(chunk.deleted()));
+    return chunk;
+  }
+
+  private void save(TaskListDeletionDto deletion) {
+    taskListDeletionRepository.save(new TaskListDeletion(deletion, LocalDateTime.now()));
+  }
+}
@@ -1,18 +1,33 @@
 package com.taskify.services.impl;
 
+import com.taskify.cache.CacheInvalidator;
+import com.taskify.cache.CacheNames;
 import com.taskify.dtos.CreateTaskListRequest;
+import com.taskify.dtos.CursorPage;
+import com.taskify.dtos.ResourceVersion;
+import com.taskify.dtos.TaskFields;
 import com.taskify.dtos.TaskListDto;
+import com.taskify.dtos.TaskListStamps;
+import com.taskify.dtos.TaskListSummary;
 import com.taskify.dtos.UpdateTaskListRequest;
+import com.taskify.entities.Task;
 import com.taskify.entities.TaskList;
 import com.taskify.exceptions.TaskListNotFoundException;
 import com.taskify.mappers.TaskListMapper;
+import com.taskify.pagination.Cursor;
+import com.taskify.pagination.Pages;
 import com.taskify.repositories.TaskListRepository;
+import com.taskify.repositories.TaskRepository;
 import com.taskify.services.TaskListService;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.UUID;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.CachePut;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,17 +36,74 @@ import org.springframework.transaction.annotation.Transactional;
 public class TaskListServiceImpl implements TaskListService {
 
   private final TaskListRepository taskListRepository;
+  private final TaskRepository taskRepository;
   private final TaskListMapper taskListMapper;
+  private final CacheInvalidator cacheInvalidator;
 
-  public TaskListServiceImpl(TaskListRepository taskListRepository, TaskListMapper taskListMapper) {
+  public TaskListServiceImpl(
+      TaskListRepository taskListRepository,
+      TaskRepository taskRepository,
+      TaskListMapper taskListMapper,
+      CacheInvalidator cacheInvalidator) {
     this.taskListRepository = taskListRepository;
+    this.taskRepository = taskRepository;
     this.taskListMapper = taskListMapper;
+    this.cacheInvalidator = cacheInvalidator;
   }
 
   @Override
-  @Cacheable(value = "taskLists")
-  public List<TaskListDto> listTaskLists() {
-    return taskListRepository.findAll().stream().map(taskListMapper::toDto).toList();
+  @Cacheable(
+      cacheNames = CacheNames.TASK_LISTS,
+      key = "T(com.taskify.cache.CacheKeys).taskListsPage(#cursor, #limit, #includeTasks, #fields)",
+      sync = true)
+  public CursorPage<TaskListDto> listTaskLists(
+      String cursor, Integer limit, boolean includeTasks, TaskFields fields) {
+    return readTaskLists(cursor, limit, includeTasks, fields);
+  }
+
+  @Override
+  public CursorPage<TaskListDto> readTaskLists(
+      String cursor, Integer limit, boolean includeTasks, TaskFields fields) {
+    int pageSize = Pages.limit(limit);
+    List<TaskList> page = findPage(cursor, pageSize);
+    if (page.isEmpty()) {
+      return new CursorPage<>(List.of(), null);
+    }
+
+    String next = next(page, pageSize);
+    if (next != null) {
+      page = page.subList(0, pageSize);
+    }
+
+    List<UUID> ids = page.stream().map(TaskList::getId).toList();
+    List<TaskListDto> items;
+    if (!includeTasks) {
+      items =
+          inPageOrder(
+              ids,
+              taskListRepository.findSummariesByIdIn(ids),
+              TaskListSummary::id,
+              taskListMapper::toSummaryDto);
+    } else if (fields.isAll()) {
+      items =
+          inPageOrder(
+              ids,
+              taskListRepository.findAllWithTasksByIdIn(ids),
+              TaskList::getId,
+              taskListMapper::toDto);
+    } else {
+      Map<UUID, List<Task>> tasks =
+          taskRepository.findAllByTaskListIdIn(ids, fields).stream()
+              .collect(Collectors.groupingBy(task -> task.getTaskList().getId()));
+      items =
+          inPageOrder(
+              ids,
+              taskListRepository.findSummariesByIdIn(ids),
+              TaskListSummary::id,
+              summary ->
+                  taskListMapper.toDto(summary, tasks.getOrDefault(summary.id(), List.of())));
+    }
+    return new CursorPage<>(items, next);
   }
 
   @Override
@@ -39,11 +111,16 @@ public class TaskListServiceImpl implements TaskListService {
   public TaskListDto createTaskList(CreateTaskListRequest request) {
     TaskList taskList = taskListMapper.fromCreateRequest(request);
     TaskList createdTaskList = taskListRepository.save(taskList);
-    return taskListMapper.toDto(createdTaskList);
+    TaskListDto taskListDto = taskListMapper.toDto(createdTaskList);
+    cacheInvalidator.taskListSaved(taskListDto.id());
+    return taskListDto;
   }
 
   @Override
-  @Cacheable(value = "taskLists", key = "#id")
+  @Cacheable(
+      cacheNames = CacheNames.TASK_LIST,
+      key = "T(com.taskify.cache.CacheKeys).taskList(#id)",
+      sync = true)
   public TaskListDto getTaskList(UUID id) {
     return taskListRepository
         .findById(id)
@@ -51,28 +128,126 @@ public class TaskListServiceImpl implements TaskListService {
         .orElseThrow(() -> new TaskListNotFoundException("Task List not found with ID: " + id));
   }
 
+  @Override
+  @Cacheable(
+      cacheNames = CacheNames.TASK_LIST,
+      key = "T(com.taskify.cache.CacheKeys).taskList(#id, #fields)",
+      sync = true)
+  public TaskListDto getTaskList(UUID id, TaskFields fields) {
+    TaskListSummary summary =
+        taskListRepository
+            .findSummaryById(id)
+            .orElseThrow(() -> new TaskListNotFoundException("Task List not found with ID: " + id));
+    return taskListMapper.toDto(summary, taskRepository.findAllByTaskListIdIn(List.of(id), fields));
+  }
+
+  @Override
+  @Cacheable(
+      cacheNames = CacheNames.TASK_LIST,
+      key = "T(com.taskify.cache.CacheKeys).taskListSummary(#id)",
+      sync = true)
+  public TaskListDto getTaskListSummary(UUID id) {
+    return taskListRepository
+        .findSummaryById(id)
+        .map(taskListMapper::toSummaryDto)
+        .orElseThrow(() -> new TaskListNotFoundException("Task List not found with ID: " + id));
+  }
+
   @Override
   @Transactional
-  @CachePut(value = "taskLists", key = "#taskListId")
-  public TaskListDto updateTaskList(UUID taskListId, UpdateTaskListRequest request) {
+  public TaskListDto updateTaskList(
+      UUID taskListId, UpdateTaskListRequest request, Long expectedVersion) {
     TaskList taskList = taskListMapper.fromUpdateRequest(request);
     TaskList existingTaskList =
         taskListRepository
             .findById(taskListId)
             .orElseThrow(
                 () -> new TaskListNotFoundException("Task List not found with ID: " + taskListId));
+    VersionChecks.requireVersion(
+        expectedVersion, existingTaskList.getVersion(), "Task List " + taskListId);
 
     existingTaskList.setTitle(taskList.getTitle());
     existingTaskList.setDescription(taskList.getDescription());
 
-    TaskList updatedTaskList = taskListRepository.save(existingTaskList);
-    return taskListMapper.toDto(updatedTaskList);
+    TaskList updatedTaskList =
+        VersionChecks.flush(
+            expectedVersion,
+            "Task List " + taskListId,
+            () -> taskListRepository.saveAndFlush(existingTaskList));
+    TaskListDto taskListDto = taskListMapper.toDto(updatedTaskList);
+    cacheInvalidator.taskListSaved(taskListDto.id());
+    return taskListDto;
   }
 
   @Override
   @Transactional
-  @CacheEvict(value = "taskLists", key = "#taskListId")
-  public void deleteTaskList(UUID taskListId) {
-    taskListRepository.deleteById(taskListId);
+  public void deleteTaskList(UUID taskListId, Long expectedVersion) {
+    String resource = "Task List " + taskListId;
+    if (expectedVersion != null) {
+      // Fails before any task is deleted. The delete checks the version again.
+      VersionChecks.requireVersion(
+          expectedVersion,
+          taskListRepository
+              .findRowVersionById(taskListId)
+              .orElseThrow(() -> VersionChecks.mismatch(resource)),
+          resource);
+    }
+    taskRepository.deleteAllByTaskListId(taskListId);
+    if (expectedVersion == null) {
+      taskListRepository.deleteWithTasksById(taskListId);
+    } else if (taskListRepository.deleteWithTasksByIdAndVersion(taskListId, expectedVersion) == 0) {
+      throw VersionChecks.mismatch(resource);
+    }
+    cacheInvalidator.taskListDeleted(taskListId);
+  }
+
+  @Override
+  public Optional<ResourceVersion> getTaskListVersion(UUID id) {
+    return taskListRepository.findStampsById(id).map(TaskListStamps::taskListVersion);
+  }
+
+  @Override
+  public ResourceVersion getTaskListsVersion(String cursor, Integer limit) {
+    int pageSize = Pages.limit(limit);
+    List<TaskList> page = findPage(cursor, pageSize);
+    String next = next(page, pageSize);
+    List<UUID> ids = page.stream().limit(pageSize).map(TaskList::getId).toList();
+    Map<UUID, TaskListStamps> stamps =
+        ids.isEmpty()
+            ? Map.of()
+            : taskListRepository.findStampsByIdIn(ids).stream()
+                .collect(Collectors.toMap(TaskListStamps::id, Function.identity()));
+    // A task list deleted in between drops out of the page, as it would from a fresh read.
+    return TaskListStamps.pageVersion(
+        ids.stream().map(stamps::get).filter(Objects::nonNull).toList(), next);
+  }
+
+  /** Reads the task list rows of a page, and one more to tell whether another page follows. */
+  private List<TaskList> findPage(String cursor, int pageSize) {
+    if (cursor == null) {
+      return taskListRepository.findFirstPage(Limit.of(pageSize + 1));
+    }
+    Cursor after = Cursor.decode(cursor);
+    return taskListRepository.findPageAfter(
+        after.localDateTime(0), after.uuid(1), Limit.of(pageSize + 1));
+  }
+
+  /** The cursor of the page after {@code page}, read by {@link #findPage}, if there is one. */
+  private static String next(List<TaskList> page, int pageSize) {
+    if (page.size() <= pageSize) {
+      return null;
+    }
+    TaskList last = page.get(pageSize - 1);
+    return Cursor.of(last.getCreated(), last.getId()).encode();
+  }
+
+  /**
+   * Orders the rows loaded for a page like the page itself, skipping task lists deleted since the
+   * page was read.
+   */
+  private static <T> List<TaskListDto> inPageOrder(
+      List<UUID> ids, List<T> rows, Function<T, UUID> idOf, Function<T, TaskListDto> toDto) {
+    Map<UUID, T> byId = rows.stream().collect(Collectors.toMap(idOf, Function.identity()));
+    return ids.stream().map(byId::get).filter(Objects::nonNull).map(toDto).toList();
   }
 }
@@ -1,22 +1,37 @@
 package com.taskify.services.impl;
 
+import com.taskify.cache.CacheInvalidator;
+import com.taskify.cache.CacheNames;
 import com.taskify.dtos.CreateTaskRequest;
+import com.taskify.dtos.CursorPage;
+import com.taskify.dtos.ResourceVersion;
 import com.taskify.dtos.TaskDto;
+import com.taskify.dtos.TaskFields;
+import com.taskify.dtos.TaskFilter;
+import com.taskify.dtos.TaskListStamps;
+import com.taskify.dtos.TaskPatch;
+import com.taskify.dtos.TaskSearchResultDto;
 import com.taskify.dtos.UpdateTaskRequest;
 import com.taskify.entities.Task;
 import com.taskify.entities.TaskList;
 import com.taskify.entities.TaskStatus;
+import com.taskify.exceptions.InvalidCursorException;
 import com.taskify.exceptions.TaskListNotFoundException;
 import com.taskify.exceptions.TaskNotFoundException;
 import com.taskify.mappers.TaskMapper;
+import com.taskify.pagination.Cursor;
+import com.taskify.pagination.Pages;
+import com.taskify.pagination.TaskSort;
 import com.taskify.repositories.TaskListRepository;
 import com.taskify.repositories.TaskRepository;
+import com.taskify.repositories.TaskRepositoryCustom.PatchedTask;
+import com.taskify.repositories.TaskRepositoryCustom.SearchHit;
 import com.taskify.services.TaskService;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.CachePut;
+import java.util.stream.Stream;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -27,45 +42,137 @@ public class TaskServiceImpl implements TaskService {
   private final TaskListRepository taskListRepository;
   private final TaskRepository taskRepository;
   private final TaskMapper taskMapper;
+  private final CacheInvalidator cacheInvalidator;
 
   public TaskServiceImpl(
-      TaskListRepository taskListRepository, TaskRepository taskRepository, TaskMapper taskMapper) {
+      TaskListRepository taskListRepository,
+      TaskRepository taskRepository,
+      TaskMapper taskMapper,
+      CacheInvalidator cacheInvalidator) {
     this.taskListRepository = taskListRepository;
     this.taskRepository = taskRepository;
     this.taskMapper = taskMapper;
+    this.cacheInvalidator = cacheInvalidator;
   }
 
   @Override
-  @Cacheable(value = "tasks", key = "#taskListId")
-  public List<TaskDto> listTasks(UUID taskListId) {
-    List<Task> tasks = taskRepository.findByTaskListId(taskListId);
-    return tasks.stream().map(taskMapper::toDto).toList();
+  @Cacheable(
+      cacheNames = CacheNames.TASKS,
+      key =
+          "T(com.taskify.cache.CacheKeys).tasksPage(#taskListId, #filter, #sort, #fields,"
+              + " #includeArchived, #cursor, #limit)",
+      sync = true)
+  public CursorPage<TaskDto> listTasks(
+      UUID taskListId,
+      TaskFilter filter,
+      TaskSort sort,
+      TaskFields fields,
+      boolean includeArchived,
+      String cursor,
+      Integer limit) {
+    return readTasks(taskListId, filter, sort, fields, includeArchived, cursor, limit);
+  }
+
+  @Override
+  public CursorPage<TaskDto> readTasks(
+      UUID taskListId,
+      TaskFilter filter,
+      TaskSort sort,
+      TaskFields fields,
+      boolean includeArchived,
+      String cursor,
+      Integer limit) {
+    int pageSize = Pages.limit(limit);
+    Object afterKey = null;
+    UUID afterId = null;
+    if (cursor != null) {
+      Cursor after = Cursor.decode(cursor);
+      if (!sort.toString().equals(after.string(0))) {
+        throw new InvalidCursorException(
+            "Cursor was issued for sort '" + after.string(0) + "', not '" + sort + "'");
+      }
+      afterKey = sort.field().keyOf(after, 1);
+      afterId = after.uuid(2);
+    }
+
+    List<Task> page =
+        taskRepository.findPage(taskListId, filter, sort, fields, afterKey, afterId, pageSize + 1);
+    if (includeArchived) {
+      // Both tables are read up to a full page in the same order, so merging them yields the page.
+      page =
+          Stream.concat(
+                  page.stream(),
+                  taskRepository
+                      .findArchivedPage(
+                          taskListId, filter, sort, fields, afterKey, afterId, pageSize + 1)
+                      .stream())
+              .sorted(sort.comparator())
+              .limit(pageSize + 1)
+              .toList();
+    }
+
+    String next = null;
+    if (page.size() > pageSize) {
+      page = page.subList(0, pageSize);
+      Task last = page.getLast();
+      next = Cursor.of(sort, sort.field().keyOf(last), last.getId()).encode();
+    }
+    return new CursorPage<>(page.stream().map(taskMapper::toDto).toList(), next);
+  }
+
+  @Override
+  public CursorPage<TaskSearchResultDto> searchTasks(
+      String query, UUID taskListId, String cursor, Integer limit) {
+    if (query == null || query.isBlank()) {
+      throw new IllegalArgumentException("Search query must not be blank");
+    }
+    int pageSize = Pages.limit(limit);
+    Float afterRank = null;
+    UUID afterId = null;
+    if (cursor != null) {
+      Cursor after = Cursor.decode(cursor);
+      afterRank = after.floatValue(0);
+      afterId = after.uuid(1);
+    }
+
+    List<SearchHit> hits =
+        taskRepository.search(query, taskListId, afterRank, afterId, pageSize + 1);
+
+    String next = null;
+    if (hits.size() > pageSize) {
+      hits = hits.subList(0, pageSize);
+      SearchHit last = hits.getLast();
+      next = Cursor.of(last.rank(), last.task().getId()).encode();
+    }
+    return new CursorPage<>(
+        hits.stream().map(hit -> taskMapper.toSearchResultDto(hit.task(), hit.rank())).toList(),
+        next);
   }
 
   @Override
   @Transactional
   public TaskDto createTask(UUID taskListId, CreateTaskRequest request) {
-    TaskList taskList =
-        taskListRepository
-            .findById(taskListId)
-            .orElseThrow(
-                () ->
-                    new TaskListNotFoundException(
-                        "Task List not found with ID: "
-                            + taskListId
-                            + " in Task List: "
-                            + taskListId));
+    if (taskListRepository.adjustCounters(taskListId, 1, 0) == 0) {
+      throw new TaskListNotFoundException(
+          "Task List not found with ID: " + taskListId + " in Task List: " + taskListId);
+    }
+    TaskList taskList = taskListRepository.getReferenceById(taskListId);
 
     Task task = taskMapper.fromCreateRequest(request);
     task.setStatus(TaskStatus.OPEN);
     task.setTaskList(taskList);
 
     Task savedTask = taskRepository.save(task);
-    return taskMapper.toDto(savedTask);
+    TaskDto taskDto = taskMapper.toDto(savedTask);
+    cacheInvalidator.taskSaved(taskListId, taskDto.id());
+    return taskDto;
   }
 
   @Override
-  @Cacheable(value = "tasks", key = "#taskListId + '-' + #taskId")
+  @Cacheable(
+      cacheNames = CacheNames.TASK,
+      key = "T(com.taskify.cache.CacheKeys).task(#taskListId, #taskId)",
+      sync = true)
   public TaskDto getTask(UUID taskListId, UUID taskId) {
     Task task =
         taskRepository
@@ -78,50 +185,142 @@ public class TaskServiceImpl implements TaskService {
   }
 
   @Override
-  @Transactional
-  @CachePut(value = "tasks", key = "#taskListId + '-' + #taskId")
-  public TaskDto updateTask(UUID taskListId, UUID taskId, UpdateTaskRequest request) {
-    Task existingTask =
-        taskRepository
-            .findByTaskListIdAndId(taskListId, taskId)
-            .orElseThrow(
-                () ->
-                    new TaskNotFoundException(
-                        "Task not found with ID: " + taskId + " in Task List: " + taskListId));
+  public TaskDto getTaskIncludingArchived(UUID taskListId, UUID taskId) {
+    return taskRepository
+        .findByTaskListIdAndId(taskListId, taskId)
+        .or(() -> taskRepository.findArchivedByTaskListIdAndId(taskListId, taskId))
+        .map(taskMapper::toDto)
+        .orElseThrow(
+            () ->
+                new TaskNotFoundException(
+                    "Task not found with ID: " + taskId + " in Task List: " + taskListId));
+  }
 
+  @Override
+  @Transactional
+  public TaskDto updateTask(
+      UUID taskListId, UUID taskId, UpdateTaskRequest request, Long expectedVersion) {
+    LocalDateTime now = LocalDateTime.now();
     Task task = taskMapper.fromUpdateRequest(request);
-
-    if (task.getTitle() != null) {
-      existingTask.setTitle(task.getTitle());
+    if (task.getDueDate() != null) {
+      TaskChecks.requireDueDateAhead(task.getDueDate(), now);
     }
+    // Properties left out of the request stay as they are, as they do in a patch.
+    TaskPatch patch =
+        TaskPatch.of(
+            present(task.getTitle()),
+            present(task.getDescription()),
+            present(task.getDueDate()),
+            present(task.getPriority()),
+            present(task.getStatus()));
+    return write(taskListId, taskId, patch, expectedVersion, now);
+  }
 
-    if (task.getDescription() != null) {
-      existingTask.setDescription(task.getDescription());
+  @Override
+  @Transactional
+  public TaskDto patchTask(UUID taskListId, UUID taskId, TaskPatch patch, Long expectedVersion) {
+    LocalDateTime now = LocalDateTime.now();
+    TaskChecks.requireValid(patch, now);
+    if (patch.isEmpty()) {
+      // Nothing to write, but a stale If-Match must fail all the same. The row checked is the
+      // one returned: getTask called from here would bypass its cache and read it again.
+      Task task =
+          taskRepository
+              .findByTaskListIdAndId(taskListId, taskId)
+              .orElseThrow(() -> taskNotFound(taskListId, taskId));
+      VersionChecks.requireVersion(expectedVersion, task.getVersion(), "Task " + taskId);
+      return taskMapper.toDto(task);
     }
+    return write(taskListId, taskId, patch, expectedVersion, now);
+  }
 
-    if (task.getDueDate() != null) {
-      if (task.getDueDate().isBefore(LocalDateTime.now())) {
-        throw new IllegalArgumentException("Due date cannot be in the past");
+  /**
+   * Applies {@code patch} with an {@code UPDATE} that only goes through while the task is still at
+   * the version just read, without locking it, and adjusts the counters from the status that
+   * statement reports it replaced. A write with an expected version fails once another one got
+   * there first. One without re-reads the task and tries again, up to {@link
+   * VersionChecks#WRITE_ATTEMPTS} times. A task that already holds every value of the patch is left
+   * alone.
+   */
+  private TaskDto write(
+      UUID taskListId, UUID taskId, TaskPatch patch, Long expectedVersion, LocalDateTime now) {
+    String resource = "Task " + taskId;
+    for (int attempt = 1; attempt <= VersionChecks.WRITE_ATTEMPTS; attempt++) {
+      long version =
+          getTaskVersion(taskListId, taskId)
+              .orElseThrow(() -> taskNotFound(taskListId, taskId))
+              .version();
+      VersionChecks.requireVersion(expectedVersion, version, resource);
+
+      Optional<PatchedTask> patched = taskRepository.patch(taskListId, taskId, patch, version, now);
+      if (patched.isPresent()) {
+        TaskStatus status = patched.get().task().getStatus();
+        // Other changes show in the task list's validators through the task's own row version.
+        if (status != patched.get().previousStatus()) {
+          taskListRepository.adjustCounters(taskListId, 0, closedDelta(status));
+        }
+        TaskDto taskDto = taskMapper.toDto(patched.get().task());
+        cacheInvalidator.taskSaved(taskListId, taskDto.id());
+        return taskDto;
       }
-      existingTask.setDueDate(task.getDueDate());
-    }
 
-    if (task.getPriority() != null) {
-      existingTask.setPriority(task.getPriority());
+      // Nothing was written. Loading the task any earlier would shadow the row a retry returns.
+      if (getTaskVersion(taskListId, taskId).filter(v -> v.version() == version).isPresent()) {
+        return taskRepository
+            .findByTaskListIdAndId(taskListId, taskId)
+            .map(taskMapper::toDto)
+            .orElseThrow(() -> taskNotFound(taskListId, taskId));
+      }
+      if (expectedVersion != null) {
+        throw VersionChecks.lostRace(expectedVersion, resource);
+      }
     }
+    throw VersionChecks.lostRace(null, resource);
+  }
 
-    if (task.getStatus() != null) {
-      existingTask.setStatus(task.getStatus());
+  @Override
+  @Transactional
+  public void deleteTask(UUID taskListId, UUID taskId, Long expectedVersion) {
+    Optional<TaskStatus> status = taskRepository.delete(taskListId, taskId, expectedVersion);
+    if (status.isPresent()) {
+      taskListRepository.adjustCounters(taskListId, -1, status.get() == TaskStatus.CLOSED ? -1 : 0);
+    } else if (expectedVersion != null) {
+      throw getTaskVersion(taskListId, taskId).isPresent()
+          ? VersionChecks.mismatch("Task " + taskId)
+          : VersionChecks.missing("Task " + taskId);
     }
+    cacheInvalidator.taskDeleted(taskListId, taskId);
+  }
 
-    Task updatedTask = taskRepository.save(existingTask);
-    return taskMapper.toDto(updatedTask);
+  @Override
+  public Optional<ResourceVersion> getTaskVersion(UUID taskListId, UUID taskId) {
+    return taskRepository.findVersionByTaskListIdAndId(taskListId, taskId);
   }
 
   @Override
-  @Transactional
-  @CacheEvict(value = "tasks", key = "#taskListId + '-' + #taskId")
-  public void deleteTask(UUID taskListId, UUID taskId) {
-    taskRepository.deleteByTaskListIdAndId(taskListId, taskId);
+  public Optional<ResourceVersion> getTaskVersionIncludingArchived(UUID taskListId, UUID taskId) {
+    return taskRepository
+        .findVersionByTaskListIdAndId(taskListId, taskId)
+        .or(() -> taskRepository.findArchivedVersionByTaskListIdAndId(taskListId, taskId));
+  }
+
+  @Override
+  public Optional<ResourceVersion> getTasksVersion(UUID taskListId) {
+    return taskListRepository.findStampsById(taskListId).map(TaskListStamps::tasksVersion);
+  }
+
+  /** The change in a task list's closed count when one of its tasks moves to {@code status}. */
+  private static int closedDelta(TaskStatus status) {
+    return status == TaskStatus.CLOSED ? 1 : -1;
+  }
+
+  private static TaskNotFoundException taskNotFound(UUID taskListId, UUID taskId) {
+    return new TaskNotFoundException(
+        "Task not found with ID: " + taskId + " in Task List: " + taskListId);
+  }
+
+  /** A property of a patch that sets {@code value}, or leaves the property alone if it is null. */
+  private static <T> Optional<T> present(T value) {
+    return value != null ? Optional.of(value) : null;
   }
 }
@@ -0,0 +1,64 @@
+package com.taskify.services.impl;
+
+import com.taskify.exceptions.PreconditionFailedException;
+import java.util.function.Supplier;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+/**
+ * Enforces the row version a write expects from {@code If-Match}. Writes read without locks and
+ * rely on the {@code @Version} column instead: those with {@code If-Match} fail with {@link
+ * PreconditionFailedException} rather than waiting for or overwriting a concurrent change, and the
+ * others retry. Shared with the reactive services, so that both applications fail the same way.
+ */
+public final class VersionChecks {
+
+  /**
+   * How often a write without an expected version reads the row again and retries when another
+   * write got there first, before it gives up with {@link #lostRace}.
+   */
+  public static final int WRITE_ATTEMPTS = 5;
+
+  private VersionChecks() {}
+
+  /** Fails unless a row read at {@code version} is at the version the client expects, if any. */
+  public static void requireVersion(Long expectedVersion, long version, String resource) {
+    if (expectedVersion != null && expectedVersion != version) {
+      throw mismatch(resource);
+    }
+  }
+
+  /** The failure of a write whose row is not at the version the client expects. */
+  public static PreconditionFailedException mismatch(String resource) {
+    return new PreconditionFailedException(resource + " does not match If-Match");
+  }
+
+  /** The failure of a write that expected a version of a row that does not exist. */
+  public static PreconditionFailedException missing(String resource) {
+    return new PreconditionFailedException(resource + " does not exist");
+  }
+
+  /**
+   * The failure of a write whose row changed between reading and writing it: a precondition failure
+   * if the client expected a version, a conflict otherwise.
+   */
+  public static RuntimeException lostRace(Long expectedVersion, String resource) {
+    return expectedVersion == null
+        ? new OptimisticLockingFailureException(resource + " was modified concurrently")
+        : new PreconditionFailedException(resource + " was modified concurrently");
+  }
+
+  /**
+   * Flushes a versioned row through {@code write}, failing like {@link #lostRace} when a write that
+   * expected a version lost the race for the row after reading it.
+   */
+  static <T> T flush(Long expectedVersion, String resource, Supplier<T> write) {
+    try {
+      return write.get();
+    } catch (OptimisticLockingFailureException ex) {
+      if (expectedVersion == null) {
+        throw ex;
+      }
+      throw lostRace(expectedVersion, resource);
+    }
+  }
+}
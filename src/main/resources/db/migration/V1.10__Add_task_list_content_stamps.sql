@@ -0,0 +1,20 @@
+-- Validators of a task list's tasks, bumped in the same UPDATE that adjusts its counters, so that
+-- conditional GETs of a task list, its tasks or a page of task lists never look at the tasks.
+-- Adding columns with constant defaults does not rewrite the table.
+ALTER TABLE task_lists
+    ADD COLUMN content_version BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN content_updated TIMESTAMP;
+
+UPDATE task_lists tl
+SET content_updated = coalesce(greatest(tl.updated, t.updated), tl.created)
+FROM (
+    SELECT l.id, max(t.updated) AS updated
+    FROM task_lists l
+    LEFT JOIN tasks t ON t.task_list_id = l.id
+    GROUP BY l.id
+) t
+WHERE t.id = tl.id;
+
+ALTER TABLE task_lists
+    ALTER COLUMN content_updated SET DEFAULT localtimestamp,
+    ALTER COLUMN content_updated SET NOT NULL;
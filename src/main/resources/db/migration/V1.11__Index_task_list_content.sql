@@ -0,0 +1,3 @@
+-- The validators of a task list and its tasks read the latest update and the sum of the row versions
+-- of its tasks from here, index-only, instead of every task write bumping the task list's row.
+CREATE INDEX idx_tasks_task_list_id_updated ON tasks (task_list_id, updated) INCLUDE (version);
@@ -0,0 +1 @@
+CREATE INDEX idx_task_lists_created_id ON task_lists (created, id);
@@ -0,0 +1,7 @@
+CREATE INDEX idx_tasks_task_list_id_created_id ON tasks (task_list_id, created, id);
+CREATE INDEX idx_tasks_task_list_id_due_date_id ON tasks (task_list_id, due_date, id);
+CREATE INDEX idx_tasks_task_list_id_priority_id ON tasks (task_list_id, priority, id);
+CREATE INDEX idx_tasks_task_list_id_status_due_date_id ON tasks (task_list_id, status, due_date, id);
+
+-- Every index above starts with task_list_id, so the single-column index is redundant.
+DROP INDEX idx_tasks_task_list_id;
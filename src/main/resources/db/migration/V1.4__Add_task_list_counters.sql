@@ -0,0 +1,12 @@
+ALTER TABLE task_lists
+    ADD COLUMN task_count INT NOT NULL DEFAULT 0,
+    ADD COLUMN closed_count INT NOT NULL DEFAULT 0;
+
+UPDATE task_lists tl
+SET task_count = c.task_count, closed_count = c.closed_count
+FROM (
+    SELECT task_list_id, count(*) AS task_count, count(*) FILTER (WHERE status = 1) AS closed_count
+    FROM tasks
+    GROUP BY task_list_id
+) c
+WHERE c.task_list_id = tl.id;
@@ -0,0 +1,5 @@
+-- Deleting a task list removes its tasks in the same statement instead of one DELETE per task.
+ALTER TABLE tasks
+    DROP CONSTRAINT tasks_task_list_id_fkey,
+    ADD CONSTRAINT tasks_task_list_id_fkey
+        FOREIGN KEY (task_list_id) REFERENCES task_lists (id) ON DELETE CASCADE;
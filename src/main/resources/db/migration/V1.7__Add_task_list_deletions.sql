@@ -0,0 +1,13 @@
+-- Progress of background task list deletions, readable from any node. Rows outlive the task list
+-- they delete, so there is no foreign key.
+CREATE TABLE task_list_deletions (
+    id UUID PRIMARY KEY,
+    task_list_id UUID NOT NULL,
+    status INT NOT NULL,
+    deleted_tasks INT NOT NULL,
+    error TEXT,
+    updated TIMESTAMP NOT NULL
+);
+
+-- Expired deletions, found without a scan.
+CREATE INDEX idx_task_list_deletions_updated ON task_list_deletions (updated);
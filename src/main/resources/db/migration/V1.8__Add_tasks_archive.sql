@@ -0,0 +1,19 @@
+-- Closed tasks moved out of tasks by the archival job. They still count towards their task list's
+-- task_count and closed_count.
+CREATE TABLE tasks_archive (
+    id UUID PRIMARY KEY,
+    title VARCHAR(255) NOT NULL,
+    description VARCHAR(255),
+    due_date TIMESTAMP NOT NULL,
+    priority INT NOT NULL,
+    status INT NOT NULL,
+    created TIMESTAMP NOT NULL,
+    updated TIMESTAMP NOT NULL,
+    task_list_id UUID NOT NULL REFERENCES task_lists (id) ON DELETE CASCADE,
+    archived TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_tasks_archive_task_list_id_created_id ON tasks_archive (task_list_id, created, id);
+
+-- Archival candidates, found without walking the open tasks.
+CREATE INDEX idx_tasks_closed_updated ON tasks (updated) WHERE status = 1;
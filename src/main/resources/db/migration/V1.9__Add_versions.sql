@@ -0,0 +1,5 @@
+-- Optimistic locking: every write through the entities bumps the version and fails if it moved on
+-- since the row was read. Adding a column with a constant default does not rewrite the tables. The
+-- optional V1.6.1 already adds it to tasks when it runs first.
+ALTER TABLE task_lists ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
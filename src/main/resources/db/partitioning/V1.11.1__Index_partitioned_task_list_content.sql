@@ -0,0 +1,3 @@
+-- The swap in V1.6.2 drops the index V1.11 created on the original tasks table when it runs later.
+CREATE INDEX IF NOT EXISTS idx_tasks_task_list_id_updated
+    ON tasks (task_list_id, updated) INCLUDE (version);
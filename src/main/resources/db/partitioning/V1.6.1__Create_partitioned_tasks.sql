@@ -0,0 +1,90 @@
+-- Optional, applied with the 'partitioned' profile. Creates an empty copy of tasks hash-partitioned on
+-- task_list_id, so that every per-list query touches one partition. V1.6.2 fills it and swaps it in;
+-- on large tables run the backfill job in between (see README). Row versions are copied along so that
+-- If-Match keeps working across the swap; V1.9 adds the column to tasks unless this runs first, as it
+-- does on a new database.
+--
+-- The primary key of a partitioned table must contain the partition key, and so must every unique
+-- index, so Postgres only enforces that task ids are unique within their task list. That is all the
+-- application relies on: tasks are always addressed by task list and id, and their ids are random
+-- UUIDs, so two lists sharing one is not something to guard against.
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+CREATE TABLE tasks_partitioned (
+    id UUID NOT NULL,
+    title VARCHAR(255) NOT NULL,
+    description VARCHAR(255),
+    due_date TIMESTAMP NOT NULL,
+    priority INT NOT NULL,
+    status INT NOT NULL,
+    created TIMESTAMP NOT NULL,
+    updated TIMESTAMP NOT NULL,
+    task_list_id UUID NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0,
+    search_vector tsvector GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(description, '')), 'B')
+    ) STORED,
+    CONSTRAINT tasks_partitioned_pkey PRIMARY KEY (id, task_list_id),
+    CONSTRAINT tasks_partitioned_task_list_id_fkey
+        FOREIGN KEY (task_list_id) REFERENCES task_lists (id) ON DELETE CASCADE
+) PARTITION BY HASH (task_list_id);
+
+CREATE TABLE tasks_p00 PARTITION OF tasks_partitioned FOR VALUES WITH (MODULUS 16, REMAINDER 0);
+CREATE TABLE tasks_p01 PARTITION OF tasks_partitioned FOR VALUES WITH (MODULUS 16, REMAINDER 1);
+CREATE TABLE tasks_p02 PARTITION OF tasks_partitioned FOR VALUES WITH (MODULUS 16, REMAINDER 2);
+CREATE TABLE tasks_p03 PARTITION OF tasks_partitioned FOR VALUES WITH (MODULUS 16, REMAINDER 3);
+CREATE TABLE tasks_p04 PARTITION OF tasks_partitioned FOR VALUES WITH (MODULUS 16, REMAINDER 4);
+CREATE TABLE tasks_p05 PARTITION OF tasks_partitioned FOR VALUES WITH (MODULUS 16, REMAINDER 5);
+CREATE TABLE tasks_p06 PARTITION OF tasks_partitioned FOR VALUES WITH (MODULUS 16, REMAINDER 6);
+CREATE TABLE tasks_p07 PARTITION OF tasks_partitioned FOR VALUES WITH (MODULUS 16, REMAINDER 7);
+CREATE TABLE tasks_p08 PARTITION OF tasks_partitioned FOR VALUES WITH (MODULUS 16, REMAINDER 8);
+CREATE TABLE tasks_p09 PARTITION OF tasks_partitioned FOR VALUES WITH (MODULUS 16, REMAINDER 9);
+CREATE TABLE tasks_p10 PARTITION OF tasks_partitioned FOR VALUES WITH (MODULUS 16, REMAINDER 10);
+CREATE TABLE tasks_p11 PARTITION OF tasks_partitioned FOR VALUES WITH (MODULUS 16, REMAINDER 11);
+CREATE TABLE tasks_p12 PARTITION OF tasks_partitioned FOR VALUES WITH (MODULUS 16, REMAINDER 12);
+CREATE TABLE tasks_p13 PARTITION OF tasks_partitioned FOR VALUES WITH (MODULUS 16, REMAINDER 13);
+CREATE TABLE tasks_p14 PARTITION OF tasks_partitioned FOR VALUES WITH (MODULUS 16, REMAINDER 14);
+CREATE TABLE tasks_p15 PARTITION OF tasks_partitioned FOR VALUES WITH (MODULUS 16, REMAINDER 15);
+
+CREATE INDEX idx_tasks_partitioned_status ON tasks_partitioned (status);
+CREATE INDEX idx_tasks_partitioned_priority ON tasks_partitioned (priority);
+CREATE INDEX idx_tasks_partitioned_due_date ON tasks_partitioned (due_date);
+CREATE INDEX idx_tasks_partitioned_task_list_id_created_id ON tasks_partitioned (task_list_id, created, id);
+CREATE INDEX idx_tasks_partitioned_task_list_id_due_date_id ON tasks_partitioned (task_list_id, due_date, id);
+CREATE INDEX idx_tasks_partitioned_task_list_id_priority_id ON tasks_partitioned (task_list_id, priority, id);
+CREATE INDEX idx_tasks_partitioned_task_list_id_status_due_date_id
+    ON tasks_partitioned (task_list_id, status, due_date, id);
+CREATE INDEX idx_tasks_partitioned_search_vector ON tasks_partitioned USING GIN (search_vector);
+
+-- Every write to tasks is mirrored from here on, so that the backfill and the swap only have to copy
+-- the tasks that existed before, and the swap never has to look for what changed since.
+CREATE FUNCTION sync_tasks_partitioned() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'TRUNCATE' THEN
+        TRUNCATE tasks_partitioned;
+        RETURN NULL;
+    END IF;
+    IF TG_OP = 'DELETE' OR (TG_OP = 'UPDATE' AND OLD.task_list_id <> NEW.task_list_id) THEN
+        DELETE FROM tasks_partitioned WHERE id = OLD.id AND task_list_id = OLD.task_list_id;
+    END IF;
+    IF TG_OP <> 'DELETE' THEN
+        INSERT INTO tasks_partitioned
+            (id, title, description, due_date, priority, status, created, updated, task_list_id, version)
+        VALUES (NEW.id, NEW.title, NEW.description, NEW.due_date, NEW.priority, NEW.status, NEW.created,
+                NEW.updated, NEW.task_list_id, NEW.version)
+        ON CONFLICT (id, task_list_id) DO UPDATE
+        SET title = excluded.title, description = excluded.description, due_date = excluded.due_date,
+            priority = excluded.priority, status = excluded.status, created = excluded.created,
+            updated = excluded.updated, version = excluded.version;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER tasks_partitioned_sync
+    AFTER INSERT OR UPDATE OR DELETE ON tasks
+    FOR EACH ROW EXECUTE FUNCTION sync_tasks_partitioned();
+CREATE TRIGGER tasks_partitioned_sync_truncate
+    AFTER TRUNCATE ON tasks
+    FOR EACH STATEMENT EXECUTE FUNCTION sync_tasks_partitioned();
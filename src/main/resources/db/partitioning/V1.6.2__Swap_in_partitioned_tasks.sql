@@ -0,0 +1,55 @@
+-- Copies the tasks that predate V1.6.1 and were not backfilled yet, then replaces tasks with
+-- tasks_partitioned. Runs outside of a transaction (see the .conf file next to it), so every batch
+-- commits on its own and writers only wait for the rows of the batch being copied. Rows are read FOR
+-- SHARE so that a task deleted meanwhile cannot be copied after the trigger of V1.6.1 removed it;
+-- everything written since V1.6.1 is already there.
+DO $$
+DECLARE
+    last_id UUID := '00000000-0000-0000-0000-000000000000';
+    batch_last UUID;
+BEGIN
+    LOOP
+        BEGIN
+            WITH batch AS (
+                SELECT id, title, description, due_date, priority, status, created, updated,
+                       task_list_id, version
+                FROM tasks WHERE id > last_id ORDER BY id LIMIT 10000 FOR SHARE
+            ), copied AS (
+                INSERT INTO tasks_partitioned
+                    (id, title, description, due_date, priority, status, created, updated,
+                     task_list_id, version)
+                SELECT * FROM batch
+                ON CONFLICT (id, task_list_id) DO NOTHING
+            )
+            SELECT id INTO batch_last FROM batch ORDER BY id DESC LIMIT 1;
+        EXCEPTION WHEN deadlock_detected THEN
+            -- Writers changing several tasks at once may lock them in another order: copy it again.
+            CONTINUE;
+        END;
+        EXIT WHEN batch_last IS NULL;
+        last_id := batch_last;
+        COMMIT;
+    END LOOP;
+END $$;
+
+-- One statement, and so one transaction: writers are blocked only while the tables are swapped.
+DO $$
+BEGIN
+    LOCK TABLE tasks, tasks_partitioned IN ACCESS EXCLUSIVE MODE;
+    DROP TABLE tasks;
+    DROP FUNCTION sync_tasks_partitioned();
+    ALTER TABLE tasks_partitioned RENAME TO tasks;
+    ALTER TABLE tasks RENAME CONSTRAINT tasks_partitioned_pkey TO tasks_pkey;
+    ALTER TABLE tasks RENAME CONSTRAINT tasks_partitioned_task_list_id_fkey TO tasks_task_list_id_fkey;
+    ALTER INDEX idx_tasks_partitioned_status RENAME TO idx_tasks_status;
+    ALTER INDEX idx_tasks_partitioned_priority RENAME TO idx_tasks_priority;
+    ALTER INDEX idx_tasks_partitioned_due_date RENAME TO idx_tasks_due_date;
+    ALTER INDEX idx_tasks_partitioned_task_list_id_created_id RENAME TO idx_tasks_task_list_id_created_id;
+    ALTER INDEX idx_tasks_partitioned_task_list_id_due_date_id RENAME TO idx_tasks_task_list_id_due_date_id;
+    ALTER INDEX idx_tasks_partitioned_task_list_id_priority_id RENAME TO idx_tasks_task_list_id_priority_id;
+    ALTER INDEX idx_tasks_partitioned_task_list_id_status_due_date_id
+        RENAME TO idx_tasks_task_list_id_status_due_date_id;
+    ALTER INDEX idx_tasks_partitioned_search_vector RENAME TO idx_tasks_search_vector;
+END $$;
+
+ANALYZE tasks;
@@ -0,0 +1,2 @@
+-- The swap in V1.6.2 drops the index V1.8 created on the original tasks table when it runs later.
+CREATE INDEX IF NOT EXISTS idx_tasks_closed_updated ON tasks (updated) WHERE status = 1;
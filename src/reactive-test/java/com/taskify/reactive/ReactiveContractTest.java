@@ -0,0 +1,361 @@
+package com.taskify.reactive;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.request;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskify.BaseIntegrationTest;
+import com.taskify.cache.CacheInvalidator;
+import com.taskify.dtos.CreateTaskListRequest;
+import com.taskify.dtos.CreateTaskRequest;
+import com.taskify.dtos.UpdateTaskListRequest;
+import com.taskify.dtos.UpdateTaskRequest;
+import com.taskify.entities.TaskPriority;
+import com.taskify.entities.TaskStatus;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.reactive.server.EntityExchangeResult;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+/**
+ * Runs the reactive application against the database of the MVC application and checks that both
+ * answer the same requests with the same status, validators and JSON.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ReactiveContractTest extends BaseIntegrationTest {
+
+  private static final String TASK_LISTS = "/api/v1/task-lists";
+  private static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+
+  @Autowired private MockMvc mockMvc;
+  @Autowired private ObjectMapper objectMapper;
+  @Autowired private CacheInvalidator cacheInvalidator;
+  @Autowired private JdbcConnectionDetails connectionDetails;
+
+  private ConfigurableApplicationContext reactiveContext;
+  private WebTestClient webTestClient;
+
+  @BeforeAll
+  void startReactiveApplication() {
+    String password = connectionDetails.getPassword();
+    reactiveContext =
+        ReactiveApplication.builder()
+            .run(
+                "--server.port=0",
+                "--spring.r2dbc.url="
+                    + connectionDetails
+                        .getJdbcUrl()
+                        .replaceFirst("^jdbc:", "r2dbc:")
+                        .replaceFirst("\\?.*$", ""),
+                "--spring.r2dbc.username=" + connectionDetails.getUsername(),
+                "--spring.r2dbc.password=" + (password != null ? password : ""),
+                "--spring.docker.compose.enabled=false",
+                "--taskify.cache.coherence.enabled=true");
+    webTestClient =
+        WebTestClient.bindToServer()
+            .baseUrl(
+                "http://localhost:"
+                    + reactiveContext.getEnvironment().getProperty("local.server.port"))
+            .build();
+  }
+
+  @AfterAll
+  void stopReactiveApplication() {
+    if (reactiveContext != null) {
+      reactiveContext.close();
+    }
+  }
+
+  @Test
+  @DisplayName("Reads should return the same status, validators and JSON as the MVC stack")
+  void readsShouldMatchMvc() throws Exception {
+    String chores =
+        id(mvc(HttpMethod.POST, TASK_LISTS, new CreateTaskListRequest("Chores", "Home")));
+    String errands =
+        id(reactive(HttpMethod.POST, TASK_LISTS, new CreateTaskListRequest("Errands", null)));
+    String laundry = createTask(chores, "Laundry", 1, TaskPriority.LOW);
+    String dishes = createTask(chores, "Dishes", 3, TaskPriority.HIGH);
+    createTask(chores, "Vacuum", 2, TaskPriority.MEDIUM);
+    mvc(
+        HttpMethod.PUT,
+        TASK_LISTS + "/" + chores + "/tasks/" + dishes,
+        new UpdateTaskRequest("Dishes", null, null, null, TaskStatus.CLOSED));
+    createTask(errands, "Groceries", 1, TaskPriority.MEDIUM);
+    cacheInvalidator.clearAll();
+
+    String tasks = TASK_LISTS + "/" + chores + "/tasks";
+    List<String> paths =
+        new ArrayList<>(
+            List.of(
+                TASK_LISTS,
+                TASK_LISTS + "?limit=1",
+                TASK_LISTS + "?include_tasks=true",
+                TASK_LISTS + "?include_tasks=true&fields=title,status",
+                TASK_LISTS + "/" + chores,
+                TASK_LISTS + "/" + chores + "?include_tasks=false",
+                TASK_LISTS + "/" + chores + "?fields=title,dueDate",
+                TASK_LISTS + "/" + errands,
+                tasks,
+                tasks + "?sort=-priority&limit=2",
+                tasks + "?sort=due_date&limit=1",
+                tasks + "?status=CLOSED",
+                tasks + "?priority=LOW&fields=id,dueDate",
+                tasks + "?include_archived=true",
+                tasks + "/" + laundry,
+                tasks + "/" + laundry + "?include_archived=true",
+                TASK_LISTS + "/" + UUID.randomUUID(),
+                tasks + "/" + UUID.randomUUID(),
+                tasks + "?sort=bogus",
+                tasks + "?fields=bogus",
+                tasks + "?cursor=bogus"));
+    paths.add(tasks + "?sort=-priority&limit=2&cursor=" + next(tasks + "?sort=-priority&limit=2"));
+    paths.add(tasks + "?sort=created&limit=2&cursor=" + next(tasks + "?sort=-priority&limit=2"));
+    paths.add(TASK_LISTS + "?limit=1&cursor=" + next(TASK_LISTS + "?limit=1"));
+
+    for (String path : paths) {
+      assertEquals(mvc(HttpMethod.GET, path, null), reactive(HttpMethod.GET, path, null), path);
+    }
+  }
+
+  @Test
+  @DisplayName("Conditional GETs should be answered with 304 by both stacks alike")
+  void conditionalGetsShouldMatchMvc() throws Exception {
+    String chores = id(mvc(HttpMethod.POST, TASK_LISTS, new CreateTaskListRequest("Chores", null)));
+    String laundry = createTask(chores, "Laundry", 1, TaskPriority.LOW);
+
+    for (String path :
+        List.of(
+            TASK_LISTS,
+            TASK_LISTS + "/" + chores,
+            TASK_LISTS + "/" + chores + "/tasks",
+            TASK_LISTS + "/" + chores + "/tasks/" + laundry)) {
+      String eTag = mvc(HttpMethod.GET, path, null).eTag();
+      Response mvc = mvc(HttpMethod.GET, path, null, HttpHeaders.IF_NONE_MATCH, eTag);
+      assertEquals(304, mvc.status(), path);
+      assertEquals(
+          mvc, reactive(HttpMethod.GET, path, null, HttpHeaders.IF_NONE_MATCH, eTag), path);
+    }
+  }
+
+  @Test
+  @DisplayName("Writes should return the same status and JSON as the MVC stack")
+  void writesShouldMatchMvc() throws Exception {
+    assertEquals(writes(this::mvc), writes(this::reactive));
+  }
+
+  /** Runs the same writes against one stack, with the IDs it generated replaced by placeholders. */
+  private List<Response> writes(Client client) throws Exception {
+    Map<String, String> ids = new LinkedHashMap<>();
+    List<Response> responses = new ArrayList<>();
+
+    Response taskList =
+        client.call(HttpMethod.POST, TASK_LISTS, new CreateTaskListRequest("Chores", null));
+    responses.add(taskList);
+    String taskListPath = TASK_LISTS + "/" + id(taskList);
+    ids.put(id(taskList), "task-list");
+
+    Response task =
+        client.call(
+            HttpMethod.POST,
+            taskListPath + "/tasks",
+            new CreateTaskRequest("Laundry", "Whites", dueIn(1), TaskPriority.LOW));
+    responses.add(task);
+    String taskPath = taskListPath + "/tasks/" + id(task);
+    ids.put(id(task), "task");
+    String missingTaskPath = taskListPath + "/tasks/" + UUID.randomUUID();
+    ids.put(missingTaskPath.substring(missingTaskPath.lastIndexOf('/') + 1), "missing-task");
+    String missingTaskListId = UUID.randomUUID().toString();
+    ids.put(missingTaskListId, "missing-task-list");
+
+    String staleETag = client.call(HttpMethod.GET, taskPath, null).eTag();
+    responses.add(
+        client.call(
+            HttpMethod.POST,
+            TASK_LISTS + "/" + missingTaskListId + "/tasks",
+            new CreateTaskRequest("Laundry", null, dueIn(1), TaskPriority.LOW)));
+    responses.add(
+        client.call(
+            HttpMethod.PUT,
+            taskPath,
+            new UpdateTaskRequest(
+                "Laundry", null, dueIn(2), TaskPriority.HIGH, TaskStatus.CLOSED)));
+    responses.add(
+        client.call(
+            HttpMethod.PUT,
+            taskPath,
+            new UpdateTaskRequest("Laundry", null, null, null, null),
+            HttpHeaders.IF_MATCH,
+            staleETag));
+    responses.add(
+        client.call(
+            HttpMethod.PUT, taskPath, new UpdateTaskRequest(null, null, dueIn(-1), null, null)));
+    responses.add(
+        client.call(HttpMethod.PATCH, taskPath, "{\"description\":null,\"status\":\"OPEN\"}"));
+    responses.add(client.call(HttpMethod.PATCH, taskPath, "{\"title\":null}"));
+    responses.add(client.call(HttpMethod.PATCH, taskPath, "{}"));
+    responses.add(client.call(HttpMethod.PATCH, taskPath, "{}", HttpHeaders.IF_MATCH, staleETag));
+    responses.add(
+        client.call(
+            HttpMethod.PATCH, taskPath, "{\"priority\":\"LOW\"}", HttpHeaders.IF_MATCH, staleETag));
+    responses.add(client.call(HttpMethod.PATCH, missingTaskPath, "{\"priority\":\"LOW\"}"));
+    responses.add(
+        client.call(
+            HttpMethod.PATCH,
+            missingTaskPath,
+            "{\"priority\":\"LOW\"}",
+            HttpHeaders.IF_MATCH,
+            "*"));
+    responses.add(
+        client.call(
+            HttpMethod.PATCH, taskPath, "{\"priority\":\"LOW\"}", HttpHeaders.IF_MATCH, "*"));
+    responses.add(client.call(HttpMethod.GET, taskListPath, null));
+    responses.add(
+        client.call(HttpMethod.PUT, taskListPath, new UpdateTaskListRequest("Chores", "Weekly")));
+    responses.add(
+        client.call(HttpMethod.DELETE, missingTaskPath, null, HttpHeaders.IF_MATCH, staleETag));
+    responses.add(client.call(HttpMethod.DELETE, missingTaskPath, null, HttpHeaders.IF_MATCH, "*"));
+    responses.add(client.call(HttpMethod.DELETE, missingTaskPath, null));
+    responses.add(client.call(HttpMethod.DELETE, taskPath, null, HttpHeaders.IF_MATCH, staleETag));
+    responses.add(client.call(HttpMethod.DELETE, taskPath, null));
+    responses.add(client.call(HttpMethod.GET, taskListPath + "?include_tasks=false", null));
+    responses.add(
+        client.call(HttpMethod.DELETE, taskListPath, null, HttpHeaders.IF_MATCH, staleETag));
+    responses.add(client.call(HttpMethod.DELETE, taskListPath, null));
+    responses.add(client.call(HttpMethod.GET, taskListPath, null));
+
+    return responses.stream()
+        .map(response -> response.withoutValidators().withIdsReplaced(ids).withoutErrorPage())
+        .toList();
+  }
+
+  private String createTask(String taskListId, String title, int dueInDays, TaskPriority priority)
+      throws Exception {
+    return id(
+        mvc(
+            HttpMethod.POST,
+            TASK_LISTS + "/" + taskListId + "/tasks",
+            new CreateTaskRequest(title, null, dueIn(dueInDays), priority)));
+  }
+
+  private String next(String path) throws Exception {
+    return objectMapper.readTree(mvc(HttpMethod.GET, path, null).body()).get("next").asText();
+  }
+
+  private String id(Response response) throws Exception {
+    JsonNode id = objectMapper.readTree(response.body()).get("id");
+    assertNotNull(id, response.body());
+    return id.asText();
+  }
+
+  /** Midnight, so that both stacks are sent the same due dates however long the test takes. */
+  private static LocalDateTime dueIn(int days) {
+    return LocalDateTime.now().plusDays(days).truncatedTo(ChronoUnit.DAYS);
+  }
+
+  private Response mvc(HttpMethod method, String path, Object body, String... headers)
+      throws Exception {
+    MockHttpServletRequestBuilder request = request(method, path);
+    if (body != null) {
+      request
+          .contentType(
+              method == HttpMethod.PATCH ? MERGE_PATCH_JSON : MediaType.APPLICATION_JSON_VALUE)
+          .content(body instanceof String json ? json : objectMapper.writeValueAsString(body));
+    }
+    for (int i = 0; i < headers.length; i += 2) {
+      request.header(headers[i], headers[i + 1]);
+    }
+    MockHttpServletResponse response = mockMvc.perform(request).andReturn().getResponse();
+    return new Response(
+        response.getStatus(),
+        response.getContentType(),
+        response.getHeader(HttpHeaders.ETAG),
+        response.getHeader(HttpHeaders.LAST_MODIFIED),
+        response.getHeader(HttpHeaders.CACHE_CONTROL),
+        response.getContentAsString(StandardCharsets.UTF_8));
+  }
+
+  private Response reactive(HttpMethod method, String path, Object body, String... headers)
+      throws Exception {
+    WebTestClient.RequestBodySpec request = webTestClient.method(method).uri(path);
+    for (int i = 0; i < headers.length; i += 2) {
+      request.header(headers[i], headers[i + 1]);
+    }
+    if (body != null) {
+      request
+          .contentType(
+              MediaType.parseMediaType(
+                  method == HttpMethod.PATCH ? MERGE_PATCH_JSON : MediaType.APPLICATION_JSON_VALUE))
+          .bodyValue(body instanceof String json ? json : objectMapper.writeValueAsString(body));
+    }
+    EntityExchangeResult<byte[]> result = request.exchange().expectBody().returnResult();
+    HttpHeaders responseHeaders = result.getResponseHeaders();
+    MediaType contentType = responseHeaders.getContentType();
+    byte[] responseBody = result.getResponseBody();
+    return new Response(
+        result.getStatus().value(),
+        contentType != null ? contentType.toString() : null,
+        responseHeaders.getETag(),
+        responseHeaders.getFirst(HttpHeaders.LAST_MODIFIED),
+        responseHeaders.getCacheControl(),
+        responseBody != null ? new String(responseBody, StandardCharsets.UTF_8) : "");
+  }
+
+  @FunctionalInterface
+  private interface Client {
+    Response call(HttpMethod method, String path, Object body, String... headers) throws Exception;
+  }
+
+  private record Response(
+      int status,
+      String contentType,
+      String eTag,
+      String lastModified,
+      String cacheControl,
+      String body) {
+
+    /** Validators of rows written a moment apart differ between the stacks. */
+    Response withoutValidators() {
+      return new Response(status, contentType, null, null, cacheControl, body);
+    }
+
+    /**
+     * Bean validation failures are not problem details but rendered by the default error handling
+     * of each stack, which differs.
+     */
+    Response withoutErrorPage() {
+      if (status != 400 || "application/problem+json".equals(contentType)) {
+        return this;
+      }
+      return new Response(status, null, eTag, lastModified, cacheControl, "");
+    }
+
+    Response withIdsReplaced(Map<String, String> ids) {
+      String replaced = body;
+      for (Map.Entry<String, String> id : ids.entrySet()) {
+        replaced = replaced.replace(id.getKey(), id.getValue());
+      }
+      return new Response(status, contentType, eTag, lastModified, cacheControl, replaced);
+    }
+  }
+}
@@ -0,0 +1,37 @@
+package com.taskify.reactive;
+
+import com.taskify.exceptions.GlobalExceptionHandler;
+import com.taskify.mappers.impl.TaskListMapperImpl;
+import com.taskify.mappers.impl.TaskMapperImpl;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Serves the task list and task endpoints of the MVC application on WebFlux and R2DBC, so that a
+ * few event loop threads can hold tens of thousands of open connections. It shares the database,
+ * the DTOs, the mappers and the error responses with the MVC application, but not its caches, and
+ * reads its configuration from {@code reactive.yml}.
+ *
+ * <p>Not a {@code @SpringBootConfiguration}, so that tests looking for the MVC application keep
+ * finding exactly one.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableAutoConfiguration
+@ComponentScan
+@Import({TaskMapperImpl.class, TaskListMapperImpl.class, GlobalExceptionHandler.class})
+public class ReactiveApplication {
+
+  public static void main(String[] args) {
+    builder().run(args);
+  }
+
+  public static SpringApplicationBuilder builder() {
+    return new SpringApplicationBuilder(ReactiveApplication.class)
+        .web(WebApplicationType.REACTIVE)
+        .properties("spring.config.name=reactive");
+  }
+}
@@ -0,0 +1,44 @@
+package com.taskify.reactive.cache;
+
+import com.taskify.cache.CacheInvalidation;
+import com.taskify.cache.PostgresCacheInvalidationBus;
+import com.taskify.configs.CacheCoherenceProperties;
+import java.util.UUID;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Tells the MVC application nodes about writes made here, in the format of {@link
+ * PostgresCacheInvalidationBus}. The reactive application has no caches of its own, so it only
+ * sends, and sends nothing unless cache coherence is enabled.
+ *
+ * <p>Must be subscribed to within the writing transaction, so that Postgres only delivers the
+ * message once that transaction commits.
+ */
+@Component
+@EnableConfigurationProperties(CacheCoherenceProperties.class)
+public class ReactiveCacheInvalidationPublisher {
+
+  private final String nodeId = UUID.randomUUID().toString();
+  private final DatabaseClient databaseClient;
+  private final CacheCoherenceProperties properties;
+
+  public ReactiveCacheInvalidationPublisher(
+      DatabaseClient databaseClient, CacheCoherenceProperties properties) {
+    this.databaseClient = databaseClient;
+    this.properties = properties;
+  }
+
+  public Mono<Void> publish(CacheInvalidation invalidation) {
+    if (!properties.enabled()) {
+      return Mono.empty();
+    }
+    return databaseClient
+        .sql("select pg_notify(:channel, :payload)")
+        .bind("channel", properties.channel())
+        .bind("payload", PostgresCacheInvalidationBus.payload(nodeId, invalidation))
+        .then();
+  }
+}
@@ -0,0 +1,54 @@
+package com.taskify.reactive.configs;
+
+import com.taskify.configs.HttpCacheProperties;
+import java.util.List;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+/**
+ * Applies the configured {@link HttpCacheProperties} rules to GET and HEAD responses, like the
+ * {@code CacheControlInterceptor} of the MVC application.
+ */
+class CacheControlFilter implements WebFilter {
+
+  private final List<Rule> rules;
+
+  CacheControlFilter(HttpCacheProperties properties) {
+    this.rules =
+        properties.cacheControl().stream()
+            .flatMap(
+                rule -> {
+                  String header = rule.toCacheControl().getHeaderValue();
+                  return rule.paths().stream()
+                      .map(path -> new Rule(PathPatternParser.defaultInstance.parse(path), header));
+                })
+            .toList();
+  }
+
+  @Override
+  public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+    ServerHttpRequest request = exchange.getRequest();
+    if (request.getMethod() == HttpMethod.GET || request.getMethod() == HttpMethod.HEAD) {
+      rules.stream()
+          .filter(rule -> rule.pattern().matches(request.getPath().pathWithinApplication()))
+          .findFirst()
+          .filter(rule -> rule.header() != null)
+          .ifPresent(
+              rule ->
+                  exchange
+                      .getResponse()
+                      .getHeaders()
+                      .set(HttpHeaders.CACHE_CONTROL, rule.header()));
+    }
+    return chain.filter(exchange);
+  }
+
+  private record Rule(PathPattern pattern, String header) {}
+}
@@ -0,0 +1,49 @@
+package com.taskify.reactive.configs;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskify.configs.HttpCacheProperties;
+import com.taskify.dtos.TaskFields;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.reactive.config.CorsRegistry;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import org.springframework.web.server.WebFilter;
+
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(HttpCacheProperties.class)
+public class ReactiveWebConfig implements WebFluxConfigurer {
+
+  /** Serves on Reactor Netty's event loops, not on the Tomcat the MVC application brings along. */
+  @Bean
+  public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+    return new NettyReactiveWebServerFactory();
+  }
+
+  /**
+   * Built like the object mappers of the MVC application, which {@code @EnableWebMvc} creates
+   * without Boot's Jackson settings, so that both write the same JSON.
+   */
+  @Bean
+  public ObjectMapper objectMapper() {
+    return TaskFields.filtering(Jackson2ObjectMapperBuilder.json().build());
+  }
+
+  @Bean
+  public WebFilter cacheControlFilter(HttpCacheProperties httpCacheProperties) {
+    return new CacheControlFilter(httpCacheProperties);
+  }
+
+  /** Exposes {@code ETag}, which is not safelisted, so that web clients can send it back. */
+  @Override
+  public void addCorsMappings(CorsRegistry registry) {
+    registry
+        .addMapping("/**")
+        .allowedOrigins("*")
+        .allowedMethods("*")
+        .exposedHeaders(HttpHeaders.ETAG);
+  }
+}
@@ -0,0 +1,87 @@
+package com.taskify.reactive.controllers;
+
+import com.taskify.dtos.BodyFormat;
+import com.taskify.dtos.ResourceVersion;
+import com.taskify.dtos.TaskFields;
+import com.taskify.exceptions.PreconditionFailedException;
+import java.time.Instant;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * The reactive counterpart of the MVC {@code ConditionalRequests}, plus the sparse fieldsets its
+ * {@code SparseFieldsAdvice} applies, so that both applications answer with the same headers and
+ * the same bytes.
+ */
+final class ConditionalExchanges {
+
+  private ConditionalExchanges() {}
+
+  /**
+   * Answers with 304 if the resource at {@code version} is not modified for the client, and with
+   * {@code response} otherwise. A resource without a version has no validators and is answered.
+   */
+  static <T> Mono<ResponseEntity<?>> unlessNotModified(
+      ServerWebExchange exchange, Mono<ResourceVersion> version, Mono<ResponseEntity<T>> response) {
+    return version
+        .map(v -> checkNotModified(exchange, v))
+        .defaultIfEmpty(false)
+        .flatMap(
+            notModified ->
+                notModified
+                    ? Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).build())
+                    : response.map(entity -> entity));
+  }
+
+  private static boolean checkNotModified(ServerWebExchange exchange, ResourceVersion version) {
+    BodyFormat format =
+        BodyFormat.negotiate(exchange.getRequest().getHeaders().get(HttpHeaders.ACCEPT));
+    return exchange.checkNotModified(
+        version.eTag(format), Instant.ofEpochMilli(version.lastModifiedMillis()));
+  }
+
+  /** Restricts the tasks in {@code body} to {@code fields}. */
+  static Object select(Object body, TaskFields fields) {
+    if (fields.isAll()) {
+      return body;
+    }
+    MappingJacksonValue value = new MappingJacksonValue(body);
+    value.setFilters(fields.filters());
+    return value;
+  }
+
+  /**
+   * Returns the row version a write expects from its {@code If-Match} header, or {@code null} when
+   * it expects none, as with {@code *}, see {@link #requireExists}. Anything but a single ETag of
+   * ours expects a version no row has.
+   */
+  static Long expectedVersion(String ifMatch) {
+    if (ifMatch == null || ifMatch.isBlank() || matchesAny(ifMatch)) {
+      return null;
+    }
+    return ResourceVersion.versionOf(ifMatch);
+  }
+
+  /**
+   * Runs {@code write}, unless it comes with {@code If-Match: *}, which any version matches, and
+   * the resource does not exist. Other writes check their version in the service.
+   */
+  static <T> Mono<T> requireExists(
+      String ifMatch, Mono<ResourceVersion> version, String resource, Mono<T> write) {
+    if (!matchesAny(ifMatch)) {
+      return write;
+    }
+    return version
+        .switchIfEmpty(
+            Mono.error(() -> new PreconditionFailedException(resource + " does not exist")))
+        .then(write);
+  }
+
+  private static boolean matchesAny(String ifMatch) {
+    return ifMatch != null && ifMatch.strip().equals("*");
+  }
+}
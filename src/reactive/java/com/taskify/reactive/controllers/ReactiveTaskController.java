@@ -0,0 +1,134 @@
+package com.taskify.reactive.controllers;
+
+import com.taskify.dtos.CreateTaskRequest;
+import com.taskify.dtos.TaskDto;
+import com.taskify.dtos.TaskFields;
+import com.taskify.dtos.TaskFilter;
+import com.taskify.dtos.TaskPatch;
+import com.taskify.dtos.UpdateTaskRequest;
+import com.taskify.entities.TaskPriority;
+import com.taskify.entities.TaskStatus;
+import com.taskify.pagination.TaskSort;
+import com.taskify.reactive.services.ReactiveTaskService;
+import jakarta.validation.Valid;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/** Serves the contract of the MVC {@code TaskController}. */
+@RestController
+@RequestMapping(path = "/api/v1/task-lists/{task_list_id}/tasks")
+public class ReactiveTaskController {
+  static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+
+  private final ReactiveTaskService taskService;
+
+  public ReactiveTaskController(ReactiveTaskService taskService) {
+    this.taskService = taskService;
+  }
+
+  @GetMapping
+  public Mono<ResponseEntity<?>> listTasks(
+      @PathVariable("task_list_id") UUID taskListId,
+      @RequestParam(required = false) TaskStatus status,
+      @RequestParam(required = false) TaskPriority priority,
+      @RequestParam(name = "due_after", required = false)
+          @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          LocalDateTime dueAfter,
+      @RequestParam(name = "due_before", required = false)
+          @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          LocalDateTime dueBefore,
+      @RequestParam(required = false) String sort,
+      @RequestParam(required = false) String fields,
+      @RequestParam(name = "include_archived", defaultValue = "false") boolean includeArchived,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(required = false) Integer limit,
+      ServerWebExchange exchange) {
+    TaskFilter filter = new TaskFilter(status, priority, dueAfter, dueBefore);
+    TaskSort taskSort = TaskSort.parse(sort);
+    TaskFields taskFields = TaskFields.parse(fields);
+    return ConditionalExchanges.unlessNotModified(
+        exchange,
+        taskService.getTasksVersion(taskListId),
+        taskService
+            .listTasks(taskListId, filter, taskSort, includeArchived, cursor, limit)
+            .map(page -> ResponseEntity.ok(ConditionalExchanges.select(page, taskFields))));
+  }
+
+  @PostMapping
+  public Mono<ResponseEntity<TaskDto>> createTask(
+      @PathVariable("task_list_id") UUID taskListId,
+      @Valid @RequestBody CreateTaskRequest request) {
+    return taskService
+        .createTask(taskListId, request)
+        .map(task -> ResponseEntity.status(HttpStatus.CREATED).body(task));
+  }
+
+  @GetMapping("/{task_id}")
+  public Mono<ResponseEntity<?>> getTask(
+      @PathVariable("task_list_id") UUID taskListId,
+      @PathVariable("task_id") UUID taskId,
+      @RequestParam(name = "include_archived", defaultValue = "false") boolean includeArchived,
+      ServerWebExchange exchange) {
+    // Read first, so that a write in between cannot pair its validators with an older body.
+    return ConditionalExchanges.unlessNotModified(
+        exchange,
+        includeArchived
+            ? taskService.getTaskVersionIncludingArchived(taskListId, taskId)
+            : taskService.getTaskVersion(taskListId, taskId),
+        (includeArchived
+                ? taskService.getTaskIncludingArchived(taskListId, taskId)
+                : taskService.getTask(taskListId, taskId))
+            .map(ResponseEntity::ok));
+  }
+
+  @PutMapping(path = "/{task_id}")
+  public Mono<ResponseEntity<TaskDto>> updateTask(
+      @PathVariable("task_list_id") UUID taskListId,
+      @PathVariable("task_id") UUID id,
+      @Valid @RequestBody UpdateTaskRequest request,
+      @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+    return ConditionalExchanges.requireExists(
+        ifMatch,
+        taskService.getTaskVersion(taskListId, id),
+        "Task " + id,
+        taskService
+            .updateTask(taskListId, id, request, ConditionalExchanges.expectedVersion(ifMatch))
+            .map(ResponseEntity::ok));
+  }
+
+  @PatchMapping(path = "/{task_id}", consumes = MERGE_PATCH_JSON)
+  public Mono<ResponseEntity<TaskDto>> patchTask(
+      @PathVariable("task_list_id") UUID taskListId,
+      @PathVariable("task_id") UUID id,
+      @Valid @RequestBody TaskPatch patch,
+      @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+    return ConditionalExchanges.requireExists(
+        ifMatch,
+        taskService.getTaskVersion(taskListId, id),
+        "Task " + id,
+        taskService
+            .patchTask(taskListId, id, patch, ConditionalExchanges.expectedVersion(ifMatch))
+            .map(ResponseEntity::ok));
+  }
+
+  @DeleteMapping(path = "/{task_id}")
+  public Mono<ResponseEntity<Void>> deleteTask(
+      @PathVariable("task_list_id") UUID taskListId,
+      @PathVariable("task_id") UUID taskId,
+      @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+    return ConditionalExchanges.requireExists(
+        ifMatch,
+        taskService.getTaskVersion(taskListId, taskId),
+        "Task " + taskId,
+        taskService
+            .deleteTask(taskListId, taskId, ConditionalExchanges.expectedVersion(ifMatch))
+            .thenReturn(ResponseEntity.noContent().build()));
+  }
+}
@@ -0,0 +1,102 @@
+package com.taskify.reactive.controllers;
+
+import com.taskify.dtos.CreateTaskListRequest;
+import com.taskify.dtos.TaskFields;
+import com.taskify.dtos.TaskListDto;
+import com.taskify.dtos.UpdateTaskListRequest;
+import com.taskify.reactive.services.ReactiveTaskListService;
+import jakarta.validation.Valid;
+import java.util.UUID;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/** Serves the contract of the MVC {@code TaskListController}, except for asynchronous deletes. */
+@RestController
+@RequestMapping(path = "/api/v1/task-lists")
+public class ReactiveTaskListController {
+  private final ReactiveTaskListService taskListService;
+
+  public ReactiveTaskListController(ReactiveTaskListService taskListService) {
+    this.taskListService = taskListService;
+  }
+
+  @GetMapping
+  public Mono<ResponseEntity<?>> listTaskLists(
+      @RequestParam(required = false) String cursor,
+      @RequestParam(required = false) Integer limit,
+      @RequestParam(name = "include_tasks", defaultValue = "false") boolean includeTasks,
+      @RequestParam(required = false) String fields,
+      ServerWebExchange exchange) {
+    TaskFields taskFields = TaskFields.parse(fields);
+    return ConditionalExchanges.unlessNotModified(
+        exchange,
+        taskListService.getTaskListsVersion(cursor, limit),
+        taskListService
+            .listTaskLists(cursor, limit, includeTasks)
+            .map(page -> ResponseEntity.ok(ConditionalExchanges.select(page, taskFields))));
+  }
+
+  @PostMapping
+  public Mono<ResponseEntity<TaskListDto>> createTaskList(
+      @Valid @RequestBody CreateTaskListRequest request) {
+    return taskListService
+        .createTaskList(request)
+        .map(taskList -> ResponseEntity.status(HttpStatus.CREATED).body(taskList));
+  }
+
+  @GetMapping(path = "/{task_list_id}")
+  public Mono<ResponseEntity<?>> getTaskList(
+      @PathVariable("task_list_id") UUID taskListId,
+      @RequestParam(name = "include_tasks", defaultValue = "true") boolean includeTasks,
+      @RequestParam(required = false) String fields,
+      ServerWebExchange exchange) {
+    TaskFields taskFields = TaskFields.parse(fields);
+    // Read first, so that a write in between cannot pair its validators with an older body.
+    return ConditionalExchanges.unlessNotModified(
+        exchange,
+        taskListService.getTaskListVersion(taskListId),
+        includeTasks
+            ? taskListService
+                .getTaskList(taskListId)
+                .map(
+                    taskList ->
+                        ResponseEntity.ok(ConditionalExchanges.select(taskList, taskFields)))
+            : taskListService.getTaskListSummary(taskListId).map(ResponseEntity::ok));
+  }
+
+  @PutMapping(path = "/{task_list_id}")
+  public Mono<ResponseEntity<TaskListDto>> updateTaskList(
+      @PathVariable("task_list_id") UUID taskListId,
+      @Valid @RequestBody UpdateTaskListRequest request,
+      @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+    return ConditionalExchanges.requireExists(
+        ifMatch,
+        taskListService.getTaskListVersion(taskListId),
+        "Task List " + taskListId,
+        taskListService
+            .updateTaskList(taskListId, request, ConditionalExchanges.expectedVersion(ifMatch))
+            .map(ResponseEntity::ok));
+  }
+
+  /** Deletes in one statement; asynchronous deletion and its status resource are MVC only. */
+  @DeleteMapping(path = "/{task_list_id}")
+  public Mono<ResponseEntity<Void>> deleteTaskList(
+      @PathVariable("task_list_id") UUID taskListId,
+      @RequestParam(defaultValue = "false") boolean async,
+      @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+    if (async) {
+      throw new IllegalArgumentException("Asynchronous deletion is not supported here");
+    }
+    return ConditionalExchanges.requireExists(
+        ifMatch,
+        taskListService.getTaskListVersion(taskListId),
+        "Task List " + taskListId,
+        taskListService
+            .deleteTaskList(taskListId, ConditionalExchanges.expectedVersion(ifMatch))
+            .thenReturn(ResponseEntity.noContent().build()));
+  }
+}
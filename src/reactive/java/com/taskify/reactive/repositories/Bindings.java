@@ -0,0 +1,13 @@
+package com.taskify.reactive.repositories;
+
+import io.r2dbc.spi.Parameters;
+
+final class Bindings {
+
+  private Bindings() {}
+
+  /** Binds a value that may be null, which R2DBC only accepts together with its type. */
+  static Object nullable(Object value, Class<?> type) {
+    return value != null ? value : Parameters.in(type);
+  }
+}
@@ -0,0 +1,206 @@
+package com.taskify.reactive.repositories;
+
+import com.taskify.dtos.TaskListStamps;
+import com.taskify.dtos.TaskListSummary;
+import io.r2dbc.spi.Readable;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.UUID;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/** The queries of {@code TaskListRepository}, written against R2DBC. */
+@Repository
+public class ReactiveTaskListRepository {
+
+  private static final String COLUMNS =
+      "id, title, description, task_count, closed_count, created, updated, version,"
+          + " content_updated, content_version";
+
+  private static final String STAMPS =
+      "select tl.id, tl.task_count, tl.updated, tl.version, tl.content_updated,"
+          + " tl.content_version, t.tasks_updated, t.task_versions from task_lists tl"
+          + " cross join lateral (select max(updated) as tasks_updated,"
+          + " coalesce(sum(version), 0)::bigint as task_versions"
+          + " from tasks where task_list_id = tl.id) t";
+
+  private final DatabaseClient databaseClient;
+
+  public ReactiveTaskListRepository(DatabaseClient databaseClient) {
+    this.databaseClient = databaseClient;
+  }
+
+  /** A task list row, with its counters and without its tasks. */
+  public record TaskListRow(
+      UUID id,
+      String title,
+      String description,
+      int taskCount,
+      int closedCount,
+      LocalDateTime created,
+      LocalDateTime updated,
+      long version,
+      LocalDateTime contentUpdated,
+      long contentVersion) {
+
+    public TaskListSummary summary() {
+      return new TaskListSummary(id, title, description, taskCount, closedCount);
+    }
+  }
+
+  /**
+   * Reads a page of task lists in the order of {@code (created, id)}, after the given key if any.
+   */
+  public Flux<TaskListRow> findPage(LocalDateTime afterCreated, UUID afterId, int limit) {
+    if (afterId == null) {
+      return databaseClient
+          .sql("select " + COLUMNS + " from task_lists order by created, id limit :limit")
+          .bind("limit", limit)
+          .map(ReactiveTaskListRepository::toRow)
+          .all();
+    }
+    return databaseClient
+        .sql(
+            "select "
+                + COLUMNS
+                + " from task_lists where (created, id) > (:created, :id)"
+                + " order by created, id limit :limit")
+        .bind("created", afterCreated)
+        .bind("id", afterId)
+        .bind("limit", limit)
+        .map(ReactiveTaskListRepository::toRow)
+        .all();
+  }
+
+  public Mono<TaskListRow> findById(UUID id) {
+    return databaseClient
+        .sql("select " + COLUMNS + " from task_lists where id = :id")
+        .bind("id", id)
+        .map(ReactiveTaskListRepository::toRow)
+        .one();
+  }
+
+  public Mono<TaskListRow> insert(UUID id, String title, String description, LocalDateTime now) {
+    return databaseClient
+        .sql(
+            "insert into task_lists (id, title, description, created, updated)"
+                + " values (:id, :title, :description, :now, :now) returning "
+                + COLUMNS)
+        .bind("id", id)
+        .bind("title", title)
+        .bind("description", Bindings.nullable(description, String.class))
+        .bind("now", now)
+        .map(ReactiveTaskListRepository::toRow)
+        .one();
+  }
+
+  /**
+   * Sets title and description of a task list that is still at {@code version}, bumping the
+   * version. Empty if the task list has moved on to another version or no longer exists.
+   */
+  public Mono<TaskListRow> update(
+      UUID id, String title, String description, long version, LocalDateTime now) {
+    return databaseClient
+        .sql(
+            "update task_lists set title = :title, description = :description, updated = :now,"
+                + " version = version + 1 where id = :id and version = :version returning "
+                + COLUMNS)
+        .bind("id", id)
+        .bind("title", title)
+        .bind("description", Bindings.nullable(description, String.class))
+        .bind("now", now)
+        .bind("version", version)
+        .map(ReactiveTaskListRepository::toRow)
+        .one();
+  }
+
+  /**
+   * Atomically shifts the task counters of a task list and bumps its content stamps, locking its
+   * row until the surrounding transaction ends. Emits 0 if the task list does not exist.
+   */
+  public Mono<Long> adjustCounters(UUID id, int tasks, int closed) {
+    return databaseClient
+        .sql(
+            "update task_lists set task_count = task_count + :tasks,"
+                + " closed_count = closed_count + :closed,"
+                + " content_version = content_version + 1, content_updated = localtimestamp"
+                + " where id = :id")
+        .bind("id", id)
+        .bind("tasks", tasks)
+        .bind("closed", closed)
+        .fetch()
+        .rowsUpdated();
+  }
+
+  /**
+   * Deletes a task list, the database removing its tasks through {@code ON DELETE CASCADE}. Like in
+   * the MVC repository, callers delete the tasks first, in the order task writes lock them.
+   */
+  public Mono<Long> deleteWithTasksById(UUID id) {
+    return databaseClient
+        .sql("delete from task_lists where id = :id")
+        .bind("id", id)
+        .fetch()
+        .rowsUpdated();
+  }
+
+  /** Like {@link #deleteWithTasksById}, but only while the task list is at {@code version}. */
+  public Mono<Long> deleteWithTasksByIdAndVersion(UUID id, long version) {
+    return databaseClient
+        .sql("delete from task_lists where id = :id and version = :version")
+        .bind("id", id)
+        .bind("version", version)
+        .fetch()
+        .rowsUpdated();
+  }
+
+  /**
+   * Like the MVC repository, reads the stamps of the task list's row along with the latest update
+   * and the sum of the row versions of its tasks, from the index on {@code (task_list_id,
+   * updated)}.
+   */
+  public Mono<TaskListStamps> findStampsById(UUID id) {
+    return databaseClient
+        .sql(STAMPS + " where tl.id = :id")
+        .bind("id", id)
+        .map(ReactiveTaskListRepository::toStamps)
+        .one();
+  }
+
+  /** Like {@link #findStampsById}, for a page of task lists, in no particular order. */
+  public Flux<TaskListStamps> findStampsByIdIn(Collection<UUID> ids) {
+    return databaseClient
+        .sql(STAMPS + " where tl.id = any(:ids)")
+        .bind("ids", ids.toArray(UUID[]::new))
+        .map(ReactiveTaskListRepository::toStamps)
+        .all();
+  }
+
+  private static TaskListStamps toStamps(Readable row) {
+    return new TaskListStamps(
+        row.get("id", UUID.class),
+        row.get("task_count", Integer.class),
+        row.get("updated", LocalDateTime.class),
+        row.get("version", Long.class),
+        row.get("content_updated", LocalDateTime.class),
+        row.get("content_version", Long.class),
+        row.get("tasks_updated", LocalDateTime.class),
+        row.get("task_versions", Long.class));
+  }
+
+  private static TaskListRow toRow(Readable row) {
+    return new TaskListRow(
+        row.get("id", UUID.class),
+        row.get("title", String.class),
+        row.get("description", String.class),
+        row.get("task_count", Integer.class),
+        row.get("closed_count", Integer.class),
+        row.get("created", LocalDateTime.class),
+        row.get("updated", LocalDateTime.class),
+        row.get("version", Long.class),
+        row.get("content_updated", LocalDateTime.class),
+        row.get("content_version", Long.class));
+  }
+}
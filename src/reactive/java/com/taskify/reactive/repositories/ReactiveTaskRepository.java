@@ -0,0 +1,261 @@
+package com.taskify.reactive.repositories;
+
+import com.taskify.dtos.ResourceVersion;
+import com.taskify.dtos.TaskFilter;
+import com.taskify.dtos.TaskPatch;
+import com.taskify.entities.Task;
+import com.taskify.entities.TaskList;
+import com.taskify.entities.TaskPriority;
+import com.taskify.entities.TaskStatus;
+import com.taskify.pagination.TaskSort;
+import com.taskify.repositories.TaskRepositoryCustom.PatchedTask;
+import com.taskify.repositories.TaskSql;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * The queries of {@code TaskRepository}, written against R2DBC. Rows are read into {@link Task}s,
+ * which serve as plain objects here, so that the mappers and sort orders of the MVC application
+ * apply to them unchanged.
+ */
+@Repository
+public class ReactiveTaskRepository {
+
+  private static final String COLUMNS =
+      "id, title, description, due_date, priority, status, created, updated, task_list_id";
+  private static final String TASKS = "tasks";
+  private static final String ARCHIVE = "tasks_archive";
+
+  private final DatabaseClient databaseClient;
+
+  public ReactiveTaskRepository(DatabaseClient databaseClient) {
+    this.databaseClient = databaseClient;
+  }
+
+  public Flux<Task> findPage(
+      UUID taskListId, TaskFilter filter, TaskSort sort, Object afterKey, UUID afterId, int limit) {
+    return findPage(TASKS, taskListId, filter, sort, afterKey, afterId, limit);
+  }
+
+  /** Like {@link #findPage}, but reads the closed tasks the archival job moved out of tasks. */
+  public Flux<Task> findArchivedPage(
+      UUID taskListId, TaskFilter filter, TaskSort sort, Object afterKey, UUID afterId, int limit) {
+    return findPage(ARCHIVE, taskListId, filter, sort, afterKey, afterId, limit);
+  }
+
+  private Flux<Task> findPage(
+      String table,
+      UUID taskListId,
+      TaskFilter filter,
+      TaskSort sort,
+      Object afterKey,
+      UUID afterId,
+      int limit) {
+    StringBuilder sql =
+        new StringBuilder("select ")
+            .append(columns(table))
+            .append(" from ")
+            .append(table)
+            .append(" where task_list_id = :taskListId");
+    Map<String, Object> parameters = new LinkedHashMap<>();
+    parameters.put("taskListId", taskListId);
+
+    TaskSql.appendFilter(sql, parameters, filter);
+
+    String key = column(sort.field());
+    String direction = sort.descending() ? " desc" : " asc";
+    if (afterId != null) {
+      sql.append(" and (")
+          .append(key)
+          .append(", id) ")
+          .append(sort.descending() ? "<" : ">")
+          .append(" (:afterKey, :afterId)");
+      parameters.put(
+          "afterKey", afterKey instanceof TaskPriority priority ? priority.ordinal() : afterKey);
+      parameters.put("afterId", afterId);
+    }
+    sql.append(" order by ")
+        .append(key)
+        .append(direction)
+        .append(", id")
+        .append(direction)
+        .append(" limit :limit");
+    parameters.put("limit", limit);
+
+    GenericExecuteSpec spec = databaseClient.sql(sql.toString());
+    for (Map.Entry<String, Object> parameter : parameters.entrySet()) {
+      spec = spec.bind(parameter.getKey(), parameter.getValue());
+    }
+    return spec.map(ReactiveTaskRepository::toTask).all();
+  }
+
+  /** Reads the tasks of several task lists, each set of tasks in the order they were created. */
+  public Flux<Task> findAllByTaskListIdIn(Collection<UUID> taskListIds) {
+    return databaseClient
+        .sql(
+            "select "
+                + COLUMNS
+                + ", version from tasks where task_list_id = any(:taskListIds)"
+                + " order by created, id")
+        .bind("taskListIds", taskListIds.toArray(UUID[]::new))
+        .map(ReactiveTaskRepository::toTask)
+        .all();
+  }
+
+  public Mono<Task> findByTaskListIdAndId(UUID taskListId, UUID id) {
+    return findOne(TASKS, taskListId, id);
+  }
+
+  public Mono<Task> findArchivedByTaskListIdAndId(UUID taskListId, UUID id) {
+    return findOne(ARCHIVE, taskListId, id);
+  }
+
+  private Mono<Task> findOne(String table, UUID taskListId, UUID id) {
+    return databaseClient
+        .sql(
+            "select "
+                + columns(table)
+                + " from "
+                + table
+                + " where task_list_id = :taskListId and id = :id")
+        .bind("taskListId", taskListId)
+        .bind("id", id)
+        .map(ReactiveTaskRepository::toTask)
+        .one();
+  }
+
+  public Mono<Task> insert(Task task) {
+    return databaseClient
+        .sql(
+            "insert into tasks ("
+                + COLUMNS
+                + ") values (:id, :title, :description, :dueDate, :priority, :status,"
+                + " :created, :updated, :taskListId) returning "
+                + COLUMNS
+                + ", version")
+        .bind("id", task.getId())
+        .bind("title", task.getTitle())
+        .bind("description", Bindings.nullable(task.getDescription(), String.class))
+        .bind("dueDate", task.getDueDate())
+        .bind("priority", task.getPriority().ordinal())
+        .bind("status", task.getStatus().ordinal())
+        .bind("created", task.getCreated())
+        .bind("updated", task.getUpdated())
+        .bind("taskListId", task.getTaskList().getId())
+        .map(ReactiveTaskRepository::toTask)
+        .one();
+  }
+
+  /**
+   * Applies a merge patch in one statement, like {@code TaskRepositoryCustom#patch}. Empty if the
+   * task does not exist, is not at {@code version} or already holds every value of the patch.
+   */
+  public Mono<PatchedTask> patch(
+      UUID taskListId, UUID id, TaskPatch patch, long version, LocalDateTime now) {
+    return spec(TaskSql.patch(taskListId, id, patch, version, now))
+        .map(
+            (row, metadata) ->
+                new PatchedTask(
+                    toTask(row, metadata),
+                    TaskStatus.values()[row.get("old_status", Integer.class)]))
+        .one();
+  }
+
+  /**
+   * Deletes a task, only while it is at {@code expectedVersion} when given, and emits the status it
+   * had. Empty if nothing was deleted.
+   */
+  public Mono<TaskStatus> delete(UUID taskListId, UUID id, Long expectedVersion) {
+    return spec(TaskSql.delete(taskListId, id, expectedVersion))
+        .map(row -> TaskStatus.values()[row.get("status", Integer.class)])
+        .one();
+  }
+
+  /**
+   * Deletes all tasks of a task list, before the task list itself, like {@code
+   * TaskRepository#deleteAllByTaskListId}.
+   */
+  public Mono<Long> deleteAllByTaskListId(UUID taskListId) {
+    return databaseClient
+        .sql("delete from tasks where task_list_id = :taskListId")
+        .bind("taskListId", taskListId)
+        .fetch()
+        .rowsUpdated();
+  }
+
+  public Mono<ResourceVersion> findVersionByTaskListIdAndId(UUID taskListId, UUID id) {
+    return databaseClient
+        .sql("select updated, version from tasks where task_list_id = :taskListId and id = :id")
+        .bind("taskListId", taskListId)
+        .bind("id", id)
+        .map(
+            row ->
+                new ResourceVersion(
+                    1, row.get("updated", LocalDateTime.class), row.get("version", Long.class)))
+        .one();
+  }
+
+  /** Archived tasks have no version, as they can no longer be written. */
+  public Mono<ResourceVersion> findArchivedVersionByTaskListIdAndId(UUID taskListId, UUID id) {
+    return databaseClient
+        .sql(
+            "select updated from "
+                + ARCHIVE
+                + " where task_list_id = :taskListId and id = :id")
+        .bind("taskListId", taskListId)
+        .bind("id", id)
+        .map(row -> new ResourceVersion(1, row.get("updated", LocalDateTime.class)))
+        .one();
+  }
+
+  private GenericExecuteSpec spec(TaskSql.Statement statement) {
+    GenericExecuteSpec spec = databaseClient.sql(statement.sql());
+    for (Map.Entry<String, Object> parameter : statement.parameters().entrySet()) {
+      spec = spec.bind(parameter.getKey(), parameter.getValue());
+    }
+    return spec;
+  }
+
+  /** Archived tasks have no version column to select. */
+  private static String columns(String table) {
+    return table.equals(TASKS) ? COLUMNS + ", version" : COLUMNS;
+  }
+
+  private static String column(TaskSort.Field field) {
+    return switch (field) {
+      case DUE_DATE -> "due_date";
+      case PRIORITY -> "priority";
+      case CREATED -> "created";
+    };
+  }
+
+  private static Task toTask(Row row, RowMetadata metadata) {
+    TaskList taskList = new TaskList();
+    taskList.setId(row.get("task_list_id", UUID.class));
+    Task task =
+        new Task(
+            row.get("id", UUID.class),
+            row.get("title", String.class),
+            row.get("description", String.class),
+            row.get("due_date", LocalDateTime.class),
+            TaskPriority.values()[row.get("priority", Integer.class)],
+            TaskStatus.values()[row.get("status", Integer.class)],
+            row.get("created", LocalDateTime.class),
+            row.get("updated", LocalDateTime.class),
+            taskList);
+    if (metadata.contains("version")) {
+      task.setVersion(row.get("version", Long.class));
+    }
+    return task;
+  }
+}
@@ -0,0 +1,33 @@
+package com.taskify.reactive.services;
+
+import com.taskify.dtos.CreateTaskListRequest;
+import com.taskify.dtos.CursorPage;
+import com.taskify.dtos.ResourceVersion;
+import com.taskify.dtos.TaskListDto;
+import com.taskify.dtos.UpdateTaskListRequest;
+import java.util.UUID;
+import reactor.core.publisher.Mono;
+
+/** The non-blocking counterpart of {@code TaskListService}, with the same results and failures. */
+public interface ReactiveTaskListService {
+  Mono<CursorPage<TaskListDto>> listTaskLists(String cursor, Integer limit, boolean includeTasks);
+
+  Mono<TaskListDto> createTaskList(CreateTaskListRequest request);
+
+  Mono<TaskListDto> getTaskList(UUID id);
+
+  Mono<TaskListDto> getTaskListSummary(UUID id);
+
+  Mono<TaskListDto> updateTaskList(
+      UUID taskListId, UpdateTaskListRequest request, Long expectedVersion);
+
+  Mono<Void> deleteTaskList(UUID taskListId, Long expectedVersion);
+
+  /**
+   * The validators of the task list, read from its own row, empty if the task list does not exist.
+   */
+  Mono<ResourceVersion> getTaskListVersion(UUID id);
+
+  /** The validators of the page {@link #listTaskLists} would return, read from its rows. */
+  Mono<ResourceVersion> getTaskListsVersion(String cursor, Integer limit);
+}
@@ -0,0 +1,45 @@
+package com.taskify.reactive.services;
+
+import com.taskify.dtos.CreateTaskRequest;
+import com.taskify.dtos.CursorPage;
+import com.taskify.dtos.ResourceVersion;
+import com.taskify.dtos.TaskDto;
+import com.taskify.dtos.TaskFilter;
+import com.taskify.dtos.TaskPatch;
+import com.taskify.dtos.UpdateTaskRequest;
+import com.taskify.pagination.TaskSort;
+import java.util.UUID;
+import reactor.core.publisher.Mono;
+
+/** The non-blocking counterpart of {@code TaskService}, with the same results and failures. */
+public interface ReactiveTaskService {
+  Mono<CursorPage<TaskDto>> listTasks(
+      UUID taskListId,
+      TaskFilter filter,
+      TaskSort sort,
+      boolean includeArchived,
+      String cursor,
+      Integer limit);
+
+  Mono<TaskDto> createTask(UUID taskListId, CreateTaskRequest request);
+
+  Mono<TaskDto> getTask(UUID taskListId, UUID taskId);
+
+  Mono<TaskDto> getTaskIncludingArchived(UUID taskListId, UUID taskId);
+
+  Mono<TaskDto> updateTask(
+      UUID taskListId, UUID taskId, UpdateTaskRequest request, Long expectedVersion);
+
+  Mono<TaskDto> patchTask(UUID taskListId, UUID taskId, TaskPatch patch, Long expectedVersion);
+
+  Mono<Void> deleteTask(UUID taskListId, UUID taskId, Long expectedVersion);
+
+  /** Empty if the task does not exist. */
+  Mono<ResourceVersion> getTaskVersion(UUID taskListId, UUID taskId);
+
+  /** Like {@link #getTaskVersion}, but also finds the task once it has been archived. */
+  Mono<ResourceVersion> getTaskVersionIncludingArchived(UUID taskListId, UUID taskId);
+
+  /** The validators of the tasks of a task list, empty if the task list does not exist. */
+  Mono<ResourceVersion> getTasksVersion(UUID taskListId);
+}
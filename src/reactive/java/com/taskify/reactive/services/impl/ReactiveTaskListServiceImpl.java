@@ -0,0 +1,235 @@
+package com.taskify.reactive.services.impl;
+
+import com.taskify.cache.CacheInvalidation;
+import com.taskify.dtos.CreateTaskListRequest;
+import com.taskify.dtos.CursorPage;
+import com.taskify.dtos.ResourceVersion;
+import com.taskify.dtos.TaskListDto;
+import com.taskify.dtos.TaskListStamps;
+import com.taskify.dtos.UpdateTaskListRequest;
+import com.taskify.entities.Task;
+import com.taskify.entities.UuidV7Generator;
+import com.taskify.exceptions.TaskListNotFoundException;
+import com.taskify.mappers.TaskListMapper;
+import com.taskify.pagination.Cursor;
+import com.taskify.pagination.Pages;
+import com.taskify.reactive.cache.ReactiveCacheInvalidationPublisher;
+import com.taskify.reactive.repositories.ReactiveTaskListRepository;
+import com.taskify.reactive.repositories.ReactiveTaskListRepository.TaskListRow;
+import com.taskify.reactive.repositories.ReactiveTaskRepository;
+import com.taskify.reactive.services.ReactiveTaskListService;
+import com.taskify.services.impl.VersionChecks;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Mono;
+
+@Service
+@Transactional(readOnly = true)
+public class ReactiveTaskListServiceImpl implements ReactiveTaskListService {
+
+  private final ReactiveTaskListRepository taskListRepository;
+  private final ReactiveTaskRepository taskRepository;
+  private final TaskListMapper taskListMapper;
+  private final ReactiveCacheInvalidationPublisher invalidationPublisher;
+
+  public ReactiveTaskListServiceImpl(
+      ReactiveTaskListRepository taskListRepository,
+      ReactiveTaskRepository taskRepository,
+      TaskListMapper taskListMapper,
+      ReactiveCacheInvalidationPublisher invalidationPublisher) {
+    this.taskListRepository = taskListRepository;
+    this.taskRepository = taskRepository;
+    this.taskListMapper = taskListMapper;
+    this.invalidationPublisher = invalidationPublisher;
+  }
+
+  @Override
+  public Mono<CursorPage<TaskListDto>> listTaskLists(
+      String cursor, Integer limit, boolean includeTasks) {
+    return Mono.defer(
+        () -> {
+          int pageSize = Pages.limit(limit);
+          return findPage(cursor, pageSize).flatMap(page -> toPage(page, pageSize, includeTasks));
+        });
+  }
+
+  @Override
+  public Mono<ResourceVersion> getTaskListsVersion(String cursor, Integer limit) {
+    return Mono.defer(
+        () -> {
+          int pageSize = Pages.limit(limit);
+          return findPage(cursor, pageSize)
+              .flatMap(
+                  page -> {
+                    String next = page.size() > pageSize ? next(page.get(pageSize - 1)) : null;
+                    List<UUID> ids = page.stream().limit(pageSize).map(TaskListRow::id).toList();
+                    if (ids.isEmpty()) {
+                      return Mono.just(TaskListStamps.pageVersion(List.of(), next));
+                    }
+                    // Like the MVC service, a task list deleted in between drops out of the page.
+                    return taskListRepository
+                        .findStampsByIdIn(ids)
+                        .collectMap(TaskListStamps::id)
+                        .map(
+                            stamps ->
+                                TaskListStamps.pageVersion(
+                                    ids.stream().map(stamps::get).filter(Objects::nonNull).toList(),
+                                    next));
+                  });
+        });
+  }
+
+  /** Reads the rows of a page, and one more to tell whether another page follows. */
+  private Mono<List<TaskListRow>> findPage(String cursor, int pageSize) {
+    Cursor after = cursor != null ? Cursor.decode(cursor) : null;
+    return taskListRepository
+        .findPage(
+            after != null ? after.localDateTime(0) : null,
+            after != null ? after.uuid(1) : null,
+            pageSize + 1)
+        .collectList();
+  }
+
+  private static String next(TaskListRow last) {
+    return Cursor.of(last.created(), last.id()).encode();
+  }
+
+  private Mono<CursorPage<TaskListDto>> toPage(
+      List<TaskListRow> page, int pageSize, boolean includeTasks) {
+    String next = null;
+    if (page.size() > pageSize) {
+      page = page.subList(0, pageSize);
+      next = next(page.getLast());
+    }
+    String nextCursor = next;
+    List<TaskListRow> rows = page;
+    if (!includeTasks || rows.isEmpty()) {
+      return Mono.just(
+          new CursorPage<>(
+              rows.stream().map(row -> taskListMapper.toSummaryDto(row.summary())).toList(),
+              nextCursor));
+    }
+    return taskRepository
+        .findAllByTaskListIdIn(rows.stream().map(TaskListRow::id).toList())
+        .collect(Collectors.groupingBy(task -> task.getTaskList().getId()))
+        .map(
+            tasks ->
+                new CursorPage<>(rows.stream().map(row -> toDto(row, tasks)).toList(), nextCursor));
+  }
+
+  @Override
+  @Transactional
+  public Mono<TaskListDto> createTaskList(CreateTaskListRequest request) {
+    LocalDateTime now = now();
+    return taskListRepository
+        .insert(UuidV7Generator.generate(), request.title(), request.description(), now)
+        .map(row -> taskListMapper.toDto(row.summary(), List.of()))
+        .flatMap(
+            taskList ->
+                invalidationPublisher
+                    .publish(CacheInvalidation.taskListChanged(taskList.id()))
+                    .thenReturn(taskList));
+  }
+
+  @Override
+  public Mono<TaskListDto> getTaskList(UUID id) {
+    return findById(id).flatMap(this::withTasks);
+  }
+
+  @Override
+  public Mono<TaskListDto> getTaskListSummary(UUID id) {
+    return findById(id).map(row -> taskListMapper.toSummaryDto(row.summary()));
+  }
+
+  @Override
+  @Transactional
+  public Mono<TaskListDto> updateTaskList(
+      UUID taskListId, UpdateTaskListRequest request, Long expectedVersion) {
+    String resource = "Task List " + taskListId;
+    return findById(taskListId)
+        .flatMap(
+            existing -> {
+              VersionChecks.requireVersion(expectedVersion, existing.version(), resource);
+              // Like Hibernate, leaves an unchanged task list alone instead of bumping its version.
+              if (Objects.equals(existing.title(), request.title())
+                  && Objects.equals(existing.description(), request.description())) {
+                return Mono.just(existing);
+              }
+              return taskListRepository
+                  .update(
+                      taskListId, request.title(), request.description(), existing.version(), now())
+                  .switchIfEmpty(
+                      Mono.error(() -> VersionChecks.lostRace(expectedVersion, resource)));
+            })
+        .flatMap(this::withTasks)
+        .flatMap(
+            taskList ->
+                invalidationPublisher
+                    .publish(CacheInvalidation.taskListChanged(taskListId))
+                    .thenReturn(taskList));
+  }
+
+  @Override
+  @Transactional
+  public Mono<Void> deleteTaskList(UUID taskListId, Long expectedVersion) {
+    String resource = "Task List " + taskListId;
+    // Fails before any task is deleted. The delete checks the version again.
+    Mono<Void> checked =
+        expectedVersion == null
+            ? Mono.empty()
+            : taskListRepository
+                .findById(taskListId)
+                .switchIfEmpty(Mono.error(() -> VersionChecks.mismatch(resource)))
+                .doOnNext(
+                    existing ->
+                        VersionChecks.requireVersion(expectedVersion, existing.version(), resource))
+                .then();
+    // The tasks go first, in the order task writes lock them, see TaskRepository.
+    Mono<Long> deleted =
+        expectedVersion == null
+            ? taskListRepository.deleteWithTasksById(taskListId)
+            : taskListRepository
+                .deleteWithTasksByIdAndVersion(taskListId, expectedVersion)
+                .filter(count -> count > 0)
+                .switchIfEmpty(Mono.error(() -> VersionChecks.mismatch(resource)));
+    return checked
+        .then(taskRepository.deleteAllByTaskListId(taskListId))
+        .then(deleted)
+        .then(invalidationPublisher.publish(CacheInvalidation.taskListDeleted(taskListId)));
+  }
+
+  @Override
+  public Mono<ResourceVersion> getTaskListVersion(UUID id) {
+    return taskListRepository.findStampsById(id).map(TaskListStamps::taskListVersion);
+  }
+
+  private Mono<TaskListRow> findById(UUID id) {
+    return taskListRepository
+        .findById(id)
+        .switchIfEmpty(
+            Mono.error(() -> new TaskListNotFoundException("Task List not found with ID: " + id)));
+  }
+
+  private Mono<TaskListDto> withTasks(TaskListRow row) {
+    return taskRepository
+        .findAllByTaskListIdIn(List.of(row.id()))
+        .collectList()
+        .map(tasks -> taskListMapper.toDto(row.summary(), tasks));
+  }
+
+  private TaskListDto toDto(TaskListRow row, Map<UUID, List<Task>> tasks) {
+    return taskListMapper.toDto(row.summary(), tasks.getOrDefault(row.id(), List.of()));
+  }
+
+  /** Postgres keeps microseconds, so timestamps are cut to those before they are written. */
+  private static LocalDateTime now() {
+    return LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+  }
+}
@@ -0,0 +1,350 @@
+package com.taskify.reactive.services.impl;
+
+import com.taskify.cache.CacheInvalidation;
+import com.taskify.dtos.CreateTaskRequest;
+import com.taskify.dtos.CursorPage;
+import com.taskify.dtos.ResourceVersion;
+import com.taskify.dtos.TaskDto;
+import com.taskify.dtos.TaskFilter;
+import com.taskify.dtos.TaskListStamps;
+import com.taskify.dtos.TaskPatch;
+import com.taskify.dtos.UpdateTaskRequest;
+import com.taskify.entities.Task;
+import com.taskify.entities.TaskList;
+import com.taskify.entities.TaskStatus;
+import com.taskify.entities.UuidV7Generator;
+import com.taskify.exceptions.InvalidCursorException;
+import com.taskify.exceptions.TaskListNotFoundException;
+import com.taskify.exceptions.TaskNotFoundException;
+import com.taskify.mappers.TaskMapper;
+import com.taskify.pagination.Cursor;
+import com.taskify.pagination.Pages;
+import com.taskify.pagination.TaskSort;
+import com.taskify.reactive.cache.ReactiveCacheInvalidationPublisher;
+import com.taskify.reactive.repositories.ReactiveTaskListRepository;
+import com.taskify.reactive.repositories.ReactiveTaskRepository;
+import com.taskify.reactive.services.ReactiveTaskService;
+import com.taskify.services.impl.TaskChecks;
+import com.taskify.services.impl.VersionChecks;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Mono;
+
+@Service
+@Transactional(readOnly = true)
+public class ReactiveTaskServiceImpl implements ReactiveTaskService {
+  private final ReactiveTaskListRepository taskListRepository;
+  private final ReactiveTaskRepository taskRepository;
+  private final TaskMapper taskMapper;
+  private final ReactiveCacheInvalidationPublisher invalidationPublisher;
+
+  public ReactiveTaskServiceImpl(
+      ReactiveTaskListRepository taskListRepository,
+      ReactiveTaskRepository taskRepository,
+      TaskMapper taskMapper,
+      ReactiveCacheInvalidationPublisher invalidationPublisher) {
+    this.taskListRepository = taskListRepository;
+    this.taskRepository = taskRepository;
+    this.taskMapper = taskMapper;
+    this.invalidationPublisher = invalidationPublisher;
+  }
+
+  @Override
+  public Mono<CursorPage<TaskDto>> listTasks(
+      UUID taskListId,
+      TaskFilter filter,
+      TaskSort sort,
+      boolean includeArchived,
+      String cursor,
+      Integer limit) {
+    return Mono.defer(
+        () -> {
+          int pageSize = Pages.limit(limit);
+          Object afterKey = null;
+          UUID afterId = null;
+          if (cursor != null) {
+            Cursor after = Cursor.decode(cursor);
+            if (!sort.toString().equals(after.string(0))) {
+              throw new InvalidCursorException(
+                  "Cursor was issued for sort '" + after.string(0) + "', not '" + sort + "'");
+            }
+            afterKey = sort.field().keyOf(after, 1);
+            afterId = after.uuid(2);
+          }
+
+          Mono<List<Task>> page =
+              taskRepository
+                  .findPage(taskListId, filter, sort, afterKey, afterId, pageSize + 1)
+                  .collectList();
+          if (includeArchived) {
+            // Both tables are read up to a full page in the same order, so merging them yields it.
+            page =
+                page.zipWith(
+                    taskRepository
+                        .findArchivedPage(taskListId, filter, sort, afterKey, afterId, pageSize + 1)
+                        .collectList(),
+                    (tasks, archived) ->
+                        Stream.concat(tasks.stream(), archived.stream())
+                            .sorted(sort.comparator())
+                            .limit(pageSize + 1)
+                            .toList());
+          }
+          return page.map(tasks -> toPage(tasks, sort, pageSize));
+        });
+  }
+
+  private CursorPage<TaskDto> toPage(List<Task> page, TaskSort sort, int pageSize) {
+    String next = null;
+    if (page.size() > pageSize) {
+      page = page.subList(0, pageSize);
+      Task last = page.getLast();
+      next = Cursor.of(sort, sort.field().keyOf(last), last.getId()).encode();
+    }
+    return new CursorPage<>(page.stream().map(taskMapper::toDto).toList(), next);
+  }
+
+  @Override
+  @Transactional
+  public Mono<TaskDto> createTask(UUID taskListId, CreateTaskRequest request) {
+    LocalDateTime now = now();
+    return taskListRepository
+        .adjustCounters(taskListId, 1, 0)
+        .filter(updated -> updated > 0)
+        .switchIfEmpty(
+            Mono.error(
+                () ->
+                    new TaskListNotFoundException(
+                        "Task List not found with ID: "
+                            + taskListId
+                            + " in Task List: "
+                            + taskListId)))
+        .flatMap(
+            updated -> {
+              TaskList taskList = new TaskList();
+              taskList.setId(taskListId);
+
+              Task task = taskMapper.fromCreateRequest(request);
+              task.setId(UuidV7Generator.generate());
+              task.setStatus(TaskStatus.OPEN);
+              task.setCreated(now);
+              task.setUpdated(now);
+              task.setTaskList(taskList);
+              return taskRepository.insert(task);
+            })
+        .flatMap(task -> saved(taskListId, task));
+  }
+
+  @Override
+  public Mono<TaskDto> getTask(UUID taskListId, UUID taskId) {
+    return taskRepository
+        .findByTaskListIdAndId(taskListId, taskId)
+        .switchIfEmpty(taskNotFound(taskListId, taskId))
+        .map(taskMapper::toDto);
+  }
+
+  @Override
+  public Mono<TaskDto> getTaskIncludingArchived(UUID taskListId, UUID taskId) {
+    return taskRepository
+        .findByTaskListIdAndId(taskListId, taskId)
+        .switchIfEmpty(taskRepository.findArchivedByTaskListIdAndId(taskListId, taskId))
+        .switchIfEmpty(taskNotFound(taskListId, taskId))
+        .map(taskMapper::toDto);
+  }
+
+  @Override
+  @Transactional
+  public Mono<TaskDto> updateTask(
+      UUID taskListId, UUID taskId, UpdateTaskRequest request, Long expectedVersion) {
+    return Mono.defer(
+        () -> {
+          LocalDateTime now = now();
+          Task task = taskMapper.fromUpdateRequest(request);
+          if (task.getDueDate() != null) {
+            TaskChecks.requireDueDateAhead(task.getDueDate(), now);
+          }
+          // Properties left out of the request stay as they are, as they do in a patch.
+          TaskPatch patch =
+              TaskPatch.of(
+                  present(task.getTitle()),
+                  present(task.getDescription()),
+                  present(task.getDueDate()),
+                  present(task.getPriority()),
+                  present(task.getStatus()));
+          return write(taskListId, taskId, patch, expectedVersion, now, 1);
+        });
+  }
+
+  @Override
+  @Transactional
+  public Mono<TaskDto> patchTask(
+      UUID taskListId, UUID taskId, TaskPatch patch, Long expectedVersion) {
+    return Mono.defer(
+        () -> {
+          LocalDateTime now = now();
+          TaskChecks.requireValid(patch, now);
+          if (patch.isEmpty()) {
+            // Nothing to write, but a stale If-Match must fail all the same.
+            if (expectedVersion == null) {
+              return getTask(taskListId, taskId);
+            }
+            return taskRepository
+                .findVersionByTaskListIdAndId(taskListId, taskId)
+                .switchIfEmpty(taskNotFound(taskListId, taskId))
+                .doOnNext(
+                    version ->
+                        VersionChecks.requireVersion(
+                            expectedVersion, version.version(), "Task " + taskId))
+                .then(getTask(taskListId, taskId));
+          }
+          return write(taskListId, taskId, patch, expectedVersion, now, 1);
+        });
+  }
+
+  /**
+   * Applies {@code patch} with an {@code UPDATE} that only goes through while the task is still at
+   * the version just read, without locking it, like {@code TaskServiceImpl}. A write without an
+   * expected version that lost the race reads the task again, up to {@link
+   * VersionChecks#WRITE_ATTEMPTS} times.
+   */
+  private Mono<TaskDto> write(
+      UUID taskListId,
+      UUID taskId,
+      TaskPatch patch,
+      Long expectedVersion,
+      LocalDateTime now,
+      int attempt) {
+    String resource = "Task " + taskId;
+    return taskRepository
+        .findVersionByTaskListIdAndId(taskListId, taskId)
+        .switchIfEmpty(taskNotFound(taskListId, taskId))
+        .flatMap(
+            read -> {
+              long version = read.version();
+              VersionChecks.requireVersion(expectedVersion, version, resource);
+              return taskRepository
+                  .patch(taskListId, taskId, patch, version, now)
+                  .flatMap(
+                      patched -> {
+                        TaskStatus status = patched.task().getStatus();
+                        // Other changes show in the validators through the task's row version.
+                        if (status == patched.previousStatus()) {
+                          return saved(taskListId, patched.task());
+                        }
+                        return taskListRepository
+                            .adjustCounters(taskListId, 0, closedDelta(status))
+                            .then(saved(taskListId, patched.task()));
+                      })
+                  .switchIfEmpty(
+                      Mono.defer(
+                          () ->
+                              unchangedOrRetry(
+                                  taskListId,
+                                  taskId,
+                                  patch,
+                                  expectedVersion,
+                                  now,
+                                  attempt,
+                                  version)));
+            });
+  }
+
+  /**
+   * Follows a patch that wrote nothing: the task as it is if it already held every value of the
+   * patch, another attempt if it has moved on to another version and no version was expected, or
+   * the failure of a lost race.
+   */
+  private Mono<TaskDto> unchangedOrRetry(
+      UUID taskListId,
+      UUID taskId,
+      TaskPatch patch,
+      Long expectedVersion,
+      LocalDateTime now,
+      int attempt,
+      long version) {
+    return taskRepository
+        .findByTaskListIdAndId(taskListId, taskId)
+        .switchIfEmpty(taskNotFound(taskListId, taskId))
+        .flatMap(
+            task -> {
+              if (task.getVersion() == version) {
+                return Mono.just(taskMapper.toDto(task));
+              }
+              if (expectedVersion != null || attempt == VersionChecks.WRITE_ATTEMPTS) {
+                return Mono.error(VersionChecks.lostRace(expectedVersion, "Task " + taskId));
+              }
+              return write(taskListId, taskId, patch, expectedVersion, now, attempt + 1);
+            });
+  }
+
+  @Override
+  @Transactional
+  public Mono<Void> deleteTask(UUID taskListId, UUID taskId, Long expectedVersion) {
+    String resource = "Task " + taskId;
+    return taskRepository
+        .delete(taskListId, taskId, expectedVersion)
+        .flatMap(
+            status ->
+                taskListRepository
+                    .adjustCounters(taskListId, -1, status == TaskStatus.CLOSED ? -1 : 0)
+                    .thenReturn(status))
+        .switchIfEmpty(
+            expectedVersion != null
+                ? taskRepository
+                    .findVersionByTaskListIdAndId(taskListId, taskId)
+                    .flatMap(version -> Mono.<TaskStatus>error(VersionChecks.mismatch(resource)))
+                    .switchIfEmpty(Mono.error(() -> VersionChecks.missing(resource)))
+                : Mono.empty())
+        .then(invalidationPublisher.publish(CacheInvalidation.taskChanged(taskListId, taskId)));
+  }
+
+  @Override
+  public Mono<ResourceVersion> getTaskVersion(UUID taskListId, UUID taskId) {
+    return taskRepository.findVersionByTaskListIdAndId(taskListId, taskId);
+  }
+
+  @Override
+  public Mono<ResourceVersion> getTaskVersionIncludingArchived(UUID taskListId, UUID taskId) {
+    return taskRepository
+        .findVersionByTaskListIdAndId(taskListId, taskId)
+        .switchIfEmpty(taskRepository.findArchivedVersionByTaskListIdAndId(taskListId, taskId));
+  }
+
+  @Override
+  public Mono<ResourceVersion> getTasksVersion(UUID taskListId) {
+    return taskListRepository.findStampsById(taskListId).map(TaskListStamps::tasksVersion);
+  }
+
+  private Mono<TaskDto> saved(UUID taskListId, Task task) {
+    return invalidationPublisher
+        .publish(CacheInvalidation.taskChanged(taskListId, task.getId()))
+        .thenReturn(taskMapper.toDto(task));
+  }
+
+  private static <T> Mono<T> taskNotFound(UUID taskListId, UUID taskId) {
+    return Mono.error(
+        () ->
+            new TaskNotFoundException(
+                "Task not found with ID: " + taskId + " in Task List: " + taskListId));
+  }
+
+  /** The change in a task list's closed count when one of its tasks moves to {@code status}. */
+  private static int closedDelta(TaskStatus status) {
+    return status == TaskStatus.CLOSED ? 1 : -1;
+  }
+
+  /** A property of a patch that sets {@code value}, or leaves the property alone if it is null. */
+  private static <T> Optional<T> present(T value) {
+    return value != null ? Optional.of(value) : null;
+  }
+
+  /** Postgres keeps microseconds, so timestamps are cut to those before they are written. */
+  private static LocalDateTime now() {
+    return LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+  }
+}
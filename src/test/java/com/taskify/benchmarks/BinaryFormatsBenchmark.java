@@ -0,0 +1,160 @@
+package com.taskify.benchmarks;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskify.BaseIntegrationTest;
+import com.taskify.dtos.TaskListDto;
+import com.taskify.services.TaskListService;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+/**
+ * Size, encoding and decoding time of a task list with {@value #TASKS} tasks in JSON, CBOR and
+ * Smile, written and read by the object mappers of the application's message converters, and the
+ * latency of getting it through MockMvc in each format. Sizes are also given gzipped, which is what
+ * JSON clients that can compress get. Run with {@code mvn test -Pbenchmarks}.
+ */
+@Tag("benchmark")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class BinaryFormatsBenchmark extends BaseIntegrationTest {
+
+  private static final int TASKS = 1_000;
+  private static final int WARMUPS = 200;
+  private static final int ITERATIONS = 1_000;
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private TaskListService taskListService;
+  @Autowired private RequestMappingHandlerAdapter handlerAdapter;
+  @Autowired private MockMvc mockMvc;
+
+  private UUID taskListId;
+  private TaskListDto taskList;
+
+  @BeforeAll
+  void seed() {
+    taskListId = new TaskDataGenerator(jdbcTemplate, 42).seed(1, TASKS).getFirst();
+    taskList = taskListService.getTaskList(taskListId);
+  }
+
+  @AfterAll
+  void cleanUp() {
+    new TaskDataGenerator(jdbcTemplate, 42).delete(List.of(taskListId));
+  }
+
+  @Test
+  @DisplayName("CBOR and Smile should encode a task list smaller than JSON")
+  void compareFormats() {
+    Format json =
+        format("JSON", MediaType.APPLICATION_JSON, MappingJackson2HttpMessageConverter.class);
+    Format cbor =
+        format("CBOR", MediaType.APPLICATION_CBOR, MappingJackson2CborHttpMessageConverter.class);
+    Format smile =
+        format(
+            "Smile",
+            new MediaType("application", "x-jackson-smile"),
+            MappingJackson2SmileHttpMessageConverter.class);
+
+    List<Measurement> measurements = new ArrayList<>();
+    for (Format format : List.of(json, cbor, smile)) {
+      byte[] bytes = format.write(taskList);
+      assertEquals(taskList, format.read(bytes));
+      System.out.printf(
+          "%-40s %,10d B  gzipped %,10d B%n", format.name() + " size", bytes.length, gzip(bytes));
+      measurements.add(
+          Measurement.of(
+              format.name() + " encode", WARMUPS, ITERATIONS, () -> format.write(taskList)));
+      measurements.add(
+          Measurement.of(format.name() + " decode", WARMUPS, ITERATIONS, () -> format.read(bytes)));
+      measurements.add(
+          Measurement.of(
+              format.name() + " GET task list",
+              WARMUPS,
+              ITERATIONS,
+              () -> format.fetch(taskListId)));
+    }
+    measurements.forEach(System.out::println);
+
+    assertTrue(cbor.write(taskList).length < json.write(taskList).length);
+    assertTrue(smile.write(taskList).length < json.write(taskList).length);
+  }
+
+  private Format format(
+      String name,
+      MediaType mediaType,
+      Class<? extends AbstractJackson2HttpMessageConverter> converterType) {
+    ObjectMapper objectMapper =
+        handlerAdapter.getMessageConverters().stream()
+            .filter(converter -> converter.getClass() == converterType)
+            .map(converter -> ((AbstractJackson2HttpMessageConverter) converter).getObjectMapper())
+            .findFirst()
+            .orElseThrow();
+    return new Format(name, mediaType, objectMapper, mockMvc);
+  }
+
+  private static long gzip(byte[] bytes) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+      gzip.write(bytes);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    return out.size();
+  }
+
+  private record Format(
+      String name, MediaType mediaType, ObjectMapper objectMapper, MockMvc mockMvc) {
+
+    byte[] write(TaskListDto taskList) {
+      try {
+        return objectMapper.writeValueAsBytes(taskList);
+      } catch (IOException ex) {
+        throw new UncheckedIOException(ex);
+      }
+    }
+
+    TaskListDto read(byte[] bytes) {
+      try {
+        return objectMapper.readValue(bytes, TaskListDto.class);
+      } catch (IOException ex) {
+        throw new UncheckedIOException(ex);
+      }
+    }
+
+    void fetch(UUID taskListId) {
+      try {
+        read(
+            mockMvc
+                .perform(get("/api/v1/task-lists/{id}", taskListId).accept(mediaType))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray());
+      } catch (Exception ex) {
+        throw new IllegalStateException(ex);
+      }
+    }
+  }
+}
@@ -0,0 +1,214 @@
+package com.taskify.benchmarks;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskify.Application;
+import com.taskify.BaseIntegrationTest;
+import com.taskify.grpc.GrpcServer;
+import com.taskify.grpc.v1.GetTaskListRequest;
+import com.taskify.grpc.v1.ListTasksRequest;
+import com.taskify.grpc.v1.Task;
+import com.taskify.grpc.v1.TaskList;
+import com.taskify.grpc.v1.TaskListsGrpc;
+import com.taskify.grpc.v1.TasksGrpc;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Payload size and latency of reading a task list of {@value #TASKS} tasks over REST and over gRPC
+ * from one node, first as a whole and then by walking all of its tasks, a page of {@value
+ * #PAGE_SIZE} at a time over REST and as one stream over gRPC. Payloads are compared as they go on
+ * the wire, uncompressed, and latencies include the client's parsing of the response. REST answers
+ * also look up the validators of the resource for its ETag, which gRPC does not. Run with {@code
+ * mvn test -Pbenchmarks}.
+ */
+@Tag("benchmark")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class GrpcBenchmark extends BaseIntegrationTest {
+
+  private static final int TASKS = 1_000;
+  private static final int PAGE_SIZE = 100;
+  private static final int WARMUPS = 200;
+  private static final int ITERATIONS = 1_000;
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private JdbcConnectionDetails connectionDetails;
+  @Autowired private ObjectMapper objectMapper;
+
+  private UUID taskListId;
+  private ConfigurableApplicationContext node;
+  private HttpClient client;
+  private ManagedChannel channel;
+  private String baseUrl;
+  private TaskListsGrpc.TaskListsBlockingStub taskLists;
+  private TasksGrpc.TasksBlockingStub tasks;
+
+  @BeforeAll
+  void seedAndStartNode() {
+    taskListId = new TaskDataGenerator(jdbcTemplate, 42).seed(1, TASKS).getFirst();
+    node =
+        new SpringApplicationBuilder(Application.class)
+            .run(
+                "--server.port=0",
+                "--taskify.grpc.enabled=true",
+                "--taskify.grpc.port=0",
+                "--spring.docker.compose.enabled=false",
+                "--spring.flyway.enabled=false",
+                "--spring.datasource.url=" + connectionDetails.getJdbcUrl(),
+                "--spring.datasource.username=" + connectionDetails.getUsername(),
+                "--spring.datasource.password=" + connectionDetails.getPassword(),
+                "--logging.level.root=warn");
+    baseUrl =
+        "http://localhost:"
+            + ((WebServerApplicationContext) node).getWebServer().getPort()
+            + "/api/v1/task-lists/"
+            + taskListId;
+    client = HttpClient.newHttpClient();
+    channel =
+        ManagedChannelBuilder.forAddress("localhost", node.getBean(GrpcServer.class).getPort())
+            .usePlaintext()
+            .build();
+    taskLists = TaskListsGrpc.newBlockingStub(channel);
+    tasks = TasksGrpc.newBlockingStub(channel);
+  }
+
+  @AfterAll
+  void stopNodeAndCleanUp() {
+    if (channel != null) {
+      channel.shutdownNow();
+    }
+    if (client != null) {
+      client.close();
+    }
+    if (node != null) {
+      node.close();
+    }
+    new TaskDataGenerator(jdbcTemplate, 42).delete(List.of(taskListId));
+  }
+
+  @Test
+  @DisplayName("gRPC payloads should be smaller than the JSON of the REST API")
+  void comparePayloadSizes() {
+    byte[] json = get(baseUrl);
+    TaskList message = getTaskList();
+    assertEquals(TASKS, parse(json).get("tasks").size());
+    assertEquals(TASKS, message.getTasksCount());
+    printSize("task list with " + TASKS + " tasks", json.length, message.getSerializedSize());
+
+    byte[] page = get(baseUrl + "/tasks?limit=" + PAGE_SIZE);
+    long pageOfMessages = 0;
+    Iterator<Task> stream = tasks.listTasks(listTasks());
+    for (int i = 0; i < PAGE_SIZE; i++) {
+      // Every message of a stream is framed by a flag and its length, 5 bytes on the wire.
+      pageOfMessages += stream.next().getSerializedSize() + 5L;
+    }
+    printSize("page of " + PAGE_SIZE + " tasks", page.length, pageOfMessages);
+
+    assertTrue(message.getSerializedSize() < json.length);
+    assertTrue(pageOfMessages < page.length);
+  }
+
+  @Test
+  @DisplayName("gRPC should read a task list faster than REST at p99")
+  void compareLatencies() {
+    Measurement rest =
+        Measurement.of("REST GET task list", WARMUPS, ITERATIONS, () -> parse(get(baseUrl)));
+    Measurement grpc = Measurement.of("gRPC GetTaskList", WARMUPS, ITERATIONS, this::getTaskList);
+    Measurement restPages =
+        Measurement.of(
+            "REST GET tasks, every page", WARMUPS / 10, ITERATIONS / 10, this::pageAllTasks);
+    Measurement grpcStream =
+        Measurement.of(
+            "gRPC ListTasks, one stream", WARMUPS / 10, ITERATIONS / 10, this::streamAllTasks);
+
+    List.of(rest, grpc, restPages, grpcStream).forEach(System.out::println);
+    assertTrue(grpc.p99Millis() < rest.p99Millis());
+  }
+
+  private TaskList getTaskList() {
+    return taskLists.getTaskList(
+        GetTaskListRequest.newBuilder().setId(taskListId.toString()).build());
+  }
+
+  private ListTasksRequest listTasks() {
+    return ListTasksRequest.newBuilder().setTaskListId(taskListId.toString()).build();
+  }
+
+  private void pageAllTasks() {
+    int read = 0;
+    String cursor = null;
+    do {
+      JsonNode page =
+          parse(
+              get(
+                  baseUrl
+                      + "/tasks?limit="
+                      + PAGE_SIZE
+                      + (cursor != null ? "&cursor=" + cursor : "")));
+      read += page.get("items").size();
+      cursor = page.get("next").isNull() ? null : page.get("next").asText();
+    } while (cursor != null);
+    assertEquals(TASKS, read);
+  }
+
+  private void streamAllTasks() {
+    int read = 0;
+    for (Iterator<Task> stream = tasks.listTasks(listTasks()); stream.hasNext(); stream.next()) {
+      read++;
+    }
+    assertEquals(TASKS, read);
+  }
+
+  private byte[] get(String url) {
+    try {
+      HttpResponse<byte[]> response =
+          client.send(
+              HttpRequest.newBuilder(URI.create(url)).build(),
+              HttpResponse.BodyHandlers.ofByteArray());
+      assertEquals(200, response.statusCode());
+      return response.body();
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(ex);
+    }
+  }
+
+  private JsonNode parse(byte[] json) {
+    try {
+      return objectMapper.readTree(json);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  private static void printSize(String name, long restBytes, long grpcBytes) {
+    System.out.printf(
+        "%-40s REST %,10d B  gRPC %,10d B  (%.0f%%)%n",
+        name, restBytes, grpcBytes, 100.0 * grpcBytes / restBytes);
+  }
+}
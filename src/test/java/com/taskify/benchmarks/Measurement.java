@@ -0,0 +1,46 @@
+package com.taskify.benchmarks;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+/**
+ * Latency percentiles and heap allocation per operation of a repeatedly executed action, measured
+ * on the calling thread after a warm-up.
+ */
+record Measurement(
+    String name, double p50Millis, double p95Millis, double p99Millis, long bytesPerOp) {
+
+  private static final com.sun.management.ThreadMXBean THREADS =
+      (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+  static Measurement of(String name, int warmups, int iterations, Runnable action) {
+    for (int i = 0; i < warmups; i++) {
+      action.run();
+    }
+
+    long threadId = Thread.currentThread().threadId();
+    long[] nanos = new long[iterations];
+    long allocatedBefore = THREADS.getThreadAllocatedBytes(threadId);
+    for (int i = 0; i < iterations; i++) {
+      long start = System.nanoTime();
+      action.run();
+      nanos[i] = System.nanoTime() - start;
+    }
+    long allocated = THREADS.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+    Arrays.sort(nanos);
+    return new Measurement(
+        name,
+        nanos[(int) (iterations * 0.50)] / 1e6,
+        nanos[Math.min(iterations - 1, (int) (iterations * 0.95))] / 1e6,
+        nanos[Math.min(iterations - 1, (int) (iterations * 0.99))] / 1e6,
+        allocated / iterations);
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "%-40s p50 %9.3f ms  p95 %9.3f ms  p99 %9.3f ms  %,14d B/op",
+        name, p50Millis, p95Millis, p99Millis, bytesPerOp);
+  }
+}
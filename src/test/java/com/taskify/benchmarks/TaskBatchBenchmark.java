@@ -0,0 +1,90 @@
+package com.taskify.benchmarks;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.taskify.BaseIntegrationTest;
+import com.taskify.dtos.CreateTaskListRequest;
+import com.taskify.dtos.CreateTaskRequest;
+import com.taskify.entities.TaskPriority;
+import com.taskify.services.TaskBatchService;
+import com.taskify.services.TaskListService;
+import com.taskify.services.TaskService;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Rows per second of creating {@value #TASKS} tasks one request at a time versus in a single batch,
+ * through the services and against the real database. Run with {@code mvn test -Pbenchmarks}.
+ */
+@Tag("benchmark")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TaskBatchBenchmark extends BaseIntegrationTest {
+
+  private static final int TASKS = 2_000;
+
+  @Autowired private TaskService taskService;
+  @Autowired private TaskBatchService taskBatchService;
+  @Autowired private TaskListService taskListService;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  private final List<UUID> taskListIds = new ArrayList<>();
+
+  @AfterAll
+  void cleanUp() {
+    new TaskDataGenerator(jdbcTemplate, 42).delete(taskListIds);
+  }
+
+  @Test
+  @DisplayName("A batch create should insert many times more rows per second than single creates")
+  void compareSingleAndBatchCreates() {
+    List<CreateTaskRequest> requests = new ArrayList<>(TASKS);
+    for (int i = 0; i < TASKS; i++) {
+      requests.add(
+          new CreateTaskRequest(
+              "Imported task " + i,
+              i % 2 == 0 ? null : "Imported from the legacy tracker",
+              LocalDateTime.now().plusDays(1 + i % 30),
+              TaskPriority.values()[i % TaskPriority.values().length]));
+    }
+
+    Measurement single =
+        Measurement.of(
+            TASKS + " single creates",
+            1,
+            3,
+            () -> {
+              UUID taskListId = createTaskList();
+              requests.forEach(request -> taskService.createTask(taskListId, request));
+            });
+    Measurement batch =
+        Measurement.of(
+            "batch of " + TASKS,
+            2,
+            10,
+            () ->
+                assertEquals(
+                    TASKS, taskBatchService.createTasks(createTaskList(), requests).created()));
+
+    for (Measurement measurement : List.of(single, batch)) {
+      System.out.printf(
+          "%s  %,10.0f rows/s%n", measurement, TASKS / (measurement.p50Millis() / 1000));
+    }
+    assertTrue(batch.p50Millis() < single.p50Millis());
+  }
+
+  private UUID createTaskList() {
+    UUID taskListId =
+        taskListService.createTaskList(new CreateTaskListRequest("Import", null)).id();
+    taskListIds.add(taskListId);
+    return taskListId;
+  }
+}
@@ -0,0 +1,163 @@
+package com.taskify.benchmarks;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.taskify.BaseIntegrationTest;
+import com.taskify.dtos.ResourceVersion;
+import com.taskify.dtos.UpdateTaskRequest;
+import com.taskify.entities.TaskStatus;
+import com.taskify.exceptions.PreconditionFailedException;
+import com.taskify.services.TaskService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Writes per second of {@value #WRITERS} writers updating tasks of one hot task list, either all on
+ * the same {@value #HOT_TASKS} tasks or spread over all {@value #TASKS}. No write takes a lock
+ * ahead of its conditional update: unconditional ones retry once another write got there first,
+ * while those with {@code If-Match} fail. Every write renames a task and sets a random status, so
+ * half of them also move the counters of the task list. Afterwards the versions of the tasks must
+ * have moved by exactly the number of successful writes, which no overwritten update could. Run
+ * with {@code mvn test -Pbenchmarks}.
+ */
+@Tag("benchmark")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TaskContentionBenchmark extends BaseIntegrationTest {
+
+  private static final int WRITERS = 16;
+  private static final int WRITES_PER_WRITER = 100;
+  private static final int TASKS = 256;
+  private static final int HOT_TASKS = 8;
+
+  @Autowired private TaskService taskService;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  private UUID taskListId;
+  private List<UUID> taskIds;
+
+  @BeforeAll
+  void seed() {
+    taskListId = new TaskDataGenerator(jdbcTemplate, 42).seed(1, TASKS).getFirst();
+    taskIds =
+        jdbcTemplate.queryForList(
+            "select id from tasks where task_list_id = ?", UUID.class, taskListId);
+  }
+
+  @AfterAll
+  void cleanUp() {
+    new TaskDataGenerator(jdbcTemplate, 42).delete(List.of(taskListId));
+  }
+
+  @Test
+  @DisplayName("Concurrent writes to one hot task list should never overwrite each other")
+  void compareUnconditionalAndConditionalWrites() throws Exception {
+    run("warm-up", TASKS, false);
+    List<Result> results =
+        List.of(
+            run("unconditional, " + HOT_TASKS + " tasks", HOT_TASKS, false),
+            run("If-Match, " + HOT_TASKS + " tasks", HOT_TASKS, true),
+            run("unconditional, " + TASKS + " tasks", TASKS, false),
+            run("If-Match, " + TASKS + " tasks", TASKS, true));
+
+    for (Result result : results) {
+      System.out.println(result);
+      assertEquals(WRITERS * WRITES_PER_WRITER, result.succeeded() + result.failed());
+      assertTrue(result.succeeded() > 0);
+    }
+    assertEquals(
+        jdbcTemplate.queryForObject(
+            "select count(*) from tasks where task_list_id = ? and status = ?",
+            Integer.class,
+            taskListId,
+            TaskStatus.CLOSED.ordinal()),
+        jdbcTemplate.queryForObject(
+            "select closed_count from task_lists where id = ?", Integer.class, taskListId));
+  }
+
+  private Result run(String name, int tasks, boolean conditional) throws Exception {
+    long versionsBefore = sumOfVersions();
+    AtomicInteger succeeded = new AtomicInteger();
+    AtomicInteger failed = new AtomicInteger();
+    long start = System.nanoTime();
+    try (ExecutorService writers = Executors.newFixedThreadPool(WRITERS)) {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int writer = 0; writer < WRITERS; writer++) {
+        int w = writer;
+        futures.add(
+            writers.submit(
+                () -> {
+                  for (int i = 0; i < WRITES_PER_WRITER; i++) {
+                    if (write(w + "-" + i, tasks, conditional)) {
+                      succeeded.incrementAndGet();
+                    } else {
+                      failed.incrementAndGet();
+                    }
+                  }
+                }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    }
+    double seconds = (System.nanoTime() - start) / 1e9;
+
+    assertEquals(succeeded.get(), sumOfVersions() - versionsBefore);
+    return new Result(name, succeeded.get(), failed.get(), seconds);
+  }
+
+  /** Returns whether the write went through, or false for a 412 or 409 response. */
+  private boolean write(String title, int tasks, boolean conditional) {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    UUID taskId = taskIds.get(random.nextInt(tasks));
+    Long expectedVersion =
+        conditional
+            ? taskService
+                .getTaskVersion(taskListId, taskId)
+                .map(ResourceVersion::version)
+                .orElseThrow()
+            : null;
+    UpdateTaskRequest request =
+        new UpdateTaskRequest(
+            title,
+            null,
+            null,
+            null,
+            TaskStatus.values()[random.nextInt(TaskStatus.values().length)]);
+    try {
+      taskService.updateTask(taskListId, taskId, request, expectedVersion);
+      return true;
+    } catch (PreconditionFailedException | OptimisticLockingFailureException ex) {
+      return false;
+    }
+  }
+
+  private long sumOfVersions() {
+    return jdbcTemplate.queryForObject(
+        "select sum(version) from tasks where task_list_id = ?", Long.class, taskListId);
+  }
+
+  private record Result(String name, int succeeded, int failed, double seconds) {
+
+    @Override
+    public String toString() {
+      return String.format(
+          "%-28s %,8.0f writes/s  %,6d ok  %,6d 409/412",
+          name, (succeeded + failed) / seconds, succeeded, failed);
+    }
+  }
+}
@@ -0,0 +1,196 @@
+package com.taskify.benchmarks;
+
+import com.taskify.entities.TaskPriority;
+import com.taskify.entities.TaskStatus;
+import com.taskify.entities.UuidV7Generator;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Seeds task lists and tasks with reproducible pseudo-English text through {@code COPY}, fast
+ * enough to load millions of rows. Words are drawn with a skewed distribution, so the first words
+ * of {@link #WORDS} are common and the last ones rare, like in real text. Stored task counters are
+ * filled in, so the data is consistent with what the application would have written.
+ */
+final class TaskDataGenerator {
+
+  static final List<String> WORDS =
+      List.of(
+          """
+          review update team report meeting plan client draft email call design budget
+          release fix deploy schedule prepare document test invoice website proposal
+          contract order backup garden grocery dentist laundry birthday flight hotel
+          insurance mortgage warranty recipe workshop interview onboarding migration
+          database security audit quarterly roadmap newsletter webinar inventory shipment
+          supplier renewal compliance benchmark prototype workflow retrospective
+          architecture accessibility localization penetration kubernetes observability
+          refactoring telemetry escrow sabbatical calligraphy harpsichord xylophone
+          zeppelin
+          """
+              .split("\\s+"));
+
+  private static final int BUFFER_BYTES = 1 << 20;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final Random random;
+
+  TaskDataGenerator(JdbcTemplate jdbcTemplate, long seed) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.random = new Random(seed);
+  }
+
+  /**
+   * Creates {@code taskLists} task lists of {@code tasksPerList} tasks each and returns their ids.
+   */
+  List<UUID> seed(int taskLists, int tasksPerList) {
+    LocalDateTime now = LocalDateTime.now();
+    List<UUID> taskListIds = new ArrayList<>(taskLists);
+    BitSet closed = new BitSet(taskLists * tasksPerList);
+    for (int i = 0; i < taskLists * tasksPerList; i++) {
+      closed.set(i, random.nextInt(4) == 0);
+    }
+
+    StringBuilder rows = new StringBuilder();
+    try (Copy copy =
+        new Copy(
+            "COPY task_lists (id, title, description, created, updated, task_count, closed_count)"
+                + " FROM STDIN WITH (FORMAT csv)")) {
+      for (int list = 0; list < taskLists; list++) {
+        UUID taskListId = UuidV7Generator.generate();
+        taskListIds.add(taskListId);
+        rows.append(taskListId)
+            .append(",Seeded ")
+            .append(list)
+            .append(",,")
+            .append(now)
+            .append(',')
+            .append(now)
+            .append(',')
+            .append(tasksPerList)
+            .append(',')
+            .append(closed.get(list * tasksPerList, (list + 1) * tasksPerList).cardinality())
+            .append('\n');
+        copy.writeIfFull(rows);
+      }
+      copy.end(rows);
+    }
+
+    try (Copy copy =
+        new Copy(
+            "COPY tasks (id, title, description, due_date, priority, status, created, updated,"
+                + " task_list_id) FROM STDIN WITH (FORMAT csv)")) {
+      for (int list = 0; list < taskLists; list++) {
+        for (int task = 0; task < tasksPerList; task++) {
+          TaskStatus status =
+              closed.get(list * tasksPerList + task) ? TaskStatus.CLOSED : TaskStatus.OPEN;
+          rows.append(UuidV7Generator.generate())
+              .append(',')
+              .append(words(3, 6))
+              .append(',')
+              .append(random.nextInt(10) < 3 ? "" : words(8, 20))
+              .append(',')
+              .append(now.plusMinutes(random.nextInt(60 * 24 * 365)))
+              .append(',')
+              .append(random.nextInt(TaskPriority.values().length))
+              .append(',')
+              .append(status.ordinal())
+              .append(',')
+              .append(now)
+              .append(',')
+              .append(now)
+              .append(',')
+              .append(taskListIds.get(list))
+              .append('\n');
+          copy.writeIfFull(rows);
+        }
+      }
+      copy.end(rows);
+    }
+
+    jdbcTemplate.execute("ANALYZE task_lists, tasks");
+    return taskListIds;
+  }
+
+  void delete(List<UUID> taskListIds) {
+    UUID[] ids = taskListIds.toArray(UUID[]::new);
+    jdbcTemplate.update("DELETE FROM tasks WHERE task_list_id = ANY (?)", (Object) ids);
+    jdbcTemplate.update("DELETE FROM task_lists WHERE id = ANY (?)", (Object) ids);
+  }
+
+  private String words(int min, int max) {
+    int count = min + random.nextInt(max - min + 1);
+    StringBuilder text = new StringBuilder();
+    for (int i = 0; i < count; i++) {
+      if (i > 0) {
+        text.append(' ');
+      }
+      // Cubing a uniform draw skews towards the front of the vocabulary.
+      double skewed = Math.pow(random.nextDouble(), 3);
+      text.append(WORDS.get((int) (skewed * WORDS.size())));
+    }
+    return text.toString();
+  }
+
+  /** A {@code COPY ... FROM STDIN} on its own auto-commit connection, fed in chunks. */
+  private final class Copy implements AutoCloseable {
+
+    private final Connection connection;
+    private final CopyIn copyIn;
+
+    Copy(String sql) {
+      try {
+        this.connection = jdbcTemplate.getDataSource().getConnection();
+        this.copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(sql);
+      } catch (SQLException ex) {
+        throw new IllegalStateException(ex);
+      }
+    }
+
+    void writeIfFull(StringBuilder rows) {
+      if (rows.length() >= BUFFER_BYTES) {
+        write(rows);
+      }
+    }
+
+    void end(StringBuilder rows) {
+      write(rows);
+      try {
+        copyIn.endCopy();
+      } catch (SQLException ex) {
+        throw new IllegalStateException(ex);
+      }
+    }
+
+    private void write(StringBuilder rows) {
+      byte[] bytes = rows.toString().getBytes(StandardCharsets.UTF_8);
+      try {
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+      } catch (SQLException ex) {
+        throw new IllegalStateException(ex);
+      }
+      rows.setLength(0);
+    }
+
+    @Override
+    public void close() {
+      try {
+        if (copyIn.isActive()) {
+          copyIn.cancelCopy();
+        }
+        connection.close();
+      } catch (SQLException ex) {
+        throw new IllegalStateException(ex);
+      }
+    }
+  }
+}
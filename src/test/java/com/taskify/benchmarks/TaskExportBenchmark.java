@@ -0,0 +1,123 @@
+package com.taskify.benchmarks;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.taskify.BaseIntegrationTest;
+import com.taskify.dtos.TaskExportDto;
+import com.taskify.dtos.TaskExportFilter;
+import com.taskify.services.TaskExportService;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Throughput and old generation growth of exporting one task list and then all {@code
+ * benchmark.export.tasks} tasks (200,000 by default) as NDJSON to a discarding stream. With a
+ * streaming cursor the old generation should not grow with the size of the export. Run with {@code
+ * mvn test -Pbenchmarks}.
+ */
+@Tag("benchmark")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TaskExportBenchmark extends BaseIntegrationTest {
+
+  private static final int TASKS = Integer.getInteger("benchmark.export.tasks", 200_000);
+  private static final int TASKS_PER_LIST = 10_000;
+
+  @Autowired private TaskExportService taskExportService;
+  @Autowired private ObjectMapper objectMapper;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  private TaskDataGenerator generator;
+  private List<UUID> taskListIds;
+
+  @BeforeAll
+  void seed() {
+    generator = new TaskDataGenerator(jdbcTemplate, 42);
+    taskListIds = generator.seed(TASKS / TASKS_PER_LIST, TASKS_PER_LIST);
+  }
+
+  @AfterAll
+  void cleanUp() {
+    generator.delete(taskListIds);
+  }
+
+  @Test
+  @DisplayName("Exports should stream at a steady rate in constant memory")
+  void exportThroughputAndMemory() {
+    TaskExportFilter oneList = new TaskExportFilter(taskListIds.getFirst(), null, null);
+    export("warm-up", oneList);
+
+    assertEquals(TASKS_PER_LIST, export("one list", oneList));
+    assertTrue(export("all tasks", TaskExportFilter.NONE) >= TASKS);
+  }
+
+  private long export(String name, TaskExportFilter filter) {
+    ObjectWriter writer = objectMapper.writerFor(TaskExportDto.class);
+    CountingOutputStream out = new CountingOutputStream();
+    List<MemoryPoolMXBean> oldGen = oldGeneration();
+
+    System.gc();
+    long usedBefore = oldGen.stream().mapToLong(pool -> pool.getUsage().getUsed()).sum();
+    oldGen.forEach(MemoryPoolMXBean::resetPeakUsage);
+    long start = System.nanoTime();
+    long rows =
+        taskExportService.exportTasks(
+            filter,
+            task -> {
+              try {
+                writer.writeValue(out, task);
+                out.write('\n');
+              } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+              }
+            });
+    double seconds = (System.nanoTime() - start) / 1e9;
+    long peak = oldGen.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+
+    System.out.printf(
+        "%-10s %,9d rows  %,12d B  %9.0f rows/s  old gen +%,d KB%n",
+        name, rows, out.count, rows / seconds, Math.max(0, peak - usedBefore) / 1024);
+    return rows;
+  }
+
+  private static List<MemoryPoolMXBean> oldGeneration() {
+    return ManagementFactory.getMemoryPoolMXBeans().stream()
+        .filter(pool -> pool.getType() == MemoryType.HEAP)
+        .filter(pool -> pool.getName().contains("Old") || pool.getName().contains("Tenured"))
+        .toList();
+  }
+
+  private static final class CountingOutputStream extends OutputStream {
+    private long count;
+
+    @Override
+    public void write(int b) {
+      count++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+      count += len;
+    }
+
+    @Override
+    public void close() {
+      // The writer closes the stream after every value.
+    }
+  }
+}
@@ -0,0 +1,93 @@
+package com.taskify.benchmarks;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+import com.taskify.BaseIntegrationTest;
+import com.taskify.cache.CacheInvalidator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+/**
+ * Response size and allocation per request of task reads with and without a sparse fieldset,
+ * measured through the whole MVC stack with the caches cleared before every request. Run with
+ * {@code mvn test -Pbenchmarks}.
+ */
+@Tag("benchmark")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TaskFieldsBenchmark extends BaseIntegrationTest {
+
+  private static final int TASKS = 1_000;
+  private static final String LIST_FIELDS = "id,title,status,dueDate";
+
+  @Autowired private MockMvc mockMvc;
+  @Autowired private CacheInvalidator cacheInvalidator;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  private TaskDataGenerator generator;
+  private List<UUID> taskListIds;
+
+  @BeforeAll
+  void seed() {
+    generator = new TaskDataGenerator(jdbcTemplate, 42);
+    taskListIds = generator.seed(1, TASKS);
+  }
+
+  @AfterAll
+  void cleanUp() {
+    generator.delete(taskListIds);
+  }
+
+  @Test
+  @DisplayName("Sparse fieldsets should shrink responses and allocate less")
+  void compareFullAndSparseReads() throws Exception {
+    UUID taskListId = taskListIds.getFirst();
+    String tasksPage = "/api/v1/task-lists/{id}/tasks?limit=100";
+    String taskList = "/api/v1/task-lists/{id}";
+
+    List<Measurement> measurements = new ArrayList<>();
+    List<String> sizes = new ArrayList<>();
+    for (String fields : new String[] {null, LIST_FIELDS}) {
+      String suffix = fields == null ? " (all fields)" : " (" + fields + ")";
+      RequestBuilder page =
+          get(tasksPage + (fields == null ? "" : "&fields=" + fields), taskListId);
+      RequestBuilder list = get(taskList + (fields == null ? "" : "?fields=" + fields), taskListId);
+
+      sizes.add(String.format("%-48s %,10d B", "100 tasks" + suffix, bytes(page)));
+      sizes.add(String.format("%-48s %,10d B", TASKS + " embedded tasks" + suffix, bytes(list)));
+      measurements.add(Measurement.of("100 tasks" + suffix, 20, 100, () -> perform(page)));
+      measurements.add(
+          Measurement.of(TASKS + " embedded tasks" + suffix, 10, 50, () -> perform(list)));
+    }
+
+    sizes.forEach(System.out::println);
+    measurements.forEach(System.out::println);
+    assertTrue(measurements.get(2).bytesPerOp() < measurements.get(0).bytesPerOp());
+    assertTrue(measurements.get(3).bytesPerOp() < measurements.get(1).bytesPerOp());
+  }
+
+  private int bytes(RequestBuilder request) throws Exception {
+    cacheInvalidator.clearAll();
+    return mockMvc.perform(request).andReturn().getResponse().getContentAsByteArray().length;
+  }
+
+  private void perform(RequestBuilder request) {
+    cacheInvalidator.clearAll();
+    try {
+      assertEquals(200, mockMvc.perform(request).andReturn().getResponse().getStatus());
+    } catch (Exception ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+}
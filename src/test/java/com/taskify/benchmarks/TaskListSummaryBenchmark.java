@@ -0,0 +1,87 @@
+package com.taskify.benchmarks;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.taskify.BaseDataJpaTest;
+import com.taskify.dtos.TaskListDto;
+import com.taskify.entities.TaskList;
+import com.taskify.entities.TaskStatus;
+import com.taskify.mappers.TaskListMapper;
+import com.taskify.mappers.impl.TaskListMapperImpl;
+import com.taskify.mappers.impl.TaskMapperImpl;
+import com.taskify.repositories.TaskListRepository;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Compares reading a task list's count and progress through the entity graph, which hydrates every
+ * task, with the summary projection of its stored counters. Run with {@code mvn test -Pbenchmarks}.
+ */
+@Tag("benchmark")
+class TaskListSummaryBenchmark extends BaseDataJpaTest {
+
+  private final TaskListMapper taskListMapper = new TaskListMapperImpl(new TaskMapperImpl());
+
+  @Autowired private TaskListRepository taskListRepository;
+  @Autowired private TestEntityManager entityManager;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @ParameterizedTest(name = "{0} tasks")
+  @ValueSource(ints = {10, 1_000, 100_000})
+  @DisplayName("Summary projection should allocate less than the entity graph")
+  void compareEntityGraphWithSummaryProjection(int tasks) {
+    UUID taskListId = createTaskList(tasks);
+    int iterations = tasks >= 100_000 ? 10 : 100;
+
+    Measurement entityGraph =
+        Measurement.of(
+            "entity graph (" + tasks + " tasks)",
+            iterations / 2,
+            iterations,
+            () -> {
+              TaskListDto dto = taskListMapper.toDto(taskListRepository.findById(taskListId).get());
+              assertEquals(tasks, dto.count());
+              entityManager.clear();
+            });
+    Measurement summary =
+        Measurement.of(
+            "summary projection (" + tasks + " tasks)",
+            iterations / 2,
+            iterations,
+            () -> {
+              TaskListDto dto =
+                  taskListMapper.toSummaryDto(taskListRepository.findSummaryById(taskListId).get());
+              assertEquals(tasks, dto.count());
+              assertEquals(tasks / 4 * 100.0 / tasks, dto.progress());
+              entityManager.clear();
+            });
+
+    System.out.println(entityGraph);
+    System.out.println(summary);
+    assertTrue(summary.bytesPerOp() < entityGraph.bytesPerOp());
+  }
+
+  private UUID createTaskList(int tasks) {
+    TaskList taskList = new TaskList();
+    taskList.setTitle("Benchmark " + tasks);
+    UUID taskListId = entityManager.persistFlushFind(taskList).getId();
+    jdbcTemplate.update(
+        """
+        insert into tasks (id, title, due_date, priority, status, created, updated, task_list_id)
+        select gen_random_uuid(), 'Task ' || i, now() + i * interval '1 minute', i % 3,
+               case when i % 4 = 0 then ? else ? end, now(), now(), ?
+        from generate_series(1, ?) as i
+        """,
+        TaskStatus.CLOSED.ordinal(), TaskStatus.OPEN.ordinal(), taskListId, tasks);
+    taskListRepository.repairCounters(List.of(taskListId));
+    entityManager.clear();
+    return taskListId;
+  }
+}
@@ -0,0 +1,134 @@
+package com.taskify.benchmarks;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.taskify.BaseIntegrationTest;
+import com.taskify.dtos.TaskFields;
+import com.taskify.dtos.TaskFilter;
+import com.taskify.entities.TaskStatus;
+import com.taskify.jobs.TaskPartitionBackfillJob;
+import com.taskify.pagination.TaskSort;
+import com.taskify.repositories.TaskRepository;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Latency of the per-list repository queries on {@code benchmark.partitioning.tasks} tasks (10
+ * million by default) in a single heap, and again after backfilling and swapping in the partitioned
+ * table, along with how long the backfill and the swap took. The context is discarded afterwards,
+ * as its database is left partitioned. Run with {@code mvn test -Pbenchmarks}.
+ */
+@Tag("benchmark")
+@ActiveProfiles("partitioned")
+@TestPropertySource(
+    properties = {"spring.flyway.target=1.6.1", "spring.jpa.hibernate.ddl-auto=none"})
+@DirtiesContext
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TaskPartitioningBenchmark extends BaseIntegrationTest {
+
+  private static final int TASKS = Integer.getInteger("benchmark.partitioning.tasks", 10_000_000);
+  private static final int TASKS_PER_LIST = 1_000;
+  private static final int ITERATIONS = 2_000;
+
+  @Autowired private TaskRepository taskRepository;
+  @Autowired private TaskPartitionBackfillJob backfillJob;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private Flyway flyway;
+
+  private List<UUID> taskListIds;
+  private List<Map<String, Object>> sampledTasks;
+
+  @BeforeAll
+  void seed() {
+    // The tasks stand for ones written before V1.6.1, which its trigger would copy right away.
+    jdbcTemplate.execute("alter table tasks disable trigger tasks_partitioned_sync");
+    taskListIds =
+        new TaskDataGenerator(jdbcTemplate, 42).seed(TASKS / TASKS_PER_LIST, TASKS_PER_LIST);
+    jdbcTemplate.execute("alter table tasks enable trigger tasks_partitioned_sync");
+    sampledTasks =
+        jdbcTemplate.queryForList(
+            "select task_list_id, id from tasks tablesample bernoulli (0.1) repeatable (42)"
+                + " limit 1000");
+  }
+
+  @Test
+  @DisplayName("Per-list queries should read a single partition once the table is partitioned")
+  void comparePerListQueriesBeforeAndAfterPartitioning() {
+    List<Measurement> heap = measure("heap");
+
+    long start = System.nanoTime();
+    long copied = backfillJob.backfill();
+    double backfillSeconds = (System.nanoTime() - start) / 1e9;
+    start = System.nanoTime();
+    Flyway.configure().configuration(flyway.getConfiguration()).target("latest").load().migrate();
+    double swapSeconds = (System.nanoTime() - start) / 1e9;
+
+    List<Measurement> partitioned = measure("partitioned");
+
+    heap.forEach(System.out::println);
+    partitioned.forEach(System.out::println);
+    System.out.printf(
+        "backfill %,d tasks in %.1f s (%,.0f tasks/s), swap in %.1f s%n",
+        copied, backfillSeconds, copied / backfillSeconds, swapSeconds);
+    assertEquals(TASKS, copied);
+    assertEquals(
+        "p",
+        jdbcTemplate.queryForObject(
+            "select relkind from pg_class where oid = 'tasks'::regclass", String.class));
+  }
+
+  private List<Measurement> measure(String table) {
+    Random random = new Random(42);
+    TaskFilter open = new TaskFilter(TaskStatus.OPEN, null, null, null);
+    TaskSort byDueDate = TaskSort.parse("due_date");
+    return List.of(
+        Measurement.of(
+            table + " first page",
+            ITERATIONS / 10,
+            ITERATIONS,
+            () ->
+                taskRepository.findPage(
+                    randomTaskList(random),
+                    TaskFilter.NONE,
+                    TaskSort.DEFAULT,
+                    TaskFields.ALL,
+                    null,
+                    null,
+                    21)),
+        Measurement.of(
+            table + " open tasks by due date",
+            ITERATIONS / 10,
+            ITERATIONS,
+            () ->
+                taskRepository.findPage(
+                    randomTaskList(random), open, byDueDate, TaskFields.ALL, null, null, 21)),
+        Measurement.of(
+            table + " task by id",
+            ITERATIONS / 10,
+            ITERATIONS,
+            () -> {
+              Map<String, Object> task = sampledTasks.get(random.nextInt(sampledTasks.size()));
+              assertTrue(
+                  taskRepository
+                      .findByTaskListIdAndId((UUID) task.get("task_list_id"), (UUID) task.get("id"))
+                      .isPresent());
+            }));
+  }
+
+  private UUID randomTaskList(Random random) {
+    return taskListIds.get(random.nextInt(taskListIds.size()));
+  }
+}
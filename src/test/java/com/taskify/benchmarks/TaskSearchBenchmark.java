@@ -0,0 +1,83 @@
+package com.taskify.benchmarks;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.taskify.BaseIntegrationTest;
+import com.taskify.dtos.CursorPage;
+import com.taskify.dtos.TaskSearchResultDto;
+import com.taskify.services.TaskService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Search latency over a seeded data set of {@code benchmark.search.tasks} tasks (1M by default),
+ * spread over lists of 1,000. Run with {@code mvn test -Pbenchmarks}.
+ */
+@Tag("benchmark")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TaskSearchBenchmark extends BaseIntegrationTest {
+
+  private static final int TASKS = Integer.getInteger("benchmark.search.tasks", 1_000_000);
+  private static final int TASKS_PER_LIST = 1_000;
+
+  @Autowired private TaskService taskService;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  private TaskDataGenerator generator;
+  private List<UUID> taskListIds;
+
+  @BeforeAll
+  void seed() {
+    generator = new TaskDataGenerator(jdbcTemplate, 42);
+    long start = System.nanoTime();
+    taskListIds = generator.seed(TASKS / TASKS_PER_LIST, TASKS_PER_LIST);
+    System.out.printf("Seeded %,d tasks in %.1f s%n", TASKS, (System.nanoTime() - start) / 1e9);
+  }
+
+  @AfterAll
+  void cleanUp() {
+    generator.delete(taskListIds);
+  }
+
+  @Test
+  @DisplayName("Search latency over the seeded tasks")
+  void searchLatency() {
+    List<String> words = TaskDataGenerator.WORDS;
+    List<Measurement> measurements = new ArrayList<>();
+    measurements.add(search("common term", words.getFirst(), null));
+    measurements.add(search("rare term", words.getLast(), null));
+    measurements.add(search("two terms", words.get(3) + " " + words.get(40), null));
+    measurements.add(search("phrase", "\"" + words.get(0) + " " + words.get(1) + "\"", null));
+    measurements.add(search("either term", words.get(50) + " or " + words.get(60), null));
+    measurements.add(search("common term in one list", words.getFirst(), taskListIds.getFirst()));
+    measurements.add(
+        Measurement.of(
+            "common term, 5th page",
+            1,
+            5,
+            () -> {
+              String cursor = null;
+              for (int page = 0; page < 5; page++) {
+                cursor = taskService.searchTasks(words.getFirst(), null, cursor, 20).next();
+              }
+              assertNotNull(cursor);
+            }));
+
+    measurements.forEach(System.out::println);
+  }
+
+  private Measurement search(String name, String query, UUID taskListId) {
+    CursorPage<TaskSearchResultDto> page = taskService.searchTasks(query, taskListId, null, 20);
+    assertFalse(page.items().isEmpty(), name);
+    return Measurement.of(name, 2, 10, () -> taskService.searchTasks(query, taskListId, null, 20));
+  }
+}
@@ -0,0 +1,100 @@
+package com.taskify.benchmarks;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.taskify.BaseIntegrationTest;
+import com.taskify.entities.UuidV7Generator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Insert throughput and resulting index sizes of random version 4 ids versus time-ordered version 7
+ * ids, inserting {@code benchmark.uuid.tasks} rows (500,000 by default) in batches into a copy of
+ * the {@code tasks} keys and indexes. Run with {@code mvn test -Pbenchmarks}.
+ */
+@Tag("benchmark")
+class UuidBenchmark extends BaseIntegrationTest {
+
+  private static final int TASKS = Integer.getInteger("benchmark.uuid.tasks", 500_000);
+  private static final int TASKS_PER_LIST = 100;
+  private static final int BATCH_SIZE = 1_000;
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @Test
+  @DisplayName("Version 7 ids should insert faster and leave smaller indexes than version 4 ids")
+  void compareRandomAndTimeOrderedIds() {
+    Result random = insert("uuid_v4", UUID::randomUUID);
+    Result timeOrdered = insert("uuid_v7", UuidV7Generator::generate);
+
+    System.out.println(random);
+    System.out.println(timeOrdered);
+    assertTrue(timeOrdered.primaryKeyBytes() < random.primaryKeyBytes());
+  }
+
+  private Result insert(String table, Supplier<UUID> ids) {
+    jdbcTemplate.execute("DROP TABLE IF EXISTS " + table);
+    jdbcTemplate.execute(
+        "CREATE TABLE "
+            + table
+            + " (id UUID PRIMARY KEY, task_list_id UUID NOT NULL, title VARCHAR(255) NOT NULL,"
+            + " created TIMESTAMP NOT NULL)");
+    jdbcTemplate.execute(
+        "CREATE INDEX " + table + "_task_list_id ON " + table + " (task_list_id, created, id)");
+    try {
+      String sql =
+          "INSERT INTO " + table + " (id, task_list_id, title, created) VALUES (?, ?, ?, now())";
+      UUID taskListId = null;
+      long start = System.nanoTime();
+      List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+      for (int i = 0; i < TASKS; i++) {
+        if (i % TASKS_PER_LIST == 0) {
+          taskListId = ids.get();
+        }
+        batch.add(new Object[] {ids.get(), taskListId, "Task " + i});
+        if (batch.size() == BATCH_SIZE) {
+          jdbcTemplate.batchUpdate(sql, batch);
+          batch.clear();
+        }
+      }
+      jdbcTemplate.batchUpdate(sql, batch);
+      double seconds = (System.nanoTime() - start) / 1e9;
+
+      return new Result(
+          table,
+          TASKS / seconds,
+          size(table + "_pkey"),
+          size(table + "_task_list_id"),
+          size(table));
+    } finally {
+      jdbcTemplate.execute("DROP TABLE " + table);
+    }
+  }
+
+  private long size(String relation) {
+    return jdbcTemplate.queryForObject(
+        "SELECT pg_relation_size(?::regclass)", Long.class, relation);
+  }
+
+  private record Result(
+      String ids,
+      double rowsPerSecond,
+      long primaryKeyBytes,
+      long taskListIndexBytes,
+      long tableBytes) {
+
+    @Override
+    public String toString() {
+      return String.format(
+          "%-8s %,10.0f rows/s  primary key %,8d KB  task list index %,8d KB  table %,8d KB",
+          ids, rowsPerSecond, primaryKeyBytes / 1024, taskListIndexBytes / 1024, tableBytes / 1024);
+    }
+  }
+}
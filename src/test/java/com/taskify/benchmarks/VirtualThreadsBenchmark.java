@@ -0,0 +1,209 @@
+package com.taskify.benchmarks;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.taskify.Application;
+import com.taskify.BaseIntegrationTest;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Requests per second, p99 latency and failed requests of {@code benchmark.clients} concurrent HTTP
+ * clients (1,000, 5,000 and 10,000 by default) against one node serving requests on platform
+ * threads and one serving them on virtual threads. Every client keeps sending requests for {@value
+ * #SECONDS} seconds, nine in ten reading a random task out of {@value #TASKS} and the rest patching
+ * one, which evicts it from the cache. Both nodes put the same bulkhead in front of their 20
+ * connections, so clients the database cannot keep up with get a 503 instead of queueing without
+ * bound. Client and server run in one process, which needs two file descriptors per client. Run
+ * with {@code mvn test -Pbenchmarks}, and add {@code
+ * -DargLine=-XX:StartFlightRecording=filename=vt.jfr} to record {@code jdk.VirtualThreadPinned}
+ * events for virtual threads that block while pinned to their carrier.
+ */
+@Tag("benchmark")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class VirtualThreadsBenchmark extends BaseIntegrationTest {
+
+  private static final int[] CLIENTS =
+      Arrays.stream(System.getProperty("benchmark.clients", "1000,5000,10000").split(","))
+          .mapToInt(Integer::parseInt)
+          .toArray();
+  private static final int TASKS = 10_000;
+  private static final int SECONDS = 10;
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private JdbcConnectionDetails connectionDetails;
+
+  private UUID taskListId;
+  private List<UUID> taskIds;
+  private ConfigurableApplicationContext platformNode;
+  private ConfigurableApplicationContext virtualNode;
+  private HttpClient client;
+
+  @BeforeAll
+  void seedAndStartNodes() {
+    taskListId = new TaskDataGenerator(jdbcTemplate, 42).seed(1, TASKS).getFirst();
+    taskIds =
+        jdbcTemplate.queryForList(
+            "select id from tasks where task_list_id = ?", UUID.class, taskListId);
+    platformNode = startNode(false);
+    virtualNode = startNode(true);
+    client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(30)).build();
+  }
+
+  @AfterAll
+  void stopNodesAndCleanUp() {
+    if (client != null) {
+      client.close();
+    }
+    if (platformNode != null) {
+      platformNode.close();
+    }
+    if (virtualNode != null) {
+      virtualNode.close();
+    }
+    new TaskDataGenerator(jdbcTemplate, 42).delete(List.of(taskListId));
+  }
+
+  @Test
+  @DisplayName("Virtual threads should serve thousands of concurrent clients")
+  void comparePlatformAndVirtualThreads() {
+    run("warm-up, platform", platformNode, 100);
+    run("warm-up, virtual", virtualNode, 100);
+
+    List<Result> results = new ArrayList<>();
+    for (int clients : CLIENTS) {
+      results.add(run(clients + " clients, platform", platformNode, clients));
+      results.add(run(clients + " clients, virtual", virtualNode, clients));
+    }
+
+    for (Result result : results) {
+      System.out.println(result);
+      assertTrue(result.succeeded() > 0);
+    }
+  }
+
+  private ConfigurableApplicationContext startNode(boolean virtualThreads) {
+    return new SpringApplicationBuilder(Application.class)
+        .run(
+            "--server.port=0",
+            "--server.tomcat.max-connections=20000",
+            "--server.tomcat.accept-count=10000",
+            "--spring.threads.virtual.enabled=" + virtualThreads,
+            "--spring.docker.compose.enabled=false",
+            "--spring.flyway.enabled=false",
+            "--spring.datasource.url=" + connectionDetails.getJdbcUrl(),
+            "--spring.datasource.username=" + connectionDetails.getUsername(),
+            "--spring.datasource.password=" + connectionDetails.getPassword(),
+            "--logging.level.root=warn",
+            "--logging.level.org.hibernate.engine.jdbc.spi.SqlExceptionHelper=off");
+  }
+
+  private Result run(String name, ConfigurableApplicationContext node, int clients) {
+    String baseUrl =
+        "http://localhost:"
+            + ((WebServerApplicationContext) node).getWebServer().getPort()
+            + "/api/v1/task-lists/"
+            + taskListId
+            + "/tasks/";
+    Run run = new Run(baseUrl, System.nanoTime() + Duration.ofSeconds(SECONDS).toNanos());
+    CompletableFuture<?>[] clientLoops = new CompletableFuture<?>[clients];
+    for (int i = 0; i < clients; i++) {
+      clientLoops[i] = requestUntilDeadline(run);
+    }
+    CompletableFuture.allOf(clientLoops).join();
+
+    long[] latencies = run.latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+    return new Result(
+        name,
+        run.succeeded.get(),
+        run.failed.get(),
+        latencies.length == 0
+            ? 0
+            : latencies[Math.min(latencies.length - 1, (int) (latencies.length * 0.99))] / 1e6);
+  }
+
+  /**
+   * Sends one request after the other until the deadline. Clients wait for responses without a
+   * thread of their own, so that they do not compete with the server for carrier threads.
+   */
+  private CompletableFuture<Void> requestUntilDeadline(Run run) {
+    if (System.nanoTime() >= run.deadline) {
+      return CompletableFuture.completedFuture(null);
+    }
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    URI uri = URI.create(run.baseUrl + taskIds.get(random.nextInt(taskIds.size())));
+    HttpRequest request =
+        random.nextInt(10) == 0
+            ? HttpRequest.newBuilder(uri)
+                .method(
+                    "PATCH",
+                    HttpRequest.BodyPublishers.ofString(
+                        "{\"title\": \"Patched " + random.nextInt() + "\"}"))
+                .header("Content-Type", "application/merge-patch+json")
+                .timeout(Duration.ofSeconds(30))
+                .build()
+            : HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).build();
+    long start = System.nanoTime();
+    return client
+        .sendAsync(request, HttpResponse.BodyHandlers.discarding())
+        .handle(
+            (response, ex) -> {
+              run.latencies.add(System.nanoTime() - start);
+              (ex == null && response.statusCode() == 200 ? run.succeeded : run.failed)
+                  .incrementAndGet();
+              return null;
+            })
+        .thenCompose(ignored -> requestUntilDeadline(run));
+  }
+
+  private record Run(
+      String baseUrl,
+      long deadline,
+      Queue<Long> latencies,
+      AtomicInteger succeeded,
+      AtomicInteger failed) {
+
+    Run(String baseUrl, long deadline) {
+      this(
+          baseUrl,
+          deadline,
+          new ConcurrentLinkedQueue<>(),
+          new AtomicInteger(),
+          new AtomicInteger());
+    }
+  }
+
+  private record Result(String name, int succeeded, int failed, double p99Millis) {
+
+    @Override
+    public String toString() {
+      return String.format(
+          "%-24s %,8.0f ok/s  p99 %,9.1f ms  %,8d ok  %,6d failed",
+          name, succeeded / (double) SECONDS, p99Millis, succeeded, failed);
+    }
+  }
+}
@@ -0,0 +1,162 @@
+package com.taskify.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.taskify.Application;
+import com.taskify.dtos.CreateTaskListRequest;
+import com.taskify.dtos.CreateTaskRequest;
+import com.taskify.dtos.TaskDto;
+import com.taskify.dtos.TaskFields;
+import com.taskify.dtos.TaskFilter;
+import com.taskify.dtos.TaskListDto;
+import com.taskify.dtos.UpdateTaskListRequest;
+import com.taskify.entities.TaskPriority;
+import com.taskify.pagination.TaskSort;
+import com.taskify.services.TaskListService;
+import com.taskify.services.TaskService;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+@Testcontainers
+class CacheCoherenceIntegrationTest {
+
+  @Container
+  static final PostgreSQLContainer<?> postgres =
+      new PostgreSQLContainer<>(DockerImageName.parse("postgres:17-alpine"));
+
+  private static ConfigurableApplicationContext nodeA;
+  private static ConfigurableApplicationContext nodeB;
+
+  @BeforeAll
+  static void startNodes() {
+    nodeA = startNode();
+    nodeB = startNode();
+    await(() -> bus(nodeA).isListening() && bus(nodeB).isListening());
+  }
+
+  @AfterAll
+  static void stopNodes() {
+    if (nodeA != null) {
+      nodeA.close();
+    }
+    if (nodeB != null) {
+      nodeB.close();
+    }
+  }
+
+  @Test
+  @DisplayName("Should evict a task list cached on another node when it is updated")
+  void shouldEvictTaskListCachedOnAnotherNodeWhenUpdated() {
+    TaskListDto created =
+        taskListService(nodeA).createTaskList(new CreateTaskListRequest("Sprint 1", null));
+    assertEquals("Sprint 1", taskListService(nodeB).getTaskList(created.id()).title());
+
+    taskListService(nodeA)
+        .updateTaskList(created.id(), new UpdateTaskListRequest("Sprint 1 (extended)", null), null);
+
+    await(
+        () ->
+            "Sprint 1 (extended)"
+                .equals(taskListService(nodeB).getTaskList(created.id()).title()));
+  }
+
+  @Test
+  @DisplayName("Should evict aggregates cached on another node when a task is created")
+  void shouldEvictAggregatesCachedOnAnotherNodeWhenTaskIsCreated() {
+    TaskListDto created =
+        taskListService(nodeA).createTaskList(new CreateTaskListRequest("Backlog", null));
+    assertEquals(0, taskListService(nodeB).getTaskList(created.id()).count());
+    assertTrue(firstPageOfTasks(nodeB, created.id()).isEmpty());
+
+    taskService(nodeA)
+        .createTask(
+            created.id(),
+            new CreateTaskRequest(
+                "Write docs", null, LocalDateTime.now().plusDays(1), TaskPriority.LOW));
+
+    await(() -> taskListService(nodeB).getTaskList(created.id()).count() == 1);
+    await(() -> firstPageOfTasks(nodeB, created.id()).size() == 1);
+  }
+
+  @Test
+  @DisplayName("Should flush local caches after reconnecting when messages may have been missed")
+  void shouldFlushLocalCachesAfterReconnecting() {
+    TaskListDto created =
+        taskListService(nodeA).createTaskList(new CreateTaskListRequest("Ops", null));
+    assertEquals("Ops", taskListService(nodeB).getTaskList(created.id()).title());
+
+    nodeA
+        .getBean(JdbcTemplate.class)
+        .query(
+            "SELECT pg_terminate_backend(pid) FROM pg_stat_activity WHERE application_name = ?",
+            rs -> {},
+            PostgresCacheInvalidationBus.APPLICATION_NAME);
+    await(() -> !bus(nodeB).isListening());
+
+    taskListService(nodeA)
+        .updateTaskList(created.id(), new UpdateTaskListRequest("On-call", null), null);
+
+    await(() -> bus(nodeB).isListening());
+    assertEquals("On-call", taskListService(nodeB).getTaskList(created.id()).title());
+  }
+
+  private static ConfigurableApplicationContext startNode() {
+    return new SpringApplicationBuilder(Application.class)
+        .run(
+            "--server.port=0",
+            "--spring.docker.compose.enabled=false",
+            "--spring.datasource.url=" + postgres.getJdbcUrl(),
+            "--spring.datasource.username=" + postgres.getUsername(),
+            "--spring.datasource.password=" + postgres.getPassword(),
+            "--taskify.cache.coherence.enabled=true",
+            "--taskify.cache.coherence.poll-timeout=200ms",
+            "--taskify.cache.coherence.reconnect-backoff=1s");
+  }
+
+  private static TaskListService taskListService(ConfigurableApplicationContext node) {
+    return node.getBean(TaskListService.class);
+  }
+
+  private static TaskService taskService(ConfigurableApplicationContext node) {
+    return node.getBean(TaskService.class);
+  }
+
+  private static List<TaskDto> firstPageOfTasks(ConfigurableApplicationContext node, UUID id) {
+    return taskService(node)
+        .listTasks(id, TaskFilter.NONE, TaskSort.DEFAULT, TaskFields.ALL, false, null, null)
+        .items();
+  }
+
+  private static PostgresCacheInvalidationBus bus(ConfigurableApplicationContext node) {
+    return node.getBean(PostgresCacheInvalidationBus.class);
+  }
+
+  private static void await(BooleanSupplier condition) {
+    long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+    while (!condition.getAsBoolean()) {
+      if (System.nanoTime() > deadline) {
+        fail("Condition not met within 10 seconds");
+      }
+      try {
+        Thread.sleep(50);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        fail(e);
+      }
+    }
+  }
+}
@@ -0,0 +1,237 @@
+package com.taskify.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class CacheInvalidatorTest {
+
+  private CaffeineCacheManager cacheManager;
+  private CacheInvalidator cacheInvalidator;
+  private CacheInvalidationPublisher publisher;
+  private UUID taskListId;
+  private UUID taskId;
+
+  @BeforeEach
+  void setUp() {
+    cacheManager = new CaffeineCacheManager();
+    publisher = mock(CacheInvalidationPublisher.class);
+    DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+    beanFactory.registerSingleton("publisher", publisher);
+    cacheInvalidator =
+        new CacheInvalidator(
+            cacheManager,
+            beanFactory.getBeanProvider(CacheInvalidationPublisher.class),
+            null,
+            Duration.ZERO);
+    taskListId = UUID.randomUUID();
+    taskId = UUID.randomUUID();
+
+    cache(CacheNames.TASK).put(CacheKeys.task(taskListId, taskId), "stale task");
+    cache(CacheNames.TASKS).put(CacheKeys.taskList(taskListId), "stale tasks");
+    cache(CacheNames.TASK_LIST).put(CacheKeys.taskList(taskListId), "stale task list");
+    cache(CacheNames.TASK_LIST).put(CacheKeys.taskListSummary(taskListId), "stale summary");
+    cache(CacheNames.TASK_LISTS).put(SimpleKey.EMPTY, "stale task lists");
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  @Test
+  @DisplayName("Should evict the task and its aggregates when a task is saved")
+  void shouldEvictTaskAndAggregatesWhenTaskIsSaved() {
+    UUID otherTaskListId = UUID.randomUUID();
+    cache(CacheNames.TASK_LIST).put(CacheKeys.taskList(otherTaskListId), "other task list");
+
+    cacheInvalidator.taskSaved(taskListId, taskId);
+
+    assertNull(cache(CacheNames.TASK).get(CacheKeys.task(taskListId, taskId)));
+    assertNull(cache(CacheNames.TASKS).get(CacheKeys.taskList(taskListId)));
+    assertNull(cache(CacheNames.TASK_LIST).get(CacheKeys.taskList(taskListId)));
+    assertNull(cache(CacheNames.TASK_LIST).get(CacheKeys.taskListSummary(taskListId)));
+    assertNull(cache(CacheNames.TASK_LISTS).get(SimpleKey.EMPTY));
+    assertNotNull(cache(CacheNames.TASK_LIST).get(CacheKeys.taskList(otherTaskListId)));
+  }
+
+  @Test
+  @DisplayName("Should evict the task and its aggregates when a task is deleted")
+  void shouldEvictTaskAndAggregatesWhenTaskIsDeleted() {
+    cacheInvalidator.taskDeleted(taskListId, taskId);
+
+    assertNull(cache(CacheNames.TASK).get(CacheKeys.task(taskListId, taskId)));
+    assertNull(cache(CacheNames.TASKS).get(CacheKeys.taskList(taskListId)));
+    assertNull(cache(CacheNames.TASK_LIST).get(CacheKeys.taskList(taskListId)));
+    assertNull(cache(CacheNames.TASK_LISTS).get(SimpleKey.EMPTY));
+  }
+
+  @Test
+  @DisplayName("Should evict only the aggregates and publish once when tasks are created in bulk")
+  void shouldEvictAggregatesWhenTasksAreCreatedInBulk() {
+    cacheInvalidator.tasksCreated(taskListId);
+
+    assertNotNull(cache(CacheNames.TASK).get(CacheKeys.task(taskListId, taskId)));
+    assertNull(cache(CacheNames.TASKS).get(CacheKeys.taskList(taskListId)));
+    assertNull(cache(CacheNames.TASK_LIST).get(CacheKeys.taskList(taskListId)));
+    assertNull(cache(CacheNames.TASK_LISTS).get(SimpleKey.EMPTY));
+    verify(publisher).publish(CacheInvalidation.tasksCreated(taskListId));
+  }
+
+  @Test
+  @DisplayName("Should evict every task of the task list and its aggregates after a bulk update")
+  void shouldEvictTasksAndAggregatesAfterBulkUpdate() {
+    UUID otherTaskListId = UUID.randomUUID();
+    cache(CacheNames.TASK).put(CacheKeys.task(otherTaskListId, taskId), "other task");
+
+    cacheInvalidator.tasksChanged(taskListId);
+
+    assertNull(cache(CacheNames.TASK).get(CacheKeys.task(taskListId, taskId)));
+    assertNull(cache(CacheNames.TASKS).get(CacheKeys.taskList(taskListId)));
+    assertNull(cache(CacheNames.TASK_LIST).get(CacheKeys.taskList(taskListId)));
+    assertNull(cache(CacheNames.TASK_LISTS).get(SimpleKey.EMPTY));
+    assertNotNull(cache(CacheNames.TASK).get(CacheKeys.task(otherTaskListId, taskId)));
+    verify(publisher).publish(CacheInvalidation.tasksChanged(taskListId));
+  }
+
+  @Test
+  @DisplayName("Should evict the task list and listings when a task list is saved")
+  void shouldEvictTaskListAndListingsWhenTaskListIsSaved() {
+    cacheInvalidator.taskListSaved(taskListId);
+
+    assertNull(cache(CacheNames.TASK_LIST).get(CacheKeys.taskList(taskListId)));
+    assertNull(cache(CacheNames.TASK_LIST).get(CacheKeys.taskListSummary(taskListId)));
+    assertNull(cache(CacheNames.TASK_LISTS).get(SimpleKey.EMPTY));
+    assertNotNull(cache(CacheNames.TASK).get(CacheKeys.task(taskListId, taskId)));
+  }
+
+  @Test
+  @DisplayName("Should evict every entry scoped to a deleted task list")
+  void shouldEvictEveryEntryScopedToDeletedTaskList() {
+    UUID otherTaskListId = UUID.randomUUID();
+    cache(CacheNames.TASK).put(CacheKeys.task(otherTaskListId, taskId), "other task");
+
+    cacheInvalidator.taskListDeleted(taskListId);
+
+    assertNull(cache(CacheNames.TASK).get(CacheKeys.task(taskListId, taskId)));
+    assertNull(cache(CacheNames.TASKS).get(CacheKeys.taskList(taskListId)));
+    assertNull(cache(CacheNames.TASK_LIST).get(CacheKeys.taskList(taskListId)));
+    assertNull(cache(CacheNames.TASK_LISTS).get(SimpleKey.EMPTY));
+    assertNotNull(cache(CacheNames.TASK).get(CacheKeys.task(otherTaskListId, taskId)));
+  }
+
+  @Test
+  @DisplayName("Should defer invalidation until the transaction commits")
+  void shouldDeferInvalidationUntilTransactionCommits() {
+    TransactionSynchronizationManager.initSynchronization();
+
+    cacheInvalidator.taskDeleted(taskListId, taskId);
+
+    assertNotNull(cache(CacheNames.TASK).get(CacheKeys.task(taskListId, taskId)));
+    assertNotNull(cache(CacheNames.TASK_LISTS).get(SimpleKey.EMPTY));
+
+    TransactionSynchronizationManager.getSynchronizations()
+        .forEach(TransactionSynchronization::afterCommit);
+
+    assertNull(cache(CacheNames.TASK).get(CacheKeys.task(taskListId, taskId)));
+    assertNull(cache(CacheNames.TASK_LISTS).get(SimpleKey.EMPTY));
+  }
+
+  @Test
+  @DisplayName("Should leave caches untouched when the transaction rolls back")
+  void shouldLeaveCachesUntouchedWhenTransactionRollsBack() {
+    TransactionSynchronizationManager.initSynchronization();
+
+    cacheInvalidator.taskSaved(taskListId, taskId);
+    TransactionSynchronizationManager.getSynchronizations()
+        .forEach(
+            synchronization ->
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+    assertEquals(
+        "stale task", cache(CacheNames.TASK).get(CacheKeys.task(taskListId, taskId)).get());
+    assertNotNull(cache(CacheNames.TASK_LIST).get(CacheKeys.taskList(taskListId)));
+  }
+
+  @Test
+  @DisplayName("Should publish invalidations while the transaction is still open")
+  void shouldPublishInvalidationsWhileTransactionIsStillOpen() {
+    TransactionSynchronizationManager.initSynchronization();
+
+    cacheInvalidator.taskSaved(taskListId, taskId);
+    cacheInvalidator.taskListDeleted(taskListId);
+
+    verify(publisher).publish(CacheInvalidation.taskChanged(taskListId, taskId));
+    verify(publisher).publish(CacheInvalidation.taskListDeleted(taskListId));
+  }
+
+  @Test
+  @DisplayName("Should evict entries for an invalidation received from another node")
+  void shouldEvictEntriesForRemoteInvalidation() {
+    cacheInvalidator.apply(CacheInvalidation.taskListChanged(taskListId));
+
+    assertNull(cache(CacheNames.TASK_LIST).get(CacheKeys.taskList(taskListId)));
+    assertNull(cache(CacheNames.TASK_LISTS).get(SimpleKey.EMPTY));
+    assertNotNull(cache(CacheNames.TASK).get(CacheKeys.task(taskListId, taskId)));
+    verifyNoInteractions(publisher);
+  }
+
+  @Test
+  @DisplayName("Should evict again what was cached from a lagging replica after a write")
+  void shouldEvictAgainOnceReplicasHaveCaughtUp() {
+    TaskScheduler scheduler = mock(TaskScheduler.class);
+    cacheInvalidator =
+        new CacheInvalidator(
+            cacheManager,
+            new DefaultListableBeanFactory().getBeanProvider(CacheInvalidationPublisher.class),
+            scheduler,
+            Duration.ofSeconds(2));
+    Instant before = Instant.now();
+
+    cacheInvalidator.taskSaved(taskListId, taskId);
+    cache(CacheNames.TASK).put(CacheKeys.task(taskListId, taskId), "replica task");
+    cache(CacheNames.TASKS).put(CacheKeys.taskList(taskListId), "replica tasks");
+
+    ArgumentCaptor<Runnable> evictAgain = ArgumentCaptor.forClass(Runnable.class);
+    ArgumentCaptor<Instant> at = ArgumentCaptor.forClass(Instant.class);
+    verify(scheduler).schedule(evictAgain.capture(), at.capture());
+    assertFalse(at.getValue().isBefore(before.plusSeconds(2)));
+
+    evictAgain.getValue().run();
+
+    assertNull(cache(CacheNames.TASK).get(CacheKeys.task(taskListId, taskId)));
+    assertNull(cache(CacheNames.TASKS).get(CacheKeys.taskList(taskListId)));
+  }
+
+  @Test
+  @DisplayName("Should clear every cache")
+  void shouldClearEveryCache() {
+    cacheInvalidator.clearAll();
+
+    assertNull(cache(CacheNames.TASK).get(CacheKeys.task(taskListId, taskId)));
+    assertNull(cache(CacheNames.TASKS).get(CacheKeys.taskList(taskListId)));
+    assertNull(cache(CacheNames.TASK_LIST).get(CacheKeys.taskList(taskListId)));
+    assertNull(cache(CacheNames.TASK_LISTS).get(SimpleKey.EMPTY));
+  }
+
+  private Cache cache(String name) {
+    return cacheManager.getCache(name);
+  }
+}
@@ -0,0 +1,207 @@
+package com.taskify.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import com.taskify.configs.CacheConfig;
+import com.taskify.dtos.TaskDto;
+import com.taskify.dtos.TaskFields;
+import com.taskify.dtos.TaskFilter;
+import com.taskify.dtos.TaskListDto;
+import com.taskify.dtos.TaskListSummary;
+import com.taskify.entities.Task;
+import com.taskify.entities.TaskList;
+import com.taskify.entities.TaskPriority;
+import com.taskify.entities.TaskStatus;
+import com.taskify.mappers.TaskListMapper;
+import com.taskify.mappers.TaskMapper;
+import com.taskify.pagination.Pages;
+import com.taskify.pagination.TaskSort;
+import com.taskify.repositories.TaskListRepository;
+import com.taskify.repositories.TaskRepository;
+import com.taskify.services.TaskListService;
+import com.taskify.services.TaskService;
+import com.taskify.services.impl.TaskListServiceImpl;
+import com.taskify.services.impl.TaskServiceImpl;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+@SpringJUnitConfig({
+  CacheConfig.class,
+  CacheInvalidator.class,
+  TaskServiceImpl.class,
+  TaskListServiceImpl.class
+})
+class CacheStampedeTest {
+
+  private static final int CALLERS = 32;
+
+  @MockitoBean private TaskRepository taskRepository;
+  @MockitoBean private TaskListRepository taskListRepository;
+  @MockitoBean private TaskMapper taskMapper;
+  @MockitoBean private TaskListMapper taskListMapper;
+
+  @Autowired private TaskService taskService;
+  @Autowired private TaskListService taskListService;
+  @Autowired private CacheManager cacheManager;
+
+  private UUID taskListId;
+  private UUID taskId;
+  private Task task;
+  private TaskList taskList;
+
+  @BeforeEach
+  void setUp() {
+    cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    taskListId = UUID.randomUUID();
+    taskId = UUID.randomUUID();
+    taskList = new TaskList();
+    taskList.setId(taskListId);
+    task = new Task();
+    task.setId(taskId);
+    task.setTaskList(taskList);
+
+    when(taskMapper.toDto(any(Task.class)))
+        .thenReturn(
+            new TaskDto(
+                taskId,
+                "Task",
+                null,
+                LocalDateTime.now().plusDays(1),
+                TaskPriority.LOW,
+                TaskStatus.OPEN));
+    when(taskListMapper.toDto(any(TaskList.class)))
+        .thenReturn(new TaskListDto(taskListId, "Task List", null, 0, 0.0, List.of()));
+  }
+
+  @Test
+  @DisplayName("Should query the database once for concurrent misses on the same task")
+  void shouldQueryDatabaseOnceForConcurrentMissesOnSameTask() throws Exception {
+    when(taskRepository.findByTaskListIdAndId(taskListId, taskId))
+        .thenAnswer(invocation -> slowly(Optional.of(task)));
+
+    List<TaskDto> results = concurrently(() -> taskService.getTask(taskListId, taskId));
+
+    assertEquals(CALLERS, results.size());
+    results.forEach(result -> assertEquals(taskId, result.id()));
+    verify(taskRepository, times(1)).findByTaskListIdAndId(taskListId, taskId);
+  }
+
+  @Test
+  @DisplayName("Should query the database once for concurrent misses on the same task list")
+  void shouldQueryDatabaseOnceForConcurrentMissesOnSameTaskList() throws Exception {
+    when(taskListRepository.findById(taskListId))
+        .thenAnswer(invocation -> slowly(Optional.of(taskList)));
+    when(taskRepository.findPage(
+            taskListId,
+            TaskFilter.NONE,
+            TaskSort.DEFAULT,
+            TaskFields.ALL,
+            null,
+            null,
+            Pages.DEFAULT_LIMIT + 1))
+        .thenAnswer(invocation -> slowly(List.of(task)));
+    when(taskListRepository.findFirstPage(any()))
+        .thenAnswer(invocation -> slowly(List.of(taskList)));
+    when(taskListRepository.findSummariesByIdIn(any()))
+        .thenReturn(List.of(new TaskListSummary(taskListId, "Task List", null, 0, 0)));
+    when(taskListMapper.toSummaryDto(any(TaskListSummary.class)))
+        .thenReturn(new TaskListDto(taskListId, "Task List", null, 0, 0.0, null));
+
+    concurrently(() -> taskListService.getTaskList(taskListId));
+    concurrently(
+        () ->
+            taskService.listTasks(
+                taskListId, TaskFilter.NONE, TaskSort.DEFAULT, TaskFields.ALL, false, null, null));
+    concurrently(() -> taskListService.listTaskLists(null, null, false, TaskFields.ALL));
+
+    verify(taskListRepository, times(1)).findById(taskListId);
+    verify(taskRepository, times(1))
+        .findPage(
+            taskListId,
+            TaskFilter.NONE,
+            TaskSort.DEFAULT,
+            TaskFields.ALL,
+            null,
+            null,
+            Pages.DEFAULT_LIMIT + 1);
+    verify(taskListRepository, times(1)).findFirstPage(any());
+  }
+
+  @Test
+  @DisplayName("Should load distinct keys independently")
+  void shouldLoadDistinctKeysIndependently() throws Exception {
+    UUID otherTaskId = UUID.randomUUID();
+    when(taskRepository.findByTaskListIdAndId(eq(taskListId), any(UUID.class)))
+        .thenAnswer(invocation -> slowly(Optional.of(task)));
+
+    ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+    try {
+      CountDownLatch start = new CountDownLatch(1);
+      List<Future<TaskDto>> futures = new ArrayList<>();
+      for (int i = 0; i < CALLERS; i++) {
+        UUID id = i % 2 == 0 ? taskId : otherTaskId;
+        futures.add(
+            executor.submit(
+                () -> {
+                  start.await();
+                  return taskService.getTask(taskListId, id);
+                }));
+      }
+      start.countDown();
+      for (Future<TaskDto> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    verify(taskRepository, times(1)).findByTaskListIdAndId(taskListId, taskId);
+    verify(taskRepository, times(1)).findByTaskListIdAndId(taskListId, otherTaskId);
+  }
+
+  private static <T> T slowly(T value) throws InterruptedException {
+    Thread.sleep(200);
+    return value;
+  }
+
+  private static <T> List<T> concurrently(Supplier<T> call) throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+    try {
+      CountDownLatch start = new CountDownLatch(1);
+      List<Future<T>> futures = new ArrayList<>();
+      for (int i = 0; i < CALLERS; i++) {
+        futures.add(
+            executor.submit(
+                () -> {
+                  start.await();
+                  return call.get();
+                }));
+      }
+      start.countDown();
+      List<T> results = new ArrayList<>();
+      for (Future<T> future : futures) {
+        results.add(future.get());
+      }
+      return results;
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
@@ -0,0 +1,108 @@
+package com.taskify.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+
+class CallerLoadingCaffeineCacheTest {
+
+  private final CallerLoadingCaffeineCache cache =
+      new CallerLoadingCaffeineCache("test", Caffeine.newBuilder().buildAsync(), true);
+  private final AtomicInteger loads = new AtomicInteger();
+
+  @Test
+  @DisplayName("Should load a miss once, on the calling thread, while concurrent callers wait")
+  void shouldLoadMissOnceOnCallingThread() throws Exception {
+    CountDownLatch loading = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicReference<Thread> caller = new AtomicReference<>();
+    AtomicReference<Thread> loader = new AtomicReference<>();
+
+    try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+      Future<String> first =
+          callers.submit(
+              () -> {
+                caller.set(Thread.currentThread());
+                return cache.get(
+                    "key",
+                    () -> {
+                      loader.set(Thread.currentThread());
+                      loading.countDown();
+                      release.await();
+                      return "value-" + loads.incrementAndGet();
+                    });
+              });
+      assertTrue(loading.await(10, TimeUnit.SECONDS));
+      List<Future<String>> others = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        others.add(
+            callers.submit(() -> cache.get("key", () -> "value-" + loads.incrementAndGet())));
+      }
+      release.countDown();
+
+      assertEquals("value-1", first.get(10, TimeUnit.SECONDS));
+      for (Future<String> other : others) {
+        assertEquals("value-1", other.get(10, TimeUnit.SECONDS));
+      }
+    }
+    assertEquals(1, loads.get());
+    assertSame(caller.get(), loader.get());
+  }
+
+  @Test
+  @DisplayName("Should load again after a load failed")
+  void shouldLoadAgainAfterLoadFailed() {
+    assertThrows(
+        Cache.ValueRetrievalException.class,
+        () ->
+            cache.get(
+                "key",
+                () -> {
+                  throw new IllegalStateException("Database unavailable");
+                }));
+
+    assertEquals("value-1", cache.get("key", () -> "value-" + loads.incrementAndGet()));
+  }
+
+  @Test
+  @DisplayName("Should not keep a value whose key was evicted while it was loaded")
+  void shouldNotKeepValueEvictedWhileLoading() {
+    assertEquals(
+        "stale",
+        cache.get(
+            "key",
+            () -> {
+              cache.evict("key");
+              return "stale";
+            }));
+
+    assertEquals("fresh", cache.get("key", () -> "fresh"));
+  }
+
+  @Test
+  @DisplayName("Should cache null values")
+  void shouldCacheNullValues() {
+    assertNull(
+        cache.get(
+            "key",
+            () -> {
+              loads.incrementAndGet();
+              return null;
+            }));
+
+    assertNull(cache.get("key", () -> "value-" + loads.incrementAndGet()));
+    assertEquals(1, loads.get());
+  }
+}
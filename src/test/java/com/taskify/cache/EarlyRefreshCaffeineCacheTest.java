@@ -0,0 +1,104 @@
+package com.taskify.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class EarlyRefreshCaffeineCacheTest {
+
+  private static final Duration TTL = Duration.ofMinutes(10);
+  private static final Duration LOAD_TIME = Duration.ofSeconds(1);
+
+  private AtomicLong nanos;
+  private AtomicInteger loads;
+  private double randomValue;
+  private EarlyRefreshCaffeineCache cache;
+
+  @BeforeEach
+  void setUp() {
+    nanos = new AtomicLong();
+    loads = new AtomicInteger();
+    randomValue = 1.0;
+    cache =
+        new EarlyRefreshCaffeineCache(
+            "test",
+            Caffeine.newBuilder().ticker(nanos::get).expireAfterWrite(TTL).buildAsync(),
+            true,
+            1.0,
+            nanos::get,
+            () -> randomValue);
+  }
+
+  private String load() {
+    nanos.addAndGet(LOAD_TIME.toNanos());
+    return "value-" + loads.incrementAndGet();
+  }
+
+  @Test
+  @DisplayName("Should serve cached value while entry is far from expiry")
+  void shouldServeCachedValueWhileEntryIsFarFromExpiry() {
+    assertEquals("value-1", cache.get("key", this::load));
+
+    nanos.addAndGet(TTL.minusMinutes(1).toNanos());
+    randomValue = Math.exp(-30);
+
+    assertEquals("value-1", cache.get("key", this::load));
+    assertEquals(1, loads.get());
+  }
+
+  @Test
+  @DisplayName("Should refresh entry early when close to expiry")
+  void shouldRefreshEntryEarlyWhenCloseToExpiry() {
+    assertEquals("value-1", cache.get("key", this::load));
+
+    nanos.addAndGet(TTL.minusSeconds(30).toNanos());
+    randomValue = Math.exp(-60);
+
+    assertEquals("value-2", cache.get("key", this::load));
+    assertEquals("value-2", cache.get("key", this::load));
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  @DisplayName("Should not refresh early when random draw gives no head start")
+  void shouldNotRefreshEarlyWhenRandomDrawGivesNoHeadStart() {
+    assertEquals("value-1", cache.get("key", this::load));
+
+    nanos.addAndGet(TTL.minusSeconds(30).toNanos());
+
+    assertEquals("value-1", cache.get("key", this::load));
+    assertEquals(1, loads.get());
+  }
+
+  @Test
+  @DisplayName("Should serve the stored value when an early refresh fails")
+  void shouldServeStoredValueWhenEarlyRefreshFails() {
+    assertEquals("value-1", cache.get("key", this::load));
+
+    nanos.addAndGet(TTL.minusSeconds(30).toNanos());
+    randomValue = Math.exp(-60);
+
+    assertEquals(
+        "value-1",
+        cache.get(
+            "key",
+            () -> {
+              throw new IllegalStateException("Database down");
+            }));
+    assertEquals("value-2", cache.get("key", this::load));
+  }
+
+  @Test
+  @DisplayName("Should require an expire-after-write policy")
+  void shouldRequireAnExpireAfterWritePolicy() {
+    assertThrows(
+        IllegalStateException.class,
+        () -> new EarlyRefreshCaffeineCache("test", Caffeine.newBuilder().buildAsync(), true, 1.0));
+  }
+}
@@ -0,0 +1,199 @@
+package com.taskify.cache;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskify.BaseIntegrationTest;
+import com.taskify.dtos.CreateTaskListRequest;
+import com.taskify.dtos.CreateTaskRequest;
+import com.taskify.dtos.UpdateTaskListRequest;
+import com.taskify.dtos.UpdateTaskRequest;
+import com.taskify.entities.TaskPriority;
+import com.taskify.entities.TaskStatus;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+class ReadYourWritesIntegrationTest extends BaseIntegrationTest {
+
+  @Autowired private MockMvc mockMvc;
+  @Autowired private ObjectMapper objectMapper;
+
+  @Test
+  @DisplayName("Task list writes should be visible to subsequent cached reads")
+  void taskListWritesShouldBeVisibleToSubsequentCachedReads() throws Exception {
+    mockMvc.perform(taskLists()).andExpect(status().isOk());
+
+    String taskListId = createTaskList("Groceries");
+    mockMvc.perform(taskLists()).andExpect(jsonPath("$.items[*].id", hasItem(taskListId)));
+
+    mockMvc
+        .perform(get("/api/v1/task-lists/{id}", taskListId))
+        .andExpect(jsonPath("$.title", is("Groceries")));
+
+    mockMvc
+        .perform(
+            json(
+                put("/api/v1/task-lists/{id}", taskListId),
+                new UpdateTaskListRequest("Weekly Groceries", "Saturday")))
+        .andExpect(status().isOk());
+
+    mockMvc
+        .perform(get("/api/v1/task-lists/{id}", taskListId))
+        .andExpect(jsonPath("$.title", is("Weekly Groceries")))
+        .andExpect(jsonPath("$.description", is("Saturday")));
+    mockMvc
+        .perform(taskLists())
+        .andExpect(
+            jsonPath(
+                "$.items[?(@.id == '" + taskListId + "')].title", hasItem("Weekly Groceries")));
+
+    mockMvc
+        .perform(delete("/api/v1/task-lists/{id}", taskListId))
+        .andExpect(status().isNoContent());
+
+    mockMvc.perform(get("/api/v1/task-lists/{id}", taskListId)).andExpect(status().isNotFound());
+    mockMvc.perform(taskLists()).andExpect(jsonPath("$.items[*].id", not(hasItem(taskListId))));
+  }
+
+  @Test
+  @DisplayName("Task writes should be visible to every cached aggregate that depends on them")
+  void taskWritesShouldBeVisibleToEveryDependentAggregate() throws Exception {
+    String taskListId = createTaskList("Release");
+    warmUp(taskListId);
+
+    String taskId = createTask(taskListId, "Tag the release");
+
+    mockMvc
+        .perform(get("/api/v1/task-lists/{id}/tasks", taskListId))
+        .andExpect(jsonPath("$.items[*].id", contains(taskId)));
+    mockMvc
+        .perform(get("/api/v1/task-lists/{id}", taskListId))
+        .andExpect(jsonPath("$.count", is(1)))
+        .andExpect(jsonPath("$.progress", is(0.0)));
+    mockMvc
+        .perform(taskLists())
+        .andExpect(jsonPath("$.items[?(@.id == '" + taskListId + "')].count", hasItem(1)));
+
+    mockMvc
+        .perform(get("/api/v1/task-lists/{id}/tasks/{taskId}", taskListId, taskId))
+        .andExpect(jsonPath("$.status", is("OPEN")));
+    mockMvc
+        .perform(get("/api/v1/task-lists/{id}/tasks", taskListId).param("status", "OPEN"))
+        .andExpect(jsonPath("$.items[*].id", contains(taskId)));
+
+    mockMvc
+        .perform(
+            json(
+                put("/api/v1/task-lists/{id}/tasks/{taskId}", taskListId, taskId),
+                new UpdateTaskRequest("Tag the release", null, null, null, TaskStatus.CLOSED)))
+        .andExpect(status().isOk());
+
+    mockMvc
+        .perform(get("/api/v1/task-lists/{id}/tasks/{taskId}", taskListId, taskId))
+        .andExpect(jsonPath("$.status", is("CLOSED")));
+    mockMvc
+        .perform(get("/api/v1/task-lists/{id}/tasks", taskListId))
+        .andExpect(jsonPath("$.items[0].status", is("CLOSED")));
+    mockMvc
+        .perform(get("/api/v1/task-lists/{id}/tasks", taskListId).param("status", "OPEN"))
+        .andExpect(jsonPath("$.items", hasSize(0)));
+    mockMvc
+        .perform(get("/api/v1/task-lists/{id}", taskListId))
+        .andExpect(jsonPath("$.progress", is(100.0)));
+    mockMvc
+        .perform(taskLists())
+        .andExpect(jsonPath("$.items[?(@.id == '" + taskListId + "')].progress", hasItem(100.0)));
+
+    mockMvc
+        .perform(delete("/api/v1/task-lists/{id}/tasks/{taskId}", taskListId, taskId))
+        .andExpect(status().isNoContent());
+
+    mockMvc
+        .perform(get("/api/v1/task-lists/{id}/tasks/{taskId}", taskListId, taskId))
+        .andExpect(status().isNotFound());
+    mockMvc
+        .perform(get("/api/v1/task-lists/{id}/tasks", taskListId))
+        .andExpect(jsonPath("$.items", hasSize(0)));
+    mockMvc
+        .perform(get("/api/v1/task-lists/{id}", taskListId))
+        .andExpect(jsonPath("$.count", is(0)));
+    mockMvc
+        .perform(taskLists())
+        .andExpect(jsonPath("$.items[?(@.id == '" + taskListId + "')].count", hasItem(0)));
+  }
+
+  @Test
+  @DisplayName("Deleting a task list should evict its cached tasks")
+  void deletingTaskListShouldEvictItsCachedTasks() throws Exception {
+    String taskListId = createTaskList("Short lived");
+    String taskId = createTask(taskListId, "Soon gone");
+    mockMvc
+        .perform(get("/api/v1/task-lists/{id}/tasks/{taskId}", taskListId, taskId))
+        .andExpect(status().isOk());
+
+    mockMvc
+        .perform(delete("/api/v1/task-lists/{id}", taskListId))
+        .andExpect(status().isNoContent());
+
+    mockMvc
+        .perform(get("/api/v1/task-lists/{id}/tasks/{taskId}", taskListId, taskId))
+        .andExpect(status().isNotFound());
+    mockMvc
+        .perform(get("/api/v1/task-lists/{id}/tasks", taskListId))
+        .andExpect(jsonPath("$.items", hasSize(0)));
+  }
+
+  private MockHttpServletRequestBuilder taskLists() {
+    return get("/api/v1/task-lists").param("limit", "100");
+  }
+
+  private void warmUp(String taskListId) throws Exception {
+    mockMvc.perform(taskLists()).andExpect(status().isOk());
+    mockMvc.perform(get("/api/v1/task-lists/{id}", taskListId)).andExpect(status().isOk());
+    mockMvc.perform(get("/api/v1/task-lists/{id}/tasks", taskListId)).andExpect(status().isOk());
+  }
+
+  private String createTaskList(String title) throws Exception {
+    return idOf(
+        mockMvc
+            .perform(json(post("/api/v1/task-lists"), new CreateTaskListRequest(title, null)))
+            .andExpect(status().isCreated())
+            .andReturn()
+            .getResponse()
+            .getContentAsString());
+  }
+
+  private String createTask(String taskListId, String title) throws Exception {
+    return idOf(
+        mockMvc
+            .perform(
+                json(
+                    post("/api/v1/task-lists/{id}/tasks", taskListId),
+                    new CreateTaskRequest(
+                        title, null, LocalDateTime.now().plusDays(3), TaskPriority.HIGH)))
+            .andExpect(status().isCreated())
+            .andReturn()
+            .getResponse()
+            .getContentAsString());
+  }
+
+  private MockHttpServletRequestBuilder json(MockHttpServletRequestBuilder request, Object body)
+      throws Exception {
+    return request
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(body));
+  }
+
+  private String idOf(String json) throws Exception {
+    JsonNode node = objectMapper.readTree(json);
+    return node.get("id").asText();
+  }
+}
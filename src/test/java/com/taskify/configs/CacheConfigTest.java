@@ -0,0 +1,103 @@
+package com.taskify.configs;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.taskify.dtos.TaskDto;
+import com.taskify.dtos.TaskListDto;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+class CacheConfigTest {
+
+  private final CacheConfig cacheConfig = new CacheConfig();
+
+  @Test
+  @DisplayName("Should bound configured caches by maximum size")
+  void shouldBoundConfiguredCachesByMaximumSize() {
+    CacheManager cacheManager =
+        cacheConfig.cacheManager(
+            new CacheProperties(
+                null, Map.of("tasks", new CacheProperties.Policy(2L, null, null, null, null))));
+
+    for (int i = 0; i < 10; i++) {
+      cacheManager.getCache("tasks").put(i, "value-" + i);
+    }
+
+    Cache<Object, Object> nativeCache = nativeCache(cacheManager, "tasks");
+    nativeCache.cleanUp();
+    assertTrue(nativeCache.estimatedSize() <= 2);
+    assertTrue(nativeCache.stats().evictionCount() >= 8);
+  }
+
+  @Test
+  @DisplayName("Should record hit and miss statistics")
+  void shouldRecordHitAndMissStatistics() {
+    CacheManager cacheManager = cacheConfig.cacheManager(new CacheProperties(null, null));
+    org.springframework.cache.Cache cache = cacheManager.getCache("taskLists");
+
+    cache.put("key", "value");
+    cache.get("key");
+    cache.get("missing");
+
+    Cache<Object, Object> nativeCache = nativeCache(cacheManager, "taskLists");
+    assertEquals(1, nativeCache.stats().hitCount());
+    assertEquals(1, nativeCache.stats().missCount());
+  }
+
+  @Test
+  @DisplayName("Should apply expiry policies to configured caches")
+  void shouldApplyExpiryPoliciesToConfiguredCaches() {
+    CacheManager cacheManager =
+        cacheConfig.cacheManager(
+            new CacheProperties(
+                null,
+                Map.of(
+                    "tasks",
+                    new CacheProperties.Policy(
+                        null, null, Duration.ofMinutes(10), Duration.ofMinutes(5), null))));
+
+    Cache<Object, Object> nativeCache = nativeCache(cacheManager, "tasks");
+    assertEquals(
+        Duration.ofMinutes(10),
+        nativeCache.policy().expireAfterWrite().orElseThrow().getExpiresAfter());
+    assertEquals(
+        Duration.ofMinutes(5),
+        nativeCache.policy().expireAfterAccess().orElseThrow().getExpiresAfter());
+  }
+
+  @Test
+  @DisplayName("Should reject policies combining maximum size and maximum weight")
+  void shouldRejectPoliciesCombiningMaximumSizeAndMaximumWeight() {
+    CacheProperties properties =
+        new CacheProperties(
+            null, Map.of("tasks", new CacheProperties.Policy(1L, 1L, null, null, null)));
+
+    assertThrows(IllegalStateException.class, () -> cacheConfig.cacheManager(properties));
+  }
+
+  @Test
+  @DisplayName("Should weigh task lists by the number of embedded tasks")
+  void shouldWeighTaskListsByNumberOfEmbeddedTasks() {
+    CacheWeigher weigher = new CacheWeigher();
+    TaskDto task = new TaskDto(UUID.randomUUID(), "Task", null, null, null, null);
+    TaskListDto taskList =
+        new TaskListDto(UUID.randomUUID(), "List", null, 3, 0.0, Collections.nCopies(3, task));
+
+    assertEquals(1, weigher.weigh("key", task));
+    assertEquals(4, weigher.weigh("key", taskList));
+    assertEquals(9, weigher.weigh("key", List.of(taskList, taskList)));
+  }
+
+  @SuppressWarnings("unchecked")
+  private Cache<Object, Object> nativeCache(CacheManager cacheManager, String name) {
+    return ((CaffeineCache) cacheManager.getCache(name)).getNativeCache();
+  }
+}
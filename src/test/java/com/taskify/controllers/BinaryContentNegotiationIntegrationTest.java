@@ -0,0 +1,222 @@
+package com.taskify.controllers;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskify.BaseIntegrationTest;
+import com.taskify.dtos.CreateTaskListRequest;
+import com.taskify.dtos.CreateTaskRequest;
+import com.taskify.dtos.CursorPage;
+import com.taskify.dtos.TaskDto;
+import com.taskify.dtos.TaskListDto;
+import com.taskify.dtos.UpdateTaskListRequest;
+import com.taskify.dtos.UpdateTaskRequest;
+import com.taskify.entities.TaskPriority;
+import com.taskify.entities.TaskStatus;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+class BinaryContentNegotiationIntegrationTest extends BaseIntegrationTest {
+
+  private static final String SMILE = "application/x-jackson-smile";
+  private static final String CBOR = MediaType.APPLICATION_CBOR_VALUE;
+
+  @Autowired private MockMvc mockMvc;
+  @Autowired private ObjectMapper objectMapper;
+
+  @ParameterizedTest
+  @ValueSource(strings = {CBOR, SMILE})
+  @DisplayName("Task lists and tasks should round-trip through binary request and response bodies")
+  void shouldRoundTripBinaryBodies(String mediaType) throws Exception {
+    ObjectMapper mapper = mapperFor(mediaType);
+    LocalDateTime dueDate = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.MICROS);
+
+    TaskListDto taskList =
+        mapper.readValue(
+            send(
+                    mediaType,
+                    post("/api/v1/task-lists")
+                        .content(
+                            mapper.writeValueAsBytes(
+                                new CreateTaskListRequest("Binary", "Sent as " + mediaType))))
+                .getResponse()
+                .getContentAsByteArray(),
+            TaskListDto.class);
+    String taskListPath = "/api/v1/task-lists/" + taskList.id();
+    TaskDto task =
+        mapper.readValue(
+            send(
+                    mediaType,
+                    post(taskListPath + "/tasks")
+                        .content(
+                            mapper.writeValueAsBytes(
+                                new CreateTaskRequest(
+                                    "Encode", "Ünïcödé ✓", dueDate, TaskPriority.HIGH))))
+                .getResponse()
+                .getContentAsByteArray(),
+            TaskDto.class);
+    assertEquals(
+        new TaskDto(task.id(), "Encode", "Ünïcödé ✓", dueDate, TaskPriority.HIGH, TaskStatus.OPEN),
+        task);
+
+    TaskDto updated =
+        mapper.readValue(
+            send(
+                    mediaType,
+                    put(taskListPath + "/tasks/" + task.id())
+                        .content(
+                            mapper.writeValueAsBytes(
+                                new UpdateTaskRequest(
+                                    "Encode", null, null, null, TaskStatus.CLOSED))))
+                .getResponse()
+                .getContentAsByteArray(),
+            TaskDto.class);
+    assertEquals(TaskStatus.CLOSED, updated.status());
+
+    MvcResult binary = send(mediaType, get(taskListPath));
+    MvcResult json = send(MediaType.APPLICATION_JSON_VALUE, get(taskListPath));
+    TaskListDto fromBinary =
+        mapper.readValue(binary.getResponse().getContentAsByteArray(), TaskListDto.class);
+    assertEquals(
+        objectMapper.readValue(json.getResponse().getContentAsByteArray(), TaskListDto.class),
+        fromBinary);
+    assertEquals(List.of(updated), fromBinary.tasks());
+    assertTrue(
+        binary.getResponse().getContentAsByteArray().length
+            < json.getResponse().getContentAsByteArray().length);
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {CBOR, SMILE})
+  @DisplayName("Binary responses should keep sparse fieldsets, pages and validators")
+  void shouldKeepSparseFieldsPagesAndValidators(String mediaType) throws Exception {
+    ObjectMapper mapper = mapperFor(mediaType);
+    String taskListPath = "/api/v1/task-lists/" + createTaskList();
+    for (int i = 0; i < 3; i++) {
+      mockMvc
+          .perform(
+              post(taskListPath + "/tasks")
+                  .contentType(MediaType.APPLICATION_JSON)
+                  .content(
+                      objectMapper.writeValueAsString(
+                          new CreateTaskRequest(
+                              "Task " + i,
+                              null,
+                              LocalDateTime.now().plusDays(1),
+                              TaskPriority.MEDIUM))))
+          .andExpect(status().isCreated());
+    }
+
+    MvcResult page = send(mediaType, get(taskListPath + "/tasks?limit=2&fields=title"));
+    JsonNode tree = mapper.readTree(page.getResponse().getContentAsByteArray());
+    assertEquals(2, tree.get("items").size());
+    assertTrue(tree.get("items").get(0).has("title"));
+    assertFalse(tree.get("items").get(0).has("priority"));
+    CursorPage<TaskDto> tasks =
+        mapper.readValue(
+            page.getResponse().getContentAsByteArray(),
+            new TypeReference<CursorPage<TaskDto>>() {});
+    assertNotNull(tasks.next());
+
+    String eTag = page.getResponse().getHeader(HttpHeaders.ETAG);
+    mockMvc
+        .perform(
+            get(taskListPath + "/tasks?limit=2&fields=title")
+                .accept(mediaType)
+                .header(HttpHeaders.IF_NONE_MATCH, eTag))
+        .andExpect(status().isNotModified())
+        .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)));
+
+    // Different bytes, so different strong validators: a JSON ETag does not revalidate a binary
+    // body, while If-Match takes the row version from either.
+    String jsonETag =
+        mockMvc
+            .perform(get(taskListPath).accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+    String binaryETag =
+        send(mediaType, get(taskListPath)).getResponse().getHeader(HttpHeaders.ETAG);
+    assertNotEquals(jsonETag, binaryETag);
+    mockMvc
+        .perform(get(taskListPath).accept(mediaType).header(HttpHeaders.IF_NONE_MATCH, jsonETag))
+        .andExpect(status().isOk());
+    mockMvc
+        .perform(get(taskListPath).accept(mediaType).header(HttpHeaders.IF_NONE_MATCH, binaryETag))
+        .andExpect(status().isNotModified());
+    send(
+        mediaType,
+        put(taskListPath)
+            .header(HttpHeaders.IF_MATCH, binaryETag)
+            .content(mapper.writeValueAsBytes(new UpdateTaskListRequest("Sparse", "Renamed"))));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {CBOR, SMILE})
+  @DisplayName("Binary requests should fail like JSON ones, with problem details in JSON")
+  void shouldAnswerBinaryRequestErrorsWithProblemDetails(String mediaType) throws Exception {
+    mockMvc
+        .perform(
+            post("/api/v1/task-lists")
+                .contentType(mediaType)
+                .accept(mediaType)
+                .content(
+                    mapperFor(mediaType).writeValueAsBytes(new CreateTaskListRequest(" ", null))))
+        .andExpect(status().isBadRequest());
+    mockMvc
+        .perform(get("/api/v1/task-lists/{id}", UUID.randomUUID()).accept(mediaType))
+        .andExpect(status().isNotFound())
+        .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_PROBLEM_JSON))
+        .andExpect(jsonPath("$.title").value("Task list not found"));
+  }
+
+  private MvcResult send(String mediaType, MockHttpServletRequestBuilder request) throws Exception {
+    return mockMvc
+        .perform(request.contentType(mediaType).accept(mediaType))
+        .andExpect(status().is2xxSuccessful())
+        .andExpect(content().contentTypeCompatibleWith(mediaType))
+        .andReturn();
+  }
+
+  private String createTaskList() throws Exception {
+    return objectMapper
+        .readTree(
+            mockMvc
+                .perform(
+                    post("/api/v1/task-lists")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(
+                            objectMapper.writeValueAsString(
+                                new CreateTaskListRequest("Sparse", null))))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray())
+        .get("id")
+        .asText();
+  }
+
+  private static ObjectMapper mapperFor(String mediaType) {
+    return mediaType.equals(CBOR)
+        ? Jackson2ObjectMapperBuilder.cbor().build()
+        : Jackson2ObjectMapperBuilder.smile().build();
+  }
+}
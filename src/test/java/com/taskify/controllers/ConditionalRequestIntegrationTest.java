@@ -0,0 +1,217 @@
+package com.taskify.controllers;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskify.BaseIntegrationTest;
+import com.taskify.dtos.CreateTaskListRequest;
+import com.taskify.dtos.CreateTaskRequest;
+import com.taskify.dtos.UpdateTaskListRequest;
+import com.taskify.dtos.UpdateTaskRequest;
+import com.taskify.entities.TaskPriority;
+import com.taskify.entities.TaskStatus;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+class ConditionalRequestIntegrationTest extends BaseIntegrationTest {
+
+  @Autowired private MockMvc mockMvc;
+  @Autowired private ObjectMapper objectMapper;
+
+  @Test
+  @DisplayName("Conditional GETs should return 304 until the underlying rows change")
+  void conditionalGetsShouldReturn304UntilRowsChange() throws Exception {
+    String taskListId = create("/api/v1/task-lists", new CreateTaskListRequest("Chores", null));
+    String taskListPath = "/api/v1/task-lists/" + taskListId;
+
+    String taskListETag = eTagOf(taskListPath);
+    String tasksETag = eTagOf(taskListPath + "/tasks");
+    String taskListsETag = eTagOf("/api/v1/task-lists");
+    assertNotModified(taskListPath, taskListETag);
+    assertNotModified(taskListPath + "/tasks", tasksETag);
+    assertNotModified("/api/v1/task-lists", taskListsETag);
+
+    String taskId =
+        create(
+            taskListPath + "/tasks",
+            new CreateTaskRequest(
+                "Laundry", null, LocalDateTime.now().plusDays(1), TaskPriority.LOW));
+    assertModified(taskListPath, taskListETag);
+    assertModified(taskListPath + "/tasks", tasksETag);
+    assertModified("/api/v1/task-lists", taskListsETag);
+
+    String taskPath = taskListPath + "/tasks/" + taskId;
+    String taskETag = eTagOf(taskPath);
+    assertNotModified(taskPath, taskETag);
+    mockMvc
+        .perform(
+            put(taskPath)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                    objectMapper.writeValueAsString(
+                        new UpdateTaskRequest("Laundry", null, null, null, TaskStatus.CLOSED))))
+        .andExpect(status().isOk());
+    assertModified(taskPath, taskETag);
+
+    // Edits of an embedded task leave the task list's row alone, but not its representation.
+    taskListETag = eTagOf(taskListPath);
+    taskListsETag = eTagOf("/api/v1/task-lists?include_tasks=true");
+    mockMvc
+        .perform(
+            patch(taskPath)
+                .contentType(TaskController.MERGE_PATCH_JSON)
+                .content("{\"title\": \"Ironing\"}"))
+        .andExpect(status().isOk());
+    assertModified(taskListPath, taskListETag);
+    assertModified("/api/v1/task-lists?include_tasks=true", taskListsETag);
+
+    tasksETag = eTagOf(taskListPath + "/tasks");
+    mockMvc.perform(delete(taskPath)).andExpect(status().isNoContent());
+    assertModified(taskListPath + "/tasks", tasksETag);
+  }
+
+  @Test
+  @DisplayName("Writes with If-Match should only succeed while the row is at the version given")
+  void conditionalWritesShouldReturn412OnceTheRowChanged() throws Exception {
+    String taskListId = create("/api/v1/task-lists", new CreateTaskListRequest("Chores", null));
+    String taskListPath = "/api/v1/task-lists/" + taskListId;
+    String taskListETag = eTagOf(taskListPath);
+    String taskId =
+        create(
+            taskListPath + "/tasks",
+            new CreateTaskRequest(
+                "Laundry", null, LocalDateTime.now().plusDays(1), TaskPriority.LOW));
+    String taskPath = taskListPath + "/tasks/" + taskId;
+    String taskETag = eTagOf(taskPath);
+
+    UpdateTaskRequest close = new UpdateTaskRequest("Laundry", null, null, null, TaskStatus.CLOSED);
+    mockMvc
+        .perform(putJson(taskPath, close).header(HttpHeaders.IF_MATCH, taskETag))
+        .andExpect(status().isOk());
+    mockMvc
+        .perform(putJson(taskPath, close).header(HttpHeaders.IF_MATCH, taskETag))
+        .andExpect(status().isPreconditionFailed());
+    mockMvc
+        .perform(
+            patch(taskPath)
+                .header(HttpHeaders.IF_MATCH, taskETag)
+                .contentType(TaskController.MERGE_PATCH_JSON)
+                .content("{\"title\": \"Ironing\"}"))
+        .andExpect(status().isPreconditionFailed());
+    mockMvc
+        .perform(
+            patch(taskPath)
+                .header(HttpHeaders.IF_MATCH, taskETag)
+                .contentType(TaskController.MERGE_PATCH_JSON)
+                .content("{}"))
+        .andExpect(status().isPreconditionFailed());
+    mockMvc
+        .perform(
+            patch(taskPath)
+                .header(HttpHeaders.IF_MATCH, eTagOf(taskPath))
+                .contentType(TaskController.MERGE_PATCH_JSON)
+                .content("{\"title\": \"Ironing\"}"))
+        .andExpect(status().isOk());
+    mockMvc
+        .perform(delete(taskPath).header(HttpHeaders.IF_MATCH, taskETag))
+        .andExpect(status().isPreconditionFailed());
+    taskETag = eTagOf(taskPath);
+    mockMvc
+        .perform(delete(taskPath).header(HttpHeaders.IF_MATCH, taskETag))
+        .andExpect(status().isNoContent());
+    mockMvc
+        .perform(delete(taskPath).header(HttpHeaders.IF_MATCH, taskETag))
+        .andExpect(status().isPreconditionFailed());
+    // * matches any version, but only of a task that exists.
+    mockMvc
+        .perform(delete(taskPath).header(HttpHeaders.IF_MATCH, "*"))
+        .andExpect(status().isPreconditionFailed());
+    mockMvc
+        .perform(putJson(taskPath, close).header(HttpHeaders.IF_MATCH, "*"))
+        .andExpect(status().isPreconditionFailed());
+
+    // Changes to its tasks leave the version of the task list alone.
+    mockMvc
+        .perform(
+            putJson(taskListPath, new UpdateTaskListRequest("Chores", "Weekly"))
+                .header(HttpHeaders.IF_MATCH, taskListETag))
+        .andExpect(status().isOk());
+    mockMvc
+        .perform(
+            putJson(taskListPath, new UpdateTaskListRequest("Chores", "Weekly"))
+                .header(HttpHeaders.IF_MATCH, "*"))
+        .andExpect(status().isOk());
+    mockMvc
+        .perform(delete(taskListPath).header(HttpHeaders.IF_MATCH, taskListETag))
+        .andExpect(status().isPreconditionFailed());
+    mockMvc
+        .perform(delete(taskListPath).header(HttpHeaders.IF_MATCH, eTagOf(taskListPath)))
+        .andExpect(status().isNoContent());
+  }
+
+  @Test
+  @DisplayName("Cross-origin responses should expose the ETag to send back in If-Match")
+  void crossOriginResponsesShouldExposeETag() throws Exception {
+    String taskListId = create("/api/v1/task-lists", new CreateTaskListRequest("Chores", null));
+
+    mockMvc
+        .perform(
+            get("/api/v1/task-lists/" + taskListId)
+                .header(HttpHeaders.ORIGIN, "https://app.example.com"))
+        .andExpect(status().isOk())
+        .andExpect(header().exists(HttpHeaders.ETAG))
+        .andExpect(header().string(HttpHeaders.ACCESS_CONTROL_EXPOSE_HEADERS, HttpHeaders.ETAG));
+  }
+
+  private MockHttpServletRequestBuilder putJson(String path, Object body) throws Exception {
+    return put(path)
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(body));
+  }
+
+  private String create(String path, Object body) throws Exception {
+    String json =
+        mockMvc
+            .perform(
+                post(path)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(body)))
+            .andExpect(status().isCreated())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+    return objectMapper.readTree(json).get("id").asText();
+  }
+
+  private String eTagOf(String path) throws Exception {
+    String eTag =
+        mockMvc
+            .perform(get(path))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+            .andReturn()
+            .getResponse()
+            .getHeader("ETag");
+    assertNotNull(eTag);
+    return eTag;
+  }
+
+  private void assertNotModified(String path, String eTag) throws Exception {
+    mockMvc.perform(get(path).header("If-None-Match", eTag)).andExpect(status().isNotModified());
+  }
+
+  private void assertModified(String path, String eTag) throws Exception {
+    mockMvc
+        .perform(get(path).header("If-None-Match", eTag))
+        .andExpect(status().isOk())
+        .andExpect(header().string("ETag", org.hamcrest.Matchers.not(eTag)));
+  }
+}
@@ -0,0 +1,141 @@
+package com.taskify.controllers;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskify.dtos.CreateTaskRequest;
+import com.taskify.dtos.CreateTasksRequest;
+import com.taskify.dtos.CreateTasksResult;
+import com.taskify.dtos.TaskDto;
+import com.taskify.dtos.TaskFilter;
+import com.taskify.dtos.UpdateTasksRequest;
+import com.taskify.dtos.UpdateTasksResult;
+import com.taskify.entities.TaskPriority;
+import com.taskify.entities.TaskStatus;
+import com.taskify.exceptions.TaskListNotFoundException;
+import com.taskify.services.TaskBatchService;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+@AutoConfigureMockMvc
+@WebMvcTest(controllers = TaskBatchController.class)
+class TaskBatchControllerTest {
+
+  @Autowired private ObjectMapper objectMapper;
+  @Autowired private MockMvc mockMvc;
+  @MockitoBean private TaskBatchService taskBatchService;
+
+  private final UUID taskListId = UUID.randomUUID();
+  private final LocalDateTime dueDate = LocalDateTime.now().plusDays(1);
+
+  @Test
+  @DisplayName(
+      "POST /api/v1/task-lists/{task_list_id}/tasks:batch - Should return per-item results")
+  void shouldReturnPerItemResults() throws Exception {
+    CreateTaskRequest valid = new CreateTaskRequest("Pay rent", null, dueDate, TaskPriority.HIGH);
+    CreateTaskRequest invalid = new CreateTaskRequest("", null, dueDate, TaskPriority.HIGH);
+    TaskDto created =
+        new TaskDto(
+            UUID.randomUUID(), "Pay rent", null, dueDate, TaskPriority.HIGH, TaskStatus.OPEN);
+    when(taskBatchService.createTasks(taskListId, List.of(valid, invalid)))
+        .thenReturn(
+            CreateTasksResult.of(
+                List.of(
+                    CreateTasksResult.Item.created(0, created),
+                    CreateTasksResult.Item.rejected(1, List.of("title must not be blank")))));
+
+    mockMvc
+        .perform(
+            post("/api/v1/task-lists/{task_list_id}/tasks:batch", taskListId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                    objectMapper.writeValueAsString(
+                        new CreateTasksRequest(List.of(valid, invalid)))))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.created").value(1))
+        .andExpect(jsonPath("$.failed").value(1))
+        .andExpect(jsonPath("$.items[0].status").value(201))
+        .andExpect(jsonPath("$.items[0].task.id").value(created.id().toString()))
+        .andExpect(jsonPath("$.items[0].errors").doesNotExist())
+        .andExpect(jsonPath("$.items[1].index").value(1))
+        .andExpect(jsonPath("$.items[1].status").value(400))
+        .andExpect(jsonPath("$.items[1].task").doesNotExist())
+        .andExpect(jsonPath("$.items[1].errors[0]").value("title must not be blank"));
+  }
+
+  @Test
+  @DisplayName("POST /api/v1/task-lists/{task_list_id}/tasks:batch - Should reject an empty batch")
+  void shouldRejectEmptyBatch() throws Exception {
+    mockMvc
+        .perform(
+            post("/api/v1/task-lists/{task_list_id}/tasks:batch", taskListId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"tasks\":[]}"))
+        .andExpect(status().isBadRequest());
+    verifyNoInteractions(taskBatchService);
+  }
+
+  @Test
+  @DisplayName("POST /api/v1/task-lists/{task_list_id}/tasks:batch - Should 404 for a missing list")
+  void shouldReturn404ForMissingTaskList() throws Exception {
+    when(taskBatchService.createTasks(eq(taskListId), anyList()))
+        .thenThrow(new TaskListNotFoundException("Task List not found with ID: " + taskListId));
+
+    mockMvc
+        .perform(
+            post("/api/v1/task-lists/{task_list_id}/tasks:batch", taskListId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                    objectMapper.writeValueAsString(
+                        new CreateTasksRequest(
+                            List.of(
+                                new CreateTaskRequest(
+                                    "Pay rent", null, dueDate, TaskPriority.HIGH))))))
+        .andExpect(status().isNotFound());
+  }
+
+  @Test
+  @DisplayName("POST /api/v1/task-lists/{task_list_id}/tasks:update - Should bulk update tasks")
+  void shouldBulkUpdateTasks() throws Exception {
+    TaskFilter filter = new TaskFilter(TaskStatus.OPEN, null, null, dueDate.withNano(0));
+    when(taskBatchService.updateTasks(taskListId, filter, TaskStatus.CLOSED, null))
+        .thenReturn(new UpdateTasksResult(42));
+
+    mockMvc
+        .perform(
+            post("/api/v1/task-lists/{task_list_id}/tasks:update", taskListId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                    objectMapper.writeValueAsString(
+                        new UpdateTasksRequest(filter, TaskStatus.CLOSED, null))))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.updated").value(42));
+  }
+
+  @Test
+  @DisplayName("POST /api/v1/task-lists/{task_list_id}/tasks:update - Should 400 for a bad filter")
+  void shouldRejectInvalidBulkUpdateFilter() throws Exception {
+    mockMvc
+        .perform(
+            post("/api/v1/task-lists/{task_list_id}/tasks:update", taskListId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                    "{\"filter\":{\"dueAfter\":\"2030-01-02T00:00:00\","
+                        + "\"dueBefore\":\"2030-01-01T00:00:00\"},\"status\":\"CLOSED\"}"))
+        .andExpect(status().isBadRequest());
+    verifyNoInteractions(taskBatchService);
+  }
+}
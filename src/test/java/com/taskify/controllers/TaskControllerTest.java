@@ -3,6 +3,7 @@ package com.taskify.controllers;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -10,17 +11,26 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.taskify.dtos.CreateTaskRequest;
+import com.taskify.dtos.CursorPage;
+import com.taskify.dtos.ResourceVersion;
 import com.taskify.dtos.TaskDto;
+import com.taskify.dtos.TaskFields;
+import com.taskify.dtos.TaskFilter;
+import com.taskify.dtos.TaskPatch;
 import com.taskify.dtos.UpdateTaskRequest;
 import com.taskify.entities.Task;
 import com.taskify.entities.TaskList;
 import com.taskify.entities.TaskPriority;
 import com.taskify.entities.TaskStatus;
+import com.taskify.exceptions.PreconditionFailedException;
 import com.taskify.exceptions.TaskListNotFoundException;
 import com.taskify.exceptions.TaskNotFoundException;
+import com.taskify.pagination.TaskSort;
 import com.taskify.services.TaskService;
+import java.sql.SQLTransientConnectionException;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -28,9 +38,11 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.CannotCreateTransactionException;
 
 @AutoConfigureMockMvc
 @WebMvcTest(controllers = TaskController.class)
@@ -94,15 +106,105 @@ class TaskControllerTest {
       "GET /api/v1/task-lists/{task_list_id}/tasks - Should list all tasks for a given task list")
   void shouldListAllTasksForGivenTaskList() throws Exception {
     // Arrange
-    when(taskService.listTasks(taskList.getId())).thenReturn(List.of(taskDto1, taskDto2));
+    when(taskService.listTasks(
+            taskList.getId(), TaskFilter.NONE, TaskSort.DEFAULT, TaskFields.ALL, false, null, null))
+        .thenReturn(new CursorPage<>(List.of(taskDto1, taskDto2), "next-cursor"));
 
     // Act & Assert
     mockMvc
         .perform(get("/api/v1/task-lists/{task_list_id}/tasks", taskList.getId()))
         .andExpect(status().isOk())
-        .andExpect(jsonPath("$", hasSize(2)))
-        .andExpect(jsonPath("$[0].title", is(taskDto1.title())))
-        .andExpect(jsonPath("$[1].title", is(taskDto2.title())));
+        .andExpect(jsonPath("$.items", hasSize(2)))
+        .andExpect(jsonPath("$.items[0].title", is(taskDto1.title())))
+        .andExpect(jsonPath("$.items[1].title", is(taskDto2.title())))
+        .andExpect(jsonPath("$.next", is("next-cursor")));
+  }
+
+  @Test
+  @DisplayName(
+      "GET /api/v1/task-lists/{task_list_id}/tasks - Should pass filters, sort and pagination"
+          + " through")
+  void shouldPassFiltersSortAndPaginationThrough() throws Exception {
+    // Arrange
+    LocalDateTime dueAfter = LocalDateTime.of(2025, 1, 1, 0, 0);
+    LocalDateTime dueBefore = LocalDateTime.of(2025, 2, 1, 0, 0);
+    TaskFilter filter = new TaskFilter(TaskStatus.OPEN, TaskPriority.HIGH, dueAfter, dueBefore);
+    when(taskService.listTasks(
+            taskList.getId(), filter, TaskSort.parse("-due_date"), TaskFields.ALL, true, "abc", 10))
+        .thenReturn(new CursorPage<>(List.of(taskDto1), null));
+
+    // Act & Assert
+    mockMvc
+        .perform(
+            get("/api/v1/task-lists/{task_list_id}/tasks", taskList.getId())
+                .param("status", "OPEN")
+                .param("priority", "HIGH")
+                .param("due_after", "2025-01-01T00:00:00")
+                .param("due_before", "2025-02-01T00:00:00")
+                .param("sort", "-due_date")
+                .param("cursor", "abc")
+                .param("limit", "10")
+                .param("include_archived", "true"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.items", hasSize(1)));
+  }
+
+  @Test
+  @DisplayName(
+      "GET /api/v1/task-lists/{task_list_id}/tasks - Should return 400 for an unsupported sort")
+  void shouldReturn400ForUnsupportedSort() throws Exception {
+    mockMvc
+        .perform(
+            get("/api/v1/task-lists/{task_list_id}/tasks", taskList.getId()).param("sort", "title"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.detail", is("Unsupported sort: title")));
+    verify(taskService, never())
+        .listTasks(
+            any(UUID.class),
+            any(TaskFilter.class),
+            any(TaskSort.class),
+            any(),
+            anyBoolean(),
+            any(),
+            any());
+  }
+
+  @Test
+  @DisplayName(
+      "GET /api/v1/task-lists/{task_list_id}/tasks - Should only serialize the requested fields")
+  void shouldOnlySerializeRequestedFields() throws Exception {
+    // Arrange
+    TaskFields fields = TaskFields.parse("title,status");
+    TaskDto sparse =
+        new TaskDto(taskDto1.id(), taskDto1.title(), null, null, null, TaskStatus.OPEN);
+    when(taskService.listTasks(
+            taskList.getId(), TaskFilter.NONE, TaskSort.DEFAULT, fields, false, null, null))
+        .thenReturn(new CursorPage<>(List.of(sparse), null));
+
+    // Act & Assert
+    mockMvc
+        .perform(
+            get("/api/v1/task-lists/{task_list_id}/tasks", taskList.getId())
+                .param("fields", "title,status"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.items[0].id", is(taskDto1.id().toString())))
+        .andExpect(jsonPath("$.items[0].title", is(taskDto1.title())))
+        .andExpect(jsonPath("$.items[0].status", is("OPEN")))
+        .andExpect(jsonPath("$.items[0].description").doesNotExist())
+        .andExpect(jsonPath("$.items[0].dueDate").doesNotExist())
+        .andExpect(jsonPath("$.items[0].priority").doesNotExist());
+  }
+
+  @Test
+  @DisplayName(
+      "GET /api/v1/task-lists/{task_list_id}/tasks - Should return 400 for an unsupported field")
+  void shouldReturn400ForUnsupportedField() throws Exception {
+    mockMvc
+        .perform(
+            get("/api/v1/task-lists/{task_list_id}/tasks", taskList.getId())
+                .param("fields", "id,taskList"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.detail", is("Unsupported field: taskList")));
   }
 
   @Test
@@ -111,13 +213,21 @@ class TaskControllerTest {
   void shouldReturnEmptyListIfTaskListNotFoundWhenListingTasks() throws Exception {
     // Arrange
     UUID nonExistentTaskListId = UUID.randomUUID();
-    when(taskService.listTasks(nonExistentTaskListId)).thenReturn(List.of());
+    when(taskService.listTasks(
+            nonExistentTaskListId,
+            TaskFilter.NONE,
+            TaskSort.DEFAULT,
+            TaskFields.ALL,
+            false,
+            null,
+            null))
+        .thenReturn(new CursorPage<>(List.of(), null));
 
     // Act & Assert
     mockMvc
         .perform(get("/api/v1/task-lists/{task_list_id}/tasks", nonExistentTaskListId))
         .andExpect(status().isOk())
-        .andExpect(jsonPath("$", hasSize(0)));
+        .andExpect(jsonPath("$.items", hasSize(0)));
   }
 
   @Test
@@ -201,6 +311,90 @@ class TaskControllerTest {
         .andExpect(jsonPath("$.title", is(taskDto1.title())));
   }
 
+  @Test
+  @DisplayName(
+      "GET /api/v1/task-lists/{task_list_id}/tasks/{task_id} - Should look in the archive when"
+          + " asked to")
+  void shouldGetArchivedTaskWhenIncludingArchived() throws Exception {
+    // Arrange
+    when(taskService.getTaskIncludingArchived(taskList.getId(), task1.getId()))
+        .thenReturn(taskDto1);
+
+    // Act & Assert
+    mockMvc
+        .perform(
+            get(
+                    "/api/v1/task-lists/{task_list_id}/tasks/{task_id}",
+                    taskList.getId(),
+                    task1.getId())
+                .param("include_archived", "true"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.title", is(taskDto1.title())));
+    verify(taskService, never()).getTask(any(UUID.class), any(UUID.class));
+  }
+
+  @Test
+  @DisplayName(
+      "GET /api/v1/task-lists/{task_list_id}/tasks - Should return 304 from the task list's stamps"
+          + " without loading the page")
+  void shouldReturn304WhenTasksETagMatches() throws Exception {
+    ResourceVersion version = new ResourceVersion(2, LocalDateTime.of(2025, 1, 1, 12, 0), null, 7L);
+    when(taskService.getTasksVersion(taskList.getId())).thenReturn(Optional.of(version));
+
+    mockMvc
+        .perform(
+            get("/api/v1/task-lists/{task_list_id}/tasks", taskList.getId())
+                .header("If-None-Match", version.eTag()))
+        .andExpect(status().isNotModified())
+        .andExpect(header().string("ETag", version.eTag()))
+        .andExpect(header().exists("Last-Modified"));
+    verify(taskService, never()).listTasks(any(), any(), any(), any(), anyBoolean(), any(), any());
+  }
+
+  @Test
+  @DisplayName(
+      "GET /api/v1/task-lists/{task_list_id}/tasks/{task_id} - Should return validators and"
+          + " Cache-Control")
+  void shouldReturnValidatorsAndCacheControlWhenGettingTask() throws Exception {
+    ResourceVersion version = new ResourceVersion(1, LocalDateTime.of(2025, 1, 1, 12, 0), 4L);
+    when(taskService.getTaskVersion(taskList.getId(), task1.getId()))
+        .thenReturn(Optional.of(version));
+    when(taskService.getTask(taskList.getId(), task1.getId())).thenReturn(taskDto1);
+
+    mockMvc
+        .perform(
+            get(
+                "/api/v1/task-lists/{task_list_id}/tasks/{task_id}",
+                taskList.getId(),
+                task1.getId()))
+        .andExpect(status().isOk())
+        .andExpect(header().string("ETag", version.eTag()))
+        .andExpect(header().exists("Last-Modified"))
+        .andExpect(header().string("Cache-Control", "max-age=0, must-revalidate, private"));
+  }
+
+  @Test
+  @DisplayName(
+      "GET /api/v1/task-lists/{task_list_id}/tasks/{task_id} - Should return 304 when ETag"
+          + " matches without loading the task")
+  void shouldReturn304WhenTaskETagMatches() throws Exception {
+    ResourceVersion version = new ResourceVersion(1, LocalDateTime.of(2025, 1, 1, 12, 0), 4L);
+    when(taskService.getTaskVersion(taskList.getId(), task1.getId()))
+        .thenReturn(Optional.of(version));
+
+    mockMvc
+        .perform(
+            get(
+                    "/api/v1/task-lists/{task_list_id}/tasks/{task_id}",
+                    taskList.getId(),
+                    task1.getId())
+                .header("If-None-Match", version.eTag()))
+        .andExpect(status().isNotModified())
+        .andExpect(header().string("ETag", version.eTag()))
+        .andExpect(content().string(""));
+    verify(taskService, never()).getTask(any(), any());
+  }
+
   @Test
   @DisplayName(
       "GET /api/v1/task-lists/{task_list_id}/tasks/{task_id} - Should return 404 if task not found")
@@ -218,6 +412,30 @@ class TaskControllerTest {
         .andExpect(status().isNotFound());
   }
 
+  @Test
+  @DisplayName(
+      "GET /api/v1/task-lists/{task_list_id}/tasks/{task_id} - Should return 503 while no"
+          + " connection can be had")
+  void shouldReturn503WhileConnectionPoolIsSaturated() throws Exception {
+    // Arrange
+    when(taskService.getTask(taskList.getId(), task1.getId()))
+        .thenThrow(
+            new CannotCreateTransactionException(
+                "Could not open JPA EntityManager for transaction",
+                new SQLTransientConnectionException("Could not get a connection")));
+
+    // Act & Assert
+    mockMvc
+        .perform(
+            get(
+                "/api/v1/task-lists/{task_list_id}/tasks/{task_id}",
+                taskList.getId(),
+                task1.getId()))
+        .andExpect(status().isServiceUnavailable())
+        .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+        .andExpect(jsonPath("$.title", is("Service unavailable")));
+  }
+
   @Test
   @DisplayName(
       "PUT /api/v1/task-lists/{task_list_id}/tasks/{task_id} - Should update an existing task successfully")
@@ -241,7 +459,7 @@ class TaskControllerTest {
             request.status());
 
     when(taskService.updateTask(
-            eq(taskList.getId()), eq(task1.getId()), any(UpdateTaskRequest.class)))
+            eq(taskList.getId()), eq(task1.getId()), any(UpdateTaskRequest.class), isNull()))
         .thenReturn(updatedTaskDto);
 
     // Act & Assert
@@ -276,7 +494,7 @@ class TaskControllerTest {
     UUID nonExistentTaskId = UUID.randomUUID();
 
     when(taskService.updateTask(
-            eq(taskList.getId()), eq(nonExistentTaskId), any(UpdateTaskRequest.class)))
+            eq(taskList.getId()), eq(nonExistentTaskId), any(UpdateTaskRequest.class), isNull()))
         .thenThrow(
             new TaskNotFoundException(
                 "Task not found with ID: "
@@ -304,12 +522,86 @@ class TaskControllerTest {
                         + taskList.getId())));
   }
 
+  @Test
+  @DisplayName(
+      "PUT /api/v1/task-lists/{task_list_id}/tasks/{task_id} - Should pass the If-Match version on"
+          + " and return 412 once it no longer matches")
+  void shouldReturn412IfTaskDoesNotMatchIfMatch() throws Exception {
+    // Arrange
+    UpdateTaskRequest request = new UpdateTaskRequest("Updated Title", null, null, null, null);
+    when(taskService.updateTask(
+            eq(taskList.getId()), eq(task1.getId()), any(UpdateTaskRequest.class), eq(26L)))
+        .thenThrow(new PreconditionFailedException("Task does not match If-Match"));
+
+    // Act & Assert
+    mockMvc
+        .perform(
+            put(
+                    "/api/v1/task-lists/{task_list_id}/tasks/{task_id}",
+                    taskList.getId(),
+                    task1.getId())
+                .header(HttpHeaders.IF_MATCH, new ResourceVersion(1, null, 26L).eTag())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+        .andExpect(status().isPreconditionFailed())
+        .andExpect(jsonPath("$.title", is("Precondition failed")));
+  }
+
+  @Test
+  @DisplayName(
+      "PATCH /api/v1/task-lists/{task_list_id}/tasks/{task_id} - Should tell removed properties"
+          + " from missing ones")
+  void shouldPatchTask() throws Exception {
+    // Arrange
+    TaskPatch patch =
+        TaskPatch.of(null, Optional.empty(), null, null, Optional.of(TaskStatus.CLOSED));
+    when(taskService.patchTask(taskList.getId(), task1.getId(), patch, null)).thenReturn(taskDto1);
+
+    // Act & Assert
+    mockMvc
+        .perform(
+            patch(
+                    "/api/v1/task-lists/{task_list_id}/tasks/{task_id}",
+                    taskList.getId(),
+                    task1.getId())
+                .contentType("application/merge-patch+json")
+                .content("{\"description\": null, \"status\": \"CLOSED\"}"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.title", is(taskDto1.title())));
+  }
+
+  @Test
+  @DisplayName(
+      "PATCH /api/v1/task-lists/{task_list_id}/tasks/{task_id} - Should reject a blank title and"
+          + " other media types")
+  void shouldRejectInvalidPatch() throws Exception {
+    mockMvc
+        .perform(
+            patch(
+                    "/api/v1/task-lists/{task_list_id}/tasks/{task_id}",
+                    taskList.getId(),
+                    task1.getId())
+                .contentType("application/merge-patch+json")
+                .content("{\"title\": \" \"}"))
+        .andExpect(status().isBadRequest());
+    mockMvc
+        .perform(
+            patch(
+                    "/api/v1/task-lists/{task_list_id}/tasks/{task_id}",
+                    taskList.getId(),
+                    task1.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\": \"Renamed\"}"))
+        .andExpect(status().isUnsupportedMediaType());
+    verifyNoInteractions(taskService);
+  }
+
   @Test
   @DisplayName(
       "DELETE /api/v1/task-lists/{task_list_id}/tasks/{task_id} - Should delete a task successfully")
   void shouldDeleteTaskSuccessfully() throws Exception {
     // Arrange
-    doNothing().when(taskService).deleteTask(taskList.getId(), task1.getId());
+    doNothing().when(taskService).deleteTask(taskList.getId(), task1.getId(), null);
 
     // Act & Assert
     mockMvc
@@ -320,6 +612,6 @@ class TaskControllerTest {
                 task1.getId()))
         .andExpect(status().isNoContent());
 
-    verify(taskService, times(1)).deleteTask(taskList.getId(), task1.getId());
+    verify(taskService, times(1)).deleteTask(taskList.getId(), task1.getId(), null);
   }
 }
@@ -0,0 +1,169 @@
+package com.taskify.controllers;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.taskify.dtos.TaskExportDto;
+import com.taskify.dtos.TaskExportFilter;
+import com.taskify.entities.TaskPriority;
+import com.taskify.entities.TaskStatus;
+import com.taskify.services.TaskExportService;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+@AutoConfigureMockMvc
+@WebMvcTest(controllers = TaskExportController.class)
+class TaskExportControllerTest {
+
+  @Autowired private MockMvc mockMvc;
+  @MockitoBean private TaskExportService taskExportService;
+
+  private UUID taskListId;
+  private TaskExportDto task1;
+  private TaskExportDto task2;
+
+  @BeforeEach
+  void setUp() {
+    taskListId = UUID.randomUUID();
+    LocalDateTime created = LocalDateTime.of(2025, 1, 1, 9, 0);
+    task1 =
+        new TaskExportDto(
+            UUID.randomUUID(),
+            taskListId,
+            "Pay rent",
+            null,
+            created.plusDays(3),
+            TaskPriority.HIGH,
+            TaskStatus.OPEN,
+            created,
+            created);
+    task2 =
+        new TaskExportDto(
+            UUID.randomUUID(),
+            taskListId,
+            "Book flights",
+            "Window seat",
+            created.plusDays(7),
+            TaskPriority.LOW,
+            TaskStatus.OPEN,
+            created,
+            created.plusHours(1));
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/export/tasks - Should stream one JSON object per line")
+  void shouldStreamOneJsonObjectPerLine() throws Exception {
+    TaskExportFilter filter =
+        new TaskExportFilter(taskListId, TaskStatus.OPEN, LocalDateTime.of(2025, 1, 1, 0, 0));
+    exportReturns(filter);
+
+    MvcResult result =
+        mockMvc
+            .perform(
+                get("/api/v1/export/tasks")
+                    .param("task_list_id", taskListId.toString())
+                    .param("status", "OPEN")
+                    .param("updated_since", "2025-01-01T00:00:00"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+    String body =
+        mockMvc
+            .perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+            .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+            .andExpect(header().string("Cache-Control", "no-store"))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+    String[] lines = body.split("\n");
+    assertEquals(2, lines.length);
+    assertTrue(body.endsWith("\n"));
+    assertTrue(lines[0].startsWith("{\"id\":\"" + task1.id() + "\""), lines[0]);
+    assertTrue(lines[0].contains("\"dueDate\":\"2025-01-04T09:00:00\""), lines[0]);
+    assertTrue(lines[1].contains("\"description\":\"Window seat\""), lines[1]);
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/export/tasks - Should gzip the stream when the client accepts it")
+  void shouldGzipStreamWhenAccepted() throws Exception {
+    exportReturns(TaskExportFilter.NONE);
+
+    MvcResult result =
+        mockMvc
+            .perform(get("/api/v1/export/tasks").header(HttpHeaders.ACCEPT_ENCODING, "gzip, br"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+    byte[] body =
+        mockMvc
+            .perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+            .andExpect(
+                header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT_ENCODING)))
+            .andReturn()
+            .getResponse()
+            .getContentAsByteArray();
+
+    try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+      String text = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+      assertEquals(2, text.split("\n").length);
+      assertTrue(text.contains("\"title\":\"Book flights\""), text);
+    }
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/export/tasks - Should return 400 for an unknown status")
+  void shouldReturn400ForUnknownStatus() throws Exception {
+    mockMvc
+        .perform(get("/api/v1/export/tasks").param("status", "DONE"))
+        .andExpect(status().isBadRequest());
+    verifyNoInteractions(taskExportService);
+  }
+
+  @Test
+  @DisplayName("Should only negotiate gzip when it is listed and not refused with q=0")
+  void shouldNegotiateGzip() {
+    assertTrue(TaskExportController.acceptsGzip("gzip"));
+    assertTrue(TaskExportController.acceptsGzip("deflate, GZIP;q=0.5"));
+    assertFalse(TaskExportController.acceptsGzip(null));
+    assertFalse(TaskExportController.acceptsGzip("br, deflate"));
+    assertFalse(TaskExportController.acceptsGzip("gzip;q=0"));
+    assertFalse(TaskExportController.acceptsGzip("gzip; q=0.000"));
+  }
+
+  private void exportReturns(TaskExportFilter filter) {
+    when(taskExportService.exportTasks(eq(filter), any()))
+        .thenAnswer(
+            invocation -> {
+              Consumer<TaskExportDto> consumer = invocation.getArgument(1);
+              consumer.accept(task1);
+              consumer.accept(task2);
+              return 2L;
+            });
+  }
+}
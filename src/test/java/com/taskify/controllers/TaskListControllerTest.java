@@ -3,18 +3,32 @@ package com.taskify.controllers;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.taskify.dtos.CreateTaskListRequest;
+import com.taskify.dtos.CursorPage;
+import com.taskify.dtos.ResourceVersion;
+import com.taskify.dtos.TaskDto;
+import com.taskify.dtos.TaskFields;
+import com.taskify.dtos.TaskListDeletionDto;
 import com.taskify.dtos.TaskListDto;
 import com.taskify.dtos.UpdateTaskListRequest;
 import com.taskify.entities.TaskList;
+import com.taskify.entities.TaskStatus;
+import com.taskify.exceptions.InvalidCursorException;
 import com.taskify.exceptions.TaskListNotFoundException;
+import com.taskify.services.TaskListDeletionService;
 import com.taskify.services.TaskListService;
+import java.time.LocalDateTime;
+import java.util.Optional;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -22,6 +36,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
@@ -33,6 +48,7 @@ class TaskListControllerTest {
   @Autowired private ObjectMapper objectMapper;
   @Autowired private MockMvc mockMvc;
   @MockitoBean private TaskListService taskListService;
+  @MockitoBean private TaskListDeletionService taskListDeletionService;
 
   private TaskList taskList1;
   private TaskList taskList2;
@@ -46,37 +62,122 @@ class TaskListControllerTest {
     taskList2 = new TaskList();
     taskList2.setId(UUID.randomUUID());
     taskList2.setTitle("Work Tasks");
+
+    when(taskListService.getTaskListsVersion(any(), any()))
+        .thenReturn(new ResourceVersion(0, LocalDateTime.of(2025, 1, 1, 12, 0)));
   }
 
   @Test
-  @DisplayName("GET /api/v1/task-lists - Should list all task lists")
+  @DisplayName("GET /api/v1/task-lists - Should list the first page of task lists")
   void shouldListAllTaskLists() throws Exception {
-    when(taskListService.listTaskLists())
+    when(taskListService.listTaskLists(null, null, false, TaskFields.ALL))
         .thenReturn(
-            java.util.List.of(
-                new TaskListDto(
-                    taskList1.getId(),
-                    taskList1.getTitle(),
-                    taskList1.getDescription(),
-                    0,
-                    0.0,
-                    java.util.List.of()),
-                new TaskListDto(
-                    taskList2.getId(),
-                    taskList2.getTitle(),
-                    taskList2.getDescription(),
-                    0,
-                    0.0,
-                    java.util.List.of())));
+            new CursorPage<>(
+                java.util.List.of(
+                    new TaskListDto(
+                        taskList1.getId(),
+                        taskList1.getTitle(),
+                        taskList1.getDescription(),
+                        0,
+                        0.0,
+                        null),
+                    new TaskListDto(
+                        taskList2.getId(),
+                        taskList2.getTitle(),
+                        taskList2.getDescription(),
+                        0,
+                        0.0,
+                        null)),
+                "next-cursor"));
 
     mockMvc
         .perform(get("/api/v1/task-lists"))
         .andExpect(status().isOk())
-        .andExpect(jsonPath("$", hasSize(2)))
-        .andExpect(jsonPath("$[0].id", is(taskList1.getId().toString())))
-        .andExpect(jsonPath("$[0].title", is(taskList1.getTitle())))
-        .andExpect(jsonPath("$[1].id", is(taskList2.getId().toString())))
-        .andExpect(jsonPath("$[1].title", is(taskList2.getTitle())));
+        .andExpect(jsonPath("$.items", hasSize(2)))
+        .andExpect(jsonPath("$.items[0].id", is(taskList1.getId().toString())))
+        .andExpect(jsonPath("$.items[0].title", is(taskList1.getTitle())))
+        .andExpect(jsonPath("$.items[0].tasks").doesNotExist())
+        .andExpect(jsonPath("$.items[1].id", is(taskList2.getId().toString())))
+        .andExpect(jsonPath("$.items[1].title", is(taskList2.getTitle())))
+        .andExpect(jsonPath("$.next", is("next-cursor")));
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/task-lists - Should pass cursor, limit and include_tasks through")
+  void shouldPassPaginationParametersThrough() throws Exception {
+    when(taskListService.listTaskLists("abc", 5, true, TaskFields.ALL))
+        .thenReturn(new CursorPage<>(java.util.List.of(), null));
+
+    mockMvc
+        .perform(
+            get("/api/v1/task-lists")
+                .param("cursor", "abc")
+                .param("limit", "5")
+                .param("include_tasks", "true"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.items", hasSize(0)))
+        .andExpect(jsonPath("$.next").value(org.hamcrest.Matchers.nullValue()));
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/task-lists - Should return 400 for an invalid cursor")
+  void shouldReturn400ForInvalidCursor() throws Exception {
+    when(taskListService.getTaskListsVersion("bogus", null))
+        .thenThrow(new InvalidCursorException("Malformed cursor: bogus"));
+
+    mockMvc
+        .perform(get("/api/v1/task-lists").param("cursor", "bogus"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.title", is("Invalid cursor")));
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/task-lists - Should return 304 when ETag matches")
+  void shouldReturn304WhenTaskListsETagMatches() throws Exception {
+    ResourceVersion version =
+        ResourceVersion.ofDigest(1, LocalDateTime.of(2025, 1, 1, 12, 0), "page");
+    when(taskListService.getTaskListsVersion(null, null)).thenReturn(version);
+
+    mockMvc
+        .perform(get("/api/v1/task-lists").header("If-None-Match", version.eTag()))
+        .andExpect(status().isNotModified())
+        .andExpect(header().string("ETag", version.eTag()))
+        .andExpect(header().exists("Last-Modified"))
+        .andExpect(header().string("Cache-Control", "no-cache, private"));
+    verify(taskListService, never()).listTaskLists(any(), any(), anyBoolean(), any());
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/task-lists/{id} - Should return 304 without loading the task list")
+  void shouldReturn304WhenTaskListETagMatches() throws Exception {
+    ResourceVersion version = new ResourceVersion(2, LocalDateTime.of(2025, 1, 1, 12, 0), 3L, 5L);
+    when(taskListService.getTaskListVersion(taskList1.getId())).thenReturn(Optional.of(version));
+
+    mockMvc
+        .perform(
+            get("/api/v1/task-lists/{id}", taskList1.getId())
+                .header("If-None-Match", version.eTag()))
+        .andExpect(status().isNotModified())
+        .andExpect(header().string("ETag", version.eTag()));
+    verify(taskListService, never()).getTaskList(any());
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/task-lists/{id} - Should return 200 when ETag is stale")
+  void shouldReturn200WhenTaskListETagIsStale() throws Exception {
+    ResourceVersion version = new ResourceVersion(0, LocalDateTime.of(2025, 1, 1, 12, 0), 3L, 5L);
+    TaskListDto taskList =
+        new TaskListDto(taskList1.getId(), taskList1.getTitle(), null, 0, 0.0, java.util.List.of());
+    when(taskListService.getTaskListVersion(taskList1.getId())).thenReturn(Optional.of(version));
+    when(taskListService.getTaskList(taskList1.getId())).thenReturn(taskList);
+
+    mockMvc
+        .perform(
+            get("/api/v1/task-lists/{id}", taskList1.getId()).header("If-None-Match", "\"0-0\""))
+        .andExpect(status().isOk())
+        .andExpect(header().string("ETag", version.eTag()))
+        .andExpect(header().exists("Last-Modified"))
+        .andExpect(jsonPath("$.id", is(taskList1.getId().toString())));
   }
 
   @Test
@@ -123,6 +224,53 @@ class TaskListControllerTest {
         .andExpect(jsonPath("$.title", is(taskList1.getTitle())));
   }
 
+  @Test
+  @DisplayName("GET /api/v1/task-lists/{id} - Should return the summary when include_tasks=false")
+  void shouldGetTaskListSummaryWhenTasksNotIncluded() throws Exception {
+    TaskListDto summary =
+        new TaskListDto(
+            taskList1.getId(), taskList1.getTitle(), taskList1.getDescription(), 4, 25.0, null);
+
+    when(taskListService.getTaskListSummary(taskList1.getId())).thenReturn(summary);
+
+    mockMvc
+        .perform(get("/api/v1/task-lists/{id}", taskList1.getId()).param("include_tasks", "false"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.count", is(4)))
+        .andExpect(jsonPath("$.progress", is(25.0)))
+        .andExpect(jsonPath("$.tasks").doesNotExist());
+    verify(taskListService, never()).getTaskList(any(UUID.class));
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/task-lists/{id} - Should only serialize the requested task fields")
+  void shouldOnlySerializeRequestedTaskFields() throws Exception {
+    TaskFields fields = TaskFields.parse("title,status");
+    UUID taskId = UUID.randomUUID();
+    TaskListDto taskListDto =
+        new TaskListDto(
+            taskList1.getId(),
+            taskList1.getTitle(),
+            taskList1.getDescription(),
+            1,
+            0.0,
+            java.util.List.of(new TaskDto(taskId, "Pay rent", null, null, null, TaskStatus.OPEN)));
+
+    when(taskListService.getTaskList(taskList1.getId(), fields)).thenReturn(taskListDto);
+
+    mockMvc
+        .perform(get("/api/v1/task-lists/{id}", taskList1.getId()).param("fields", "title,status"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.title", is(taskList1.getTitle())))
+        .andExpect(jsonPath("$.count", is(1)))
+        .andExpect(jsonPath("$.tasks[0].id", is(taskId.toString())))
+        .andExpect(jsonPath("$.tasks[0].title", is("Pay rent")))
+        .andExpect(jsonPath("$.tasks[0].status", is("OPEN")))
+        .andExpect(jsonPath("$.tasks[0].description").doesNotExist())
+        .andExpect(jsonPath("$.tasks[0].dueDate").doesNotExist());
+    verify(taskListService, never()).getTaskList(any(UUID.class));
+  }
+
   @Test
   @DisplayName("GET /api/v1/task-lists/{id} - Should return 404 if task list not found")
   void shouldReturn404IfTaskListNotFound() throws Exception {
@@ -146,7 +294,8 @@ class TaskListControllerTest {
         new TaskListDto(
             taskList1.getId(), request.title(), request.description(), 0, 0.0, java.util.List.of());
 
-    when(taskListService.updateTaskList(any(UUID.class), any(UpdateTaskListRequest.class)))
+    when(taskListService.updateTaskList(
+            any(UUID.class), any(UpdateTaskListRequest.class), isNull()))
         .thenReturn(updatedTaskListDto);
 
     mockMvc
@@ -167,7 +316,8 @@ class TaskListControllerTest {
     UpdateTaskListRequest request =
         new UpdateTaskListRequest("Updated Task List Name", "Updated Task List Description");
 
-    when(taskListService.updateTaskList(any(UUID.class), any(UpdateTaskListRequest.class)))
+    when(taskListService.updateTaskList(
+            any(UUID.class), any(UpdateTaskListRequest.class), isNull()))
         .thenThrow(new TaskListNotFoundException("Task List not found with ID: " + taskListId));
 
     mockMvc
@@ -182,7 +332,7 @@ class TaskListControllerTest {
   @Test
   @DisplayName("DELETE /api/v1/task-lists/{id} - Should delete a task list successfully")
   void shouldDeleteTaskListSuccessfully() throws Exception {
-    doNothing().when(taskListService).deleteTaskList(taskList1.getId());
+    doNothing().when(taskListService).deleteTaskList(taskList1.getId(), null);
 
     mockMvc
         .perform(delete("/api/v1/task-lists/{id}", taskList1.getId()))
@@ -197,4 +347,53 @@ class TaskListControllerTest {
         .andExpect(status().isNotFound())
         .andExpect(jsonPath("$.detail", is("Task List not found with ID: " + taskList1.getId())));
   }
+
+  @Test
+  @DisplayName("DELETE /api/v1/task-lists/{id} - Should pass the If-Match version on, unless *")
+  void shouldPassIfMatchVersionOnWhenDeleting() throws Exception {
+    when(taskListService.getTaskListVersion(taskList1.getId()))
+        .thenReturn(Optional.of(new ResourceVersion(3, null, 7L)));
+    mockMvc
+        .perform(
+            delete("/api/v1/task-lists/{id}", taskList1.getId())
+                .header(HttpHeaders.IF_MATCH, new ResourceVersion(3, null, 7L).eTag()))
+        .andExpect(status().isNoContent());
+    mockMvc
+        .perform(
+            delete("/api/v1/task-lists/{id}", taskList1.getId()).header(HttpHeaders.IF_MATCH, "*"))
+        .andExpect(status().isNoContent());
+
+    verify(taskListService).deleteTaskList(taskList1.getId(), 7L);
+    verify(taskListService).deleteTaskList(taskList1.getId(), null);
+  }
+
+  @Test
+  @DisplayName("DELETE /api/v1/task-lists/{id} - Should fail If-Match * on a missing task list")
+  void shouldRejectIfMatchAnyOnMissingTaskList() throws Exception {
+    when(taskListService.getTaskListVersion(taskList1.getId())).thenReturn(Optional.empty());
+
+    mockMvc
+        .perform(
+            delete("/api/v1/task-lists/{id}", taskList1.getId()).header(HttpHeaders.IF_MATCH, "*"))
+        .andExpect(status().isPreconditionFailed());
+
+    verify(taskListService, never()).deleteTaskList(any(), any());
+  }
+
+  @Test
+  @DisplayName("DELETE /api/v1/task-lists/{id}?async=true - Should accept a background deletion")
+  void shouldAcceptAsyncDeletion() throws Exception {
+    TaskListDeletionDto deletion =
+        new TaskListDeletionDto(
+            UUID.randomUUID(), taskList1.getId(), TaskListDeletionDto.Status.PENDING, 0, null);
+    when(taskListDeletionService.startDeletion(taskList1.getId(), null)).thenReturn(deletion);
+
+    mockMvc
+        .perform(delete("/api/v1/task-lists/{id}", taskList1.getId()).param("async", "true"))
+        .andExpect(status().isAccepted())
+        .andExpect(header().string("Location", "/api/v1/task-list-deletions/" + deletion.id()))
+        .andExpect(jsonPath("$.id", is(deletion.id().toString())))
+        .andExpect(jsonPath("$.status", is("PENDING")));
+    verify(taskListService, never()).deleteTaskList(any(), any());
+  }
 }
@@ -0,0 +1,57 @@
+package com.taskify.controllers;
+
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.taskify.dtos.TaskListDeletionDto;
+import com.taskify.exceptions.TaskListDeletionNotFoundException;
+import com.taskify.services.TaskListDeletionService;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+@AutoConfigureMockMvc
+@WebMvcTest(controllers = TaskListDeletionController.class)
+class TaskListDeletionControllerTest {
+
+  @Autowired private MockMvc mockMvc;
+  @MockitoBean private TaskListDeletionService taskListDeletionService;
+
+  @Test
+  @DisplayName("GET /api/v1/task-list-deletions/{id} - Should return the deletion's progress")
+  void shouldReturnDeletionProgress() throws Exception {
+    TaskListDeletionDto deletion =
+        new TaskListDeletionDto(
+            UUID.randomUUID(), UUID.randomUUID(), TaskListDeletionDto.Status.RUNNING, 3000, null);
+    when(taskListDeletionService.getDeletion(deletion.id())).thenReturn(deletion);
+
+    mockMvc
+        .perform(get("/api/v1/task-list-deletions/{id}", deletion.id()))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.taskListId", is(deletion.taskListId().toString())))
+        .andExpect(jsonPath("$.status", is("RUNNING")))
+        .andExpect(jsonPath("$.deletedTasks", is(3000)));
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/task-list-deletions/{id} - Should return 404 for an unknown deletion")
+  void shouldReturn404ForUnknownDeletion() throws Exception {
+    UUID deletionId = UUID.randomUUID();
+    when(taskListDeletionService.getDeletion(deletionId))
+        .thenThrow(
+            new TaskListDeletionNotFoundException(
+                "Task list deletion not found with ID: " + deletionId));
+
+    mockMvc
+        .perform(get("/api/v1/task-list-deletions/{id}", deletionId))
+        .andExpect(status().isNotFound())
+        .andExpect(jsonPath("$.title", is("Task list deletion not found")));
+  }
+}
@@ -0,0 +1,72 @@
+package com.taskify.controllers;
+
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.taskify.dtos.CursorPage;
+import com.taskify.dtos.TaskSearchResultDto;
+import com.taskify.entities.TaskPriority;
+import com.taskify.entities.TaskStatus;
+import com.taskify.services.TaskService;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+@AutoConfigureMockMvc
+@WebMvcTest(controllers = TaskSearchController.class)
+class TaskSearchControllerTest {
+
+  @Autowired private MockMvc mockMvc;
+  @MockitoBean private TaskService taskService;
+
+  @Test
+  @DisplayName("GET /api/v1/tasks/search - Should return ranked matches with the next cursor")
+  void shouldReturnRankedMatches() throws Exception {
+    UUID taskListId = UUID.randomUUID();
+    TaskSearchResultDto result =
+        new TaskSearchResultDto(
+            UUID.randomUUID(),
+            taskListId,
+            "Quarterly report",
+            null,
+            LocalDateTime.now().plusDays(1),
+            TaskPriority.HIGH,
+            TaskStatus.OPEN,
+            0.6f);
+    when(taskService.searchTasks("report", taskListId, "abc", 5))
+        .thenReturn(new CursorPage<>(List.of(result), "def"));
+
+    mockMvc
+        .perform(
+            get("/api/v1/tasks/search")
+                .param("q", "report")
+                .param("task_list_id", taskListId.toString())
+                .param("cursor", "abc")
+                .param("limit", "5"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.items[0].title", is("Quarterly report")))
+        .andExpect(jsonPath("$.items[0].taskListId", is(taskListId.toString())))
+        .andExpect(jsonPath("$.next", is("def")));
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/tasks/search - Should return 400 for a missing or blank query")
+  void shouldReturnBadRequestForMissingOrBlankQuery() throws Exception {
+    when(taskService.searchTasks(" ", null, null, null))
+        .thenThrow(new IllegalArgumentException("Search query must not be blank"));
+
+    mockMvc.perform(get("/api/v1/tasks/search")).andExpect(status().isBadRequest());
+    mockMvc.perform(get("/api/v1/tasks/search").param("q", " ")).andExpect(status().isBadRequest());
+    verify(taskService, times(1)).searchTasks(any(), any(), any(), any());
+  }
+}
@@ -0,0 +1,134 @@
+package com.taskify.datasource;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class BulkheadDataSourceTest {
+
+  private final DataSource pool = mock(DataSource.class);
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+  @BeforeEach
+  void setUp() throws SQLException {
+    when(pool.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+  }
+
+  @Test
+  @DisplayName("Should let a waiting caller have a connection once another one is closed")
+  void shouldHandOverConnectionOnceClosed() throws Exception {
+    BulkheadDataSource bulkhead = bulkhead(1, Duration.ofSeconds(10), 1);
+    Connection first = bulkhead.getConnection();
+
+    CompletableFuture<Connection> second = CompletableFuture.supplyAsync(connect(bulkhead));
+    awaitWaiting(1);
+    assertFalse(second.isDone());
+    first.close();
+
+    assertNotNull(second.get(10, TimeUnit.SECONDS));
+    verify(pool, times(2)).getConnection();
+  }
+
+  @Test
+  @DisplayName("Should turn callers away once too many are waiting")
+  void shouldRejectCallersOnceTooManyAreWaiting() throws Exception {
+    BulkheadDataSource bulkhead = bulkhead(1, Duration.ofSeconds(10), 1);
+    Connection first = bulkhead.getConnection();
+    CompletableFuture<Connection> second = CompletableFuture.supplyAsync(connect(bulkhead));
+    awaitWaiting(1);
+
+    assertThrows(SQLTransientConnectionException.class, bulkhead::getConnection);
+    assertEquals(1, rejected());
+
+    first.close();
+    second.get(10, TimeUnit.SECONDS).close();
+  }
+
+  @Test
+  @DisplayName("Should give up waiting for a connection after the max wait")
+  void shouldGiveUpAfterMaxWait() throws SQLException {
+    BulkheadDataSource bulkhead = bulkhead(1, Duration.ofMillis(50), 10);
+    bulkhead.getConnection();
+
+    assertThrows(SQLTransientConnectionException.class, bulkhead::getConnection);
+    assertEquals(1, rejected());
+    assertEquals(0, waiting());
+  }
+
+  @Test
+  @DisplayName("Should hand back a permit only once however often a connection is closed")
+  void shouldReleasePermitOnlyOnce() throws SQLException {
+    BulkheadDataSource bulkhead = bulkhead(1, Duration.ZERO, 0);
+    Connection connection = bulkhead.getConnection();
+
+    connection.close();
+    connection.close();
+
+    bulkhead.getConnection();
+    assertThrows(SQLTransientConnectionException.class, bulkhead::getConnection);
+  }
+
+  @Test
+  @DisplayName("Should hand back the permit when the pool fails to provide a connection")
+  void shouldReleasePermitWhenPoolFails() throws SQLException {
+    BulkheadDataSource bulkhead = bulkhead(1, Duration.ZERO, 0);
+    when(pool.getConnection())
+        .thenThrow(new SQLException("Connection refused"))
+        .thenAnswer(invocation -> mock(Connection.class));
+
+    assertThrows(SQLException.class, bulkhead::getConnection);
+
+    assertNotNull(bulkhead.getConnection());
+  }
+
+  private BulkheadDataSource bulkhead(int maxConcurrent, Duration maxWait, int maxWaiting) {
+    BulkheadDataSource bulkhead =
+        new BulkheadDataSource("primary", pool, maxConcurrent, maxWait, maxWaiting);
+    bulkhead.bindTo(registry);
+    return bulkhead;
+  }
+
+  private Supplier<Connection> connect(BulkheadDataSource bulkhead) {
+    return () -> {
+      try {
+        return bulkhead.getConnection();
+      } catch (SQLException e) {
+        throw new IllegalStateException(e);
+      }
+    };
+  }
+
+  private void awaitWaiting(int callers) throws InterruptedException {
+    long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+    while (waiting() < callers) {
+      if (System.nanoTime() > deadline) {
+        fail("No caller started waiting within 10 seconds");
+      }
+      Thread.sleep(10);
+    }
+  }
+
+  private double waiting() {
+    return registry.get(BulkheadDataSource.WAITING_METRIC).tag("pool", "primary").gauge().value();
+  }
+
+  private double rejected() {
+    return registry
+        .get(BulkheadDataSource.REJECTED_METRIC)
+        .tag("pool", "primary")
+        .counter()
+        .count();
+  }
+}
@@ -0,0 +1,223 @@
+package com.taskify.datasource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.taskify.Application;
+import com.taskify.dtos.CreateTaskListRequest;
+import com.taskify.dtos.TaskListDto;
+import com.taskify.services.TaskListService;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.Network;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.images.builder.Transferable;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+/** Runs against a primary and a hot standby that streams from it. */
+@Testcontainers
+class ReadReplicaIntegrationTest {
+
+  private static final DockerImageName IMAGE = DockerImageName.parse("postgres:17-alpine");
+  private static final Network network = Network.newNetwork();
+
+  @Container
+  static final PostgreSQLContainer<?> primary =
+      new PostgreSQLContainer<>(IMAGE)
+          .withNetwork(network)
+          .withNetworkAliases("primary")
+          .withCopyToContainer(
+              Transferable.of(
+                  "echo 'host replication all all scram-sha-256' >> \"$PGDATA/pg_hba.conf\"", 0755),
+              "/docker-entrypoint-initdb.d/replication.sh");
+
+  @Container
+  static final GenericContainer<?> replica =
+      new GenericContainer<>(IMAGE)
+          .withNetwork(network)
+          .dependsOn(primary)
+          .withEnv("PGPASSWORD", "test")
+          .withExposedPorts(PostgreSQLContainer.POSTGRESQL_PORT)
+          .withCommand(
+              "sh",
+              "-c",
+              "su-exec postgres pg_basebackup -h primary -U test -D"
+                  + " /var/lib/postgresql/data/replica -R -X stream && exec su-exec postgres"
+                  + " postgres -D /var/lib/postgresql/data/replica")
+          .waitingFor(Wait.forLogMessage(".*ready to accept read-only connections.*", 1));
+
+  private static ConfigurableApplicationContext node;
+
+  @BeforeAll
+  static void startNode() {
+    node =
+        new SpringApplicationBuilder(Application.class)
+            .run(
+                "--server.port=0",
+                "--spring.docker.compose.enabled=false",
+                "--spring.datasource.url=" + primary.getJdbcUrl(),
+                "--spring.datasource.username=" + primary.getUsername(),
+                "--spring.datasource.password=" + primary.getPassword(),
+                "--taskify.datasource.replicas[0].url=" + replicaUrl(),
+                "--taskify.datasource.max-replica-lag=500ms",
+                "--taskify.datasource.lag-check-interval=100ms",
+                "--taskify.datasource.read-your-writes=2s");
+  }
+
+  @AfterAll
+  static void stopNode() {
+    if (node != null) {
+      node.close();
+    }
+  }
+
+  @Test
+  @DisplayName("Should run read-only transactions on the replica and all others on the primary")
+  void shouldRouteReadOnlyTransactionsToReplica() {
+    await(() -> readsFromReplica(true));
+
+    assertFalse(readsFromReplica(false));
+  }
+
+  @Test
+  @DisplayName("Should read its own writes from the primary until the window has passed")
+  void shouldReadOwnWritesFromPrimary() throws Exception {
+    await(() -> readsFromReplica(true));
+
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    AtomicReference<TaskListDto> created = new AtomicReference<>();
+    serve(
+        new MockHttpServletRequest(),
+        response,
+        () -> {
+          created.set(
+              taskListService().createTaskList(new CreateTaskListRequest("Replicated", null)));
+          assertFalse(readsFromReplica(true));
+        });
+
+    // Other clients keep reading from the replica, the one that wrote sends its cookie along.
+    assertTrue(readsFromReplica(true));
+    MockHttpServletRequest next = new MockHttpServletRequest();
+    next.setCookies(response.getCookie(ReadYourWritesFilter.COOKIE));
+    serve(
+        next,
+        new MockHttpServletResponse(),
+        () -> {
+          assertFalse(readsFromReplica(true));
+          assertEquals("Replicated", taskListService().getTaskList(created.get().id()).title());
+          await(() -> readsFromReplica(true));
+        });
+    assertEquals(
+        "Replicated",
+        transaction(true)
+            .execute(
+                status ->
+                    jdbcTemplate()
+                        .queryForObject(
+                            "select title from task_lists where id = ?",
+                            String.class,
+                            created.get().id())));
+  }
+
+  @Test
+  @DisplayName("Should read from the primary while the replica lags behind")
+  void shouldReadFromPrimaryWhileReplicaLags() throws SQLException {
+    await(() -> readsFromReplica(true));
+
+    onReplica("select pg_wal_replay_pause()");
+    try {
+      // Outside of a transaction, so that only the lag keeps reads off the replica.
+      jdbcTemplate()
+          .update(
+              "insert into task_lists (id, title, created, updated)"
+                  + " values (gen_random_uuid(), 'Lagging', now(), now())");
+      await(() -> !readsFromReplica(true));
+    } finally {
+      onReplica("select pg_wal_replay_resume()");
+    }
+
+    await(() -> readsFromReplica(true));
+  }
+
+  /** Runs {@code action} as if serving {@code request} behind the read-your-writes filter. */
+  private static void serve(
+      MockHttpServletRequest request, MockHttpServletResponse response, Runnable action)
+      throws Exception {
+    node.getBean(ReadYourWritesFilter.class)
+        .doFilter(request, response, (filteredRequest, filteredResponse) -> action.run());
+  }
+
+  /** Whether a transaction of the given kind runs on the replica. */
+  private static boolean readsFromReplica(boolean readOnly) {
+    return transaction(readOnly)
+        .execute(
+            status -> jdbcTemplate().queryForObject("select pg_is_in_recovery()", Boolean.class));
+  }
+
+  private static TransactionTemplate transaction(boolean readOnly) {
+    TransactionTemplate transaction =
+        new TransactionTemplate(node.getBean(PlatformTransactionManager.class));
+    transaction.setReadOnly(readOnly);
+    return transaction;
+  }
+
+  private static void onReplica(String sql) throws SQLException {
+    try (Connection connection =
+            DriverManager.getConnection(
+                replicaUrl(), primary.getUsername(), primary.getPassword());
+        Statement statement = connection.createStatement()) {
+      statement.execute(sql);
+    }
+  }
+
+  private static String replicaUrl() {
+    return "jdbc:postgresql://"
+        + replica.getHost()
+        + ":"
+        + replica.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT)
+        + "/"
+        + primary.getDatabaseName();
+  }
+
+  private static TaskListService taskListService() {
+    return node.getBean(TaskListService.class);
+  }
+
+  private static JdbcTemplate jdbcTemplate() {
+    return node.getBean(JdbcTemplate.class);
+  }
+
+  private static void await(BooleanSupplier condition) {
+    long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+    while (!condition.getAsBoolean()) {
+      if (System.nanoTime() > deadline) {
+        fail("Condition not met within 10 seconds");
+      }
+      try {
+        Thread.sleep(50);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        fail(e);
+      }
+    }
+  }
+}
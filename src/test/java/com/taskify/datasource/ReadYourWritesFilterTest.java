@@ -0,0 +1,119 @@
+package com.taskify.datasource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import jakarta.servlet.http.Cookie;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class ReadYourWritesFilterTest {
+
+  private final ReadYourWritesFilter filter = new ReadYourWritesFilter(Duration.ofHours(1));
+
+  @AfterEach
+  void tearDown() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  @Test
+  @DisplayName("Should keep a client on the primary after its write committed")
+  void shouldKeepClientOnPrimaryAfterWriteCommitted() throws Exception {
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    filter.doFilter(
+        new MockHttpServletRequest(),
+        response,
+        (filteredRequest, filteredResponse) -> {
+          TransactionSynchronizationManager.initSynchronization();
+          ReadYourWritesFilter.trackWrite();
+          assertFalse(ReadYourWritesFilter.readsOwnWrites());
+          TransactionSynchronizationManager.getSynchronizations()
+              .forEach(TransactionSynchronization::afterCommit);
+          assertTrue(ReadYourWritesFilter.readsOwnWrites());
+        });
+
+    assertFalse(ReadYourWritesFilter.readsOwnWrites());
+    Cookie cookie = response.getCookie(ReadYourWritesFilter.COOKIE);
+    assertNotNull(cookie);
+    assertEquals(3600, cookie.getMaxAge());
+    assertEquals(cookie.getValue(), response.getHeader(ReadYourWritesFilter.HEADER));
+
+    assertFalse(readsOwnWrites(new MockHttpServletRequest()));
+    MockHttpServletRequest withCookie = new MockHttpServletRequest();
+    withCookie.setCookies(cookie);
+    assertTrue(readsOwnWrites(withCookie));
+    MockHttpServletRequest withHeader = new MockHttpServletRequest();
+    withHeader.addHeader(ReadYourWritesFilter.HEADER, cookie.getValue());
+    assertTrue(readsOwnWrites(withHeader));
+  }
+
+  @Test
+  @DisplayName("Should ignore claims to read from the primary beyond the window")
+  void shouldIgnoreClaimsBeyondWindow() throws Exception {
+    String tooLate = Long.toString(System.currentTimeMillis() + Duration.ofHours(2).toMillis());
+
+    MockHttpServletRequest withCookie = new MockHttpServletRequest();
+    withCookie.setCookies(new Cookie(ReadYourWritesFilter.COOKIE, tooLate));
+    assertFalse(readsOwnWrites(withCookie));
+    MockHttpServletRequest withHeader = new MockHttpServletRequest();
+    withHeader.addHeader(ReadYourWritesFilter.HEADER, tooLate);
+    assertFalse(readsOwnWrites(withHeader));
+    MockHttpServletRequest garbled = new MockHttpServletRequest();
+    garbled.addHeader(ReadYourWritesFilter.HEADER, "forever");
+    assertFalse(readsOwnWrites(garbled));
+  }
+
+  @Test
+  @DisplayName("Should not track writes made outside of filtered requests")
+  void shouldNotTrackWritesOutsideRequests() {
+    TransactionSynchronizationManager.initSynchronization();
+    ReadYourWritesFilter.trackWrite();
+
+    assertTrue(TransactionSynchronizationManager.getSynchronizations().isEmpty());
+    assertFalse(ReadYourWritesFilter.readsOwnWrites());
+  }
+
+  @Test
+  @DisplayName("Should keep a client on the replicas after its write rolled back")
+  void shouldKeepClientOnReplicasAfterWriteRolledBack() throws Exception {
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    filter.doFilter(
+        new MockHttpServletRequest(),
+        response,
+        (filteredRequest, filteredResponse) -> {
+          TransactionSynchronizationManager.initSynchronization();
+          ReadYourWritesFilter.trackWrite();
+          TransactionSynchronizationManager.getSynchronizations()
+              .forEach(
+                  synchronization ->
+                      synchronization.afterCompletion(
+                          TransactionSynchronization.STATUS_ROLLED_BACK));
+          assertFalse(ReadYourWritesFilter.readsOwnWrites());
+        });
+
+    assertNull(response.getHeader(HttpHeaders.SET_COOKIE));
+    assertNull(response.getHeader(ReadYourWritesFilter.HEADER));
+  }
+
+  /** Serves {@code request} through the filter, returning whether it reads from the primary. */
+  private boolean readsOwnWrites(MockHttpServletRequest request) throws Exception {
+    AtomicBoolean readsOwnWrites = new AtomicBoolean();
+    filter.doFilter(
+        request,
+        new MockHttpServletResponse(),
+        (filteredRequest, filteredResponse) ->
+            readsOwnWrites.set(ReadYourWritesFilter.readsOwnWrites()));
+    return readsOwnWrites.get();
+  }
+}
@@ -0,0 +1,131 @@
+package com.taskify.datasource;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class ReplicaRoutingDataSourceTest {
+
+  private final DataSource primary = mock(DataSource.class);
+
+  @Test
+  @DisplayName("Should read from the primary until the lag of the replicas is known")
+  void shouldReadFromPrimaryUntilLagIsKnown() throws SQLException {
+    ReplicaRoutingDataSource routing = routing(replica(0.0));
+
+    assertNull(routing.determineCurrentLookupKey());
+
+    routing.checkLag();
+    assertEquals("replica-1", routing.determineCurrentLookupKey());
+  }
+
+  @Test
+  @DisplayName("Should spread reads over the replicas that are close enough to the primary")
+  void shouldSpreadReadsOverReplicasWithinMaxLag() throws SQLException {
+    ReplicaRoutingDataSource routing =
+        routing(replica(0.0), replica(0.5), replica(3.0), replica(null));
+
+    routing.checkLag();
+
+    assertEquals("replica-1", routing.determineCurrentLookupKey());
+    assertEquals("replica-2", routing.determineCurrentLookupKey());
+    assertEquals("replica-1", routing.determineCurrentLookupKey());
+  }
+
+  @Test
+  @DisplayName("Should read from the primary while no replica can be reached")
+  void shouldReadFromPrimaryWhileNoReplicaCanBeReached() throws SQLException {
+    DataSource replica = mock(DataSource.class);
+    when(replica.getConnection())
+        .thenThrow(new SQLException("Connection refused"))
+        .thenAnswer(invocation -> replica(0.0).getConnection());
+    ReplicaRoutingDataSource routing = routing(replica);
+
+    routing.checkLag();
+    assertNull(routing.determineCurrentLookupKey());
+
+    routing.checkLag();
+    assertEquals("replica-1", routing.determineCurrentLookupKey());
+  }
+
+  @Test
+  @DisplayName("Should read from the primary while serving a client that just wrote")
+  void shouldReadFromPrimaryForClientThatJustWrote() throws Exception {
+    ReplicaRoutingDataSource routing = routing(replica(0.0));
+    routing.checkLag();
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.addHeader(
+        ReadYourWritesFilter.HEADER, Long.toString(System.currentTimeMillis() + 60_000));
+
+    new ReadYourWritesFilter(Duration.ofHours(1))
+        .doFilter(
+            request,
+            new MockHttpServletResponse(),
+            (filteredRequest, filteredResponse) -> assertNull(routing.determineCurrentLookupKey()));
+
+    assertEquals("replica-1", routing.determineCurrentLookupKey());
+  }
+
+  @Test
+  @DisplayName("Should report the lag of every replica")
+  void shouldReportLagOfEveryReplica() throws SQLException {
+    DataSource unreachable = mock(DataSource.class);
+    when(unreachable.getConnection()).thenThrow(new SQLException("Connection refused"));
+    ReplicaRoutingDataSource routing = routing(replica(0.25), unreachable);
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    routing.bindTo(registry);
+
+    routing.checkLag();
+
+    assertEquals(
+        0.25,
+        registry
+            .get(ReplicaRoutingDataSource.LAG_METRIC)
+            .tag("replica", "replica-1")
+            .gauge()
+            .value());
+    assertTrue(
+        Double.isNaN(
+            registry
+                .get(ReplicaRoutingDataSource.LAG_METRIC)
+                .tag("replica", "replica-2")
+                .gauge()
+                .value()));
+  }
+
+  private ReplicaRoutingDataSource routing(DataSource... replicas) {
+    Map<String, DataSource> byName = new LinkedHashMap<>();
+    for (DataSource replica : replicas) {
+      byName.put("replica-" + (byName.size() + 1), replica);
+    }
+    return new ReplicaRoutingDataSource(primary, byName, Duration.ofSeconds(1));
+  }
+
+  /** A replica reporting the given lag in seconds, or none at all. */
+  private static DataSource replica(Double lag) throws SQLException {
+    DataSource dataSource = mock(DataSource.class);
+    Connection connection = mock(Connection.class);
+    Statement statement = mock(Statement.class);
+    ResultSet resultSet = mock(ResultSet.class);
+    when(dataSource.getConnection()).thenReturn(connection);
+    when(connection.createStatement()).thenReturn(statement);
+    when(statement.executeQuery(anyString())).thenReturn(resultSet);
+    when(resultSet.next()).thenReturn(true);
+    when(resultSet.getDouble(1)).thenReturn(lag != null ? lag : 0);
+    when(resultSet.wasNull()).thenReturn(lag == null);
+    return dataSource;
+  }
+}
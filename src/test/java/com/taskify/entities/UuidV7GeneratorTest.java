@@ -0,0 +1,53 @@
+package com.taskify.entities;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class UuidV7GeneratorTest {
+
+  @Test
+  @DisplayName("Should generate RFC 9562 version 7 UUIDs carrying the creation time")
+  void shouldGenerateVersion7Uuids() {
+    long before = System.currentTimeMillis();
+    UUID uuid = UuidV7Generator.generate();
+    long after = System.currentTimeMillis();
+
+    assertEquals(7, uuid.version());
+    assertEquals(2, uuid.variant());
+    assertTrue(UuidV7Generator.timestamp(uuid) >= before);
+    // The counter may borrow a millisecond after a burst of ids from other tests.
+    assertTrue(UuidV7Generator.timestamp(uuid) <= after + 1);
+    assertEquals(uuid, UUID.fromString(uuid.toString()));
+  }
+
+  @Test
+  @DisplayName("Should sort ids in generation order, as Postgres compares them byte by byte")
+  void shouldGenerateStrictlyIncreasingIds() {
+    UuidV7Generator generator = new UuidV7Generator();
+    long now = System.currentTimeMillis() + 60_000;
+    List<String> ids = new ArrayList<>();
+    // Enough ids in one millisecond to overflow the counter, then a clock that steps back.
+    for (int i = 0; i < 5_000; i++) {
+      ids.add(generator.generate(now).toString());
+    }
+    ids.add(generator.generate(now - 1_000).toString());
+    ids.add(generator.generate(now + 1_000).toString());
+
+    List<String> sorted = ids.stream().sorted().toList();
+    assertEquals(sorted, ids);
+    assertEquals(ids.size(), ids.stream().distinct().count());
+    assertTrue(UuidV7Generator.timestamp(UUID.fromString(ids.get(4_999))) > now);
+  }
+
+  @Test
+  @DisplayName("Should reject reading the time of a random UUID")
+  void shouldRejectTimestampOfRandomUuid() {
+    assertThrows(
+        IllegalArgumentException.class, () -> UuidV7Generator.timestamp(UUID.randomUUID()));
+  }
+}
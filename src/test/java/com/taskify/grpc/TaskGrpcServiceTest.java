@@ -0,0 +1,215 @@
+package com.taskify.grpc;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.taskify.BaseIntegrationTest;
+import com.taskify.cache.CacheKeys;
+import com.taskify.cache.CacheNames;
+import com.taskify.dtos.CreateTaskListRequest;
+import com.taskify.dtos.CreateTaskRequest;
+import com.taskify.dtos.TaskDto;
+import com.taskify.entities.TaskPriority;
+import com.taskify.grpc.v1.DeleteTaskRequest;
+import com.taskify.grpc.v1.ExportTasksRequest;
+import com.taskify.grpc.v1.GetTaskRequest;
+import com.taskify.grpc.v1.ListTasksRequest;
+import com.taskify.grpc.v1.Priority;
+import com.taskify.grpc.v1.Status;
+import com.taskify.grpc.v1.Task;
+import com.taskify.grpc.v1.TaskExport;
+import com.taskify.grpc.v1.TasksGrpc;
+import com.taskify.grpc.v1.UpdateTaskRequest;
+import com.taskify.pagination.Pages;
+import com.taskify.services.TaskListService;
+import com.taskify.services.TaskService;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.StatusRuntimeException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.TestPropertySource;
+
+@TestPropertySource(properties = {"taskify.grpc.enabled=true", "taskify.grpc.port=0"})
+class TaskGrpcServiceTest extends BaseIntegrationTest {
+
+  @Autowired private GrpcServer grpcServer;
+  @Autowired private TaskListService taskListService;
+  @Autowired private TaskService taskService;
+  @Autowired private CacheManager cacheManager;
+
+  private ManagedChannel channel;
+  private TasksGrpc.TasksBlockingStub tasks;
+  private UUID taskListId;
+  private LocalDateTime dueDate;
+
+  @BeforeEach
+  void setUp() {
+    channel =
+        ManagedChannelBuilder.forAddress("localhost", grpcServer.getPort()).usePlaintext().build();
+    tasks = TasksGrpc.newBlockingStub(channel);
+    taskListId = taskListService.createTaskList(new CreateTaskListRequest("Work", null)).id();
+    dueDate = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+  }
+
+  @AfterEach
+  void tearDown() {
+    channel.shutdownNow();
+    taskListService.deleteTaskList(taskListId, null);
+  }
+
+  @Test
+  @DisplayName("Should create a task and get it back")
+  void shouldCreateAndGetTask() {
+    Task created =
+        tasks.createTask(
+            com.taskify.grpc.v1.CreateTaskRequest.newBuilder()
+                .setTaskListId(taskListId.toString())
+                .setTitle("Write report")
+                .setDescription("Quarterly numbers")
+                .setDueDate(ProtoMapper.toTimestamp(dueDate))
+                .setPriority(Priority.PRIORITY_MEDIUM)
+                .build());
+
+    Task task =
+        tasks.getTask(
+            GetTaskRequest.newBuilder()
+                .setTaskListId(taskListId.toString())
+                .setId(created.getId())
+                .build());
+
+    assertEquals(created, task);
+    assertEquals("Write report", task.getTitle());
+    assertEquals("Quarterly numbers", task.getDescription());
+    assertEquals(dueDate, ProtoMapper.fromTimestamp(task.getDueDate()));
+    assertEquals(Priority.PRIORITY_MEDIUM, task.getPriority());
+    assertEquals(Status.STATUS_OPEN, task.getStatus());
+  }
+
+  @Test
+  @DisplayName("Should stream every matching task across pages, uncached and with only the fields")
+  void shouldStreamTasksAcrossPages() {
+    List<String> ids = new ArrayList<>();
+    for (int i = 0; i < Pages.MAX_LIMIT + 5; i++) {
+      ids.add(createTask("Task " + i, TaskPriority.LOW).id().toString());
+    }
+    createTask("Urgent", TaskPriority.HIGH);
+
+    List<Task> streamed = new ArrayList<>();
+    tasks
+        .listTasks(
+            ListTasksRequest.newBuilder()
+                .setTaskListId(taskListId.toString())
+                .setPriority(Priority.PRIORITY_LOW)
+                .setFields("title")
+                .build())
+        .forEachRemaining(streamed::add);
+
+    assertEquals(ids, streamed.stream().map(Task::getId).toList());
+    assertEquals("Task 0", streamed.getFirst().getTitle());
+    assertFalse(streamed.getFirst().hasDueDate());
+    assertEquals(Priority.PRIORITY_UNSPECIFIED, streamed.getFirst().getPriority());
+    Cache<?, ?> cachedPages =
+        (Cache<?, ?>) cacheManager.getCache(CacheNames.TASKS).getNativeCache();
+    assertTrue(
+        cachedPages.asMap().keySet().stream()
+            .noneMatch(
+                key ->
+                    key instanceof CacheKeys.TaskListScopedKey scoped
+                        && taskListId.equals(scoped.taskListId())));
+  }
+
+  @Test
+  @DisplayName("Should update a task and leave unset fields as they are")
+  void shouldUpdateTask() {
+    TaskDto task = createTask("Call back", TaskPriority.LOW);
+
+    Task updated =
+        tasks.updateTask(
+            UpdateTaskRequest.newBuilder()
+                .setTaskListId(taskListId.toString())
+                .setId(task.id().toString())
+                .setTitle("Call back")
+                .setStatus(Status.STATUS_CLOSED)
+                .build());
+
+    assertEquals(Status.STATUS_CLOSED, updated.getStatus());
+    assertEquals(Priority.PRIORITY_LOW, updated.getPriority());
+    assertEquals(dueDate, ProtoMapper.fromTimestamp(updated.getDueDate()));
+  }
+
+  @Test
+  @DisplayName("Should delete a task")
+  void shouldDeleteTask() {
+    TaskDto task = createTask("Obsolete", TaskPriority.LOW);
+
+    tasks.deleteTask(
+        DeleteTaskRequest.newBuilder()
+            .setTaskListId(taskListId.toString())
+            .setId(task.id().toString())
+            .build());
+
+    StatusRuntimeException ex =
+        assertThrows(
+            StatusRuntimeException.class,
+            () ->
+                tasks.getTask(
+                    GetTaskRequest.newBuilder()
+                        .setTaskListId(taskListId.toString())
+                        .setId(task.id().toString())
+                        .build()));
+    assertEquals(io.grpc.Status.Code.NOT_FOUND, ex.getStatus().getCode());
+  }
+
+  @Test
+  @DisplayName("Should export the tasks of a task list")
+  void shouldExportTasks() {
+    TaskDto first = createTask("First", TaskPriority.LOW);
+    TaskDto second = createTask("Second", TaskPriority.HIGH);
+
+    List<TaskExport> exported = new ArrayList<>();
+    tasks
+        .exportTasks(ExportTasksRequest.newBuilder().setTaskListId(taskListId.toString()).build())
+        .forEachRemaining(exported::add);
+
+    assertEquals(
+        Set.of(first.id().toString(), second.id().toString()),
+        exported.stream().map(TaskExport::getId).collect(Collectors.toSet()));
+    assertEquals(2, exported.size());
+    assertTrue(
+        exported.stream().allMatch(task -> task.getTaskListId().equals(taskListId.toString())));
+    assertTrue(exported.stream().allMatch(TaskExport::hasCreated));
+  }
+
+  @Test
+  @DisplayName("Should reject a task without a due date with INVALID_ARGUMENT")
+  void shouldRejectTaskWithoutDueDate() {
+    StatusRuntimeException ex =
+        assertThrows(
+            StatusRuntimeException.class,
+            () ->
+                tasks.createTask(
+                    com.taskify.grpc.v1.CreateTaskRequest.newBuilder()
+                        .setTaskListId(taskListId.toString())
+                        .setTitle("Someday")
+                        .setPriority(Priority.PRIORITY_LOW)
+                        .build()));
+    assertEquals(io.grpc.Status.Code.INVALID_ARGUMENT, ex.getStatus().getCode());
+  }
+
+  private TaskDto createTask(String title, TaskPriority priority) {
+    return taskService.createTask(
+        taskListId, new CreateTaskRequest(title, null, dueDate, priority));
+  }
+}
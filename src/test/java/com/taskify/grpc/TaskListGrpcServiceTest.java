@@ -0,0 +1,197 @@
+package com.taskify.grpc;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.taskify.BaseIntegrationTest;
+import com.taskify.dtos.CreateTaskListRequest;
+import com.taskify.dtos.CreateTaskRequest;
+import com.taskify.entities.TaskPriority;
+import com.taskify.grpc.v1.DeleteTaskListRequest;
+import com.taskify.grpc.v1.GetTaskListRequest;
+import com.taskify.grpc.v1.ListTaskListsRequest;
+import com.taskify.grpc.v1.Priority;
+import com.taskify.grpc.v1.TaskList;
+import com.taskify.grpc.v1.TaskListsGrpc;
+import com.taskify.grpc.v1.UpdateTaskListRequest;
+import com.taskify.pagination.Pages;
+import com.taskify.services.TaskListService;
+import com.taskify.services.TaskService;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+@TestPropertySource(properties = {"taskify.grpc.enabled=true", "taskify.grpc.port=0"})
+class TaskListGrpcServiceTest extends BaseIntegrationTest {
+
+  @Autowired private GrpcServer grpcServer;
+  @Autowired private TaskListService taskListService;
+  @Autowired private TaskService taskService;
+
+  private ManagedChannel channel;
+  private TaskListsGrpc.TaskListsBlockingStub taskLists;
+
+  @BeforeEach
+  void setUp() {
+    channel =
+        ManagedChannelBuilder.forAddress("localhost", grpcServer.getPort()).usePlaintext().build();
+    taskLists = TaskListsGrpc.newBlockingStub(channel);
+  }
+
+  @AfterEach
+  void tearDown() {
+    channel.shutdownNow();
+  }
+
+  @Test
+  @DisplayName("Should create a task list and get it with its tasks")
+  void shouldCreateAndGetTaskList() {
+    TaskList created =
+        taskLists.createTaskList(
+            com.taskify.grpc.v1.CreateTaskListRequest.newBuilder()
+                .setTitle("Groceries")
+                .setDescription("Weekly shopping")
+                .build());
+    UUID id = UUID.fromString(created.getId());
+    LocalDateTime dueDate = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+    taskService.createTask(id, new CreateTaskRequest("Milk", null, dueDate, TaskPriority.HIGH));
+
+    TaskList taskList =
+        taskLists.getTaskList(GetTaskListRequest.newBuilder().setId(created.getId()).build());
+
+    assertEquals("Groceries", taskList.getTitle());
+    assertEquals("Weekly shopping", taskList.getDescription());
+    assertEquals(1, taskList.getCount());
+    assertEquals(1, taskList.getTasksCount());
+    assertEquals("Milk", taskList.getTasks(0).getTitle());
+    assertFalse(taskList.getTasks(0).hasDescription());
+    assertEquals(Priority.PRIORITY_HIGH, taskList.getTasks(0).getPriority());
+    assertEquals(dueDate, ProtoMapper.fromTimestamp(taskList.getTasks(0).getDueDate()));
+
+    TaskList summary =
+        taskLists.getTaskList(
+            GetTaskListRequest.newBuilder().setId(created.getId()).setSummary(true).build());
+    assertEquals(1, summary.getCount());
+    assertEquals(0, summary.getTasksCount());
+  }
+
+  @Test
+  @DisplayName("Should stream every task list across pages")
+  void shouldStreamEveryTaskList() {
+    Set<UUID> ids = new HashSet<>();
+    for (int i = 0; i < Pages.MAX_LIMIT + 5; i++) {
+      ids.add(taskListService.createTaskList(new CreateTaskListRequest("List " + i, null)).id());
+    }
+    try {
+      List<UUID> streamed = new ArrayList<>();
+      taskLists
+          .listTaskLists(ListTaskListsRequest.getDefaultInstance())
+          .forEachRemaining(taskList -> streamed.add(UUID.fromString(taskList.getId())));
+
+      assertTrue(streamed.containsAll(ids));
+      assertEquals(streamed.size(), new HashSet<>(streamed).size());
+    } finally {
+      ids.forEach(id -> taskListService.deleteTaskList(id, null));
+    }
+  }
+
+  @Test
+  @DisplayName("Should update a task list at its expected version and refuse a stale one")
+  void shouldCheckExpectedVersionOnUpdate() {
+    UUID id = taskListService.createTaskList(new CreateTaskListRequest("Chores", null)).id();
+    long version = taskListService.getTaskListVersion(id).orElseThrow().version();
+
+    TaskList updated =
+        taskLists.updateTaskList(
+            UpdateTaskListRequest.newBuilder()
+                .setId(id.toString())
+                .setTitle("House chores")
+                .setExpectedVersion(version)
+                .build());
+    assertEquals("House chores", updated.getTitle());
+
+    StatusRuntimeException ex =
+        assertThrows(
+            StatusRuntimeException.class,
+            () ->
+                taskLists.updateTaskList(
+                    UpdateTaskListRequest.newBuilder()
+                        .setId(id.toString())
+                        .setTitle("Garden chores")
+                        .setExpectedVersion(version)
+                        .build()));
+    assertEquals(Status.Code.FAILED_PRECONDITION, ex.getStatus().getCode());
+  }
+
+  @Test
+  @DisplayName("Should delete a task list")
+  void shouldDeleteTaskList() {
+    UUID id = taskListService.createTaskList(new CreateTaskListRequest("Old", null)).id();
+
+    taskLists.deleteTaskList(DeleteTaskListRequest.newBuilder().setId(id.toString()).build());
+
+    StatusRuntimeException ex =
+        assertThrows(
+            StatusRuntimeException.class,
+            () ->
+                taskLists.getTaskList(
+                    GetTaskListRequest.newBuilder().setId(id.toString()).build()));
+    assertEquals(Status.Code.NOT_FOUND, ex.getStatus().getCode());
+  }
+
+  @Test
+  @DisplayName("Should reject invalid requests with INVALID_ARGUMENT")
+  void shouldRejectInvalidRequests() {
+    StatusRuntimeException blankTitle =
+        assertThrows(
+            StatusRuntimeException.class,
+            () ->
+                taskLists.createTaskList(
+                    com.taskify.grpc.v1.CreateTaskListRequest.newBuilder().setTitle(" ").build()));
+    assertEquals(Status.Code.INVALID_ARGUMENT, blankTitle.getStatus().getCode());
+
+    StatusRuntimeException malformedId =
+        assertThrows(
+            StatusRuntimeException.class,
+            () -> taskLists.getTaskList(GetTaskListRequest.newBuilder().setId("nope").build()));
+    assertEquals(Status.Code.INVALID_ARGUMENT, malformedId.getStatus().getCode());
+
+    StatusRuntimeException unknownField =
+        assertThrows(
+            StatusRuntimeException.class,
+            () ->
+                taskLists
+                    .listTaskLists(
+                        ListTaskListsRequest.newBuilder()
+                            .setIncludeTasks(true)
+                            .setFields("color")
+                            .build())
+                    .hasNext());
+    assertEquals(Status.Code.INVALID_ARGUMENT, unknownField.getStatus().getCode());
+  }
+
+  @Test
+  @DisplayName("Should answer NOT_FOUND for an unknown task list")
+  void shouldAnswerNotFoundForUnknownTaskList() {
+    StatusRuntimeException ex =
+        assertThrows(
+            StatusRuntimeException.class,
+            () ->
+                taskLists.getTaskList(
+                    GetTaskListRequest.newBuilder().setId(UUID.randomUUID().toString()).build()));
+    assertEquals(Status.Code.NOT_FOUND, ex.getStatus().getCode());
+  }
+}
@@ -4,19 +4,26 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import com.taskify.dtos.CreateTaskListRequest;
 import com.taskify.dtos.TaskListDto;
+import com.taskify.dtos.TaskListSummary;
 import com.taskify.dtos.UpdateTaskListRequest;
+import com.taskify.entities.Task;
 import com.taskify.entities.TaskList;
+import com.taskify.entities.TaskStatus;
 import com.taskify.mappers.impl.TaskListMapperImpl;
+import com.taskify.mappers.impl.TaskMapperImpl;
+import java.util.List;
 import java.util.UUID;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 @ExtendWith(MockitoExtension.class)
 class TaskListMapperTest {
 
+  @Spy private TaskMapper taskMapper = new TaskMapperImpl();
   @InjectMocks private TaskListMapperImpl taskListMapper;
 
   @Test
@@ -62,4 +69,40 @@ class TaskListMapperTest {
     assertEquals(request.description(), taskList.getDescription());
     assertNull(taskList.getId()); // ID should be null for mapping
   }
+
+  @Test
+  @DisplayName("Should map an aggregated summary to a TaskListDto without tasks")
+  void shouldMapSummaryToDtoWithoutTasks() {
+    TaskListSummary summary = new TaskListSummary(UUID.randomUUID(), "Test Task List", null, 4, 1);
+
+    TaskListDto taskListDto = taskListMapper.toSummaryDto(summary);
+
+    assertEquals(summary.id(), taskListDto.id());
+    assertEquals(4, taskListDto.count());
+    assertEquals(25.0, taskListDto.progress());
+    assertNull(taskListDto.tasks());
+    assertEquals(
+        0.0,
+        taskListMapper
+            .toSummaryDto(new TaskListSummary(summary.id(), "Empty", null, 0, 0))
+            .progress());
+  }
+
+  @Test
+  @DisplayName("Should map a summary and its projected tasks to a TaskListDto")
+  void shouldMapSummaryAndProjectedTasksToDto() {
+    TaskListSummary summary = new TaskListSummary(UUID.randomUUID(), "Test Task List", null, 2, 1);
+    Task task = new Task();
+    task.setId(UUID.randomUUID());
+    task.setStatus(TaskStatus.CLOSED);
+
+    TaskListDto taskListDto = taskListMapper.toDto(summary, List.of(task));
+
+    assertEquals(2, taskListDto.count());
+    assertEquals(50.0, taskListDto.progress());
+    assertEquals(1, taskListDto.tasks().size());
+    assertEquals(task.getId(), taskListDto.tasks().getFirst().id());
+    assertEquals(TaskStatus.CLOSED, taskListDto.tasks().getFirst().status());
+    assertNull(taskListDto.tasks().getFirst().title());
+  }
 }
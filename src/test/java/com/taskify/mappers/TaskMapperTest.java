@@ -4,6 +4,8 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import com.taskify.dtos.CreateTaskRequest;
 import com.taskify.dtos.TaskDto;
+import com.taskify.dtos.TaskExportDto;
+import com.taskify.dtos.TaskSearchResultDto;
 import com.taskify.dtos.UpdateTaskRequest;
 import com.taskify.entities.Task;
 import com.taskify.entities.TaskList;
@@ -95,4 +97,47 @@ class TaskMapperTest {
     assertNull(task.getId()); // ID should be null for mapping
     assertNull(task.getTaskList()); // TaskList should be null for mapping
   }
+
+  @Test
+  @DisplayName("Should map a search hit to TaskSearchResultDto with its task list and rank")
+  void shouldMapSearchHitToTaskSearchResultDto() {
+    TaskList taskList = new TaskList();
+    taskList.setId(UUID.randomUUID());
+    Task task = new Task();
+    task.setId(UUID.randomUUID());
+    task.setTitle("Quarterly report");
+    task.setPriority(TaskPriority.LOW);
+    task.setStatus(TaskStatus.CLOSED);
+    task.setTaskList(taskList);
+
+    TaskSearchResultDto result = taskMapper.toSearchResultDto(task, 0.25f);
+
+    assertEquals(task.getId(), result.id());
+    assertEquals(taskList.getId(), result.taskListId());
+    assertEquals("Quarterly report", result.title());
+    assertEquals(TaskStatus.CLOSED, result.status());
+    assertEquals(0.25f, result.rank());
+  }
+
+  @Test
+  @DisplayName("Should map a Task entity to TaskExportDto with its task list and timestamps")
+  void shouldMapTaskEntityToTaskExportDto() {
+    TaskList taskList = new TaskList();
+    taskList.setId(UUID.randomUUID());
+    Task task = new Task();
+    task.setId(UUID.randomUUID());
+    task.setTitle("Quarterly report");
+    task.setStatus(TaskStatus.OPEN);
+    task.setCreated(LocalDateTime.of(2025, 1, 1, 9, 0));
+    task.setUpdated(LocalDateTime.of(2025, 1, 2, 9, 0));
+    task.setTaskList(taskList);
+
+    TaskExportDto result = taskMapper.toExportDto(task);
+
+    assertEquals(task.getId(), result.id());
+    assertEquals(taskList.getId(), result.taskListId());
+    assertEquals("Quarterly report", result.title());
+    assertEquals(task.getCreated(), result.created());
+    assertEquals(task.getUpdated(), result.updated());
+  }
 }
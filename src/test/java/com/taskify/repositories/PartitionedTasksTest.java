@@ -0,0 +1,214 @@
+package com.taskify.repositories;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.taskify.BaseDataJpaTest;
+import com.taskify.configs.TaskPartitionBackfillProperties;
+import com.taskify.entities.Task;
+import com.taskify.entities.TaskList;
+import com.taskify.entities.TaskPriority;
+import com.taskify.entities.TaskStatus;
+import com.taskify.jobs.TaskPartitionBackfillJob;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Runs the optional partitioning migrations the way a large deployment would: up to {@code V1.6.1}
+ * first, then the backfill while tasks keep changing, then the {@code V1.6.2} swap. Tests run in
+ * order on the same database, outside a transaction because the migrations use their own
+ * connections.
+ */
+@ActiveProfiles("partitioned")
+@TestPropertySource(
+    properties = {
+      "spring.flyway.target=1.6.1",
+      // Tables from later migrations are only created by migrateToLatest.
+      "spring.jpa.hibernate.ddl-auto=none",
+      "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+          + "com.taskify.repositories.RecordingStatementInspector"
+    })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class PartitionedTasksTest extends BaseDataJpaTest {
+
+  private static final Pattern PARAMETER = Pattern.compile("\\?");
+  private static final Pattern PARTITION = Pattern.compile("tasks_p\\d\\d");
+
+  @Autowired private TaskRepository taskRepository;
+  @Autowired private TaskListRepository taskListRepository;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private Flyway flyway;
+
+  @Test
+  @Order(1)
+  @DisplayName("Should carry tasks, their versions and later changes over to the partitioned table")
+  void shouldBackfillAndSwapInPartitionedTable() {
+    // The entities already map columns of later migrations, so this runs on plain JDBC like the
+    // application version that shipped with V1.6.1 would.
+    UUID taskListId = insertTaskList();
+    List<UUID> taskIds =
+        withoutSync(
+            () ->
+                IntStream.range(0, 5).mapToObj(i -> insertTask(taskListId, "Task " + i)).toList());
+    TaskPartitionBackfillJob backfill =
+        new TaskPartitionBackfillJob(
+            jdbcTemplate,
+            Runnable::run,
+            new TaskPartitionBackfillProperties(false, 2, Duration.ZERO));
+
+    assertEquals(5, backfill.backfill());
+    assertEquals(0, backfill.backfill());
+
+    jdbcTemplate.update(
+        "update tasks set title = 'Renamed', updated = now(), version = version + 1 where id = ?",
+        taskIds.getFirst());
+    jdbcTemplate.update("delete from tasks where id = ?", taskIds.get(1));
+    insertTask(taskListId, "Added");
+    withoutSync(() -> insertTask(taskListId, "Missed"));
+    assertEquals(
+        Set.of("Renamed", "Task 2", "Task 3", "Task 4", "Added"),
+        Set.copyOf(
+            jdbcTemplate.queryForList(
+                "select title from tasks_partitioned where task_list_id = ?",
+                String.class,
+                taskListId)));
+
+    migrateToLatest();
+
+    assertEquals(
+        "p",
+        jdbcTemplate.queryForObject(
+            "select relkind from pg_class where oid = 'tasks'::regclass", String.class));
+    assertEquals(
+        Set.of("Renamed", "Task 2", "Task 3", "Task 4", "Added", "Missed"),
+        taskRepository.findByTaskListId(taskListId).stream()
+            .map(Task::getTitle)
+            .collect(Collectors.toSet()));
+    assertEquals(
+        1L,
+        taskRepository
+            .findByTaskListIdAndId(taskListId, taskIds.getFirst())
+            .orElseThrow()
+            .getVersion());
+    assertEquals(-1, backfill.backfill());
+  }
+
+  @Test
+  @Order(2)
+  @DisplayName("Reads and writes of a task list's tasks should touch only its partition")
+  void shouldPruneToOnePartition() {
+    migrateToLatest();
+    TaskList taskList = taskListRepository.save(taskList());
+    Task task = taskRepository.save(task(taskList, "Pruned"));
+
+    taskRepository.findByTaskListIdAndId(taskList.getId(), task.getId());
+    assertEquals(
+        Set.of(partitionOf(taskList.getId())),
+        partitionsScanned(RecordingStatementInspector.lastSql(), taskList.getId(), task.getId()));
+
+    taskRepository.findByTaskListId(taskList.getId());
+    assertEquals(
+        Set.of(partitionOf(taskList.getId())),
+        partitionsScanned(RecordingStatementInspector.lastSql(), taskList.getId()));
+
+    task.setStatus(TaskStatus.CLOSED);
+    taskRepository.save(task);
+    String update = RecordingStatementInspector.lastSql();
+    assertTrue(update.startsWith("update tasks") && update.contains("task_list_id=?"), update);
+    assertTrue(update.contains("version=?"), update);
+  }
+
+  /** Runs {@code inserts} as if before V1.6.1, whose trigger would copy them right away. */
+  private <T> T withoutSync(Supplier<T> inserts) {
+    jdbcTemplate.execute("alter table tasks disable trigger tasks_partitioned_sync");
+    try {
+      return inserts.get();
+    } finally {
+      jdbcTemplate.execute("alter table tasks enable trigger tasks_partitioned_sync");
+    }
+  }
+
+  private void migrateToLatest() {
+    Flyway.configure().configuration(flyway.getConfiguration()).target("latest").load().migrate();
+  }
+
+  /** Plans {@code sql} for the given arguments and returns the partitions the plan reads. */
+  private Set<String> partitionsScanned(String sql, Object... arguments) {
+    StringBuilder prepared = new StringBuilder();
+    Matcher parameter = PARAMETER.matcher(sql);
+    int position = 0;
+    while (parameter.find()) {
+      parameter.appendReplacement(prepared, "'" + arguments[position++] + "'");
+    }
+    parameter.appendTail(prepared);
+    assertEquals(arguments.length, position, sql);
+    return jdbcTemplate.queryForList("explain " + prepared, String.class).stream()
+        .flatMap(line -> PARTITION.matcher(line).results().map(match -> match.group()))
+        .collect(Collectors.toSet());
+  }
+
+  private String partitionOf(UUID taskListId) {
+    return jdbcTemplate.queryForObject(
+        "select tableoid::regclass::text from tasks where task_list_id = ? limit 1",
+        String.class,
+        taskListId);
+  }
+
+  private UUID insertTaskList() {
+    UUID id = UUID.randomUUID();
+    jdbcTemplate.update(
+        "insert into task_lists (id, title, created, updated)"
+            + " values (?, 'Partitioned', now(), now())",
+        id);
+    return id;
+  }
+
+  private UUID insertTask(UUID taskListId, String title) {
+    UUID id = UUID.randomUUID();
+    jdbcTemplate.update(
+        "insert into tasks (id, title, due_date, priority, status, created, updated, task_list_id)"
+            + " values (?, ?, now() + interval '1 day', ?, ?, now(), now(), ?)",
+        id,
+        title,
+        TaskPriority.MEDIUM.ordinal(),
+        TaskStatus.OPEN.ordinal(),
+        taskListId);
+    return id;
+  }
+
+  private static TaskList taskList() {
+    TaskList taskList = new TaskList();
+    taskList.setTitle("Partitioned");
+    return taskList;
+  }
+
+  private static Task task(TaskList taskList, String title) {
+    Task task = new Task();
+    task.setTitle(title);
+    task.setDueDate(LocalDateTime.now().plusDays(1));
+    task.setPriority(TaskPriority.MEDIUM);
+    task.setStatus(TaskStatus.OPEN);
+    task.setTaskList(taskList);
+    return task;
+  }
+}
@@ -0,0 +1,19 @@
+package com.taskify.repositories;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/** Remembers the last SQL statement Hibernate prepared, so tests can EXPLAIN it. */
+public class RecordingStatementInspector implements StatementInspector {
+
+  private static volatile String lastSql;
+
+  static String lastSql() {
+    return lastSql;
+  }
+
+  @Override
+  public String inspect(String sql) {
+    lastSql = sql;
+    return sql;
+  }
+}
@@ -3,7 +3,14 @@ package com.taskify.repositories;
 import static org.junit.jupiter.api.Assertions.*;
 
 import com.taskify.BaseDataJpaTest;
+import com.taskify.dtos.ResourceVersion;
+import com.taskify.dtos.TaskListStamps;
+import com.taskify.dtos.TaskListSummary;
+import com.taskify.entities.Task;
 import com.taskify.entities.TaskList;
+import com.taskify.entities.TaskPriority;
+import com.taskify.entities.TaskStatus;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -12,6 +19,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
 
 class TaskListRepositoryTest extends BaseDataJpaTest {
 
@@ -78,4 +86,150 @@ class TaskListRepositoryTest extends BaseDataJpaTest {
     Optional<TaskList> taskList2AfterDelete = taskListRepository.findById(taskList2.getId());
     assertTrue(taskList2AfterDelete.isPresent());
   }
+
+  @Test
+  @DisplayName("Should delete a task list and its tasks with one statement")
+  void shouldDeleteTaskListWithTasks() {
+    for (int i = 0; i < 3; i++) {
+      Task task = new Task();
+      task.setTitle("Task " + i);
+      task.setDueDate(LocalDateTime.now().plusDays(1));
+      task.setPriority(TaskPriority.LOW);
+      task.setStatus(TaskStatus.OPEN);
+      task.setTaskList(taskList1);
+      entityManager.persist(task);
+    }
+    entityManager.flush();
+    entityManager.clear();
+
+    assertEquals(1, taskListRepository.deleteWithTasksById(taskList1.getId()));
+    assertEquals(0, taskListRepository.deleteWithTasksById(UUID.randomUUID()));
+
+    assertTrue(taskListRepository.findById(taskList1.getId()).isEmpty());
+    assertTrue(taskListRepository.findById(taskList2.getId()).isPresent());
+    assertEquals(
+        0L,
+        entityManager
+            .getEntityManager()
+            .createQuery("select count(t) from Task t", Long.class)
+            .getSingleResult());
+  }
+
+  @Test
+  @DisplayName("Should read the stamps of a task list from its own row")
+  void shouldReadTaskListStamps() {
+    Optional<TaskListStamps> stamps = taskListRepository.findStampsById(taskList1.getId());
+    assertTrue(stamps.isPresent());
+    assertEquals(0, stamps.get().taskCount());
+    entityManager.clear();
+    TaskList stored = entityManager.find(TaskList.class, taskList1.getId());
+    assertEquals(stored.getUpdated(), stamps.get().updated());
+    assertEquals(stored.getVersion(), stamps.get().version());
+    assertNotNull(stamps.get().contentUpdated());
+
+    assertTrue(taskListRepository.findStampsById(UUID.randomUUID()).isEmpty());
+  }
+
+  @Test
+  @DisplayName("Should bump the content stamps with every counter adjustment")
+  void shouldBumpContentStampsWithCounters() {
+    ResourceVersion before =
+        taskListRepository.findStampsById(taskList1.getId()).orElseThrow().taskListVersion();
+    assertEquals(1, taskListRepository.adjustCounters(taskList1.getId(), 0, 0));
+    entityManager.clear();
+    TaskListStamps after = taskListRepository.findStampsById(taskList1.getId()).orElseThrow();
+    assertEquals(before.version(), after.version());
+    assertNotEquals(before.eTag(), after.taskListVersion().eTag());
+  }
+
+  @Test
+  @DisplayName("Should read the changes of tasks into the stamps without touching the row")
+  void shouldReadTaskChangesIntoStamps() {
+    Task task = new Task();
+    task.setTitle("Task");
+    task.setDueDate(LocalDateTime.now().plusDays(1));
+    task.setPriority(TaskPriority.LOW);
+    task.setStatus(TaskStatus.OPEN);
+    task.setTaskList(taskList1);
+    task = entityManager.persistAndFlush(task);
+    TaskListStamps before = taskListRepository.findStampsById(taskList1.getId()).orElseThrow();
+
+    task.setTitle("Renamed");
+    entityManager.flush();
+    entityManager.clear();
+
+    TaskListStamps after = taskListRepository.findStampsById(taskList1.getId()).orElseThrow();
+    assertEquals(before.version(), after.version());
+    assertEquals(before.contentVersion(), after.contentVersion());
+    assertEquals(before.taskVersions() + 1, after.taskVersions());
+    assertNotEquals(before.taskListVersion().eTag(), after.taskListVersion().eTag());
+    assertNotEquals(before.tasksVersion().eTag(), after.tasksVersion().eTag());
+    assertEquals(
+        List.of(after),
+        taskListRepository.findStampsByIdIn(List.of(taskList1.getId(), UUID.randomUUID())));
+  }
+
+  @Test
+  @DisplayName("Should page through task lists by creation time and ID")
+  void shouldPageThroughTaskListsByCreatedAndId() {
+    entityManager.clear();
+
+    List<TaskList> firstPage = taskListRepository.findFirstPage(Limit.of(1));
+    assertEquals(1, firstPage.size());
+    assertEquals(taskList1.getId(), firstPage.getFirst().getId());
+
+    TaskList last = firstPage.getLast();
+    List<TaskList> secondPage =
+        taskListRepository.findPageAfter(last.getCreated(), last.getId(), Limit.of(10));
+    assertEquals(1, secondPage.size());
+    assertEquals(taskList2.getId(), secondPage.getFirst().getId());
+
+    TaskList end = secondPage.getLast();
+    assertTrue(
+        taskListRepository.findPageAfter(end.getCreated(), end.getId(), Limit.of(10)).isEmpty());
+  }
+
+  @Test
+  @DisplayName("Should repair drifted counters and read summaries from them")
+  void shouldRepairDriftedCountersAndReadSummariesFromThem() {
+    for (TaskStatus status : List.of(TaskStatus.OPEN, TaskStatus.OPEN, TaskStatus.CLOSED)) {
+      Task task = new Task();
+      task.setTitle("Task");
+      task.setDueDate(LocalDateTime.now().plusDays(1));
+      task.setStatus(status);
+      task.setPriority(TaskPriority.MEDIUM);
+      task.setTaskList(taskList1);
+      entityManager.persist(task);
+    }
+    entityManager.flush();
+
+    List<UUID> ids = List.of(taskList1.getId(), taskList2.getId());
+    assertEquals(1, taskListRepository.repairCounters(ids));
+    assertEquals(0, taskListRepository.repairCounters(ids));
+    entityManager.clear();
+
+    TaskListSummary summary = taskListRepository.findSummaryById(taskList1.getId()).orElseThrow();
+    assertEquals("Personal Tasks", summary.title());
+    assertEquals(3, summary.count());
+    assertEquals(1, summary.closedCount());
+    assertTrue(taskListRepository.findSummaryById(UUID.randomUUID()).isEmpty());
+
+    List<TaskListSummary> summaries = taskListRepository.findSummariesByIdIn(ids);
+    assertEquals(2, summaries.size());
+    assertTrue(
+        summaries.contains(new TaskListSummary(taskList2.getId(), "Shopping List", null, 0, 0)));
+  }
+
+  @Test
+  @DisplayName("Should adjust counters of existing task lists only")
+  void shouldAdjustCountersOfExistingTaskListsOnly() {
+    assertEquals(1, taskListRepository.adjustCounters(taskList1.getId(), 2, 1));
+    assertEquals(1, taskListRepository.adjustCounters(taskList1.getId(), -1, 0));
+    assertEquals(0, taskListRepository.adjustCounters(UUID.randomUUID(), 1, 0));
+    entityManager.clear();
+
+    TaskList reloaded = entityManager.find(TaskList.class, taskList1.getId());
+    assertEquals(1, reloaded.getTaskCount());
+    assertEquals(1, reloaded.getClosedCount());
+  }
 }
@@ -0,0 +1,152 @@
+package com.taskify.repositories;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.taskify.BaseDataJpaTest;
+import com.taskify.dtos.TaskFields;
+import com.taskify.dtos.TaskFilter;
+import com.taskify.entities.TaskPriority;
+import com.taskify.entities.TaskStatus;
+import com.taskify.pagination.TaskSort;
+import jakarta.persistence.EntityManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import org.hibernate.Session;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Asserts that the SQL generated for paginated listings is answered from the composite indexes, in
+ * index order, without a separate sort step. Sequential and bitmap scans are disabled so the
+ * planner's choice does not depend on table size, and plans are forced generic so they do not
+ * depend on parameter values.
+ */
+@TestPropertySource(
+    properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+            + "com.taskify.repositories.RecordingStatementInspector")
+class TaskQueryPlanTest extends BaseDataJpaTest {
+
+  private static final Pattern PARAMETER = Pattern.compile("\\?");
+
+  @Autowired private TaskRepository taskRepository;
+  @Autowired private TaskListRepository taskListRepository;
+  @Autowired private EntityManager entityManager;
+
+  @Test
+  @DisplayName("Default listing should walk the (task_list_id, created, id) index")
+  void defaultListingShouldUseCreatedIndex() {
+    taskRepository.findPage(
+        UUID.randomUUID(), TaskFilter.NONE, TaskSort.DEFAULT, TaskFields.ALL, null, null, 21);
+
+    assertIndexOrderedScan("idx_tasks_task_list_id_created_id");
+  }
+
+  @Test
+  @DisplayName(
+      "Due date range sorted by due date should use the (task_list_id, due_date, id) index")
+  void dueDateRangeShouldUseDueDateIndex() {
+    LocalDateTime now = LocalDateTime.now();
+    taskRepository.findPage(
+        UUID.randomUUID(),
+        new TaskFilter(null, null, now, now.plusDays(7)),
+        TaskSort.parse("due_date"),
+        TaskFields.ALL,
+        now.plusDays(1),
+        UUID.randomUUID(),
+        21);
+
+    assertIndexOrderedScan("idx_tasks_task_list_id_due_date_id");
+  }
+
+  @Test
+  @DisplayName(
+      "Status filter sorted by due date should use the (task_list_id, status, due_date, id)"
+          + " index")
+  void statusFilterSortedByDueDateShouldUseStatusDueDateIndex() {
+    taskRepository.findPage(
+        UUID.randomUUID(),
+        new TaskFilter(TaskStatus.OPEN, null, null, null),
+        TaskSort.parse("-due_date"),
+        TaskFields.ALL,
+        LocalDateTime.now(),
+        UUID.randomUUID(),
+        21);
+
+    assertIndexOrderedScan("idx_tasks_task_list_id_status_due_date_id");
+  }
+
+  @Test
+  @DisplayName("Descending priority should scan the (task_list_id, priority, id) index backward")
+  void descendingPriorityShouldScanPriorityIndexBackward() {
+    taskRepository.findPage(
+        UUID.randomUUID(),
+        TaskFilter.NONE,
+        TaskSort.parse("-priority"),
+        TaskFields.ALL,
+        TaskPriority.HIGH,
+        UUID.randomUUID(),
+        21);
+
+    String plan = assertIndexOrderedScan("idx_tasks_task_list_id_priority_id");
+    assertTrue(plan.contains("Backward"), plan);
+  }
+
+  @Test
+  @DisplayName("Task list pages should walk the (created, id) index")
+  void taskListPagesShouldUseCreatedIndex() {
+    taskListRepository.findPageAfter(LocalDateTime.now(), UUID.randomUUID(), Limit.of(21));
+
+    assertIndexOrderedScan("idx_task_lists_created_id");
+  }
+
+  @Test
+  @DisplayName("Search should find candidates through the GIN index on search_vector")
+  void searchShouldUseGinIndex() {
+    taskRepository.search("quarterly report", null, 0.5f, UUID.randomUUID(), 21);
+
+    String plan = explain(RecordingStatementInspector.lastSql(), true);
+    assertTrue(plan.contains("on idx_tasks_search_vector"), plan);
+  }
+
+  private String assertIndexOrderedScan(String index) {
+    String plan = explain(RecordingStatementInspector.lastSql(), false);
+    assertTrue(plan.contains("using " + index), plan);
+    assertFalse(plan.contains("Sort"), plan);
+    return plan;
+  }
+
+  private String explain(String sql, boolean bitmapScans) {
+    AtomicInteger position = new AtomicInteger();
+    String generic = PARAMETER.matcher(sql).replaceAll(match -> "\\$" + position.incrementAndGet());
+    return entityManager
+        .unwrap(Session.class)
+        .doReturningWork(
+            connection -> {
+              try (Statement statement = connection.createStatement()) {
+                statement.execute("SET LOCAL enable_seqscan = off");
+                statement.execute("SET LOCAL enable_bitmapscan = " + bitmapScans);
+                statement.execute("SET LOCAL plan_cache_mode = force_generic_plan");
+                statement.execute("PREPARE plan_probe AS " + generic);
+                String arguments = String.join(", ", Collections.nCopies(position.get(), "NULL"));
+                StringBuilder plan = new StringBuilder();
+                try (ResultSet rows =
+                    statement.executeQuery("EXPLAIN EXECUTE plan_probe(" + arguments + ")")) {
+                  while (rows.next()) {
+                    plan.append(rows.getString(1)).append('\n');
+                  }
+                }
+                statement.execute("DEALLOCATE plan_probe");
+                return plan.toString();
+              }
+            });
+  }
+}
@@ -3,11 +3,22 @@ package com.taskify.repositories;
 import static org.junit.jupiter.api.Assertions.*;
 
 import com.taskify.BaseDataJpaTest;
+import com.taskify.dtos.ResourceVersion;
+import com.taskify.dtos.TaskExportFilter;
+import com.taskify.dtos.TaskFields;
+import com.taskify.dtos.TaskFilter;
+import com.taskify.dtos.TaskPatch;
 import com.taskify.entities.Task;
 import com.taskify.entities.TaskList;
 import com.taskify.entities.TaskPriority;
 import com.taskify.entities.TaskStatus;
+import com.taskify.pagination.TaskSort;
+import com.taskify.repositories.TaskRepositoryCustom.BulkDelete;
+import com.taskify.repositories.TaskRepositoryCustom.BulkUpdate;
+import com.taskify.repositories.TaskRepositoryCustom.PatchedTask;
+import com.taskify.repositories.TaskRepositoryCustom.SearchHit;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -99,4 +110,385 @@ class TaskRepositoryTest extends BaseDataJpaTest {
     Optional<Task> task2AfterDelete = taskRepository.findById(task2.getId());
     assertTrue(task2AfterDelete.isPresent());
   }
+
+  @Test
+  @DisplayName("Should compute the version of a task from its updated timestamp")
+  void shouldComputeTaskVersion() {
+    Optional<ResourceVersion> version =
+        taskRepository.findVersionByTaskListIdAndId(taskList.getId(), task1.getId());
+    assertTrue(version.isPresent());
+    entityManager.clear();
+    assertEquals(
+        entityManager.find(Task.class, task1.getId()).getUpdated(), version.get().lastModified());
+
+    assertTrue(
+        taskRepository.findVersionByTaskListIdAndId(taskList.getId(), UUID.randomUUID()).isEmpty());
+  }
+
+  @Test
+  @DisplayName("Should page tasks by due date and resume after the keyset cursor")
+  void shouldPageTasksByDueDate() {
+    TaskSort byDueDate = TaskSort.parse("due_date");
+
+    List<Task> first =
+        taskRepository.findPage(
+            taskList.getId(), TaskFilter.NONE, byDueDate, TaskFields.ALL, null, null, 1);
+    assertEquals(List.of(task2.getId()), first.stream().map(Task::getId).toList());
+
+    List<Task> second =
+        taskRepository.findPage(
+            taskList.getId(),
+            TaskFilter.NONE,
+            byDueDate,
+            TaskFields.ALL,
+            task2.getDueDate(),
+            task2.getId(),
+            1);
+    assertEquals(List.of(task1.getId()), second.stream().map(Task::getId).toList());
+  }
+
+  @Test
+  @DisplayName("Should filter tasks by priority and due date window")
+  void shouldFilterTasks() {
+    List<Task> highPriority =
+        taskRepository.findPage(
+            taskList.getId(),
+            new TaskFilter(null, TaskPriority.HIGH, null, null),
+            TaskSort.DEFAULT,
+            TaskFields.ALL,
+            null,
+            null,
+            10);
+    assertEquals(List.of(task1.getId()), highPriority.stream().map(Task::getId).toList());
+
+    LocalDateTime now = LocalDateTime.now();
+    List<Task> dueSoon =
+        taskRepository.findPage(
+            taskList.getId(),
+            new TaskFilter(TaskStatus.OPEN, null, now, now.plusDays(3)),
+            TaskSort.DEFAULT,
+            TaskFields.ALL,
+            null,
+            null,
+            10);
+    assertEquals(List.of(task2.getId()), dueSoon.stream().map(Task::getId).toList());
+  }
+
+  @Test
+  @DisplayName("Should project only the requested fields and the sort key, unmanaged")
+  void shouldProjectRequestedFieldsAndSortKey() {
+    entityManager.clear();
+
+    List<Task> page =
+        taskRepository.findPage(
+            taskList.getId(),
+            TaskFilter.NONE,
+            TaskSort.parse("due_date"),
+            TaskFields.parse("title,status"),
+            null,
+            null,
+            10);
+
+    assertEquals(List.of(task2.getId(), task1.getId()), page.stream().map(Task::getId).toList());
+    Task first = page.getFirst();
+    assertEquals(task2.getTitle(), first.getTitle());
+    assertEquals(TaskStatus.OPEN, first.getStatus());
+    assertNotNull(first.getDueDate());
+    assertNull(first.getDescription());
+    assertNull(first.getPriority());
+    assertNull(first.getTaskList());
+    assertFalse(entityManager.getEntityManager().contains(first));
+  }
+
+  @Test
+  @DisplayName("Should project the tasks of several task lists, oldest first")
+  void shouldProjectTasksOfTaskLists() {
+    entityManager.clear();
+
+    List<Task> tasks =
+        taskRepository.findAllByTaskListIdIn(
+            List.of(taskList.getId(), UUID.randomUUID()), TaskFields.parse("title"));
+
+    assertEquals(List.of(task1.getId(), task2.getId()), tasks.stream().map(Task::getId).toList());
+    assertEquals(taskList.getId(), tasks.getFirst().getTaskList().getId());
+    assertEquals(task1.getTitle(), tasks.getFirst().getTitle());
+    assertNull(tasks.getFirst().getDescription());
+    assertFalse(entityManager.getEntityManager().contains(tasks.getFirst()));
+  }
+
+  @Test
+  @DisplayName("Should scroll over filtered tasks, detaching each batch once handled")
+  void shouldScrollOverFilteredTasks() {
+    entityManager.clear();
+    List<Task> seen = new ArrayList<>();
+
+    long count =
+        taskRepository.scroll(new TaskExportFilter(taskList.getId(), null, null), 1, seen::add);
+
+    assertEquals(2, count);
+    assertEquals(List.of(task1.getId(), task2.getId()), seen.stream().map(Task::getId).toList());
+    assertEquals(taskList.getId(), seen.getFirst().getTaskList().getId());
+    assertFalse(entityManager.getEntityManager().contains(seen.getFirst()));
+    assertFalse(entityManager.getEntityManager().contains(seen.getLast()));
+
+    assertEquals(
+        0,
+        taskRepository.scroll(
+            new TaskExportFilter(taskList.getId(), TaskStatus.CLOSED, null), 10, task -> {}));
+    assertEquals(
+        0,
+        taskRepository.scroll(
+            new TaskExportFilter(null, null, LocalDateTime.now().plusDays(1)), 10, task -> {}));
+  }
+
+  @Test
+  @DisplayName("Should insert tasks in batches and detach them once flushed")
+  void shouldInsertAllInBatches() {
+    List<Task> tasks = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      Task task = new Task();
+      task.setTitle("Imported " + i);
+      task.setDueDate(LocalDateTime.now().plusDays(1));
+      task.setPriority(TaskPriority.MEDIUM);
+      task.setStatus(TaskStatus.OPEN);
+      task.setTaskList(taskList);
+      tasks.add(task);
+    }
+
+    taskRepository.insertAll(tasks);
+
+    assertTrue(tasks.stream().allMatch(task -> task.getId() != null));
+    assertFalse(entityManager.getEntityManager().contains(tasks.getFirst()));
+    assertEquals(5, taskRepository.findByTaskListId(taskList.getId()).size());
+    assertEquals(
+        "Imported 2", taskRepository.findById(tasks.getLast().getId()).orElseThrow().getTitle());
+  }
+
+  @Test
+  @DisplayName("Should bulk update matching tasks and report the change in closed tasks")
+  void shouldBulkUpdateMatchingTasks() {
+    LocalDateTime now = LocalDateTime.now().withNano(0);
+
+    BulkUpdate closed =
+        taskRepository.updateAll(
+            taskList.getId(),
+            new TaskFilter(null, null, null, LocalDateTime.now().plusDays(3)),
+            TaskStatus.CLOSED,
+            null,
+            now);
+    assertEquals(new BulkUpdate(1, 1), closed);
+
+    BulkUpdate reprioritized =
+        taskRepository.updateAll(
+            taskList.getId(), TaskFilter.NONE, TaskStatus.CLOSED, TaskPriority.LOW, now);
+    assertEquals(new BulkUpdate(2, 1), reprioritized);
+
+    entityManager.clear();
+    Task updated = taskRepository.findById(task1.getId()).orElseThrow();
+    assertEquals(TaskStatus.CLOSED, updated.getStatus());
+    assertEquals(TaskPriority.LOW, updated.getPriority());
+    assertEquals(now, updated.getUpdated());
+
+    assertEquals(
+        new BulkUpdate(2, -2),
+        taskRepository.updateAll(
+            taskList.getId(),
+            new TaskFilter(TaskStatus.CLOSED, TaskPriority.LOW, null, null),
+            TaskStatus.OPEN,
+            null,
+            now));
+    assertEquals(
+        new BulkUpdate(0, 0),
+        taskRepository.updateAll(UUID.randomUUID(), TaskFilter.NONE, TaskStatus.CLOSED, null, now));
+  }
+
+  @Test
+  @DisplayName("Should patch only the present properties and return the row with its old status")
+  void shouldPatchPresentProperties() {
+    entityManager.clear();
+    LocalDateTime now = LocalDateTime.now().withNano(0);
+
+    PatchedTask patched =
+        taskRepository
+            .patch(
+                taskList.getId(),
+                task1.getId(),
+                TaskPatch.of(null, Optional.empty(), null, null, Optional.of(TaskStatus.CLOSED)),
+                task1.getVersion(),
+                now)
+            .orElseThrow();
+
+    assertEquals(TaskStatus.OPEN, patched.previousStatus());
+    assertEquals(TaskStatus.CLOSED, patched.task().getStatus());
+    assertEquals(task1.getTitle(), patched.task().getTitle());
+    assertNull(patched.task().getDescription());
+    assertEquals(task1.getPriority(), patched.task().getPriority());
+    assertEquals(now, patched.task().getUpdated());
+    assertEquals(task1.getVersion() + 1, patched.task().getVersion());
+
+    entityManager.clear();
+    Task stored = taskRepository.findById(task1.getId()).orElseThrow();
+    assertEquals(TaskStatus.CLOSED, stored.getStatus());
+    assertNull(stored.getDescription());
+    assertEquals(
+        task2.getDescription(),
+        taskRepository.findById(task2.getId()).orElseThrow().getDescription());
+
+    TaskPatch retitle = TaskPatch.of(Optional.of("Renamed"), null, null, null, null);
+    long version = task1.getVersion() + 1;
+    assertTrue(
+        taskRepository.patch(UUID.randomUUID(), task1.getId(), retitle, version, now).isEmpty());
+    assertTrue(
+        taskRepository.patch(taskList.getId(), UUID.randomUUID(), retitle, version, now).isEmpty());
+    assertTrue(
+        taskRepository
+            .patch(taskList.getId(), task1.getId(), retitle, task1.getVersion(), now)
+            .isEmpty());
+    assertTrue(
+        taskRepository
+            .patch(taskList.getId(), task1.getId(), retitle, version, now)
+            .isPresent());
+  }
+
+  @Test
+  @DisplayName("Should delete a task at the expected version and return its status")
+  void shouldDeleteTaskAtExpectedVersion() {
+    entityManager.clear();
+    long version = task1.getVersion();
+
+    assertTrue(taskRepository.delete(taskList.getId(), task1.getId(), version + 1).isEmpty());
+    assertTrue(taskRepository.delete(UUID.randomUUID(), task1.getId(), null).isEmpty());
+    assertEquals(
+        Optional.of(TaskStatus.OPEN),
+        taskRepository.delete(taskList.getId(), task1.getId(), version));
+    assertEquals(
+        Optional.of(TaskStatus.OPEN), taskRepository.delete(taskList.getId(), task2.getId(), null));
+    assertTrue(taskRepository.delete(taskList.getId(), task1.getId(), null).isEmpty());
+    assertTrue(taskRepository.findByTaskListId(taskList.getId()).isEmpty());
+  }
+
+  @Test
+  @DisplayName("Should delete all tasks of a task list with one statement")
+  void shouldDeleteAllTasksOfTaskList() {
+    entityManager.clear();
+
+    assertEquals(2, taskRepository.deleteAllByTaskListId(taskList.getId()));
+    assertEquals(0, taskRepository.deleteAllByTaskListId(taskList.getId()));
+    assertTrue(taskRepository.findByTaskListId(taskList.getId()).isEmpty());
+  }
+
+  @Test
+  @DisplayName("Should delete a task list's tasks in chunks and count the closed ones")
+  void shouldDeleteTasksInChunks() {
+    task1.setStatus(TaskStatus.CLOSED);
+    entityManager.persistAndFlush(task1);
+    entityManager.clear();
+
+    BulkDelete first = taskRepository.deleteChunk(taskList.getId(), 1);
+    BulkDelete second = taskRepository.deleteChunk(taskList.getId(), 1);
+
+    assertEquals(1, first.deleted());
+    assertEquals(1, second.deleted());
+    assertEquals(1, first.closed() + second.closed());
+    assertEquals(new BulkDelete(0, 0), taskRepository.deleteChunk(taskList.getId(), 1));
+    assertTrue(taskRepository.findByTaskListId(taskList.getId()).isEmpty());
+  }
+
+  @Test
+  @DisplayName("Should rank title matches first and page through search hits")
+  void shouldRankAndPageSearchHits() {
+    Task descriptionOnly = newTask("Garden", "Draft a proposal for the new beds", taskList);
+    TaskList otherList = new TaskList();
+    otherList.setTitle("Home");
+    otherList = entityManager.persistAndFlush(otherList);
+    Task elsewhere = newTask("Proposal for the neighbours", null, otherList);
+
+    List<SearchHit> firstPage = taskRepository.search("proposals", taskList.getId(), null, null, 1);
+    assertEquals(List.of(task1.getId()), ids(firstPage));
+
+    SearchHit last = firstPage.getLast();
+    List<SearchHit> secondPage =
+        taskRepository.search("proposals", taskList.getId(), last.rank(), last.task().getId(), 10);
+    assertEquals(List.of(descriptionOnly.getId()), ids(secondPage));
+    assertTrue(secondPage.getFirst().rank() < last.rank());
+
+    assertTrue(
+        ids(taskRepository.search("proposal", null, null, null, 100)).contains(elsewhere.getId()));
+    assertTrue(taskRepository.search("meeting -team", taskList.getId(), null, null, 10).isEmpty());
+  }
+
+  @Test
+  @DisplayName("Should archive only tasks closed before the cutoff and read them back")
+  void shouldArchiveOldClosedTasks() {
+    LocalDateTime now = LocalDateTime.now().withNano(0);
+    Task recentlyClosed = newTask("Recently closed", null, taskList);
+    close(task1, now.minusDays(100));
+    close(recentlyClosed, now.minusDays(10));
+
+    assertEquals(
+        List.of(taskList.getId()), taskRepository.archiveClosedBefore(now.minusDays(90), 10, now));
+    assertTrue(taskRepository.archiveClosedBefore(now.minusDays(90), 10, now).isEmpty());
+
+    List<UUID> hot =
+        taskRepository.findByTaskListId(taskList.getId()).stream().map(Task::getId).toList();
+    assertEquals(2, hot.size());
+    assertFalse(hot.contains(task1.getId()));
+
+    Task archived =
+        taskRepository.findArchivedByTaskListIdAndId(taskList.getId(), task1.getId()).orElseThrow();
+    assertEquals(task1.getTitle(), archived.getTitle());
+    assertEquals(TaskStatus.CLOSED, archived.getStatus());
+    assertEquals(task1.getPriority(), archived.getPriority());
+    assertTrue(
+        taskRepository.findArchivedByTaskListIdAndId(taskList.getId(), task2.getId()).isEmpty());
+
+    List<Task> page =
+        taskRepository.findArchivedPage(
+            taskList.getId(),
+            new TaskFilter(TaskStatus.CLOSED, null, null, null),
+            TaskSort.parse("due_date"),
+            TaskFields.parse("title"),
+            null,
+            null,
+            10);
+    assertEquals(List.of(task1.getId()), page.stream().map(Task::getId).toList());
+    assertEquals(task1.getTitle(), page.getFirst().getTitle());
+    assertNull(page.getFirst().getDescription());
+    assertTrue(
+        taskRepository
+            .findArchivedPage(
+                taskList.getId(),
+                TaskFilter.NONE,
+                TaskSort.parse("due_date"),
+                TaskFields.ALL,
+                task1.getDueDate(),
+                task1.getId(),
+                10)
+            .isEmpty());
+  }
+
+  private Task newTask(String title, String description, TaskList owner) {
+    Task task = new Task();
+    task.setTitle(title);
+    task.setDescription(description);
+    task.setDueDate(LocalDateTime.now().plusDays(1));
+    task.setPriority(TaskPriority.LOW);
+    task.setStatus(TaskStatus.OPEN);
+    task.setTaskList(owner);
+    return entityManager.persistAndFlush(task);
+  }
+
+  private void close(Task task, LocalDateTime updated) {
+    entityManager
+        .getEntityManager()
+        .createNativeQuery("UPDATE tasks SET status = 1, updated = :updated WHERE id = :id")
+        .setParameter("updated", updated)
+        .setParameter("id", task.getId())
+        .executeUpdate();
+    entityManager.clear();
+  }
+
+  private static List<UUID> ids(List<SearchHit> hits) {
+    return hits.stream().map(hit -> hit.task().getId()).toList();
+  }
 }
@@ -0,0 +1,177 @@
+package com.taskify.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.taskify.BaseIntegrationTest;
+import com.taskify.cache.CacheInvalidator;
+import com.taskify.configs.TaskArchivalProperties;
+import com.taskify.configs.TaskListCounterProperties;
+import com.taskify.dtos.CreateTaskListRequest;
+import com.taskify.dtos.CreateTaskRequest;
+import com.taskify.dtos.ResourceVersion;
+import com.taskify.dtos.TaskDto;
+import com.taskify.dtos.TaskFields;
+import com.taskify.dtos.TaskFilter;
+import com.taskify.dtos.UpdateTaskRequest;
+import com.taskify.entities.TaskPriority;
+import com.taskify.entities.TaskStatus;
+import com.taskify.exceptions.TaskNotFoundException;
+import com.taskify.jobs.TaskArchivalJob;
+import com.taskify.jobs.TaskListCounterRepairJob;
+import com.taskify.pagination.TaskSort;
+import com.taskify.repositories.TaskListRepository;
+import com.taskify.repositories.TaskRepository;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class TaskArchivalIntegrationTest extends BaseIntegrationTest {
+
+  @Autowired private TaskListService taskListService;
+  @Autowired private TaskService taskService;
+  @Autowired private TaskRepository taskRepository;
+  @Autowired private TaskListRepository taskListRepository;
+  @Autowired private PlatformTransactionManager transactionManager;
+  @Autowired private CacheInvalidator cacheInvalidator;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @Test
+  @DisplayName("Archived tasks should leave the default views but still count and be readable")
+  void archivedTasksShouldStillCountAndBeReadable() {
+    UUID taskListId =
+        taskListService.createTaskList(new CreateTaskListRequest("Chores", null)).id();
+    UUID oldClosed = createTask(taskListId, "Old", TaskStatus.CLOSED).id();
+    UUID otherOldClosed = createTask(taskListId, "Older", TaskStatus.CLOSED).id();
+    UUID recentlyClosed = createTask(taskListId, "Recent", TaskStatus.CLOSED).id();
+    UUID open = createTask(taskListId, "Open", TaskStatus.OPEN).id();
+    jdbcTemplate.update(
+        "update tasks set updated = ? where id in (?, ?)",
+        LocalDateTime.now().minusDays(120),
+        oldClosed,
+        otherOldClosed);
+    assertEquals(4, listTasks(taskListId, false).size());
+    assertEquals(75.0, taskListService.getTaskListSummary(taskListId).progress());
+    ResourceVersion tasksVersion = taskService.getTasksVersion(taskListId).orElseThrow();
+
+    TaskArchivalJob job =
+        new TaskArchivalJob(
+            taskRepository,
+            taskListRepository,
+            transactionManager,
+            cacheInvalidator,
+            new TaskArchivalProperties("-", Duration.ofDays(90), 1));
+    assertEquals(2, job.archive());
+    assertEquals(0, job.archive());
+    assertNotEquals(tasksVersion, taskService.getTasksVersion(taskListId).orElseThrow());
+
+    assertEquals(List.of(recentlyClosed, open), ids(listTasks(taskListId, false)));
+    assertEquals(
+        List.of(oldClosed, otherOldClosed, recentlyClosed, open), ids(listTasks(taskListId, true)));
+    assertThrows(TaskNotFoundException.class, () -> taskService.getTask(taskListId, oldClosed));
+    assertEquals("Old", taskService.getTaskIncludingArchived(taskListId, oldClosed).title());
+
+    assertEquals(4, taskListService.getTaskListSummary(taskListId).count());
+    assertEquals(75.0, taskListService.getTaskListSummary(taskListId).progress());
+    jdbcTemplate.update("update task_lists set task_count = 0 where id = ?", taskListId);
+    new TaskListCounterRepairJob(
+            taskListRepository,
+            transactionManager,
+            cacheInvalidator,
+            new TaskListCounterProperties("-", 10))
+        .repair();
+    assertEquals(4, taskListService.getTaskListSummary(taskListId).count());
+    assertEquals(75.0, taskListService.getTaskListSummary(taskListId).progress());
+  }
+
+  @Test
+  @DisplayName("Archival should skip the tasks of a task list that is being deleted")
+  void archivalShouldSkipTaskListsBeingDeleted() throws Exception {
+    UUID taskListId =
+        taskListService.createTaskList(new CreateTaskListRequest("Moving", null)).id();
+    UUID oldClosed = createTask(taskListId, "Old", TaskStatus.CLOSED).id();
+    jdbcTemplate.update(
+        "update tasks set updated = ? where task_list_id = ?",
+        LocalDateTime.now().minusDays(120),
+        taskListId);
+    TaskArchivalJob job =
+        new TaskArchivalJob(
+            taskRepository,
+            taskListRepository,
+            transactionManager,
+            cacheInvalidator,
+            new TaskArchivalProperties("-", Duration.ofDays(90), 10));
+
+    // Holds the lock a deletion of the task list takes on its row until the job has run.
+    CountDownLatch locked = new CountDownLatch(1);
+    CountDownLatch archived = new CountDownLatch(1);
+    TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+    try (ExecutorService deleter = Executors.newSingleThreadExecutor()) {
+      Future<?> deletion =
+          deleter.submit(
+              () ->
+                  transaction.executeWithoutResult(
+                      status -> {
+                        jdbcTemplate.queryForList(
+                            "select id from task_lists where id = ? for update", taskListId);
+                        locked.countDown();
+                        try {
+                          archived.await(10, TimeUnit.SECONDS);
+                        } catch (InterruptedException ex) {
+                          Thread.currentThread().interrupt();
+                        }
+                      }));
+      assertTrue(locked.await(10, TimeUnit.SECONDS));
+      job.archive();
+      archived.countDown();
+      deletion.get(10, TimeUnit.SECONDS);
+    }
+    assertEquals(1, countTasks("tasks", oldClosed));
+
+    job.archive();
+    assertEquals(0, countTasks("tasks", oldClosed));
+    assertEquals(1, countTasks("tasks_archive", oldClosed));
+  }
+
+  private TaskDto createTask(UUID taskListId, String title, TaskStatus status) {
+    TaskDto task =
+        taskService.createTask(
+            taskListId,
+            new CreateTaskRequest(title, null, LocalDateTime.now().plusDays(1), TaskPriority.LOW));
+    return taskService.updateTask(
+        taskListId, task.id(), new UpdateTaskRequest(title, null, null, null, status), null);
+  }
+
+  private int countTasks(String table, UUID id) {
+    return jdbcTemplate.queryForObject(
+        "select count(*) from " + table + " where id = ?", Integer.class, id);
+  }
+
+  private List<TaskDto> listTasks(UUID taskListId, boolean includeArchived) {
+    return taskService
+        .listTasks(
+            taskListId,
+            TaskFilter.NONE,
+            TaskSort.DEFAULT,
+            TaskFields.ALL,
+            includeArchived,
+            null,
+            null)
+        .items();
+  }
+
+  private static List<UUID> ids(List<TaskDto> tasks) {
+    return tasks.stream().map(TaskDto::id).toList();
+  }
+}
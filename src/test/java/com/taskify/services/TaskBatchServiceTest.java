@@ -0,0 +1,199 @@
+package com.taskify.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+import com.taskify.cache.CacheInvalidator;
+import com.taskify.configs.TaskBatchProperties;
+import com.taskify.dtos.CreateTaskRequest;
+import com.taskify.dtos.CreateTasksResult;
+import com.taskify.dtos.TaskFilter;
+import com.taskify.dtos.UpdateTasksResult;
+import com.taskify.entities.Task;
+import com.taskify.entities.TaskList;
+import com.taskify.entities.TaskPriority;
+import com.taskify.entities.TaskStatus;
+import com.taskify.exceptions.TaskListNotFoundException;
+import com.taskify.mappers.TaskMapper;
+import com.taskify.mappers.impl.TaskMapperImpl;
+import com.taskify.repositories.TaskListRepository;
+import com.taskify.repositories.TaskRepository;
+import com.taskify.repositories.TaskRepositoryCustom.BulkUpdate;
+import com.taskify.services.impl.TaskBatchServiceImpl;
+import jakarta.validation.Validation;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class TaskBatchServiceTest {
+
+  @Mock private TaskRepository taskRepository;
+  @Mock private TaskListRepository taskListRepository;
+  @Mock private CacheInvalidator cacheInvalidator;
+
+  private final TaskMapper taskMapper = new TaskMapperImpl();
+  private TaskBatchService taskBatchService;
+  private UUID taskListId;
+  private LocalDateTime dueDate;
+
+  @BeforeEach
+  void setUp() {
+    taskBatchService =
+        new TaskBatchServiceImpl(
+            taskListRepository,
+            taskRepository,
+            taskMapper,
+            cacheInvalidator,
+            Validation.buildDefaultValidatorFactory().getValidator(),
+            new TaskBatchProperties(3));
+    taskListId = UUID.randomUUID();
+    dueDate = LocalDateTime.now().plusDays(1);
+  }
+
+  @Test
+  @DisplayName("Should insert the valid tasks together and report the invalid ones per item")
+  void shouldInsertValidTasksAndReportInvalidOnes() {
+    TaskList taskList = new TaskList();
+    taskList.setId(taskListId);
+    when(taskListRepository.adjustCounters(taskListId, 2, 0)).thenReturn(1);
+    when(taskListRepository.getReferenceById(taskListId)).thenReturn(taskList);
+    doAnswer(
+            invocation -> {
+              List<Task> tasks = invocation.getArgument(0);
+              tasks.forEach(task -> task.setId(UUID.randomUUID()));
+              return null;
+            })
+        .when(taskRepository)
+        .insertAll(anyList());
+
+    CreateTasksResult result =
+        taskBatchService.createTasks(
+            taskListId,
+            Arrays.asList(
+                new CreateTaskRequest("Pay rent", null, dueDate, TaskPriority.HIGH),
+                new CreateTaskRequest("", null, null, TaskPriority.LOW),
+                new CreateTaskRequest("Book flights", "Window seat", dueDate, TaskPriority.LOW)));
+
+    assertEquals(2, result.created());
+    assertEquals(1, result.failed());
+    assertEquals(
+        List.of(0, 1, 2), result.items().stream().map(CreateTasksResult.Item::index).toList());
+
+    CreateTasksResult.Item created = result.items().get(2);
+    assertEquals(201, created.status());
+    assertEquals("Book flights", created.task().title());
+    assertEquals(TaskStatus.OPEN, created.task().status());
+    assertNotNull(created.task().id());
+    assertNull(created.errors());
+
+    CreateTasksResult.Item rejected = result.items().get(1);
+    assertEquals(400, rejected.status());
+    assertNull(rejected.task());
+    assertTrue(rejected.errors().contains("dueDate must not be null"), rejected.errors()::toString);
+    assertTrue(rejected.errors().stream().anyMatch(error -> error.startsWith("title ")));
+
+    ArgumentCaptor<List<Task>> inserted = ArgumentCaptor.captor();
+    verify(taskRepository).insertAll(inserted.capture());
+    assertEquals(2, inserted.getValue().size());
+    assertTrue(inserted.getValue().stream().allMatch(task -> task.getTaskList() == taskList));
+    verify(cacheInvalidator).tasksCreated(taskListId);
+  }
+
+  @Test
+  @DisplayName("Should reject a batch larger than the configured maximum")
+  void shouldRejectOversizedBatch() {
+    CreateTaskRequest request = new CreateTaskRequest("Task", null, dueDate, TaskPriority.LOW);
+
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            taskBatchService.createTasks(taskListId, List.of(request, request, request, request)));
+    verifyNoInteractions(taskListRepository, taskRepository, cacheInvalidator);
+  }
+
+  @Test
+  @DisplayName("Should throw TaskListNotFoundException when the task list does not exist")
+  void shouldThrowWhenTaskListDoesNotExist() {
+    when(taskListRepository.adjustCounters(any(), anyInt(), anyInt())).thenReturn(0);
+
+    assertThrows(
+        TaskListNotFoundException.class,
+        () ->
+            taskBatchService.createTasks(
+                taskListId,
+                List.of(new CreateTaskRequest("Task", null, dueDate, TaskPriority.LOW))));
+    verifyNoInteractions(taskRepository, cacheInvalidator);
+  }
+
+  @Test
+  @DisplayName("Should not touch the caches when no task was valid")
+  void shouldNotInvalidateWhenNothingWasCreated() {
+    when(taskListRepository.adjustCounters(taskListId, 0, 0)).thenReturn(1);
+
+    CreateTasksResult result =
+        taskBatchService.createTasks(taskListId, Arrays.asList((CreateTaskRequest) null));
+
+    assertEquals(0, result.created());
+    assertEquals(List.of("task must not be null"), result.items().getFirst().errors());
+    verifyNoInteractions(cacheInvalidator);
+  }
+
+  @Test
+  @DisplayName("Should bulk update matching tasks and follow with the counters and caches once")
+  void shouldBulkUpdateTasks() {
+    TaskFilter filter = new TaskFilter(TaskStatus.OPEN, null, null, dueDate);
+    when(taskRepository.updateAll(
+            eq(taskListId), eq(filter), eq(TaskStatus.CLOSED), isNull(), any()))
+        .thenReturn(new BulkUpdate(12, 12));
+
+    UpdateTasksResult result =
+        taskBatchService.updateTasks(taskListId, filter, TaskStatus.CLOSED, null);
+
+    assertEquals(12, result.updated());
+    InOrder inOrder = inOrder(taskRepository, taskListRepository);
+    inOrder
+        .verify(taskRepository)
+        .updateAll(eq(taskListId), eq(filter), eq(TaskStatus.CLOSED), isNull(), any());
+    inOrder.verify(taskListRepository).adjustCounters(taskListId, 0, 12);
+    verify(cacheInvalidator).tasksChanged(taskListId);
+  }
+
+  @Test
+  @DisplayName("Should reject a bulk update that sets nothing")
+  void shouldRejectBulkUpdateWithoutChanges() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> taskBatchService.updateTasks(taskListId, TaskFilter.NONE, null, null));
+    verifyNoInteractions(taskRepository, taskListRepository, cacheInvalidator);
+  }
+
+  @Test
+  @DisplayName("Should throw TaskListNotFoundException when bulk updating a missing task list")
+  void shouldThrowWhenBulkUpdatingMissingTaskList() {
+    when(taskRepository.updateAll(
+            eq(taskListId), eq(TaskFilter.NONE), isNull(), eq(TaskPriority.LOW), any()))
+        .thenReturn(new BulkUpdate(0, 0));
+    when(taskListRepository.existsById(taskListId)).thenReturn(false);
+
+    assertThrows(
+        TaskListNotFoundException.class,
+        () -> taskBatchService.updateTasks(taskListId, null, null, TaskPriority.LOW));
+    verify(taskListRepository, never()).adjustCounters(any(), anyInt(), anyInt());
+    verifyNoInteractions(cacheInvalidator);
+  }
+}
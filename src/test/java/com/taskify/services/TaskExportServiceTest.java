@@ -0,0 +1,58 @@
+package com.taskify.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.taskify.configs.ExportProperties;
+import com.taskify.dtos.TaskExportDto;
+import com.taskify.dtos.TaskExportFilter;
+import com.taskify.entities.Task;
+import com.taskify.entities.TaskStatus;
+import com.taskify.mappers.TaskMapper;
+import com.taskify.repositories.TaskRepository;
+import com.taskify.services.impl.TaskExportServiceImpl;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class TaskExportServiceTest {
+
+  @Mock private TaskRepository taskRepository;
+  @Mock private TaskMapper taskMapper;
+
+  @Test
+  @DisplayName("Should map every scrolled task and scroll with the configured fetch size")
+  void shouldMapEveryScrolledTask() {
+    TaskExportService taskExportService =
+        new TaskExportServiceImpl(
+            taskRepository, taskMapper, new ExportProperties(250, Duration.ofMinutes(5)));
+    TaskExportFilter filter = new TaskExportFilter(null, TaskStatus.OPEN, null);
+    Task task = new Task();
+    task.setId(UUID.randomUUID());
+    TaskExportDto dto =
+        new TaskExportDto(
+            task.getId(), UUID.randomUUID(), "Pay rent", null, null, null, null, null, null);
+    when(taskMapper.toExportDto(task)).thenReturn(dto);
+    when(taskRepository.scroll(eq(filter), eq(250), any()))
+        .thenAnswer(
+            invocation -> {
+              Consumer<Task> action = invocation.getArgument(2);
+              action.accept(task);
+              return 1L;
+            });
+
+    List<TaskExportDto> exported = new ArrayList<>();
+    assertEquals(1, taskExportService.exportTasks(filter, exported::add));
+    assertEquals(List.of(dto), exported);
+  }
+}
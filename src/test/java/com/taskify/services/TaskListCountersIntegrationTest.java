@@ -0,0 +1,323 @@
+package com.taskify.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.taskify.BaseIntegrationTest;
+import com.taskify.cache.CacheInvalidator;
+import com.taskify.configs.TaskListCounterProperties;
+import com.taskify.configs.TaskListDeletionProperties;
+import com.taskify.dtos.CreateTaskListRequest;
+import com.taskify.dtos.CreateTaskRequest;
+import com.taskify.dtos.CreateTasksResult;
+import com.taskify.dtos.TaskDto;
+import com.taskify.dtos.TaskListDeletionDto;
+import com.taskify.dtos.TaskPatch;
+import com.taskify.dtos.UpdateTaskRequest;
+import com.taskify.entities.TaskPriority;
+import com.taskify.entities.TaskStatus;
+import com.taskify.exceptions.TaskListNotFoundException;
+import com.taskify.jobs.TaskListCounterRepairJob;
+import com.taskify.repositories.TaskListDeletionRepository;
+import com.taskify.repositories.TaskListRepository;
+import com.taskify.repositories.TaskRepository;
+import com.taskify.services.impl.TaskListDeletionServiceImpl;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class TaskListCountersIntegrationTest extends BaseIntegrationTest {
+
+  private static final int WRITERS = 8;
+  private static final int WRITES_PER_WRITER = 40;
+
+  @Autowired private TaskListService taskListService;
+  @Autowired private TaskListDeletionService taskListDeletionService;
+  @Autowired private TaskService taskService;
+  @Autowired private TaskBatchService taskBatchService;
+  @Autowired private TaskListRepository taskListRepository;
+  @Autowired private TaskRepository taskRepository;
+  @Autowired private TaskListDeletionRepository taskListDeletionRepository;
+  @Autowired private PlatformTransactionManager transactionManager;
+  @Autowired private CacheInvalidator cacheInvalidator;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @Test
+  @DisplayName("Counters should not drift under parallel status flips, creates and deletes")
+  void countersShouldNotDriftUnderParallelWrites() throws Exception {
+    UUID taskListId = createTaskList("Flips");
+    List<UUID> taskIds = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      taskIds.add(createTask(taskListId).id());
+    }
+
+    ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+    try {
+      CountDownLatch start = new CountDownLatch(1);
+      List<Future<?>> futures = new ArrayList<>();
+      for (int writer = 0; writer < WRITERS; writer++) {
+        boolean churn = writer == 0;
+        futures.add(
+            executor.submit(
+                () -> {
+                  start.await();
+                  ThreadLocalRandom random = ThreadLocalRandom.current();
+                  for (int i = 0; i < WRITES_PER_WRITER; i++) {
+                    if (churn) {
+                      UUID taskId = createTask(taskListId).id();
+                      flip(taskListId, taskId, TaskStatus.CLOSED);
+                      taskService.deleteTask(taskListId, taskId, null);
+                    } else {
+                      UUID taskId = taskIds.get(random.nextInt(taskIds.size()));
+                      flip(taskListId, taskId, TaskStatus.values()[random.nextInt(2)]);
+                    }
+                  }
+                  return null;
+                }));
+      }
+      start.countDown();
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    Map<String, Object> actual =
+        jdbcTemplate.queryForMap(
+            "select count(*) as task_count, count(*) filter (where status = 1) as closed_count"
+                + " from tasks where task_list_id = ?",
+            taskListId);
+    Map<String, Object> stored =
+        jdbcTemplate.queryForMap(
+            "select task_count, closed_count from task_lists where id = ?", taskListId);
+    assertEquals(5L, actual.get("task_count"));
+    assertEquals(((Number) actual.get("task_count")).intValue(), stored.get("task_count"));
+    assertEquals(((Number) actual.get("closed_count")).intValue(), stored.get("closed_count"));
+  }
+
+  @Test
+  @DisplayName("Repair job should recompute drifted counters in batches")
+  void repairJobShouldRecomputeDriftedCountersInBatches() {
+    UUID drifted = createTaskList("Drifted");
+    UUID intact = createTaskList("Intact");
+    UUID closedTaskId = createTask(drifted).id();
+    createTask(drifted);
+    createTask(intact);
+    flip(drifted, closedTaskId, TaskStatus.CLOSED);
+    assertEquals(50.0, taskListService.getTaskListSummary(drifted).progress());
+
+    jdbcTemplate.update(
+        "update task_lists set task_count = 7, closed_count = 0 where id = ?", drifted);
+
+    TaskListCounterRepairJob job =
+        new TaskListCounterRepairJob(
+            taskListRepository,
+            transactionManager,
+            cacheInvalidator,
+            new TaskListCounterProperties("-", 2));
+    assertEquals(1, job.repair());
+    assertEquals(0, job.repair());
+
+    assertEquals(2, taskListService.getTaskListSummary(drifted).count());
+    assertEquals(50.0, taskListService.getTaskListSummary(drifted).progress());
+    assertEquals(1, taskListService.getTaskListSummary(intact).count());
+  }
+
+  @Test
+  @DisplayName("A batch create should count exactly the tasks it created")
+  void batchCreateShouldCountCreatedTasks() {
+    UUID taskListId = createTaskList("Imported");
+    createTask(taskListId);
+    assertEquals(1, taskListService.getTaskListSummary(taskListId).count());
+
+    List<CreateTaskRequest> requests = new ArrayList<>();
+    for (int i = 0; i < 250; i++) {
+      requests.add(
+          new CreateTaskRequest(
+              i % 50 == 0 ? " " : "Imported " + i,
+              null,
+              LocalDateTime.now().plusDays(1),
+              TaskPriority.MEDIUM));
+    }
+    CreateTasksResult result = taskBatchService.createTasks(taskListId, requests);
+
+    assertEquals(245, result.created());
+    assertEquals(5, result.failed());
+    assertEquals(246, taskListService.getTaskListSummary(taskListId).count());
+    assertEquals(
+        246,
+        jdbcTemplate.queryForObject(
+            "select count(*) from tasks where task_list_id = ?", Integer.class, taskListId));
+  }
+
+  @Test
+  @DisplayName("A bulk update should move the closed count by the tasks whose status changed")
+  void bulkUpdateShouldKeepClosedCountExact() {
+    UUID taskListId = createTaskList("Sprint");
+    List<UUID> taskIds = new ArrayList<>();
+    for (int i = 0; i < 6; i++) {
+      taskIds.add(createTask(taskListId).id());
+    }
+    flip(taskListId, taskIds.getFirst(), TaskStatus.CLOSED);
+    assertEquals(100.0 / 6, taskListService.getTaskListSummary(taskListId).progress(), 0.01);
+
+    assertEquals(
+        6,
+        taskBatchService
+            .updateTasks(taskListId, null, TaskStatus.CLOSED, TaskPriority.HIGH)
+            .updated());
+    assertEquals(100.0, taskListService.getTaskListSummary(taskListId).progress());
+    assertEquals(TaskPriority.HIGH, taskService.getTask(taskListId, taskIds.getLast()).priority());
+
+    assertEquals(
+        6, taskBatchService.updateTasks(taskListId, null, TaskStatus.OPEN, null).updated());
+    assertEquals(0.0, taskListService.getTaskListSummary(taskListId).progress());
+    assertEquals(
+        0,
+        jdbcTemplate.queryForObject(
+            "select closed_count from task_lists where id = ?", Integer.class, taskListId));
+  }
+
+  @Test
+  @DisplayName("A bulk update waiting on a single write should count the status it committed")
+  void bulkUpdateBehindSingleWriteShouldKeepClosedCountExact() throws Exception {
+    UUID taskListId = createTaskList("Raced");
+    UUID taskId = createTask(taskListId).id();
+    createTask(taskListId);
+
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      Future<Integer> bulkClose =
+          new TransactionTemplate(transactionManager)
+              .execute(
+                  status -> {
+                    flip(taskListId, taskId, TaskStatus.CLOSED);
+                    Future<Integer> bulk =
+                        executor.submit(
+                            () ->
+                                taskBatchService
+                                    .updateTasks(taskListId, null, TaskStatus.CLOSED, null)
+                                    .updated());
+                    awaitLockWait();
+                    return bulk;
+                  });
+
+      assertEquals(2, bulkClose.get());
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertEquals(
+        2,
+        jdbcTemplate.queryForObject(
+            "select closed_count from task_lists where id = ?", Integer.class, taskListId));
+    assertEquals(100.0, taskListService.getTaskListSummary(taskListId).progress());
+  }
+
+  @Test
+  @DisplayName("A patch should move the closed count only when it changes the status")
+  void patchShouldKeepClosedCountExact() {
+    UUID taskListId = createTaskList("Patched");
+    UUID taskId = createTask(taskListId).id();
+    createTask(taskListId);
+
+    TaskPatch close = TaskPatch.of(null, null, null, null, Optional.of(TaskStatus.CLOSED));
+    taskService.patchTask(taskListId, taskId, close, null);
+    taskService.patchTask(taskListId, taskId, close, null);
+    assertEquals(50.0, taskListService.getTaskListSummary(taskListId).progress());
+
+    TaskDto patched =
+        taskService.patchTask(
+            taskListId,
+            taskId,
+            TaskPatch.of(
+                Optional.of("Renamed"), Optional.empty(), null, null, Optional.of(TaskStatus.OPEN)),
+            null);
+    assertEquals("Renamed", patched.title());
+    assertNull(patched.description());
+    assertEquals(0.0, taskListService.getTaskListSummary(taskListId).progress());
+    assertEquals(patched, taskService.getTask(taskListId, taskId));
+  }
+
+  @Test
+  @DisplayName("A chunked deletion should keep counters exact and then remove the task list")
+  void chunkedDeletionShouldRemoveTasksThenTaskList() {
+    UUID taskListId = createTaskList("Huge");
+    UUID closedTaskId = createTask(taskListId).id();
+    flip(taskListId, closedTaskId, TaskStatus.CLOSED);
+    for (int i = 0; i < 24; i++) {
+      createTask(taskListId);
+    }
+
+    TaskListDeletionService deletionService =
+        new TaskListDeletionServiceImpl(
+            taskListRepository,
+            taskRepository,
+            taskListDeletionRepository,
+            transactionManager,
+            new SyncTaskExecutor(),
+            cacheInvalidator,
+            new TaskListDeletionProperties(10, Duration.ofMinutes(1)));
+    UUID deletionId = deletionService.startDeletion(taskListId, null).id();
+
+    // Read back through the service bean, as another node would.
+    TaskListDeletionDto deletion = taskListDeletionService.getDeletion(deletionId);
+    assertEquals(TaskListDeletionDto.Status.COMPLETED, deletion.status());
+    assertEquals(25, deletion.deletedTasks());
+    assertThrows(
+        TaskListNotFoundException.class, () -> taskListService.getTaskListSummary(taskListId));
+    assertEquals(
+        0,
+        jdbcTemplate.queryForObject(
+            "select count(*) from tasks where task_list_id = ?", Integer.class, taskListId));
+  }
+
+  private UUID createTaskList(String title) {
+    return taskListService.createTaskList(new CreateTaskListRequest(title, null)).id();
+  }
+
+  private TaskDto createTask(UUID taskListId) {
+    return taskService.createTask(
+        taskListId,
+        new CreateTaskRequest("Task", null, LocalDateTime.now().plusDays(1), TaskPriority.LOW));
+  }
+
+  /** Waits until another session is blocked on a row lock this test holds. */
+  private void awaitLockWait() {
+    long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+    while (jdbcTemplate.queryForObject(
+            "select count(*) from pg_stat_activity where wait_event_type = 'Lock'", Integer.class)
+        == 0) {
+      if (System.nanoTime() > deadline) {
+        fail("The bulk update never waited on the locked task");
+      }
+      try {
+        Thread.sleep(10);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        fail(e);
+      }
+    }
+  }
+
+  private void flip(UUID taskListId, UUID taskId, TaskStatus status) {
+    taskService.updateTask(
+        taskListId, taskId, new UpdateTaskRequest("Task", null, null, null, status), null);
+  }
+}
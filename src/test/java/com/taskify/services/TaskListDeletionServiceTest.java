@@ -0,0 +1,167 @@
+package com.taskify.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.taskify.cache.CacheInvalidator;
+import com.taskify.configs.TaskListDeletionProperties;
+import com.taskify.dtos.TaskListDeletionDto;
+import com.taskify.entities.TaskListDeletion;
+import com.taskify.exceptions.PreconditionFailedException;
+import com.taskify.exceptions.TaskListDeletionNotFoundException;
+import com.taskify.exceptions.TaskListNotFoundException;
+import com.taskify.repositories.TaskListDeletionRepository;
+import com.taskify.repositories.TaskListRepository;
+import com.taskify.repositories.TaskRepository;
+import com.taskify.repositories.TaskRepositoryCustom.BulkDelete;
+import com.taskify.services.impl.TaskListDeletionServiceImpl;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class TaskListDeletionServiceTest {
+
+  @Mock private TaskListRepository taskListRepository;
+  @Mock private TaskRepository taskRepository;
+  @Mock private TaskListDeletionRepository taskListDeletionRepository;
+  @Mock private PlatformTransactionManager transactionManager;
+  @Mock private CacheInvalidator cacheInvalidator;
+
+  private final List<Runnable> scheduled = new ArrayList<>();
+  private TaskListDeletionService taskListDeletionService;
+  private UUID taskListId;
+
+  @BeforeEach
+  void setUp() {
+    taskListDeletionService =
+        new TaskListDeletionServiceImpl(
+            taskListRepository,
+            taskRepository,
+            taskListDeletionRepository,
+            transactionManager,
+            scheduled::add,
+            cacheInvalidator,
+            new TaskListDeletionProperties(2, Duration.ofMinutes(1)));
+    taskListId = UUID.randomUUID();
+  }
+
+  @Test
+  @DisplayName("Should delete tasks chunk by chunk, then the task list, and report progress")
+  void shouldDeleteInChunksThenTaskList() {
+    when(taskListRepository.findRowVersionById(taskListId)).thenReturn(Optional.of(0L));
+    when(taskRepository.deleteChunk(taskListId, 2))
+        .thenReturn(new BulkDelete(2, 1), new BulkDelete(2, 0), new BulkDelete(1, 1));
+
+    TaskListDeletionDto started = taskListDeletionService.startDeletion(taskListId, null);
+    assertEquals(TaskListDeletionDto.Status.PENDING, started.status());
+    verify(taskListDeletionRepository).deleteAllUpdatedBefore(any(LocalDateTime.class));
+
+    scheduled.getFirst().run();
+
+    assertEquals(
+        List.of(
+            started,
+            started.progressed(2),
+            started.progressed(2).progressed(2),
+            started.progressed(2).progressed(2).progressed(1),
+            started.progressed(2).progressed(2).progressed(1).completed()),
+        saved());
+    InOrder inOrder = inOrder(taskListRepository, cacheInvalidator);
+    inOrder.verify(taskListRepository).adjustCounters(taskListId, -2, -1);
+    inOrder.verify(taskListRepository).adjustCounters(taskListId, -2, 0);
+    inOrder.verify(taskListRepository).adjustCounters(taskListId, -1, -1);
+    inOrder.verify(taskListRepository).deleteWithTasksById(taskListId);
+    inOrder.verify(cacheInvalidator).taskListDeleted(taskListId);
+    verify(transactionManager, times(5)).commit(any());
+  }
+
+  @Test
+  @DisplayName("Should record a failed deletion with the tasks deleted so far")
+  void shouldRecordFailure() {
+    when(taskListRepository.findRowVersionById(taskListId)).thenReturn(Optional.of(0L));
+    when(taskRepository.deleteChunk(taskListId, 2))
+        .thenReturn(new BulkDelete(2, 0))
+        .thenThrow(new IllegalStateException("connection lost"));
+
+    taskListDeletionService.startDeletion(taskListId, null);
+    scheduled.getFirst().run();
+
+    TaskListDeletionDto deletion = saved().getLast();
+    assertEquals(TaskListDeletionDto.Status.FAILED, deletion.status());
+    assertEquals(2, deletion.deletedTasks());
+    assertEquals("connection lost", deletion.error());
+    verify(taskListRepository, never()).deleteWithTasksById(any());
+  }
+
+  @Test
+  @DisplayName("Should not start deleting a missing task list")
+  void shouldNotStartDeletingMissingTaskList() {
+    when(taskListRepository.findRowVersionById(taskListId)).thenReturn(Optional.empty());
+
+    assertThrows(
+        TaskListNotFoundException.class,
+        () -> taskListDeletionService.startDeletion(taskListId, null));
+    assertTrue(scheduled.isEmpty());
+  }
+
+  @Test
+  @DisplayName("Should not start deleting a task list that is not at the expected version")
+  void shouldNotStartDeletingAnotherVersion() {
+    when(taskListRepository.findRowVersionById(taskListId)).thenReturn(Optional.of(2L));
+
+    assertThrows(
+        PreconditionFailedException.class,
+        () -> taskListDeletionService.startDeletion(taskListId, 1L));
+    assertTrue(scheduled.isEmpty());
+  }
+
+  @Test
+  @DisplayName("Should report a deletion from its stored state")
+  void shouldReportStoredDeletion() {
+    TaskListDeletionDto deletion =
+        new TaskListDeletionDto(
+            UUID.randomUUID(), taskListId, TaskListDeletionDto.Status.RUNNING, 4, null);
+    when(taskListDeletionRepository.findByIdAndUpdatedAfter(
+            eq(deletion.id()), any(LocalDateTime.class)))
+        .thenReturn(Optional.of(new TaskListDeletion(deletion, LocalDateTime.now())));
+
+    assertEquals(deletion, taskListDeletionService.getDeletion(deletion.id()));
+  }
+
+  @Test
+  @DisplayName("Should throw TaskListDeletionNotFoundException for an unknown deletion")
+  void shouldThrowForUnknownDeletion() {
+    assertThrows(
+        TaskListDeletionNotFoundException.class,
+        () -> taskListDeletionService.getDeletion(UUID.randomUUID()));
+  }
+
+  /** The states of the deletion stored so far, in order. */
+  private List<TaskListDeletionDto> saved() {
+    ArgumentCaptor<TaskListDeletion> captor = ArgumentCaptor.forClass(TaskListDeletion.class);
+    verify(taskListDeletionRepository, atLeastOnce()).save(captor.capture());
+    return captor.getAllValues().stream()
+        .map(
+            deletion ->
+                new TaskListDeletionDto(
+                    deletion.getId(),
+                    deletion.getTaskListId(),
+                    deletion.getStatus(),
+                    deletion.getDeletedTasks(),
+                    deletion.getError()))
+        .toList();
+  }
+}
@@ -3,15 +3,25 @@ package com.taskify.services;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
+import com.taskify.cache.CacheInvalidator;
 import com.taskify.dtos.CreateTaskListRequest;
+import com.taskify.dtos.CursorPage;
+import com.taskify.dtos.TaskDto;
+import com.taskify.dtos.TaskFields;
 import com.taskify.dtos.TaskListDto;
+import com.taskify.dtos.TaskListSummary;
 import com.taskify.dtos.UpdateTaskListRequest;
+import com.taskify.entities.Task;
 import com.taskify.entities.TaskList;
+import com.taskify.exceptions.InvalidCursorException;
+import com.taskify.exceptions.PreconditionFailedException;
 import com.taskify.exceptions.TaskListNotFoundException;
 import com.taskify.mappers.TaskListMapper;
+import com.taskify.pagination.Cursor;
 import com.taskify.repositories.TaskListRepository;
 import com.taskify.repositories.TaskRepository;
 import com.taskify.services.impl.TaskListServiceImpl;
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -20,9 +30,11 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 @ExtendWith(MockitoExtension.class)
 class TaskListServiceTest {
@@ -30,6 +42,7 @@ class TaskListServiceTest {
   @Mock private TaskListRepository taskListRepository;
   @Mock private TaskListMapper taskListMapper;
   @Mock private TaskRepository taskRepository;
+  @Mock private CacheInvalidator cacheInvalidator;
 
   @InjectMocks private TaskListServiceImpl taskListService;
 
@@ -63,33 +76,142 @@ class TaskListServiceTest {
     assertNotNull(createdTaskList);
     assertEquals(taskListDto.title(), createdTaskList.title());
     verify(taskListRepository, times(1)).save(taskList);
+    verify(cacheInvalidator, times(1)).taskListSaved(taskListDto.id());
   }
 
   @Test
-  @DisplayName("Should list all task lists")
-  void shouldListAllTaskLists() {
-    when(taskListRepository.findAll()).thenReturn(List.of(taskList));
-    when(taskListMapper.toDto(any(TaskList.class))).thenReturn(taskListDto);
+  @DisplayName("Should list the first page of task lists without tasks")
+  void shouldListFirstPageOfTaskListsWithoutTasks() {
+    TaskListSummary summary = new TaskListSummary(taskListId, taskList.getTitle(), null, 4, 1);
+    when(taskListRepository.findFirstPage(Limit.of(21))).thenReturn(List.of(taskList));
+    when(taskListRepository.findSummariesByIdIn(List.of(taskListId))).thenReturn(List.of(summary));
+    when(taskListMapper.toSummaryDto(summary)).thenReturn(taskListDto);
+
+    CursorPage<TaskListDto> page = taskListService.listTaskLists(null, null, false, TaskFields.ALL);
+
+    assertEquals(1, page.items().size());
+    assertEquals(taskListDto.title(), page.items().getFirst().title());
+    assertNull(page.next());
+    verify(taskListRepository, never()).findAllWithTasksByIdIn(any());
+    verify(taskListMapper, never()).toDto(any(TaskList.class));
+  }
+
+  @Test
+  @DisplayName("Should return a next cursor when more task lists remain")
+  void shouldReturnNextCursorWhenMoreTaskListsRemain() {
+    taskList.setCreated(LocalDateTime.of(2025, 1, 1, 12, 0, 0, 123_000));
+    TaskList other = new TaskList();
+    other.setId(UUID.randomUUID());
+    when(taskListRepository.findFirstPage(Limit.of(2))).thenReturn(List.of(taskList, other));
+    when(taskListRepository.findAllWithTasksByIdIn(List.of(taskListId)))
+        .thenReturn(List.of(taskList));
+    when(taskListMapper.toDto(taskList)).thenReturn(taskListDto);
+
+    CursorPage<TaskListDto> page = taskListService.listTaskLists(null, 1, true, TaskFields.ALL);
+
+    assertEquals(List.of(taskListDto), page.items());
+    Cursor next = Cursor.decode(page.next());
+    assertEquals(taskList.getCreated(), next.localDateTime(0));
+    assertEquals(taskListId, next.uuid(1));
+  }
 
-    List<TaskListDto> taskLists = taskListService.listTaskLists();
+  @Test
+  @DisplayName("Should embed projected tasks instead of the entity graph for sparse fields")
+  void shouldEmbedProjectedTasksForSparseFields() {
+    TaskFields fields = TaskFields.parse("title");
+    TaskListSummary summary = new TaskListSummary(taskListId, taskList.getTitle(), null, 1, 0);
+    Task task = new Task();
+    task.setId(UUID.randomUUID());
+    task.setTitle("Pay rent");
+    task.setTaskList(taskList);
+    TaskListDto withTasks =
+        new TaskListDto(
+            taskListId,
+            taskList.getTitle(),
+            null,
+            1,
+            0.0,
+            List.of(new TaskDto(task.getId(), "Pay rent", null, null, null, null)));
+    when(taskListRepository.findFirstPage(Limit.of(21))).thenReturn(List.of(taskList));
+    when(taskRepository.findAllByTaskListIdIn(List.of(taskListId), fields))
+        .thenReturn(List.of(task));
+    when(taskListRepository.findSummariesByIdIn(List.of(taskListId))).thenReturn(List.of(summary));
+    when(taskListMapper.toDto(summary, List.of(task))).thenReturn(withTasks);
+
+    CursorPage<TaskListDto> page = taskListService.listTaskLists(null, null, true, fields);
+
+    assertEquals(List.of(withTasks), page.items());
+    verify(taskListRepository, never()).findAllWithTasksByIdIn(any());
+  }
 
-    assertNotNull(taskLists);
-    assertFalse(taskLists.isEmpty());
-    assertEquals(1, taskLists.size());
-    assertEquals(taskListDto.title(), taskLists.getFirst().title());
-    verify(taskListRepository, times(1)).findAll();
+  @Test
+  @DisplayName("Should skip task lists deleted between reading the page and its rows")
+  void shouldSkipTaskListsDeletedWhileListing() {
+    TaskFields fields = TaskFields.parse("title");
+    TaskList deleted = new TaskList();
+    deleted.setId(UUID.randomUUID());
+    TaskListSummary summary = new TaskListSummary(taskListId, taskList.getTitle(), null, 0, 0);
+    List<UUID> ids = List.of(deleted.getId(), taskListId);
+    when(taskListRepository.findFirstPage(Limit.of(21))).thenReturn(List.of(deleted, taskList));
+    when(taskListRepository.findSummariesByIdIn(ids)).thenReturn(List.of(summary));
+    when(taskListMapper.toSummaryDto(summary)).thenReturn(taskListDto);
+    when(taskListMapper.toDto(summary, List.of())).thenReturn(taskListDto);
+
+    assertEquals(
+        List.of(taskListDto),
+        taskListService.listTaskLists(null, null, false, TaskFields.ALL).items());
+    assertEquals(
+        List.of(taskListDto), taskListService.listTaskLists(null, null, true, fields).items());
   }
 
   @Test
-  @DisplayName("Should return empty list when no task lists found")
-  void shouldReturnEmptyListWhenNoTaskListsFound() {
-    when(taskListRepository.findAll()).thenReturn(Collections.emptyList());
+  @DisplayName("Should get a task list with projected tasks by ID")
+  void shouldGetTaskListWithProjectedTasksById() {
+    TaskFields fields = TaskFields.parse("title,status");
+    TaskListSummary summary = new TaskListSummary(taskListId, taskList.getTitle(), null, 0, 0);
+    when(taskListRepository.findSummaryById(taskListId)).thenReturn(Optional.of(summary));
+    when(taskRepository.findAllByTaskListIdIn(List.of(taskListId), fields)).thenReturn(List.of());
+    when(taskListMapper.toDto(summary, List.of())).thenReturn(taskListDto);
+
+    assertEquals(taskListDto, taskListService.getTaskList(taskListId, fields));
+    verify(taskListRepository, never()).findById(any());
+
+    when(taskListRepository.findSummaryById(taskListId)).thenReturn(Optional.empty());
+    assertThrows(
+        TaskListNotFoundException.class, () -> taskListService.getTaskList(taskListId, fields));
+  }
 
-    List<TaskListDto> taskLists = taskListService.listTaskLists();
+  @Test
+  @DisplayName("Should continue after the cursor and cap the page size")
+  void shouldContinueAfterCursorAndCapPageSize() {
+    LocalDateTime created = LocalDateTime.of(2025, 1, 1, 12, 0);
+    String cursor = Cursor.of(created, taskListId).encode();
+    when(taskListRepository.findPageAfter(created, taskListId, Limit.of(101)))
+        .thenReturn(Collections.emptyList());
+
+    CursorPage<TaskListDto> page =
+        taskListService.listTaskLists(cursor, 1000, false, TaskFields.ALL);
+
+    assertTrue(page.items().isEmpty());
+    assertNull(page.next());
+    verify(taskListRepository, never()).findSummariesByIdIn(any());
+  }
 
-    assertNotNull(taskLists);
-    assertTrue(taskLists.isEmpty());
-    verify(taskListRepository, times(1)).findAll();
+  @Test
+  @DisplayName("Should reject malformed cursors and non-positive limits")
+  void shouldRejectMalformedCursorsAndNonPositiveLimits() {
+    assertThrows(
+        InvalidCursorException.class,
+        () -> taskListService.listTaskLists("not a cursor", 10, false, TaskFields.ALL));
+    assertThrows(
+        InvalidCursorException.class,
+        () ->
+            taskListService.listTaskLists(
+                Cursor.of("yesterday").encode(), 10, false, TaskFields.ALL));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> taskListService.listTaskLists(null, 0, false, TaskFields.ALL));
+    verifyNoInteractions(taskListRepository);
   }
 
   @Test
@@ -105,6 +227,21 @@ class TaskListServiceTest {
     verify(taskListRepository, times(1)).findById(taskListId);
   }
 
+  @Test
+  @DisplayName("Should get a task list summary by ID without loading its tasks")
+  void shouldGetTaskListSummaryById() {
+    TaskListSummary summary = new TaskListSummary(taskListId, taskList.getTitle(), null, 4, 1);
+    when(taskListRepository.findSummaryById(taskListId)).thenReturn(Optional.of(summary));
+    when(taskListMapper.toSummaryDto(summary)).thenReturn(taskListDto);
+
+    assertEquals(taskListDto, taskListService.getTaskListSummary(taskListId));
+    verify(taskListRepository, never()).findById(any());
+
+    when(taskListRepository.findSummaryById(taskListId)).thenReturn(Optional.empty());
+    assertThrows(
+        TaskListNotFoundException.class, () -> taskListService.getTaskListSummary(taskListId));
+  }
+
   @Test
   @DisplayName("Should throw TaskListNotFoundException when task list not found by ID")
   void shouldThrowTaskListNotFoundExceptionWhenTaskListNotFoundById() {
@@ -124,15 +261,16 @@ class TaskListServiceTest {
 
     when(taskListRepository.findById(taskListId)).thenReturn(Optional.of(taskList));
     when(taskListMapper.fromUpdateRequest(any(UpdateTaskListRequest.class))).thenReturn(taskList);
-    when(taskListRepository.save(any(TaskList.class))).thenReturn(taskList);
+    when(taskListRepository.saveAndFlush(any(TaskList.class))).thenReturn(taskList);
     when(taskListMapper.toDto(any(TaskList.class))).thenReturn(updatedTaskListDto);
 
-    TaskListDto result = taskListService.updateTaskList(taskListId, request);
+    TaskListDto result = taskListService.updateTaskList(taskListId, request, null);
 
     assertNotNull(result);
     assertEquals(updatedTaskListDto.title(), result.title());
     verify(taskListRepository, times(1)).findById(taskListId);
-    verify(taskListRepository, times(1)).save(taskList);
+    verify(taskListRepository, times(1)).saveAndFlush(taskList);
+    verify(cacheInvalidator, times(1)).taskListSaved(updatedTaskListDto.id());
   }
 
   @Test
@@ -143,18 +281,41 @@ class TaskListServiceTest {
     when(taskListRepository.findById(taskListId)).thenReturn(Optional.empty());
 
     assertThrows(
-        TaskListNotFoundException.class, () -> taskListService.updateTaskList(taskListId, request));
+        TaskListNotFoundException.class,
+        () -> taskListService.updateTaskList(taskListId, request, null));
     verify(taskListRepository, times(1)).findById(taskListId);
-    verify(taskListRepository, never()).save(any(TaskList.class));
+    verify(taskListRepository, never()).saveAndFlush(any(TaskList.class));
   }
 
   @Test
   @DisplayName("Should delete a task list successfully")
   void shouldDeleteTaskListSuccessfully() {
-    doNothing().when(taskListRepository).deleteById(taskListId);
+    when(taskListRepository.deleteWithTasksById(taskListId)).thenReturn(1);
+
+    taskListService.deleteTaskList(taskListId, null);
+
+    InOrder inOrder = inOrder(taskRepository, taskListRepository);
+    inOrder.verify(taskRepository).deleteAllByTaskListId(taskListId);
+    inOrder.verify(taskListRepository).deleteWithTasksById(taskListId);
+    verify(cacheInvalidator, times(1)).taskListDeleted(taskListId);
+  }
 
-    taskListService.deleteTaskList(taskListId);
+  @Test
+  @DisplayName("Should only update or delete a task list at the expected version")
+  void shouldRequireExpectedVersion() {
+    UpdateTaskListRequest request = new UpdateTaskListRequest("Renamed", null);
+    taskList.setVersion(4);
+    when(taskListRepository.findById(taskListId)).thenReturn(Optional.of(taskList));
+    when(taskListRepository.findRowVersionById(taskListId)).thenReturn(Optional.of(4L));
 
-    verify(taskListRepository, times(1)).deleteById(taskListId);
+    assertThrows(
+        PreconditionFailedException.class,
+        () -> taskListService.updateTaskList(taskListId, request, 3L));
+    assertThrows(
+        PreconditionFailedException.class, () -> taskListService.deleteTaskList(taskListId, 3L));
+    verify(taskListRepository, never()).saveAndFlush(any(TaskList.class));
+    verify(taskListRepository, never()).deleteWithTasksById(any());
+    verify(taskRepository, never()).deleteAllByTaskListId(any());
+    verifyNoInteractions(cacheInvalidator);
   }
 }
@@ -3,31 +3,48 @@ package com.taskify.services;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
+import com.taskify.cache.CacheInvalidator;
 import com.taskify.dtos.CreateTaskRequest;
+import com.taskify.dtos.CursorPage;
+import com.taskify.dtos.ResourceVersion;
 import com.taskify.dtos.TaskDto;
+import com.taskify.dtos.TaskFields;
+import com.taskify.dtos.TaskFilter;
+import com.taskify.dtos.TaskPatch;
+import com.taskify.dtos.TaskSearchResultDto;
 import com.taskify.dtos.UpdateTaskRequest;
 import com.taskify.entities.Task;
 import com.taskify.entities.TaskList;
 import com.taskify.entities.TaskPriority;
 import com.taskify.entities.TaskStatus;
+import com.taskify.exceptions.InvalidCursorException;
+import com.taskify.exceptions.PreconditionFailedException;
 import com.taskify.exceptions.TaskListNotFoundException;
 import com.taskify.exceptions.TaskNotFoundException;
 import com.taskify.mappers.TaskMapper;
+import com.taskify.pagination.Cursor;
+import com.taskify.pagination.TaskSort;
 import com.taskify.repositories.TaskListRepository;
 import com.taskify.repositories.TaskRepository;
+import com.taskify.repositories.TaskRepositoryCustom.PatchedTask;
+import com.taskify.repositories.TaskRepositoryCustom.SearchHit;
 import com.taskify.services.impl.TaskServiceImpl;
+import com.taskify.services.impl.VersionChecks;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
 
 @ExtendWith(MockitoExtension.class)
 class TaskServiceTest {
@@ -35,6 +52,7 @@ class TaskServiceTest {
   @Mock private TaskRepository taskRepository;
   @Mock private TaskListRepository taskListRepository;
   @Mock private TaskMapper taskMapper;
+  @Mock private CacheInvalidator cacheInvalidator;
   @InjectMocks private TaskServiceImpl taskService;
 
   private UUID taskListId;
@@ -80,7 +98,8 @@ class TaskServiceTest {
             LocalDateTime.now().plusDays(1),
             TaskPriority.LOW);
 
-    when(taskListRepository.findById(taskListId)).thenReturn(Optional.of(taskList));
+    when(taskListRepository.adjustCounters(taskListId, 1, 0)).thenReturn(1);
+    when(taskListRepository.getReferenceById(taskListId)).thenReturn(taskList);
     when(taskMapper.fromCreateRequest(request)).thenReturn(task);
     when(taskRepository.save(any(Task.class))).thenReturn(task);
     when(taskMapper.toDto(task)).thenReturn(taskDto);
@@ -90,10 +109,12 @@ class TaskServiceTest {
     assertNotNull(createdTask);
     assertEquals(taskDto.title(), createdTask.title());
     assertEquals(TaskStatus.OPEN, createdTask.status());
-    verify(taskListRepository, times(1)).findById(taskListId);
+    assertEquals(taskList, task.getTaskList());
+    verify(taskListRepository, never()).findById(any());
     verify(taskRepository, times(1)).save(task);
     verify(taskMapper, times(1)).fromCreateRequest(request);
     verify(taskMapper, times(1)).toDto(task);
+    verify(cacheInvalidator, times(1)).taskSaved(taskListId, taskDto.id());
   }
 
   @Test
@@ -107,43 +128,150 @@ class TaskServiceTest {
             LocalDateTime.now().plusDays(1),
             TaskPriority.LOW);
 
-    when(taskListRepository.findById(taskListId)).thenReturn(Optional.empty());
+    when(taskListRepository.adjustCounters(taskListId, 1, 0)).thenReturn(0);
 
     assertThrows(
         TaskListNotFoundException.class, () -> taskService.createTask(taskListId, request));
-    verify(taskListRepository, times(1)).findById(taskListId);
     verify(taskRepository, never()).save(any(Task.class));
+    verifyNoInteractions(cacheInvalidator);
   }
 
   @Test
   @DisplayName("Should list tasks for a given task list")
   void shouldListTasksForGivenTaskList() {
-    when(taskRepository.findByTaskListId(taskListId)).thenReturn(List.of(task));
+    when(taskRepository.findPage(
+            taskListId, TaskFilter.NONE, TaskSort.DEFAULT, TaskFields.ALL, null, null, 21))
+        .thenReturn(List.of(task));
     when(taskMapper.toDto(task)).thenReturn(taskDto);
 
-    List<TaskDto> tasks = taskService.listTasks(taskListId);
+    CursorPage<TaskDto> tasks =
+        taskService.listTasks(
+            taskListId, TaskFilter.NONE, TaskSort.DEFAULT, TaskFields.ALL, false, null, null);
 
     assertNotNull(tasks);
-    assertFalse(tasks.isEmpty());
-    assertEquals(1, tasks.size());
-    assertEquals(taskDto.title(), tasks.getFirst().title());
-    verify(taskRepository, times(1)).findByTaskListId(taskListId);
+    assertEquals(1, tasks.items().size());
+    assertEquals(taskDto.title(), tasks.items().getFirst().title());
+    assertNull(tasks.next());
     verify(taskMapper, times(1)).toDto(task);
   }
 
   @Test
   @DisplayName("Should return empty list when no tasks found for a given task list")
   void shouldReturnEmptyListWhenNoTasksFoundForGivenTaskList() {
-    when(taskRepository.findByTaskListId(taskListId)).thenReturn(Collections.emptyList());
+    when(taskRepository.findPage(
+            taskListId, TaskFilter.NONE, TaskSort.DEFAULT, TaskFields.ALL, null, null, 21))
+        .thenReturn(Collections.emptyList());
 
-    List<TaskDto> tasks = taskService.listTasks(taskListId);
+    CursorPage<TaskDto> tasks =
+        taskService.listTasks(
+            taskListId, TaskFilter.NONE, TaskSort.DEFAULT, TaskFields.ALL, false, null, null);
 
     assertNotNull(tasks);
-    assertTrue(tasks.isEmpty());
-    verify(taskRepository, times(1)).findByTaskListId(taskListId);
+    assertTrue(tasks.items().isEmpty());
     verify(taskMapper, never()).toDto(any(Task.class));
   }
 
+  @Test
+  @DisplayName("Should issue a cursor carrying the sort key and resume after it")
+  void shouldIssueCursorCarryingSortKeyAndResumeAfterIt() {
+    TaskSort sort = TaskSort.parse("-priority");
+    Task other = new Task();
+    other.setId(UUID.randomUUID());
+    when(taskRepository.findPage(taskListId, TaskFilter.NONE, sort, TaskFields.ALL, null, null, 2))
+        .thenReturn(List.of(task, other));
+    when(taskMapper.toDto(task)).thenReturn(taskDto);
+
+    CursorPage<TaskDto> firstPage =
+        taskService.listTasks(taskListId, TaskFilter.NONE, sort, TaskFields.ALL, false, null, 1);
+
+    assertEquals(List.of(taskDto), firstPage.items());
+    assertNotNull(firstPage.next());
+
+    when(taskRepository.findPage(
+            taskListId, TaskFilter.NONE, sort, TaskFields.ALL, TaskPriority.MEDIUM, taskId, 2))
+        .thenReturn(List.of());
+
+    CursorPage<TaskDto> secondPage =
+        taskService.listTasks(
+            taskListId, TaskFilter.NONE, sort, TaskFields.ALL, false, firstPage.next(), 1);
+
+    assertTrue(secondPage.items().isEmpty());
+    assertNull(secondPage.next());
+  }
+
+  @Test
+  @DisplayName("Should merge hot and archived tasks into one page in sort order")
+  void shouldMergeArchivedTasksIntoPage() {
+    TaskSort sort = TaskSort.parse("due_date");
+    Task archived = new Task();
+    archived.setId(UUID.randomUUID());
+    archived.setDueDate(task.getDueDate().minusDays(1));
+    Task laterArchived = new Task();
+    laterArchived.setId(UUID.randomUUID());
+    laterArchived.setDueDate(task.getDueDate().plusDays(1));
+    TaskDto archivedDto = new TaskDto(archived.getId(), "Archived", null, null, null, null);
+    when(taskRepository.findPage(taskListId, TaskFilter.NONE, sort, TaskFields.ALL, null, null, 2))
+        .thenReturn(List.of(task));
+    when(taskRepository.findArchivedPage(
+            taskListId, TaskFilter.NONE, sort, TaskFields.ALL, null, null, 2))
+        .thenReturn(List.of(archived, laterArchived));
+    when(taskMapper.toDto(archived)).thenReturn(archivedDto);
+
+    CursorPage<TaskDto> page =
+        taskService.listTasks(taskListId, TaskFilter.NONE, sort, TaskFields.ALL, true, null, 1);
+
+    assertEquals(List.of(archivedDto), page.items());
+    assertNotNull(page.next());
+  }
+
+  @Test
+  @DisplayName("Should reject a cursor issued for a different sort")
+  void shouldRejectCursorIssuedForDifferentSort() {
+    String cursor = Cursor.of("created", LocalDateTime.now(), taskId).encode();
+
+    assertThrows(
+        InvalidCursorException.class,
+        () ->
+            taskService.listTasks(
+                taskListId,
+                TaskFilter.NONE,
+                TaskSort.parse("due_date"),
+                TaskFields.ALL,
+                false,
+                cursor,
+                10));
+    verifyNoInteractions(taskRepository);
+  }
+
+  @Test
+  @DisplayName("Should page search hits by rank and resume after the cursor")
+  void shouldPageSearchHitsByRank() {
+    Task other = new Task();
+    other.setId(UUID.randomUUID());
+    TaskSearchResultDto result =
+        new TaskSearchResultDto(
+            taskId, taskListId, "Test Task", null, task.getDueDate(), null, null, 0.6f);
+    when(taskRepository.search("test", null, null, null, 2))
+        .thenReturn(List.of(new SearchHit(task, 0.6f), new SearchHit(other, 0.3f)));
+    when(taskMapper.toSearchResultDto(task, 0.6f)).thenReturn(result);
+
+    CursorPage<TaskSearchResultDto> firstPage = taskService.searchTasks("test", null, null, 1);
+
+    assertEquals(List.of(result), firstPage.items());
+
+    when(taskRepository.search("test", null, 0.6f, taskId, 2)).thenReturn(List.of());
+
+    assertTrue(taskService.searchTasks("test", null, firstPage.next(), 1).items().isEmpty());
+  }
+
+  @Test
+  @DisplayName("Should reject blank search queries")
+  void shouldRejectBlankSearchQueries() {
+    assertThrows(
+        IllegalArgumentException.class, () -> taskService.searchTasks(" ", null, null, null));
+    verifyNoInteractions(taskRepository);
+  }
+
   @Test
   @DisplayName("Should get a task by task list ID and task ID")
   void shouldGetTaskByTaskListIdAndTaskId() {
@@ -168,6 +296,23 @@ class TaskServiceTest {
     verify(taskMapper, never()).toDto(any(Task.class));
   }
 
+  @Test
+  @DisplayName("Should fall back to the archive when getting a task including archived ones")
+  void shouldGetArchivedTask() {
+    when(taskRepository.findByTaskListIdAndId(taskListId, taskId)).thenReturn(Optional.empty());
+    when(taskRepository.findArchivedByTaskListIdAndId(taskListId, taskId))
+        .thenReturn(Optional.of(task));
+    when(taskMapper.toDto(task)).thenReturn(taskDto);
+
+    assertEquals(taskDto, taskService.getTaskIncludingArchived(taskListId, taskId));
+
+    when(taskRepository.findArchivedByTaskListIdAndId(taskListId, taskId))
+        .thenReturn(Optional.empty());
+    assertThrows(
+        TaskNotFoundException.class,
+        () -> taskService.getTaskIncludingArchived(taskListId, taskId));
+  }
+
   @Test
   @DisplayName("Should update a task successfully")
   void shouldUpdateTaskSuccessfully() {
@@ -196,13 +341,22 @@ class TaskServiceTest {
             updatedTask.getDueDate(),
             updatedTask.getPriority(),
             updatedTask.getStatus());
-
-    when(taskRepository.findByTaskListIdAndId(taskListId, taskId)).thenReturn(Optional.of(task));
+    TaskPatch patch =
+        TaskPatch.of(
+            Optional.of(request.title()),
+            Optional.of(request.description()),
+            Optional.of(request.dueDate()),
+            Optional.of(request.priority()),
+            Optional.of(request.status()));
+
+    stubVersion(0);
     when(taskMapper.fromUpdateRequest(request)).thenReturn(updatedTask);
-    when(taskRepository.save(any(Task.class))).thenReturn(updatedTask);
+    when(taskRepository.patch(
+            eq(taskListId), eq(taskId), eq(patch), eq(0L), any(LocalDateTime.class)))
+        .thenReturn(Optional.of(new PatchedTask(updatedTask, TaskStatus.OPEN)));
     when(taskMapper.toDto(updatedTask)).thenReturn(updatedTaskDto);
 
-    TaskDto result = taskService.updateTask(taskListId, taskId, request);
+    TaskDto result = taskService.updateTask(taskListId, taskId, request, null);
 
     assertNotNull(result);
     assertEquals(updatedTaskDto.title(), result.title());
@@ -210,10 +364,12 @@ class TaskServiceTest {
     assertEquals(updatedTaskDto.dueDate(), result.dueDate());
     assertEquals(updatedTaskDto.priority(), result.priority());
     assertEquals(updatedTaskDto.status(), result.status());
-    verify(taskRepository, times(1)).findByTaskListIdAndId(taskListId, taskId);
-    verify(taskRepository, times(1)).save(task);
+    verify(taskRepository, never()).findByTaskListIdAndId(any(), any());
+    verify(taskRepository, never()).saveAndFlush(any(Task.class));
     verify(taskMapper, times(1)).fromUpdateRequest(request);
     verify(taskMapper, times(1)).toDto(updatedTask);
+    verify(taskListRepository, times(1)).adjustCounters(taskListId, 0, 1);
+    verify(cacheInvalidator, times(1)).taskSaved(taskListId, updatedTaskDto.id());
   }
 
   @Test
@@ -227,22 +383,258 @@ class TaskServiceTest {
             TaskPriority.HIGH,
             TaskStatus.CLOSED);
 
-    when(taskRepository.findByTaskListIdAndId(taskListId, taskId)).thenReturn(Optional.empty());
+    when(taskMapper.fromUpdateRequest(request)).thenReturn(new Task());
+    when(taskRepository.findVersionByTaskListIdAndId(taskListId, taskId))
+        .thenReturn(Optional.empty());
+
+    assertThrows(
+        TaskNotFoundException.class,
+        () -> taskService.updateTask(taskListId, taskId, request, null));
+    verify(taskRepository, never()).patch(any(), any(), any(), anyLong(), any());
+  }
+
+  @Test
+  @DisplayName("Should reject an update when the task is not at the expected version")
+  void shouldRejectUpdateOfAnotherVersion() {
+    UpdateTaskRequest request = new UpdateTaskRequest("Renamed", null, null, null, null);
+    Task renamed = new Task();
+    renamed.setTitle("Renamed");
+    when(taskMapper.fromUpdateRequest(request)).thenReturn(renamed);
+    stubVersion(3);
+
+    assertThrows(
+        PreconditionFailedException.class,
+        () -> taskService.updateTask(taskListId, taskId, request, 2L));
+    verify(taskRepository, never()).patch(any(), any(), any(), anyLong(), any());
+    verify(taskListRepository, never()).adjustCounters(any(), anyInt(), anyInt());
+    verifyNoInteractions(cacheInvalidator);
+  }
+
+  @Test
+  @DisplayName("Should reject a conditional update that lost a race for the task")
+  void shouldRejectConditionalUpdateThatLostARace() {
+    UpdateTaskRequest request = new UpdateTaskRequest("Renamed", null, null, null, null);
+    Task renamed = new Task();
+    renamed.setTitle("Renamed");
+    when(taskMapper.fromUpdateRequest(request)).thenReturn(renamed);
+    when(taskRepository.findVersionByTaskListIdAndId(taskListId, taskId))
+        .thenReturn(Optional.of(new ResourceVersion(1, LocalDateTime.now(), 0L)))
+        .thenReturn(Optional.of(new ResourceVersion(1, LocalDateTime.now(), 1L)));
+    when(taskRepository.patch(eq(taskListId), eq(taskId), any(), eq(0L), any()))
+        .thenReturn(Optional.empty());
+
+    assertThrows(
+        PreconditionFailedException.class,
+        () -> taskService.updateTask(taskListId, taskId, request, 0L));
+    verify(taskRepository, times(1)).patch(any(), any(), any(), anyLong(), any());
+    verify(taskListRepository, never()).adjustCounters(any(), anyInt(), anyInt());
+    verifyNoInteractions(cacheInvalidator);
+  }
+
+  @Test
+  @DisplayName("Should retry an unconditional write that lost a race for the task")
+  void shouldRetryUnconditionalWriteThatLostARace() {
+    TaskPatch patch = TaskPatch.of(null, null, null, null, Optional.of(TaskStatus.CLOSED));
+    task.setStatus(TaskStatus.CLOSED);
+    when(taskRepository.findVersionByTaskListIdAndId(taskListId, taskId))
+        .thenReturn(Optional.of(new ResourceVersion(1, LocalDateTime.now(), 0L)))
+        .thenReturn(Optional.of(new ResourceVersion(1, LocalDateTime.now(), 1L)));
+    when(taskRepository.patch(eq(taskListId), eq(taskId), eq(patch), eq(0L), any()))
+        .thenReturn(Optional.empty());
+    when(taskRepository.patch(eq(taskListId), eq(taskId), eq(patch), eq(1L), any()))
+        .thenReturn(Optional.of(new PatchedTask(task, TaskStatus.OPEN)));
+    when(taskMapper.toDto(task)).thenReturn(taskDto);
+
+    assertEquals(taskDto, taskService.patchTask(taskListId, taskId, patch, null));
+    verify(taskListRepository, times(1)).adjustCounters(taskListId, 0, 1);
+    verify(cacheInvalidator).taskSaved(taskListId, taskDto.id());
+  }
+
+  @Test
+  @DisplayName("Should give up on an unconditional write that keeps losing races for the task")
+  void shouldGiveUpOnUnconditionalWriteThatKeepsLosingRaces() {
+    TaskPatch patch = TaskPatch.of(Optional.of("Renamed"), null, null, null, null);
+    AtomicLong versions = new AtomicLong();
+    when(taskRepository.findVersionByTaskListIdAndId(taskListId, taskId))
+        .thenAnswer(
+            invocation ->
+                Optional.of(
+                    new ResourceVersion(1, LocalDateTime.now(), versions.getAndIncrement())));
+    when(taskRepository.patch(eq(taskListId), eq(taskId), eq(patch), anyLong(), any()))
+        .thenReturn(Optional.empty());
+
+    assertThrows(
+        OptimisticLockingFailureException.class,
+        () -> taskService.patchTask(taskListId, taskId, patch, null));
+    verify(taskRepository, times(VersionChecks.WRITE_ATTEMPTS))
+        .patch(eq(taskListId), eq(taskId), eq(patch), anyLong(), any());
+    verifyNoInteractions(taskListRepository, cacheInvalidator);
+  }
+
+  @Test
+  @DisplayName("Should patch a task in one statement and follow with the counters and cache")
+  void shouldPatchTask() {
+    TaskPatch patch = TaskPatch.of(null, null, null, null, Optional.of(TaskStatus.CLOSED));
+    task.setStatus(TaskStatus.CLOSED);
+    stubVersion(0);
+    when(taskRepository.patch(
+            eq(taskListId), eq(taskId), eq(patch), eq(0L), any(LocalDateTime.class)))
+        .thenReturn(Optional.of(new PatchedTask(task, TaskStatus.OPEN)));
+    when(taskMapper.toDto(task)).thenReturn(taskDto);
+
+    assertEquals(taskDto, taskService.patchTask(taskListId, taskId, patch, null));
+    verify(taskRepository, never()).findByTaskListIdAndId(any(), any());
+    verify(taskRepository, never()).saveAndFlush(any(Task.class));
+    InOrder inOrder = inOrder(taskRepository, taskListRepository);
+    inOrder
+        .verify(taskRepository)
+        .patch(eq(taskListId), eq(taskId), eq(patch), eq(0L), any(LocalDateTime.class));
+    inOrder.verify(taskListRepository).adjustCounters(taskListId, 0, 1);
+    verify(cacheInvalidator).taskSaved(taskListId, taskDto.id());
+  }
+
+  @Test
+  @DisplayName("Should return the task as it is when it already holds every value of the patch")
+  void shouldReturnTaskWhenPatchChangesNothing() {
+    TaskPatch patch = TaskPatch.of(null, null, null, null, Optional.of(TaskStatus.OPEN));
+    stubVersion(2);
+    when(taskRepository.patch(eq(taskListId), eq(taskId), eq(patch), eq(2L), any()))
+        .thenReturn(Optional.empty());
+    when(taskRepository.findByTaskListIdAndId(taskListId, taskId)).thenReturn(Optional.of(task));
+    when(taskMapper.toDto(task)).thenReturn(taskDto);
+
+    assertEquals(taskDto, taskService.patchTask(taskListId, taskId, patch, 2L));
+    verifyNoInteractions(taskListRepository, cacheInvalidator);
+  }
+
+  @Test
+  @DisplayName("Should check If-Match even when a patch changes nothing")
+  void shouldCheckVersionOfEmptyPatch() {
+    TaskPatch patch = TaskPatch.of(null, null, null, null, null);
+    task.setVersion(3);
+    when(taskRepository.findByTaskListIdAndId(taskListId, taskId)).thenReturn(Optional.of(task));
 
     assertThrows(
-        TaskNotFoundException.class, () -> taskService.updateTask(taskListId, taskId, request));
+        PreconditionFailedException.class,
+        () -> taskService.patchTask(taskListId, taskId, patch, 2L));
+    verify(taskRepository, never()).patch(any(), any(), any(), anyLong(), any());
+    verifyNoInteractions(taskListRepository, cacheInvalidator);
+  }
+
+  @Test
+  @DisplayName("Should return the task it checked If-Match against when a patch is empty")
+  void shouldReturnCheckedTaskForEmptyPatch() {
+    TaskPatch patch = TaskPatch.of(null, null, null, null, null);
+    task.setVersion(2);
+    when(taskRepository.findByTaskListIdAndId(taskListId, taskId)).thenReturn(Optional.of(task));
+    when(taskMapper.toDto(task)).thenReturn(taskDto);
+
+    assertEquals(taskDto, taskService.patchTask(taskListId, taskId, patch, 2L));
     verify(taskRepository, times(1)).findByTaskListIdAndId(taskListId, taskId);
-    verify(taskRepository, never()).save(any(Task.class));
+    verify(taskRepository, never()).findVersionByTaskListIdAndId(any(), any());
+  }
+
+  @Test
+  @DisplayName("Should leave the task list row alone when a patch keeps the status")
+  void shouldLeaveTaskListAloneWhenPatchKeepsStatus() {
+    TaskPatch patch = TaskPatch.of(Optional.of("Renamed"), null, null, null, null);
+    stubVersion(0);
+    when(taskRepository.patch(
+            eq(taskListId), eq(taskId), eq(patch), eq(0L), any(LocalDateTime.class)))
+        .thenReturn(Optional.of(new PatchedTask(task, TaskStatus.OPEN)));
+
+    taskService.patchTask(taskListId, taskId, patch, null);
+
+    verify(taskListRepository, never()).adjustCounters(any(), anyInt(), anyInt());
+  }
+
+  @Test
+  @DisplayName("Should reject patches removing required properties or setting a past due date")
+  void shouldRejectInvalidPatches() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            taskService.patchTask(
+                taskListId, taskId, TaskPatch.of(Optional.empty(), null, null, null, null), null));
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            taskService.patchTask(
+                taskListId, taskId, TaskPatch.of(null, null, null, null, Optional.empty()), null));
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            taskService.patchTask(
+                taskListId,
+                taskId,
+                TaskPatch.of(null, null, Optional.of(LocalDateTime.now().minusDays(1)), null, null),
+                null));
+    verifyNoInteractions(taskRepository, taskListRepository, cacheInvalidator);
+  }
+
+  @Test
+  @DisplayName("Should throw TaskNotFoundException when patching a non-existent task")
+  void shouldThrowWhenPatchingNonExistentTask() {
+    TaskPatch patch = TaskPatch.of(null, null, null, Optional.of(TaskPriority.LOW), null);
+    when(taskRepository.findVersionByTaskListIdAndId(taskListId, taskId))
+        .thenReturn(Optional.empty());
+
+    assertThrows(
+        TaskNotFoundException.class, () -> taskService.patchTask(taskListId, taskId, patch, null));
+    verify(taskRepository, never()).patch(any(), any(), any(), anyLong(), any());
+    verify(taskListRepository, never()).adjustCounters(any(), anyInt(), anyInt());
+    verifyNoInteractions(cacheInvalidator);
   }
 
   @Test
   @DisplayName("Should delete a task successfully")
   void shouldDeleteTaskSuccessfully() {
-    doNothing().when(taskRepository).deleteByTaskListIdAndId(taskListId, taskId);
+    when(taskRepository.delete(taskListId, taskId, null))
+        .thenReturn(Optional.of(TaskStatus.CLOSED));
+
+    taskService.deleteTask(taskListId, taskId, null);
 
-    taskService.deleteTask(taskListId, taskId);
+    InOrder inOrder = inOrder(taskRepository, taskListRepository);
+    inOrder.verify(taskRepository).delete(taskListId, taskId, null);
+    inOrder.verify(taskListRepository).adjustCounters(taskListId, -1, -1);
+    verify(taskRepository, never()).findByTaskListIdAndId(any(), any());
+    verify(cacheInvalidator, times(1)).taskDeleted(taskListId, taskId);
+  }
+
+  @Test
+  @DisplayName("Should leave the counters alone when deleting a non-existent task")
+  void shouldLeaveCountersAloneWhenDeletingNonExistentTask() {
+    when(taskRepository.delete(taskListId, taskId, null)).thenReturn(Optional.empty());
 
-    verify(taskRepository, times(1)).deleteByTaskListIdAndId(taskListId, taskId);
+    taskService.deleteTask(taskListId, taskId, null);
+
+    verify(taskListRepository, never()).adjustCounters(any(), anyInt(), anyInt());
+    verify(cacheInvalidator, times(1)).taskDeleted(taskListId, taskId);
+  }
+
+  @Test
+  @DisplayName("Should reject deleting a missing task when a version of it was expected")
+  void shouldRejectConditionalDeleteOfNonExistentTask() {
+    when(taskRepository.delete(taskListId, taskId, 0L)).thenReturn(Optional.empty());
+    when(taskRepository.findVersionByTaskListIdAndId(taskListId, taskId))
+        .thenReturn(Optional.empty());
+
+    assertThrows(
+        PreconditionFailedException.class, () -> taskService.deleteTask(taskListId, taskId, 0L));
+    verify(taskListRepository, never()).adjustCounters(any(), anyInt(), anyInt());
+    verifyNoInteractions(cacheInvalidator);
+  }
+
+  @Test
+  @DisplayName("Should reject deleting a task when it is not at the expected version")
+  void shouldRejectConditionalDeleteOfAnotherVersion() {
+    when(taskRepository.delete(taskListId, taskId, 2L)).thenReturn(Optional.empty());
+    stubVersion(3);
+
+    assertThrows(
+        PreconditionFailedException.class, () -> taskService.deleteTask(taskListId, taskId, 2L));
+    verify(taskListRepository, never()).adjustCounters(any(), anyInt(), anyInt());
+    verifyNoInteractions(cacheInvalidator);
   }
 
   @Test
@@ -267,13 +659,17 @@ class TaskServiceTest {
             updatedTask.getDueDate(),
             updatedTask.getPriority(),
             updatedTask.getStatus());
-
-    when(taskRepository.findByTaskListIdAndId(taskListId, taskId)).thenReturn(Optional.of(task));
-    when(taskMapper.fromUpdateRequest(request)).thenReturn(updatedTask);
-    when(taskRepository.save(any(Task.class))).thenReturn(updatedTask);
+    Task requested = new Task();
+    requested.setTitle(request.title());
+    TaskPatch patch = TaskPatch.of(Optional.of(request.title()), null, null, null, null);
+
+    stubVersion(0);
+    when(taskMapper.fromUpdateRequest(request)).thenReturn(requested);
+    when(taskRepository.patch(eq(taskListId), eq(taskId), eq(patch), eq(0L), any()))
+        .thenReturn(Optional.of(new PatchedTask(updatedTask, TaskStatus.OPEN)));
     when(taskMapper.toDto(updatedTask)).thenReturn(updatedTaskDto);
 
-    TaskDto result = taskService.updateTask(taskListId, taskId, request);
+    TaskDto result = taskService.updateTask(taskListId, taskId, request, null);
 
     assertNotNull(result);
     assertEquals(updatedTaskDto.title(), result.title());
@@ -281,10 +677,9 @@ class TaskServiceTest {
     assertEquals(taskDto.dueDate(), result.dueDate());
     assertEquals(taskDto.priority(), result.priority());
     assertEquals(taskDto.status(), result.status());
-    verify(taskRepository, times(1)).findByTaskListIdAndId(taskListId, taskId);
-    verify(taskRepository, times(1)).save(task);
     verify(taskMapper, times(1)).fromUpdateRequest(request);
     verify(taskMapper, times(1)).toDto(updatedTask);
+    verify(taskListRepository, never()).adjustCounters(any(), anyInt(), anyInt());
   }
 
   @Test
@@ -310,18 +705,20 @@ class TaskServiceTest {
             updatedTask.getDueDate(),
             updatedTask.getPriority(),
             updatedTask.getStatus());
-
-    when(taskRepository.findByTaskListIdAndId(taskListId, taskId)).thenReturn(Optional.of(task));
-    when(taskMapper.fromUpdateRequest(request)).thenReturn(updatedTask);
-    when(taskRepository.save(any(Task.class))).thenReturn(updatedTask);
+    Task requested = new Task();
+    requested.setDueDate(request.dueDate());
+    TaskPatch patch = TaskPatch.of(null, null, Optional.of(request.dueDate()), null, null);
+
+    stubVersion(0);
+    when(taskMapper.fromUpdateRequest(request)).thenReturn(requested);
+    when(taskRepository.patch(eq(taskListId), eq(taskId), eq(patch), eq(0L), any()))
+        .thenReturn(Optional.of(new PatchedTask(updatedTask, TaskStatus.OPEN)));
     when(taskMapper.toDto(updatedTask)).thenReturn(updatedTaskDto);
 
-    TaskDto result = taskService.updateTask(taskListId, taskId, request);
+    TaskDto result = taskService.updateTask(taskListId, taskId, request, null);
 
     assertNotNull(result);
     assertEquals(updatedTaskDto.dueDate(), result.dueDate());
-    verify(taskRepository, times(1)).findByTaskListIdAndId(taskListId, taskId);
-    verify(taskRepository, times(1)).save(task);
     verify(taskMapper, times(1)).fromUpdateRequest(request);
     verify(taskMapper, times(1)).toDto(updatedTask);
   }
@@ -348,25 +745,28 @@ class TaskServiceTest {
             updatedTask.getDueDate(),
             updatedTask.getPriority(),
             updatedTask.getStatus());
-
-    when(taskRepository.findByTaskListIdAndId(taskListId, taskId)).thenReturn(Optional.of(task));
-    when(taskMapper.fromUpdateRequest(request)).thenReturn(updatedTask);
-    when(taskRepository.save(any(Task.class))).thenReturn(updatedTask);
+    Task requested = new Task();
+    requested.setPriority(request.priority());
+    TaskPatch patch = TaskPatch.of(null, null, null, Optional.of(request.priority()), null);
+
+    stubVersion(0);
+    when(taskMapper.fromUpdateRequest(request)).thenReturn(requested);
+    when(taskRepository.patch(eq(taskListId), eq(taskId), eq(patch), eq(0L), any()))
+        .thenReturn(Optional.of(new PatchedTask(updatedTask, TaskStatus.OPEN)));
     when(taskMapper.toDto(updatedTask)).thenReturn(updatedTaskDto);
 
-    TaskDto result = taskService.updateTask(taskListId, taskId, request);
+    TaskDto result = taskService.updateTask(taskListId, taskId, request, null);
 
     assertNotNull(result);
     assertEquals(updatedTaskDto.priority(), result.priority());
-    verify(taskRepository, times(1)).findByTaskListIdAndId(taskListId, taskId);
-    verify(taskRepository, times(1)).save(task);
     verify(taskMapper, times(1)).fromUpdateRequest(request);
     verify(taskMapper, times(1)).toDto(updatedTask);
   }
 
   @Test
   @DisplayName(
-      "Should throw IllegalArgumentException when updating due date with past date through updateTask")
+      "Should throw IllegalArgumentException when updating due date with past date through"
+          + " updateTask")
   void shouldThrowIllegalArgumentExceptionWhenUpdatingDueDateWithPastDateThroughUpdateTask() {
     UpdateTaskRequest request =
         new UpdateTaskRequest(null, null, LocalDateTime.now().minusDays(1), null, null);
@@ -374,12 +774,16 @@ class TaskServiceTest {
     Task updatedTask = new Task();
     updatedTask.setDueDate(request.dueDate());
 
-    when(taskRepository.findByTaskListIdAndId(taskListId, taskId)).thenReturn(Optional.of(task));
     when(taskMapper.fromUpdateRequest(request)).thenReturn(updatedTask);
 
     assertThrows(
-        IllegalArgumentException.class, () -> taskService.updateTask(taskListId, taskId, request));
-    verify(taskRepository, times(1)).findByTaskListIdAndId(taskListId, taskId);
-    verify(taskRepository, never()).save(any(Task.class));
+        IllegalArgumentException.class,
+        () -> taskService.updateTask(taskListId, taskId, request, null));
+    verify(taskRepository, never()).patch(any(), any(), any(), anyLong(), any());
+  }
+
+  private void stubVersion(long version) {
+    when(taskRepository.findVersionByTaskListIdAndId(taskListId, taskId))
+        .thenReturn(Optional.of(new ResourceVersion(1, LocalDateTime.now(), version)));
   }
 }